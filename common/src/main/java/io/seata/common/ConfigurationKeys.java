@@ -192,11 +192,31 @@ public interface ConfigurationKeys {
      */
     String CLIENT_REPORT_SUCCESS_ENABLE = CLIENT_RM_PREFIX + "reportSuccessEnable";
 
+    /**
+     * The constant CLIENT_XA_MAX_HELD_CONNECTIONS.
+     */
+    String CLIENT_XA_MAX_HELD_CONNECTIONS = CLIENT_RM_PREFIX + "xaMaxHeldConnections";
+
+    /**
+     * The constant CLIENT_XA_HOLD_WAIT_TIMEOUT.
+     */
+    String CLIENT_XA_HOLD_WAIT_TIMEOUT = CLIENT_RM_PREFIX + "xaHoldWaitTimeout";
+
+    /**
+     * The constant CLIENT_XA_HELD_IDLE_TIMEOUT.
+     */
+    String CLIENT_XA_HELD_IDLE_TIMEOUT = CLIENT_RM_PREFIX + "xaHeldIdleTimeout";
+
     /**
      * The constant CLIENT_SAGA_BRANCH_REGISTER_ENABLE.
      */
     String CLIENT_SAGA_BRANCH_REGISTER_ENABLE = CLIENT_RM_PREFIX + "sagaBranchRegisterEnable";
 
+    /**
+     * The constant CLIENT_SAGA_WRITE_BEHIND_ENABLE.
+     */
+    String CLIENT_SAGA_WRITE_BEHIND_ENABLE = CLIENT_RM_PREFIX + "sagaWriteBehindEnable";
+
     /**
      * The constant CLIENT_SAGA_JSON_PARSER.
      */
@@ -475,6 +495,17 @@ public interface ConfigurationKeys {
      */
     String ROLLBACK_RETRY_TIMEOUT_UNLOCK_ENABLE = SERVER_PREFIX + "rollbackRetryTimeoutUnlockEnable";
 
+    /**
+     * The constant XA_ASYNC_COMMIT_ENABLE.
+     * <p>
+     * Whether the TC reports the global commit of prepared XA branches as Committed before their xa commit, which is
+     * left to the async committing task. It saves the phase two round trip on the commit path, at the cost of
+     * read-your-writes: the database keeps the rows of the branches locked until the task commits them, up to
+     * {@link #HANDLE_ALL_SESSION_PERIOD} later, so a read right after the commit blocks or sees the old values.
+     * Off by default.
+     */
+    String XA_ASYNC_COMMIT_ENABLE = SERVER_PREFIX + "xaAsyncCommitEnable";
+
     /**
      * the constant RETRY_DEAD_THRESHOLD
      */
@@ -485,6 +516,41 @@ public interface ConfigurationKeys {
      */
     String DISTRIBUTED_LOCK_EXPIRE_TIME = SERVER_PREFIX + "distributedLockExpireTime";
 
+    /**
+     * The constant SERVER_LOCK_PREFIX.
+     */
+    String SERVER_LOCK_PREFIX = SERVER_PREFIX + "lock.";
+
+    /**
+     * The constant SERVER_LOCK_WAIT_ENABLE.
+     */
+    String SERVER_LOCK_WAIT_ENABLE = SERVER_LOCK_PREFIX + "waitEnable";
+
+    /**
+     * The constant SERVER_LOCK_WAIT_TIMEOUT.
+     */
+    String SERVER_LOCK_WAIT_TIMEOUT = SERVER_LOCK_PREFIX + "waitTimeout";
+
+    /**
+     * The constant SERVER_LOCK_MAX_WAITERS.
+     */
+    String SERVER_LOCK_MAX_WAITERS = SERVER_LOCK_PREFIX + "maxWaiters";
+
+    /**
+     * The constant SERVER_EVENT_PREFIX.
+     */
+    String SERVER_EVENT_PREFIX = SERVER_PREFIX + "event.";
+
+    /**
+     * The constant SERVER_EVENT_BUFFER_SIZE.
+     */
+    String SERVER_EVENT_BUFFER_SIZE = SERVER_EVENT_PREFIX + "bufferSize";
+
+    /**
+     * The constant SERVER_EVENT_OVERFLOW_POLICY.
+     */
+    String SERVER_EVENT_OVERFLOW_POLICY = SERVER_EVENT_PREFIX + "overflowPolicy";
+
     /**
      * The constant MIN_SERVER_POOL_SIZE.
      */
@@ -784,6 +850,11 @@ public interface ConfigurationKeys {
      */
     String TCC_FENCE_LOG_TABLE_NAME = TCC_FENCE_PREFIX + "logTableName";
 
+    /**
+     * The constant TCC_FENCE_CLEAN_BATCH_SIZE
+     */
+    String TCC_FENCE_CLEAN_BATCH_SIZE = TCC_FENCE_PREFIX + "cleanBatchSize";
+
     /**
      * The constant rpcRmRequestTimeout
      */
@@ -30,10 +30,14 @@ public interface DefaultValues {
     int DEFAULT_TM_DEGRADE_CHECK_PERIOD = 2000;
     int DEFAULT_CLIENT_REPORT_RETRY_COUNT = 5;
     boolean DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE = false;
+    int DEFAULT_CLIENT_XA_MAX_HELD_CONNECTIONS = 0;
+    long DEFAULT_CLIENT_XA_HOLD_WAIT_TIMEOUT = 1000L;
+    long DEFAULT_CLIENT_XA_HELD_IDLE_TIMEOUT = 0L;
     boolean DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE = false;
     long DEFAULT_TABLE_META_CHECKER_INTERVAL = 60000L;
     boolean DEFAULT_TM_DEGRADE_CHECK = false;
     boolean DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE = false;
+    boolean DEFAULT_CLIENT_SAGA_WRITE_BEHIND_ENABLE = false;
     boolean DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE = false;
     boolean DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE = false;
 
@@ -114,6 +118,11 @@ public interface DefaultValues {
 
     boolean DEFAULT_SERVER_ENABLE_CHECK_AUTH = true;
 
+    /**
+     * the constant DEFAULT_XA_ASYNC_COMMIT_ENABLE, the xa branches are committed before the commit is reported
+     */
+    boolean DEFAULT_XA_ASYNC_COMMIT_ENABLE = false;
+
     String DEFAULT_LOAD_BALANCE = "RandomLoadBalance";
     int VIRTUAL_NODES_DEFAULT = 10;
 
@@ -152,6 +161,31 @@ public interface DefaultValues {
      */
     int DEFAULT_DISTRIBUTED_LOCK_EXPIRE = 10000;
 
+    /**
+     * the constant DEFAULT_SERVER_LOCK_WAIT_ENABLE
+     */
+    boolean DEFAULT_SERVER_LOCK_WAIT_ENABLE = false;
+
+    /**
+     * the constant DEFAULT_SERVER_LOCK_WAIT_TIMEOUT
+     */
+    int DEFAULT_SERVER_LOCK_WAIT_TIMEOUT = 500;
+
+    /**
+     * the constant DEFAULT_SERVER_LOCK_MAX_WAITERS
+     */
+    int DEFAULT_SERVER_LOCK_MAX_WAITERS = 100;
+
+    /**
+     * the constant DEFAULT_SERVER_EVENT_BUFFER_SIZE
+     */
+    int DEFAULT_SERVER_EVENT_BUFFER_SIZE = 8192;
+
+    /**
+     * the constant DEFAULT_SERVER_EVENT_OVERFLOW_POLICY
+     */
+    String DEFAULT_SERVER_EVENT_OVERFLOW_POLICY = "block";
+
     /**
      * the constant DEFAULT_TCC_FENCE_CLEAN_PERIOD
      */
@@ -160,6 +194,10 @@ public interface DefaultValues {
      * the constant DEFAULT_TCC_FENCE_LOG_TABLE_NAME
      */
     String DEFAULT_TCC_FENCE_LOG_TABLE_NAME = "tcc_fence_log";
+    /**
+     * the constant DEFAULT_TCC_FENCE_CLEAN_BATCH_SIZE
+     */
+    int DEFAULT_TCC_FENCE_CLEAN_BATCH_SIZE = 500;
     /**
      * the constant TCC_FENCE_BEAN_NAME
      */
@@ -211,6 +211,11 @@ public enum FrameworkErrorCode {
      */
     StateMachineNoChoiceMatched("0422", "State machine no choice matched", "State machine no choice matched"),
 
+    /**
+     * Asynchronous execution rejected
+     */
+    AsynchronousExecutionRejected("0423", "Asynchronous execution rejected", "Asynchronous execution rejected"),
+
     /** 0500~0599 TCC fence related error **/
 
     /**
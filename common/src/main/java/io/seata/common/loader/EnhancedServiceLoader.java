@@ -26,9 +26,10 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import io.seata.common.Constants;
 import io.seata.common.executor.Initialize;
@@ -194,6 +195,12 @@ public class EnhancedServiceLoader {
                 classToDefinitionMap.remove(entry.getKey());
             }
         }
+        for (ExtensionDefinition definition : serviceLoader.unloadedDefinitions) {
+            if (activateName.equals(definition.getName())) {
+                extensionDefinitions.add(definition);
+                serviceLoader.unloadedDefinitions.remove(definition);
+            }
+        }
         serviceLoader.nameToDefinitionsMap.remove(activateName);
         if (CollectionUtils.isNotEmpty(extensionDefinitions)) {
             for (ExtensionDefinition definition : extensionDefinitions) {
@@ -253,6 +260,10 @@ public class EnhancedServiceLoader {
                 new ConcurrentHashMap<>();
         private final ConcurrentMap<String, List<ExtensionDefinition>> nameToDefinitionsMap = new ConcurrentHashMap<>();
         private final ConcurrentMap<Class<?>, ExtensionDefinition> classToDefinitionMap = new ConcurrentHashMap<>();
+        /**
+         * the definitions built from the extension index, until their classes are loaded
+         */
+        private final Set<ExtensionDefinition> unloadedDefinitions = ConcurrentHashMap.newKeySet();
 
         private InnerEnhancedServiceLoader(Class<S> type) {
             this.type = type;
@@ -364,14 +375,15 @@ public class EnhancedServiceLoader {
          */
         private List<S> loadAll(Class[] argsType, Object[] args, ClassLoader loader) {
             List<S> allInstances = new ArrayList<>();
-            List<Class> allClazzs = getAllExtensionClass(loader);
-            if (CollectionUtils.isEmpty(allClazzs)) {
+            List<ExtensionDefinition> definitions = loadAllExtensionDefinition(loader);
+            if (CollectionUtils.isEmpty(definitions)) {
                 return allInstances;
             }
             try {
-                for (Class clazz : allClazzs) {
-                    ExtensionDefinition definition = classToDefinitionMap.get(clazz);
-                    allInstances.add(getExtensionInstance(definition, loader, argsType, args));
+                for (ExtensionDefinition definition : definitions) {
+                    if (loadServiceClass(definition)) {
+                        allInstances.add(getExtensionInstance(definition, loader, argsType, args));
+                    }
                 }
             } catch (Throwable t) {
                 throw new EnhancedServiceNotFoundException(t);
@@ -394,7 +406,7 @@ public class EnhancedServiceLoader {
         private S loadExtension(ClassLoader loader, Class[] argTypes,
                                 Object[] args) {
             try {
-                loadAllExtensionClass(loader);
+                loadAllExtensionDefinition(loader);
                 ExtensionDefinition defaultExtensionDefinition = getDefaultExtensionDefinition();
                 return getExtensionInstance(defaultExtensionDefinition, loader, argTypes, args);
             } catch (Throwable e) {
@@ -415,7 +427,7 @@ public class EnhancedServiceLoader {
                 throw new IllegalArgumentException("the name of service provider for [" + type.getName() + "] name is null");
             }
             try {
-                loadAllExtensionClass(loader);
+                loadAllExtensionDefinition(loader);
                 ExtensionDefinition cachedExtensionDefinition = getCachedExtensionDefinition(activateName);
                 return getExtensionInstance(cachedExtensionDefinition, loader, argTypes, args);
             } catch (Throwable e) {
@@ -454,8 +466,8 @@ public class EnhancedServiceLoader {
         }
 
         private S createNewExtension(ExtensionDefinition definition, ClassLoader loader, Class[] argTypes, Object[] args) {
-            Class<?> clazz = definition.getServiceClass();
             try {
+                Class<?> clazz = definition.loadServiceClass();
                 S newInstance = initInstance(clazz, argTypes, args);
                 return newInstance;
             } catch (Throwable t) {
@@ -465,6 +477,16 @@ public class EnhancedServiceLoader {
         }
 
         private List<Class> loadAllExtensionClass(ClassLoader loader) {
+            List<Class> classes = new ArrayList<>();
+            for (ExtensionDefinition definition : loadAllExtensionDefinition(loader)) {
+                if (loadServiceClass(definition)) {
+                    classes.add(definition.getServiceClass());
+                }
+            }
+            return classes;
+        }
+
+        private List<ExtensionDefinition> loadAllExtensionDefinition(ClassLoader loader) {
             List<ExtensionDefinition> definitions = definitionsHolder.get();
             if (definitions == null) {
                 synchronized (definitionsHolder) {
@@ -475,7 +497,39 @@ public class EnhancedServiceLoader {
                     }
                 }
             }
-            return definitions.stream().map(def -> def.getServiceClass()).collect(Collectors.toList());
+            return definitions;
+        }
+
+        /**
+         * Load the class of the definition built from the extension index, the definition is removed if the class
+         * can not be loaded, the same as the class failed to load while scanning the service files.
+         *
+         * @param definition the definition
+         * @return true if the class is loaded
+         */
+        private boolean loadServiceClass(ExtensionDefinition definition) {
+            if (definition.getServiceClass() != null) {
+                return true;
+            }
+            try {
+                classToDefinitionMap.putIfAbsent(definition.loadServiceClass(), definition);
+                unloadedDefinitions.remove(definition);
+                return true;
+            } catch (LinkageError | ClassNotFoundException e) {
+                LOGGER.warn("Load [{}] class fail. {}", definition.getClassName(), e.getMessage());
+            }
+            List<ExtensionDefinition> definitions = definitionsHolder.get();
+            if (definitions != null) {
+                definitions.remove(definition);
+            }
+            if (definition.getName() != null) {
+                List<ExtensionDefinition> namedDefinitions = nameToDefinitionsMap.get(definition.getName());
+                if (namedDefinitions != null) {
+                    namedDefinitions.remove(definition);
+                }
+            }
+            unloadedDefinitions.remove(definition);
+            return false;
         }
 
         @SuppressWarnings("rawtypes")
@@ -507,7 +561,8 @@ public class EnhancedServiceLoader {
                 });
             }
 
-            return extensionDefinitions;
+            // the definitions built from the extension index may be removed when their classes fail to load
+            return new CopyOnWriteArrayList<>(extensionDefinitions);
         }
 
 
@@ -558,21 +613,31 @@ public class EnhancedServiceLoader {
             throws ClassNotFoundException {
             //Check whether the definition has been loaded
             if (!isDefinitionContainsClazz(className, loader)) {
-                Class<?> clazz = Class.forName(className, true, loader);
-                String serviceName = null;
-                Integer priority = 0;
-                Scope scope = Scope.SINGLETON;
-                LoadLevel loadLevel = clazz.getAnnotation(LoadLevel.class);
-                if (loadLevel != null) {
-                    serviceName = loadLevel.name();
-                    priority = loadLevel.order();
-                    scope = loadLevel.scope();
+                ExtensionDefinition result;
+                ExtensionIndex.Entry indexed = ExtensionIndex.get(loader).lookup(className);
+                if (indexed != null) {
+                    // the class is loaded when the extension is chosen
+                    result = new ExtensionDefinition(indexed.getName(), indexed.getOrder(), indexed.getScope(),
+                        className, loader);
+                    unloadedDefinitions.add(result);
+                } else {
+                    Class<?> clazz = Class.forName(className, true, loader);
+                    String serviceName = null;
+                    Integer priority = 0;
+                    Scope scope = Scope.SINGLETON;
+                    LoadLevel loadLevel = clazz.getAnnotation(LoadLevel.class);
+                    if (loadLevel != null) {
+                        serviceName = loadLevel.name();
+                        priority = loadLevel.order();
+                        scope = loadLevel.scope();
+                    }
+                    result = new ExtensionDefinition(serviceName, priority, scope, clazz);
+                    classToDefinitionMap.put(clazz, result);
                 }
-                ExtensionDefinition result = new ExtensionDefinition(serviceName, priority, scope, clazz);
-                classToDefinitionMap.put(clazz, result);
+                String serviceName = result.getName();
                 if (serviceName != null) {
-                    CollectionUtils.computeIfAbsent(nameToDefinitionsMap, serviceName, e -> new ArrayList<>())
-                            .add(result);
+                    CollectionUtils.computeIfAbsent(nameToDefinitionsMap, serviceName,
+                        e -> new CopyOnWriteArrayList<>()).add(result);
                 }
                 return result;
             }
@@ -588,17 +653,30 @@ public class EnhancedServiceLoader {
                     return true;
                 }
             }
+            for (ExtensionDefinition definition : unloadedDefinitions) {
+                if (definition.getClassName().equals(className) && Objects.equals(definition.getClassLoader(), loader)) {
+                    return true;
+                }
+            }
             return false;
         }
 
         private ExtensionDefinition getDefaultExtensionDefinition() {
-            List<ExtensionDefinition> currentDefinitions = definitionsHolder.get();
-            return CollectionUtils.getLast(currentDefinitions);
+            return getLastLoadable(definitionsHolder.get());
         }
 
         private ExtensionDefinition getCachedExtensionDefinition(String activateName) {
-            List<ExtensionDefinition> definitions = nameToDefinitionsMap.get(activateName);
-            return CollectionUtils.getLast(definitions);
+            return getLastLoadable(nameToDefinitionsMap.get(activateName));
+        }
+
+        private ExtensionDefinition getLastLoadable(List<ExtensionDefinition> definitions) {
+            while (CollectionUtils.isNotEmpty(definitions)) {
+                ExtensionDefinition last = CollectionUtils.getLast(definitions);
+                if (last == null || loadServiceClass(last)) {
+                    return last;
+                }
+            }
+            return null;
         }
 
         /**
@@ -24,7 +24,9 @@ import io.seata.common.util.StringUtils;
  */
 final class ExtensionDefinition {
     private String name;
-    private Class serviceClass;
+    private String className;
+    private ClassLoader classLoader;
+    private volatile Class serviceClass;
     private Integer order;
     private Scope scope;
 
@@ -32,19 +34,46 @@ final class ExtensionDefinition {
         return this.order;
     }
 
+    /**
+     * Gets the service class, null if it has not been loaded yet.
+     *
+     * @return the service class
+     * @see #loadServiceClass()
+     */
     public Class getServiceClass() {
         return this.serviceClass;
     }
 
+    /**
+     * Load the service class if the definition was built from the extension index.
+     *
+     * @return the service class
+     * @throws ClassNotFoundException the class not found exception
+     */
+    Class loadServiceClass() throws ClassNotFoundException {
+        Class clazz = this.serviceClass;
+        if (clazz == null) {
+            clazz = Class.forName(className, true, classLoader);
+            this.serviceClass = clazz;
+        }
+        return clazz;
+    }
+
     public Scope getScope() {
         return this.scope;
     }
 
     public ExtensionDefinition(String name, Integer order, Scope scope, Class clazz) {
+        this(name, order, scope, clazz.getName(), clazz.getClassLoader());
+        this.serviceClass = clazz;
+    }
+
+    public ExtensionDefinition(String name, Integer order, Scope scope, String className, ClassLoader classLoader) {
         this.name = name;
         this.order = order;
         this.scope = scope;
-        this.serviceClass = clazz;
+        this.className = className;
+        this.classLoader = classLoader;
     }
 
     @Override
@@ -52,7 +81,7 @@ final class ExtensionDefinition {
         final int prime = 31;
         int result = 1;
         result = prime * result + ((name == null) ? 0 : name.hashCode());
-        result = prime * result + ((serviceClass == null) ? 0 : serviceClass.hashCode());
+        result = prime * result + ((className == null) ? 0 : className.hashCode());
         result = prime * result + ((order == null) ? 0 : order.hashCode());
         result = prime * result + ((scope == null) ? 0 : scope.hashCode());
         return result;
@@ -73,16 +102,24 @@ final class ExtensionDefinition {
         if (!StringUtils.equals(name, other.name)) {
             return false;
         }
-        if (!serviceClass.equals(other.serviceClass)) {
+        if (!className.equals(other.className) || classLoader != other.classLoader) {
             return false;
         }
         if (!order.equals(other.order)) {
             return false;
         }
-        return !scope.equals(other.scope);
+        return scope.equals(other.scope);
     }
 
     public String getName() {
         return name;
     }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.common.loader;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.seata.common.Constants;
+import io.seata.common.util.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@linkplain LoadLevel} metadata of the extension classes, generated at build time by
+ * {@code io.seata.processor.ExtensionIndexProcessor} of seata-processor.
+ * <p>
+ * All the index resources visible to a class loader are read once, so that the extension definitions can be
+ * built from the class names in the service files without loading the classes.
+ */
+final class ExtensionIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExtensionIndex.class);
+
+    /**
+     * The index resource.
+     */
+    static final String INDEX_RESOURCE = "META-INF/seata-extension.index";
+
+    private static final ConcurrentMap<ClassLoader, ExtensionIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> entries;
+
+    private ExtensionIndex(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Gets the index of the class loader.
+     *
+     * @param loader the class loader, the system class loader if null
+     * @return the extension index
+     */
+    static ExtensionIndex get(ClassLoader loader) {
+        ClassLoader classLoader = loader != null ? loader : ClassLoader.getSystemClassLoader();
+        return CollectionUtils.computeIfAbsent(INDEXES, classLoader, ExtensionIndex::load);
+    }
+
+    /**
+     * Lookup the index entry of the extension class.
+     *
+     * @param className the extension class name
+     * @return the entry, null if the class is not indexed
+     */
+    Entry lookup(String className) {
+        return entries.get(className);
+    }
+
+    private static ExtensionIndex load(ClassLoader loader) {
+        Map<String, Entry> entries = new HashMap<>();
+        try {
+            Enumeration<URL> urls = loader.getResources(INDEX_RESOURCE);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(),
+                    Constants.DEFAULT_CHARSET))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        parseLine(line, entries);
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            // without the index the extensions are loaded as before
+            LOGGER.warn("load extension index error: {}", e.getMessage());
+            return new ExtensionIndex(Collections.emptyMap());
+        }
+        return new ExtensionIndex(entries);
+    }
+
+    /**
+     * Parse a line of the index: {@code className=name,order,scope}
+     *
+     * @param line    the line
+     * @param entries the entries
+     */
+    static void parseLine(String line, Map<String, Entry> entries) {
+        line = line.trim();
+        if (line.isEmpty() || line.charAt(0) == '#') {
+            return;
+        }
+        int keyEnd = line.indexOf('=');
+        int scopeStart = line.lastIndexOf(',');
+        int orderStart = scopeStart > 0 ? line.lastIndexOf(',', scopeStart - 1) : -1;
+        if (keyEnd <= 0 || orderStart < keyEnd) {
+            LOGGER.warn("illegal extension index line: {}", line);
+            return;
+        }
+        try {
+            String className = line.substring(0, keyEnd).trim();
+            String name = line.substring(keyEnd + 1, orderStart);
+            int order = Integer.parseInt(line.substring(orderStart + 1, scopeStart).trim());
+            Scope scope = Scope.valueOf(line.substring(scopeStart + 1).trim());
+            // the first one wins, the same as the class loading
+            entries.putIfAbsent(className, new Entry(name, order, scope));
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("illegal extension index line: {}", line);
+        }
+    }
+
+    /**
+     * The indexed {@linkplain LoadLevel} of an extension class.
+     */
+    static final class Entry {
+
+        private final String name;
+
+        private final int order;
+
+        private final Scope scope;
+
+        Entry(String name, int order, Scope scope) {
+            this.name = name;
+            this.order = order;
+            this.scope = scope;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getOrder() {
+            return order;
+        }
+
+        Scope getScope() {
+            return scope;
+        }
+    }
+}
@@ -17,6 +17,7 @@ package io.seata.common.rpc;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -28,8 +29,15 @@ import java.util.concurrent.atomic.LongAdder;
 public class RpcStatus {
 
     private static final ConcurrentMap<String, RpcStatus> SERVICE_STATUS_MAP = new ConcurrentHashMap<>();
+    /**
+     * The decay time of the response time EWMA, an idle or recovered service is tried again after a while.
+     */
+    private static final double EWMA_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
     private final AtomicLong active = new AtomicLong();
     private final LongAdder total = new LongAdder();
+    private double ewmaResponseTime;
+    private long ewmaStamp;
+    private boolean ewmaRecorded;
 
     private RpcStatus() {
     }
@@ -73,6 +81,46 @@ public class RpcStatus {
         rpcStatus.total.increment();
     }
 
+    /**
+     * record the response time of a request
+     *
+     * @param service      the service
+     * @param elapsedNanos the response time in nanoseconds
+     */
+    public static void recordResponseTime(String service, long elapsedNanos) {
+        getStatus(service).updateEwma(elapsedNanos);
+    }
+
+    private synchronized void updateEwma(long elapsedNanos) {
+        long now = System.nanoTime();
+        double current = decayedEwma(now);
+        if (elapsedNanos > current) {
+            // peak sensitive: a slow response is taken at once, the recovery is smoothed
+            ewmaResponseTime = elapsedNanos;
+        } else {
+            double weight = Math.exp(-(now - ewmaStamp) / EWMA_DECAY_NANOS);
+            ewmaResponseTime = current * weight + elapsedNanos * (1 - weight);
+        }
+        ewmaStamp = now;
+        ewmaRecorded = true;
+    }
+
+    private double decayedEwma(long now) {
+        if (!ewmaRecorded) {
+            return 0;
+        }
+        return ewmaResponseTime * Math.exp(-(now - ewmaStamp) / EWMA_DECAY_NANOS);
+    }
+
+    /**
+     * get the exponentially weighted moving average of the response time, decaying while no response is recorded.
+     *
+     * @return the response time in nanoseconds, 0 if unknown
+     */
+    public synchronized double getEwmaResponseTime() {
+        return decayedEwma(System.nanoTime());
+    }
+
     /**
      * get active.
      *
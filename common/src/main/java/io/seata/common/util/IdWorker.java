@@ -73,6 +73,22 @@ public class IdWorker {
      */
     private final long timestampAndSequenceMask = ~(-1L << (timestampBits + sequenceBits));
 
+    /**
+     * The number of ids a thread takes from timestampAndSequence at once
+     */
+    private final int leaseSize = 32;
+
+    /**
+     * How far, in milliseconds, the timestamp of timestampAndSequence may run ahead of the clock
+     * when the sequence space of the current millisecond is exhausted
+     */
+    private final long maxBorrowMillis = 100;
+
+    /**
+     * the range of ids leased by the current thread
+     */
+    private final ThreadLocal<Lease> leases = ThreadLocal.withInitial(Lease::new);
+
     /**
      * instantiate an IdWorker using given workerId
      * @param workerId if null, then will auto assign one
@@ -112,29 +128,45 @@ public class IdWorker {
      * next   10 bit: workerId
      * next   41 bit: timestamp
      * lowest 12 bit: sequence
+     *
+     * ids are taken from a range leased by the current thread, so the ids of one thread always increase,
+     * while ids of different threads taken in the same millisecond may interleave
      * @return UUID
      */
     public long nextId() {
-        waitIfNecessary();
-        long next = timestampAndSequence.incrementAndGet();
-        long timestampWithSequence = next & timestampAndSequenceMask;
+        Lease lease = leases.get();
+        long newest = getNewestTimestamp();
+        if (lease.next > lease.last || lease.timestamp != newest) {
+            renewLease(lease, newest);
+        }
+        long timestampWithSequence = lease.next++ & timestampAndSequenceMask;
         return workerId | timestampWithSequence;
     }
 
     /**
-     * block current thread if the QPS of acquiring UUID is too high
-     * that current sequence space is exhausted
+     * lease the next range of ids, a lease is only used in the millisecond it was taken
      */
-    private void waitIfNecessary() {
-        long currentWithSequence = timestampAndSequence.get();
-        long current = currentWithSequence >>> sequenceBits;
-        long newest = getNewestTimestamp();
-        if (current >= newest) {
-            try {
-                Thread.sleep(5);
-            } catch (InterruptedException ignore) {
-                // don't care
-            }
+    private void renewLease(Lease lease, long newest) {
+        if (lease.next <= lease.last) {
+            // give back the unused ids if no other thread leased after them
+            timestampAndSequence.compareAndSet(lease.last, lease.next - 1);
+        }
+        waitIfNecessary(newest);
+        long current = timestampAndSequence.getAndAdd(leaseSize);
+        lease.next = current + 1;
+        lease.last = current + leaseSize;
+        lease.timestamp = newest;
+    }
+
+    /**
+     * when the QPS of acquiring UUID is so high that the sequence space of the current millisecond
+     * is exhausted, the following ids borrow the sequence space of the next milliseconds.
+     * only yield (never sleep) when the borrowed time exceeds maxBorrowMillis
+     */
+    private void waitIfNecessary(long newest) {
+        while ((timestampAndSequence.get() >>> sequenceBits) - newest >= maxBorrowMillis) {
+            Thread.yield();
+            newest = getNewestTimestamp();
         }
     }
 
@@ -184,4 +216,25 @@ public class IdWorker {
     private long generateRandomWorkerId() {
         return new Random().nextInt(maxWorkerId + 1);
     }
+
+    /**
+     * a range of ids leased by one thread
+     */
+    private static class Lease {
+
+        /**
+         * the next timestamp and sequence to use
+         */
+        private long next = 1;
+
+        /**
+         * the last timestamp and sequence of the range
+         */
+        private long last;
+
+        /**
+         * the timestamp when the range was leased
+         */
+        private long timestamp = -1;
+    }
 }
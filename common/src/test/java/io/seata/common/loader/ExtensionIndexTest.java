@@ -0,0 +1,64 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.common.loader;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Extension index test.
+ */
+public class ExtensionIndexTest {
+
+    @Test
+    public void testLookup() {
+        ExtensionIndex index = ExtensionIndex.get(ExtensionIndexTest.class.getClassLoader());
+        ExtensionIndex.Entry entry = index.lookup(LatinHello.class.getName());
+        Assertions.assertNotNull(entry);
+        Assertions.assertEquals("LatinHello", entry.getName());
+        Assertions.assertEquals(3, entry.getOrder());
+        Assertions.assertEquals(Scope.PROTOTYPE, entry.getScope());
+        Assertions.assertNull(index.lookup(Hello.class.getName()));
+    }
+
+    @Test
+    public void testParseLine() {
+        Map<String, ExtensionIndex.Entry> entries = new HashMap<>();
+        ExtensionIndex.parseLine("# comment", entries);
+        ExtensionIndex.parseLine("  ", entries);
+        ExtensionIndex.parseLine("a.B=b", entries);
+        ExtensionIndex.parseLine("a.C=c,x,SINGLETON", entries);
+        ExtensionIndex.parseLine("a.D=d,1,UNKNOWN", entries);
+        Assertions.assertTrue(entries.isEmpty());
+
+        ExtensionIndex.parseLine("a.E=e,-1,SINGLETON", entries);
+        ExtensionIndex.parseLine("a.E=other,2,PROTOTYPE", entries);
+        Assertions.assertEquals(1, entries.size());
+        Assertions.assertEquals("e", entries.get("a.E").getName());
+        Assertions.assertEquals(-1, entries.get("a.E").getOrder());
+        Assertions.assertEquals(Scope.SINGLETON, entries.get("a.E").getScope());
+    }
+
+    @Test
+    public void testLoadIndexedExtension() {
+        Hello hello = EnhancedServiceLoader.load(Hello.class, "FrenchHello");
+        Assertions.assertEquals(FrenchHello.class, hello.getClass());
+        Assertions.assertSame(hello, EnhancedServiceLoader.load(Hello.class, "FrenchHello"));
+    }
+}
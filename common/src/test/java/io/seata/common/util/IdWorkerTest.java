@@ -15,10 +15,20 @@
  */
 package io.seata.common.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class IdWorkerTest {
 
@@ -43,4 +53,38 @@ class IdWorkerTest {
         long id2 = worker.nextId();
         assertEquals(1L, id2 - id1, "increment step should be 1");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testNextIdConcurrently() throws Exception {
+        IdWorker worker = new IdWorker(null);
+        int threads = 8;
+        int idsPerThread = 20000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long previous = -1;
+                    for (int j = 0; j < idsPerThread; j++) {
+                        long id = worker.nextId();
+                        if (id <= previous || !ids.add(id)) {
+                            return false;
+                        }
+                        previous = id;
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(), "ids should be unique and increase within a thread");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+}
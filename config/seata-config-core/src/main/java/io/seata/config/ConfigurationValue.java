@@ -0,0 +1,175 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.config;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import io.seata.common.util.DurationUtil;
+import io.seata.common.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A typed snapshot of one configuration item.
+ * <p>
+ * The value is parsed once when the holder is created and again on every {@link ConfigurationChangeEvent}
+ * of its data id, so reading it is a single volatile load instead of a call through the proxied
+ * {@link Configuration}. Blank or unparsable values fall back to the default value.
+ * <p>
+ * Holders are meant to be created once and kept in a static field, e.g.
+ * <pre>
+ * private static final ConfigurationValue&lt;Integer&gt; RATE = ConfigurationValue.ofInt(KEY, DEFAULT_RATE);
+ * ...
+ * int rate = RATE.get();
+ * </pre>
+ *
+ * @param <T> the type of the value
+ */
+public final class ConfigurationValue<T> implements ConfigurationChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationValue.class);
+
+    private final String dataId;
+
+    private final T defaultValue;
+
+    private final Function<String, T> parser;
+
+    private volatile T value;
+
+    ConfigurationValue(String dataId, T defaultValue, Function<String, T> parser) {
+        this.dataId = dataId;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+        this.value = defaultValue;
+    }
+
+    /**
+     * Bind a string value.
+     *
+     * @param dataId       the data id
+     * @param defaultValue the default value
+     * @return the configuration value
+     */
+    public static ConfigurationValue<String> ofString(String dataId, String defaultValue) {
+        return bind(new ConfigurationValue<>(dataId, defaultValue, Function.identity()));
+    }
+
+    /**
+     * Bind an int value.
+     *
+     * @param dataId       the data id
+     * @param defaultValue the default value
+     * @return the configuration value
+     */
+    public static ConfigurationValue<Integer> ofInt(String dataId, int defaultValue) {
+        return bind(new ConfigurationValue<>(dataId, defaultValue, v -> Integer.parseInt(v.trim())));
+    }
+
+    /**
+     * Bind a long value.
+     *
+     * @param dataId       the data id
+     * @param defaultValue the default value
+     * @return the configuration value
+     */
+    public static ConfigurationValue<Long> ofLong(String dataId, long defaultValue) {
+        return bind(new ConfigurationValue<>(dataId, defaultValue, v -> Long.parseLong(v.trim())));
+    }
+
+    /**
+     * Bind a boolean value.
+     *
+     * @param dataId       the data id
+     * @param defaultValue the default value
+     * @return the configuration value
+     */
+    public static ConfigurationValue<Boolean> ofBoolean(String dataId, boolean defaultValue) {
+        return bind(new ConfigurationValue<>(dataId, defaultValue, v -> Boolean.parseBoolean(v.trim())));
+    }
+
+    /**
+     * Bind a duration value, e.g. "100ms", "10s" or "PT1M".
+     *
+     * @param dataId       the data id
+     * @param defaultValue the default value
+     * @return the configuration value
+     */
+    public static ConfigurationValue<Duration> ofDuration(String dataId, Duration defaultValue) {
+        return bind(new ConfigurationValue<>(dataId, defaultValue, v -> DurationUtil.parse(v.trim())));
+    }
+
+    private static <T> ConfigurationValue<T> bind(ConfigurationValue<T> configValue) {
+        // listen first, so that a change published while reading the initial value is not lost
+        ConfigurationCache.addConfigListener(configValue.dataId, configValue);
+        configValue.update(ConfigurationFactory.getInstance().getConfig(configValue.dataId));
+        return configValue;
+    }
+
+    /**
+     * Gets the current value.
+     *
+     * @return the value
+     */
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Gets data id.
+     *
+     * @return the data id
+     */
+    public String getDataId() {
+        return dataId;
+    }
+
+    /**
+     * Gets default value.
+     *
+     * @return the default value
+     */
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public void onChangeEvent(ConfigurationChangeEvent event) {
+        if (dataId.equals(event.getDataId())) {
+            update(event.getNewValue());
+        }
+    }
+
+    void update(String rawValue) {
+        if (StringUtils.isBlank(rawValue)) {
+            value = defaultValue;
+            return;
+        }
+        try {
+            T newValue = parser.apply(rawValue);
+            value = newValue == null ? defaultValue : newValue;
+        } catch (RuntimeException e) {
+            LOGGER.warn("illegal value of config {}: {}, use the default value: {}", dataId, rawValue, defaultValue);
+            value = defaultValue;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return dataId + "=" + value;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.config;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Configuration value test.
+ */
+public class ConfigurationValueTest {
+
+    @Test
+    public void testOnChangeEvent() {
+        ConfigurationValue<Integer> value = new ConfigurationValue<>("value.test.int", 10, Integer::parseInt);
+        Assertions.assertEquals(10, value.get());
+
+        value.onChangeEvent(new ConfigurationChangeEvent("value.test.int", "20"));
+        Assertions.assertEquals(20, value.get());
+
+        // events of other data ids are ignored
+        value.onChangeEvent(new ConfigurationChangeEvent("value.test.other", "30"));
+        Assertions.assertEquals(20, value.get());
+
+        // illegal and removed values fall back to the default value
+        value.onChangeEvent(new ConfigurationChangeEvent("value.test.int", "not a number"));
+        Assertions.assertEquals(10, value.get());
+        value.onChangeEvent(new ConfigurationChangeEvent("value.test.int", "20"));
+        value.onChangeEvent(new ConfigurationChangeEvent("value.test.int", null));
+        Assertions.assertEquals(10, value.get());
+    }
+
+    @Test
+    public void testBind() {
+        ConfigurationValue<Duration> duration = ConfigurationValue.ofDuration("value.test.duration", Duration.ofSeconds(1));
+        Assertions.assertEquals(Duration.ofSeconds(1), duration.get());
+        duration.onChangeEvent(new ConfigurationChangeEvent("value.test.duration", "100ms"));
+        Assertions.assertEquals(Duration.ofMillis(100), duration.get());
+
+        ConfigurationValue<Boolean> bool = ConfigurationValue.ofBoolean("value.test.boolean", false);
+        Assertions.assertFalse(bool.get());
+        bool.onChangeEvent(new ConfigurationChangeEvent("value.test.boolean", "true"));
+        Assertions.assertTrue(bool.get());
+    }
+}
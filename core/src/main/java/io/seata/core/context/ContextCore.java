@@ -56,7 +56,7 @@ public interface ContextCore {
     /**
      * entries
      *
-     * @return the key-value map
+     * @return the key-value map, which may be a copy of the context
      */
     Map<String, Object> entries();
 }
@@ -0,0 +1,96 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.seata.core.context.RootContext.KEY_BRANCH_TYPE;
+import static io.seata.core.context.RootContext.KEY_GLOBAL_LOCK_FLAG;
+import static io.seata.core.context.RootContext.KEY_XID;
+
+/**
+ * The context values of a thread.
+ * <p>
+ * The keys of {@link RootContext}, which are read several times per sql statement, have their own fields, so
+ * that binding and reading them does not hash the key or allocate a map entry. The other keys are kept in a
+ * map created on the first use.
+ */
+final class ContextSlots {
+
+    private Object xid;
+
+    private Object branchType;
+
+    private Object globalLockFlag;
+
+    private Map<String, Object> others;
+
+    Object put(String key, Object value) {
+        Object previous;
+        if (KEY_XID.equals(key)) {
+            previous = xid;
+            xid = value;
+        } else if (KEY_BRANCH_TYPE.equals(key)) {
+            previous = branchType;
+            branchType = value;
+        } else if (KEY_GLOBAL_LOCK_FLAG.equals(key)) {
+            previous = globalLockFlag;
+            globalLockFlag = value;
+        } else {
+            if (others == null) {
+                others = new HashMap<>();
+            }
+            previous = others.put(key, value);
+        }
+        return previous;
+    }
+
+    Object get(String key) {
+        if (KEY_XID.equals(key)) {
+            return xid;
+        } else if (KEY_BRANCH_TYPE.equals(key)) {
+            return branchType;
+        } else if (KEY_GLOBAL_LOCK_FLAG.equals(key)) {
+            return globalLockFlag;
+        }
+        return others == null ? null : others.get(key);
+    }
+
+    Object remove(String key) {
+        return KEY_XID.equals(key) || KEY_BRANCH_TYPE.equals(key) || KEY_GLOBAL_LOCK_FLAG.equals(key)
+            ? put(key, null) : others == null ? null : others.remove(key);
+    }
+
+    /**
+     * Copy the values to a map, changing the map does not change the context.
+     *
+     * @return the key-value map
+     */
+    Map<String, Object> entries() {
+        Map<String, Object> entries = others == null ? new HashMap<>() : new HashMap<>(others);
+        if (xid != null) {
+            entries.put(KEY_XID, xid);
+        }
+        if (branchType != null) {
+            entries.put(KEY_BRANCH_TYPE, branchType);
+        }
+        if (globalLockFlag != null) {
+            entries.put(KEY_GLOBAL_LOCK_FLAG, globalLockFlag);
+        }
+        return entries;
+    }
+}
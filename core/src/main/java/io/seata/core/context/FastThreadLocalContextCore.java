@@ -18,7 +18,6 @@ package io.seata.core.context;
 import io.netty.util.concurrent.FastThreadLocal;
 import io.seata.common.loader.LoadLevel;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -29,10 +28,10 @@ import java.util.Map;
 @LoadLevel(name = "FastThreadLocalContextCore", order = Integer.MIN_VALUE + 1)
 public class FastThreadLocalContextCore implements ContextCore {
 
-    private FastThreadLocal<Map<String, Object>> fastThreadLocal = new FastThreadLocal<Map<String, Object>>() {
+    private FastThreadLocal<ContextSlots> fastThreadLocal = new FastThreadLocal<ContextSlots>() {
         @Override
-        protected Map<String, Object> initialValue() {
-            return new HashMap<>();
+        protected ContextSlots initialValue() {
+            return new ContextSlots();
         }
     };
 
@@ -53,6 +52,6 @@ public class FastThreadLocalContextCore implements ContextCore {
 
     @Override
     public Map<String, Object> entries() {
-        return fastThreadLocal.get();
+        return fastThreadLocal.get().entries();
     }
 }
\ No newline at end of file
@@ -15,7 +15,6 @@
  */
 package io.seata.core.context;
 
-import java.util.HashMap;
 import java.util.Map;
 import io.seata.common.loader.LoadLevel;
 
@@ -27,7 +26,7 @@ import io.seata.common.loader.LoadLevel;
 @LoadLevel(name = "ThreadLocalContextCore", order = Integer.MIN_VALUE)
 public class ThreadLocalContextCore implements ContextCore {
 
-    private ThreadLocal<Map<String, Object>> threadLocal = ThreadLocal.withInitial(HashMap::new);
+    private ThreadLocal<ContextSlots> threadLocal = ThreadLocal.withInitial(ContextSlots::new);
 
     @Override
     public Object put(String key, Object value) {
@@ -46,6 +45,6 @@ public class ThreadLocalContextCore implements ContextCore {
 
     @Override
     public Map<String, Object> entries() {
-        return threadLocal.get();
+        return threadLocal.get().entries();
     }
 }
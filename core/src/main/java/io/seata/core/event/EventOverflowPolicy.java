@@ -0,0 +1,49 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.event;
+
+/**
+ * What a {@link RingBufferEventBus} does with an event posted while its buffer is full.
+ */
+public enum EventOverflowPolicy {
+
+    /**
+     * Wait until the consumer frees a slot, no event is lost. The posting thread, e.g. a TC worker finishing a
+     * transaction, sleeps until the consumer wakes it, so a slow subscriber slows down the transactions.
+     */
+    BLOCK,
+
+    /**
+     * Drop the event and count it, the posting thread never waits but the subscribers, e.g. the metrics,
+     * miss the dropped events.
+     */
+    DROP;
+
+    /**
+     * Get the policy by name, ignoring case.
+     *
+     * @param name the name
+     * @return the policy, BLOCK if the name is unknown
+     */
+    public static EventOverflowPolicy get(String name) {
+        for (EventOverflowPolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(name)) {
+                return policy;
+            }
+        }
+        return BLOCK;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.event;
+
+/**
+ * Subscriber of one type of event, dispatched without reflection by {@link RingBufferEventBus}.
+ *
+ * @param <E> the event type
+ */
+public interface EventSubscriber<E extends Event> {
+
+    /**
+     * Gets the type of the events the subscriber receives, sub types included.
+     *
+     * @return the event type
+     */
+    Class<E> getEventType();
+
+    /**
+     * On event.
+     *
+     * @param event the event
+     */
+    void onEvent(E event);
+}
@@ -0,0 +1,339 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.event;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.common.eventbus.Subscribe;
+import io.seata.common.thread.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Asynchronous event bus on a preallocated ring buffer.
+ * <p>
+ * Any thread may post, a single consumer thread drains the published events in batches and dispatches them
+ * in order. When the buffer is full the {@link EventOverflowPolicy} decides whether the poster waits or the
+ * event is dropped, dropped events are counted instead of being lost silently. A waiting poster sleeps until
+ * the consumer frees slots and wakes it.
+ * <p>
+ * {@link EventSubscriber}s are dispatched directly. For compatibility other subscribers may still declare
+ * methods annotated with Guava's {@link Subscribe}, those methods are resolved once when registering.
+ */
+public class RingBufferEventBus implements EventBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RingBufferEventBus.class);
+
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final AtomicReferenceArray<Event> slots;
+
+    private final int mask;
+
+    private final EventOverflowPolicy overflowPolicy;
+
+    /**
+     * The next sequence to claim by the posters.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The next sequence to consume, only written by the consumer thread.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final Set<Object> subscriberSet = ConcurrentHashMap.newKeySet();
+
+    private volatile Dispatcher[] dispatchers = new Dispatcher[0];
+
+    private volatile boolean consumerParked;
+
+    private final ReentrantLock notFullLock = new ReentrantLock();
+
+    private final Condition notFull = notFullLock.newCondition();
+
+    /**
+     * The posters waiting for a free slot, the consumer only takes the lock to wake them when there are some.
+     */
+    private final AtomicInteger waitingPosters = new AtomicInteger();
+
+    private final Thread consumer;
+
+    /**
+     * Instantiates a new Ring buffer event bus.
+     *
+     * @param identifier     the identifier, used as the consumer thread name
+     * @param bufferSize     the buffer size, rounded up to a power of two
+     * @param overflowPolicy the overflow policy, BLOCK if null
+     */
+    public RingBufferEventBus(String identifier, int bufferSize, EventOverflowPolicy overflowPolicy) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.overflowPolicy = overflowPolicy == null ? EventOverflowPolicy.BLOCK : overflowPolicy;
+        this.consumer = new NamedThreadFactory(identifier, 1, true).newThread(this::consume);
+        this.consumer.start();
+    }
+
+    @Override
+    public void register(Object subscriber) {
+        if (subscriberSet.add(subscriber)) {
+            List<Dispatcher> added = resolveDispatchers(subscriber);
+            synchronized (this) {
+                List<Dispatcher> all = new ArrayList<>(dispatchers.length + added.size());
+                for (Dispatcher dispatcher : dispatchers) {
+                    all.add(dispatcher);
+                }
+                all.addAll(added);
+                dispatchers = all.toArray(new Dispatcher[0]);
+            }
+        }
+    }
+
+    @Override
+    public void unregister(Object subscriber) {
+        if (subscriberSet.remove(subscriber)) {
+            synchronized (this) {
+                List<Dispatcher> remaining = new ArrayList<>(dispatchers.length);
+                for (Dispatcher dispatcher : dispatchers) {
+                    if (dispatcher.target != subscriber) {
+                        remaining.add(dispatcher);
+                    }
+                }
+                dispatchers = remaining.toArray(new Dispatcher[0]);
+            }
+        }
+    }
+
+    @Override
+    public void unregisterAll() {
+        for (Object subscriber : subscriberSet) {
+            unregister(subscriber);
+        }
+    }
+
+    @Override
+    public void post(Event event) {
+        if (event == null) {
+            return;
+        }
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head.get() >= slots.length()) {
+                if (!waitForSlot(event)) {
+                    return;
+                }
+                continue;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                // the consumer clears the slot before moving the head past it, so the slot is free here
+                slots.set((int)sequence & mask, event);
+                if (consumerParked) {
+                    LockSupport.unpark(consumer);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Set<Object> getSubscribers() {
+        return subscriberSet;
+    }
+
+    /**
+     * Gets the number of events dropped because the buffer was full.
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the number of events posted but not dispatched yet.
+     *
+     * @return the pending count
+     */
+    public long getPendingCount() {
+        return Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Gets the buffer capacity.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Handle a full buffer.
+     *
+     * @return true if the post should be retried
+     */
+    private boolean waitForSlot(Event event) {
+        if (Thread.currentThread() == consumer) {
+            // a subscriber posting from the consumer thread would wait for itself forever
+            dispatch(event);
+            return false;
+        }
+        if (overflowPolicy == EventOverflowPolicy.DROP) {
+            countDropped();
+            return false;
+        }
+        // announce the wait before checking the head again, so either the consumer sees the waiter
+        // after moving the head and signals, or the moved head is seen here
+        waitingPosters.incrementAndGet();
+        notFullLock.lock();
+        try {
+            while (tail.get() - head.get() >= slots.length()) {
+                notFull.await();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            countDropped();
+            return false;
+        } finally {
+            notFullLock.unlock();
+            waitingPosters.decrementAndGet();
+        }
+    }
+
+    private void countDropped() {
+        long dropped = droppedCount.incrementAndGet();
+        if ((dropped & 1023) == 1) {
+            LOGGER.warn("event bus buffer is full, capacity:{}, dropped events:{}", slots.length(), dropped);
+        }
+    }
+
+    private void consume() {
+        long next = head.get();
+        while (true) {
+            int batch = 0;
+            Event event;
+            while (batch < MAX_BATCH_SIZE && (event = slots.get((int)next & mask)) != null) {
+                slots.lazySet((int)next & mask, null);
+                dispatch(event);
+                next++;
+                batch++;
+            }
+            if (batch > 0) {
+                head.set(next);
+                if (waitingPosters.get() > 0) {
+                    signalNotFull();
+                }
+                continue;
+            }
+            // a poster publishes the slot before it reads the flag, so either the slot is seen here
+            // or the poster sees the flag and unparks the consumer
+            consumerParked = true;
+            if (slots.get((int)next & mask) == null) {
+                LockSupport.park(this);
+            }
+            consumerParked = false;
+        }
+    }
+
+    private void signalNotFull() {
+        notFullLock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            notFullLock.unlock();
+        }
+    }
+
+    private void dispatch(Event event) {
+        for (Dispatcher dispatcher : dispatchers) {
+            if (dispatcher.eventType.isInstance(event)) {
+                try {
+                    dispatcher.dispatch(event);
+                } catch (Throwable t) {
+                    LOGGER.error("event subscriber {} failed to handle event {}", dispatcher.target, event, t);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Dispatcher> resolveDispatchers(Object subscriber) {
+        List<Dispatcher> dispatchers = new ArrayList<>(1);
+        if (subscriber instanceof EventSubscriber) {
+            EventSubscriber<Event> typed = (EventSubscriber<Event>)subscriber;
+            dispatchers.add(new Dispatcher(subscriber, typed.getEventType()) {
+                @Override
+                void dispatch(Event event) {
+                    typed.onEvent(event);
+                }
+            });
+            return dispatchers;
+        }
+        Set<String> resolved = new HashSet<>();
+        for (Class<?> clazz = subscriber.getClass(); clazz != null && clazz != Object.class;
+             clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && method.getParameterCount() == 1
+                    && !method.isBridge()
+                    // an overridden method is dispatched once
+                    && resolved.add(method.getName() + method.getParameterTypes()[0].getName())) {
+                    method.setAccessible(true);
+                    dispatchers.add(new Dispatcher(subscriber, method.getParameterTypes()[0]) {
+                        @Override
+                        void dispatch(Event event) throws Throwable {
+                            try {
+                                method.invoke(subscriber, event);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                    });
+                }
+            }
+        }
+        return dispatchers;
+    }
+
+    private abstract static class Dispatcher {
+
+        private final Object target;
+
+        private final Class<?> eventType;
+
+        Dispatcher(Object target, Class<?> eventType) {
+            this.target = target;
+            this.eventType = eventType;
+        }
+
+        abstract void dispatch(Event event) throws Throwable;
+    }
+}
@@ -19,8 +19,7 @@ import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
 
 import io.seata.common.util.CollectionUtils;
-import io.seata.config.Configuration;
-import io.seata.config.ConfigurationFactory;
+import io.seata.config.ConfigurationValue;
 import io.seata.core.constants.ConfigurationKeys;
 import org.slf4j.Logger;
 
@@ -31,7 +30,8 @@ import static io.seata.common.DefaultValues.DEFAULT_LOG_EXCEPTION_RATE;
  */
 public final class StackTraceLogger {
 
-    private static final Configuration CONFIG = ConfigurationFactory.getInstance();
+    private static final ConfigurationValue<Integer> LOG_EXCEPTION_RATE = ConfigurationValue.ofInt(
+        ConfigurationKeys.TRANSACTION_LOG_EXCEPTION_RATE, DEFAULT_LOG_EXCEPTION_RATE);
 
     private static final String STACK_TRACE_LOGGER_PREFIX = "[stacktrace]";
 
@@ -66,7 +66,7 @@ public final class StackTraceLogger {
     }
 
     private static int getRate() {
-        return CONFIG.getInt(ConfigurationKeys.TRANSACTION_LOG_EXCEPTION_RATE, DEFAULT_LOG_EXCEPTION_RATE);
+        return LOG_EXCEPTION_RATE.get();
     }
 
     private static boolean needToPrintStackTrace() {
@@ -47,6 +47,17 @@ public interface RemotingClient {
      */
     Object sendSyncRequest(Object msg) throws TimeoutException;
 
+    /**
+     * client send sync requests together.
+     * The messages are sent in one {@link io.seata.core.protocol.MergedWarpMessage} to the server selected by the
+     * first message, whether or not the batch sending is enabled, and the results are in the order of the messages.
+     *
+     * @param msgs transaction messages {@link io.seata.core.protocol}
+     * @return server result messages
+     * @throws TimeoutException TimeoutException
+     */
+    List<Object> sendSyncRequests(List<? extends AbstractMessage> msgs) throws TimeoutException;
+
     /**
      * client send sync request.
      *
@@ -16,7 +16,6 @@
 package io.seata.core.rpc;
 
 import io.netty.channel.Channel;
-import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
 import io.seata.core.rpc.netty.ChannelUtil;
 import io.seata.core.rpc.netty.NettyPoolKey;
@@ -24,7 +23,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -63,12 +61,15 @@ public class RpcContext {
     private ConcurrentMap<Integer, RpcContext> clientTMHolderMap;
 
     /**
-     * dbkeyRm
+     * the resource ids the rm channel is held for
      */
-    private ConcurrentMap<String, ConcurrentMap<Integer, RpcContext>> clientRMHolderMap;
+    private final Set<String> clientRMHolderSet = ConcurrentHashMap.newKeySet();
 
     /**
      * Release.
+     * <p>
+     * The rm channels are unregistered by {@link io.seata.core.rpc.netty.ChannelManager#releaseRpcContext}
+     * before it releases the context.
      */
     public void release() {
         Integer clientPort = ChannelUtil.getClientPortFromChannel(channel);
@@ -79,12 +80,7 @@ public class RpcContext {
             clientTMHolderMap.remove(clientPort);
             clientTMHolderMap = null;
         }
-        if (clientRole == NettyPoolKey.TransactionRole.RMROLE && clientRMHolderMap != null) {
-            for (Map<Integer, RpcContext> portMap : clientRMHolderMap.values()) {
-                portMap.remove(clientPort);
-            }
-            clientRMHolderMap = null;
-        }
+        clientRMHolderSet.clear();
         if (resourceSets != null) {
             resourceSets.clear();
         }
@@ -121,49 +117,18 @@ public class RpcContext {
      * Hold in resource manager channels.
      *
      * @param resourceId the resource id
-     * @param portMap    the client rm holder map
      */
-    public void holdInResourceManagerChannels(String resourceId, ConcurrentMap<Integer, RpcContext> portMap) {
-        if (this.clientRMHolderMap == null) {
-            this.clientRMHolderMap = new ConcurrentHashMap<>();
-        }
-        Integer clientPort = ChannelUtil.getClientPortFromChannel(channel);
-        portMap.put(clientPort, this);
-        this.clientRMHolderMap.put(resourceId, portMap);
+    public void holdInResourceManagerChannels(String resourceId) {
+        clientRMHolderSet.add(resourceId);
     }
 
     /**
-     * Hold in resource manager channels.
+     * Gets the resource ids the rm channel is held for.
      *
-     * @param resourceId the resource id
-     * @param clientPort the client port
-     */
-    public void holdInResourceManagerChannels(String resourceId, Integer clientPort) {
-        if (this.clientRMHolderMap == null) {
-            this.clientRMHolderMap = new ConcurrentHashMap<>();
-        }
-        ConcurrentMap<Integer, RpcContext> portMap = CollectionUtils.computeIfAbsent(clientRMHolderMap, resourceId,
-            key -> new ConcurrentHashMap<>());
-        portMap.put(clientPort, this);
-    }
-
-    /**
-     * Gets get client rm holder map.
-     *
-     * @return the get client rm holder map
-     */
-    public ConcurrentMap<String, ConcurrentMap<Integer, RpcContext>> getClientRMHolderMap() {
-        return clientRMHolderMap;
-    }
-
-    /**
-     * Gets port map.
-     *
-     * @param resourceId the resource id
-     * @return the port map
+     * @return the resource ids
      */
-    public Map<Integer, RpcContext> getPortMap(String resourceId) {
-        return clientRMHolderMap.get(resourceId);
+    public Set<String> getHeldResourceIds() {
+        return clientRMHolderSet;
     }
 
     /**
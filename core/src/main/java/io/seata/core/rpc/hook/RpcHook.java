@@ -24,5 +24,12 @@ public interface RpcHook {
 
     void doBeforeRequest(String remoteAddr, RpcMessage request);
 
+    /**
+     * Called when a synchronous request ends.
+     *
+     * @param remoteAddr the remote address
+     * @param request    the request
+     * @param response   the response, or the exception if the request failed or timed out
+     */
     void doAfterResponse(String remoteAddr, RpcMessage request, Object response);
 }
@@ -21,6 +21,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.common.rpc.RpcStatus;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.thread.PositiveAtomicCounter;
 import io.seata.core.constants.RpcMessageConstants.HeapMapKey;
@@ -52,6 +53,8 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The abstract netty remoting.
@@ -91,7 +94,12 @@ public abstract class AbstractNettyRemoting implements Disposable {
      */
     protected volatile long nowMills = 0;
     private static final int TIMEOUT_CHECK_INTERVAL = 3000;
-    protected final Object lock = new Object();
+    /**
+     * The lock and condition to wait for the channel to be writable, a j.u.c lock does not pin the carrier of
+     * a virtual thread while waiting.
+     */
+    private final ReentrantLock writableLock = new ReentrantLock();
+    private final Condition writableCondition = writableLock.newCondition();
     /**
      * The Is sending.
      */
@@ -186,6 +194,7 @@ public abstract class AbstractNettyRemoting implements Disposable {
 
         String remoteAddr = ChannelUtil.getAddressFromChannel(channel);
         doBeforeRpcHooks(remoteAddr, rpcMessage);
+        long start = System.nanoTime();
 
         channel.writeAndFlush(rpcMessage).addListener((ChannelFutureListener) future -> {
             if (!future.isSuccess()) {
@@ -199,9 +208,13 @@ public abstract class AbstractNettyRemoting implements Disposable {
 
         try {
             Object result = messageFuture.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            RpcStatus.recordResponseTime(remoteAddr, System.nanoTime() - start);
             doAfterRpcHooks(remoteAddr, rpcMessage, result);
             return result;
         } catch (Exception exx) {
+            // a timeout or a failure counts as a response as slow as the wait, and ends the request in flight
+            RpcStatus.recordResponseTime(remoteAddr, System.nanoTime() - start);
+            doAfterRpcHooks(remoteAddr, rpcMessage, exx);
             LOGGER.error("wait response error:{},ip:{},request:{}", exx.getMessage(), channel.remoteAddress(),
                 rpcMessage.getBody());
             if (exx instanceof TimeoutException) {
@@ -347,7 +360,8 @@ public abstract class AbstractNettyRemoting implements Disposable {
 
     private void channelWritableCheck(Channel channel, Object msg) {
         int tryTimes = 0;
-        synchronized (lock) {
+        writableLock.lock();
+        try {
             while (!channel.isWritable()) {
                 try {
                     tryTimes++;
@@ -356,11 +370,25 @@ public abstract class AbstractNettyRemoting implements Disposable {
                         throw new FrameworkException("msg:" + ((msg == null) ? "null" : msg.toString()),
                             FrameworkErrorCode.ChannelIsNotWritable);
                     }
-                    lock.wait(NOT_WRITEABLE_CHECK_MILLS);
+                    writableCondition.await(NOT_WRITEABLE_CHECK_MILLS, TimeUnit.MILLISECONDS);
                 } catch (InterruptedException exx) {
                     LOGGER.error(exx.getMessage());
                 }
             }
+        } finally {
+            writableLock.unlock();
+        }
+    }
+
+    /**
+     * Wake up the threads waiting for a channel to be writable.
+     */
+    protected void signalChannelWritable() {
+        writableLock.lock();
+        try {
+            writableCondition.signalAll();
+        } finally {
+            writableLock.unlock();
         }
     }
 
@@ -17,6 +17,8 @@ package io.seata.core.rpc.netty;
 
 import java.lang.reflect.Field;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
@@ -27,6 +29,8 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import io.netty.channel.Channel;
@@ -86,7 +90,8 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     private static final long SCHEDULE_DELAY_MILLS = 60 * 1000L;
     private static final long SCHEDULE_INTERVAL_MILLS = 10 * 1000L;
     private static final String MERGE_THREAD_PREFIX = "rpcMergeMessageSend";
-    protected final Object mergeLock = new Object();
+    protected final ReentrantLock mergeLock = new ReentrantLock();
+    protected final Condition mergeCondition = mergeLock.newCondition();
 
     /**
      * When sending message type is {@link MergeMessage}, will be stored to mergeMsgMap.
@@ -164,8 +169,11 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
                 LOGGER.debug("offer message: {}", rpcMessage.getBody());
             }
             if (!isSending) {
-                synchronized (mergeLock) {
-                    mergeLock.notifyAll();
+                mergeLock.lock();
+                try {
+                    mergeCondition.signalAll();
+                } finally {
+                    mergeLock.unlock();
                 }
             }
 
@@ -188,6 +196,63 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
 
     }
 
+    @Override
+    public List<Object> sendSyncRequests(List<? extends AbstractMessage> msgs) throws TimeoutException {
+        if (msgs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (msgs.size() == 1) {
+            return Collections.singletonList(sendSyncRequest(msgs.get(0)));
+        }
+        String serverAddress = loadBalance(getTransactionServiceGroup(), msgs.get(0));
+        long timeoutMillis = this.getRpcRequestTimeout();
+
+        // the same as a batch of MergedSendRunnable, the results are set to the futures in ClientOnResponseProcessor
+        MergedWarpMessage mergeMessage = new MergedWarpMessage();
+        List<MessageFuture> messageFutures = new ArrayList<>(msgs.size());
+        for (AbstractMessage msg : msgs) {
+            RpcMessage rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
+            MessageFuture messageFuture = new MessageFuture();
+            messageFuture.setRequestMessage(rpcMessage);
+            messageFuture.setTimeout(timeoutMillis);
+            futures.put(rpcMessage.getId(), messageFuture);
+            mergeMessage.msgs.add(msg);
+            mergeMessage.msgIds.add(rpcMessage.getId());
+            messageFutures.add(messageFuture);
+        }
+
+        Channel sendChannel = null;
+        try {
+            sendChannel = clientChannelManager.acquireChannel(serverAddress);
+            sendAsyncRequest(sendChannel, mergeMessage);
+        } catch (FrameworkException e) {
+            if (e.getErrcode() == FrameworkErrorCode.ChannelIsNotWritable && sendChannel != null) {
+                destroyChannel(serverAddress, sendChannel);
+            }
+            mergeMessage.msgIds.forEach(futures::remove);
+            throw e;
+        }
+
+        List<Object> results = new ArrayList<>(msgs.size());
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            for (MessageFuture messageFuture : messageFutures) {
+                results.add(messageFuture.get(Math.max(deadline - System.currentTimeMillis(), 0),
+                    TimeUnit.MILLISECONDS));
+            }
+            return results;
+        } catch (Exception exx) {
+            mergeMessage.msgIds.forEach(futures::remove);
+            LOGGER.error("wait merged response error:{},ip:{},request:{}", exx.getMessage(), serverAddress,
+                mergeMessage);
+            if (exx instanceof TimeoutException) {
+                throw (TimeoutException) exx;
+            } else {
+                throw new RuntimeException(exx);
+            }
+        }
+    }
+
     @Override
     public Object sendSyncRequest(Channel channel, Object msg) throws TimeoutException {
         if (channel == null) {
@@ -338,11 +403,12 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         @Override
         public void run() {
             while (true) {
-                synchronized (mergeLock) {
-                    try {
-                        mergeLock.wait(MAX_MERGE_SEND_MILLS);
-                    } catch (InterruptedException e) {
-                    }
+                mergeLock.lock();
+                try {
+                    mergeCondition.await(MAX_MERGE_SEND_MILLS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                } finally {
+                    mergeLock.unlock();
                 }
                 isSending = true;
                 basketMap.forEach((address, basket) -> {
@@ -419,10 +485,8 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
 
         @Override
         public void channelWritabilityChanged(ChannelHandlerContext ctx) {
-            synchronized (lock) {
-                if (ctx.channel().isWritable()) {
-                    lock.notifyAll();
-                }
+            if (ctx.channel().isWritable()) {
+                signalChannelWritable();
             }
             ctx.fireChannelWritabilityChanged();
         }
@@ -170,10 +170,8 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
 
         @Override
         public void channelWritabilityChanged(ChannelHandlerContext ctx) {
-            synchronized (lock) {
-                if (ctx.channel().isWritable()) {
-                    lock.notifyAll();
-                }
+            if (ctx.channel().isWritable()) {
+                signalChannelWritable();
             }
             ctx.fireChannelWritabilityChanged();
         }
@@ -201,7 +199,7 @@ public abstract class AbstractNettyRemotingServer extends AbstractNettyRemoting
                 LOGGER.info(ipAndPort + " to server channel inactive.");
             }
             if (rpcContext != null && rpcContext.getClientRole() != null) {
-                rpcContext.release();
+                ChannelManager.releaseRpcContext(ctx.channel());
                 if (LOGGER.isInfoEnabled()) {
                     LOGGER.info("remove channel:" + ctx.channel() + "context:" + rpcContext);
                 }
@@ -47,10 +47,14 @@ public class ChannelManager {
     private static final ConcurrentMap<Channel, RpcContext> IDENTIFIED_CHANNELS = new ConcurrentHashMap<>();
 
     /**
-     * resourceId -> applicationId -> ip -> port -> RpcContext
+     * resourceId -> RmChannelGroup, the group is replaced on every registration change
      */
-    private static final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String,
-        ConcurrentMap<Integer, RpcContext>>>> RM_CHANNELS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, RmChannelGroup> RM_CHANNELS = new ConcurrentHashMap<>();
+
+    /**
+     * ip+appname -> the rm channels of the client
+     */
+    private static final ConcurrentMap<String, Set<RpcContext>> RM_CLIENT_CHANNELS = new ConcurrentHashMap<>();
 
     /**
      * ip+appname,port
@@ -157,38 +161,44 @@ public class ChannelManager {
             rpcContext.addResources(dbkeySet);
         }
         if (dbkeySet == null || dbkeySet.isEmpty()) { return; }
+        String clientIp = ChannelUtil.getClientIpFromChannel(channel);
+        String clientIdentified = rpcContext.getApplicationId() + Constants.CLIENT_ID_SPLIT_CHAR + clientIp;
+        // add under the map lock so that it cannot race with the pruning of an emptied set
+        Set<RpcContext> sameClientContexts = RM_CLIENT_CHANNELS.compute(clientIdentified, (key, contexts) -> {
+            Set<RpcContext> newContexts = contexts == null ? ConcurrentHashMap.newKeySet() : contexts;
+            newContexts.add(rpcContext);
+            return newContexts;
+        });
         for (String resourceId : dbkeySet) {
-            String clientIp;
-            ConcurrentMap<Integer, RpcContext> portMap = CollectionUtils.computeIfAbsent(RM_CHANNELS, resourceId, key -> new ConcurrentHashMap<>())
-                    .computeIfAbsent(resourceManagerRequest.getApplicationId(), key -> new ConcurrentHashMap<>())
-                    .computeIfAbsent(clientIp = ChannelUtil.getClientIpFromChannel(channel), key -> new ConcurrentHashMap<>());
-
-            rpcContext.holdInResourceManagerChannels(resourceId, portMap);
-            updateChannelsResource(resourceId, clientIp, resourceManagerRequest.getApplicationId());
+            // the other channels of the same client can serve the resource too
+            RM_CHANNELS.compute(resourceId, (key, group) ->
+                (group == null ? RmChannelGroup.EMPTY : group).add(sameClientContexts, clientIp));
+            for (RpcContext sameClientContext : sameClientContexts) {
+                sameClientContext.holdInResourceManagerChannels(resourceId);
+            }
         }
     }
 
-    private static void updateChannelsResource(String resourceId, String clientIp, String applicationId) {
-        ConcurrentMap<Integer, RpcContext> sourcePortMap = RM_CHANNELS.get(resourceId).get(applicationId).get(clientIp);
-        for (ConcurrentMap.Entry<String, ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<Integer,
-            RpcContext>>>> rmChannelEntry : RM_CHANNELS.entrySet()) {
-            if (rmChannelEntry.getKey().equals(resourceId)) { continue; }
-            ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<Integer,
-                RpcContext>>> applicationIdMap = rmChannelEntry.getValue();
-            if (!applicationIdMap.containsKey(applicationId)) { continue; }
-            ConcurrentMap<String, ConcurrentMap<Integer,
-                RpcContext>> clientIpMap = applicationIdMap.get(applicationId);
-            if (!clientIpMap.containsKey(clientIp)) { continue; }
-            ConcurrentMap<Integer, RpcContext> portMap = clientIpMap.get(clientIp);
-            for (ConcurrentMap.Entry<Integer, RpcContext> portMapEntry : portMap.entrySet()) {
-                Integer port = portMapEntry.getKey();
-                if (!sourcePortMap.containsKey(port)) {
-                    RpcContext rpcContext = portMapEntry.getValue();
-                    sourcePortMap.put(port, rpcContext);
-                    rpcContext.holdInResourceManagerChannels(resourceId, port);
-                }
-            }
+    private static void releaseRMChannel(RpcContext rpcContext) {
+        for (String resourceId : rpcContext.getHeldResourceIds()) {
+            removeRMChannel(resourceId, rpcContext);
         }
+        String clientIdentified = rpcContext.getApplicationId() + Constants.CLIENT_ID_SPLIT_CHAR
+            + ChannelUtil.getClientIpFromChannel(rpcContext.getChannel());
+        RM_CLIENT_CHANNELS.computeIfPresent(clientIdentified, (key, sameClientContexts) -> {
+            sameClientContexts.remove(rpcContext);
+            return sameClientContexts.isEmpty() ? null : sameClientContexts;
+        });
+    }
+
+    private static boolean removeRMChannel(String resourceId, RpcContext rpcContext) {
+        boolean[] removed = new boolean[1];
+        RM_CHANNELS.computeIfPresent(resourceId, (key, group) -> {
+            RmChannelGroup newGroup = group.remove(rpcContext);
+            removed[0] = newGroup != group;
+            return newGroup.isEmpty() ? null : newGroup;
+        });
+        return removed[0];
     }
 
     private static Set<String> dbKeytoSet(String dbkey) {
@@ -206,6 +216,9 @@ public class ChannelManager {
     public static void releaseRpcContext(Channel channel) {
         RpcContext rpcContext = getContextFromIdentified(channel);
         if (rpcContext != null) {
+            if (rpcContext.getClientRole() == NettyPoolKey.TransactionRole.RMROLE) {
+                releaseRMChannel(rpcContext);
+            }
             rpcContext.release();
         }
     }
@@ -240,9 +253,15 @@ public class ChannelManager {
             ConcurrentMap<Integer, RpcContext> clientRpcMap = TM_CHANNELS.get(clientIdentified);
             return getChannelFromSameClientMap(clientRpcMap, clientPort);
         } else if (clientRole == NettyPoolKey.TransactionRole.RMROLE) {
-            for (Map<Integer, RpcContext> clientRmMap : rpcContext.getClientRMHolderMap().values()) {
-                Channel sameClientChannel = getChannelFromSameClientMap(clientRmMap, clientPort);
-                if (sameClientChannel != null) {
+            String clientIdentified = rpcContext.getApplicationId() + Constants.CLIENT_ID_SPLIT_CHAR
+                + ChannelUtil.getClientIpFromChannel(channel);
+            Set<RpcContext> sameClientContexts = RM_CLIENT_CHANNELS.get(clientIdentified);
+            if (sameClientContexts == null) {
+                return null;
+            }
+            for (RpcContext sameClientContext : sameClientContexts) {
+                Channel sameClientChannel = sameClientContext.getChannel();
+                if (sameClientContext != rpcContext && sameClientChannel.isActive()) {
                     return sameClientChannel;
                 }
             }
@@ -274,8 +293,6 @@ public class ChannelManager {
      * @return Corresponding channel, NULL if not found.
      */
     public static Channel getChannel(String resourceId, String clientId) {
-        Channel resultChannel = null;
-
         String[] clientIdInfo = readClientId(clientId);
 
         if (clientIdInfo == null || clientIdInfo.length != 3) {
@@ -284,158 +301,69 @@ public class ChannelManager {
 
         String targetApplicationId = clientIdInfo[0];
         String targetIP = clientIdInfo[1];
-        int targetPort = Integer.parseInt(clientIdInfo[2]);
 
-        ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<Integer,
-            RpcContext>>> applicationIdMap = RM_CHANNELS.get(resourceId);
+        RmChannelGroup group = RM_CHANNELS.get(resourceId);
 
-        if (targetApplicationId == null || applicationIdMap == null ||  applicationIdMap.isEmpty()) {
+        if (group == null || group.isEmpty()) {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("No channel is available for resource[{}]", resourceId);
             }
             return null;
         }
 
-        ConcurrentMap<String, ConcurrentMap<Integer, RpcContext>> ipMap = applicationIdMap.get(targetApplicationId);
-
-        if (ipMap != null && !ipMap.isEmpty()) {
-            // Firstly, try to find the original channel through which the branch was registered.
-            ConcurrentMap<Integer, RpcContext> portMapOnTargetIP = ipMap.get(targetIP);
-            if (portMapOnTargetIP != null && !portMapOnTargetIP.isEmpty()) {
-                RpcContext exactRpcContext = portMapOnTargetIP.get(targetPort);
-                if (exactRpcContext != null) {
-                    Channel channel = exactRpcContext.getChannel();
-                    if (channel.isActive()) {
-                        resultChannel = channel;
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug("Just got exactly the one {} for {}", channel, clientId);
-                        }
-                    } else {
-                        if (portMapOnTargetIP.remove(targetPort, exactRpcContext)) {
-                            if (LOGGER.isInfoEnabled()) {
-                                LOGGER.info("Removed inactive {}", channel);
-                            }
-                        }
-                    }
-                }
-
-                // The original channel was broken, try another one.
-                if (resultChannel == null) {
-                    for (ConcurrentMap.Entry<Integer, RpcContext> portMapOnTargetIPEntry : portMapOnTargetIP
-                        .entrySet()) {
-                        Channel channel = portMapOnTargetIPEntry.getValue().getChannel();
-
-                        if (channel.isActive()) {
-                            resultChannel = channel;
-                            if (LOGGER.isInfoEnabled()) {
-                                LOGGER.info(
-                                    "Choose {} on the same IP[{}] as alternative of {}", channel, targetIP, clientId);
-                            }
-                            break;
-                        } else {
-                            if (portMapOnTargetIP.remove(portMapOnTargetIPEntry.getKey(),
-                                portMapOnTargetIPEntry.getValue())) {
-                                if (LOGGER.isInfoEnabled()) {
-                                    LOGGER.info("Removed inactive {}", channel);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            // No channel on the this app node, try another one.
-            if (resultChannel == null) {
-                for (ConcurrentMap.Entry<String, ConcurrentMap<Integer, RpcContext>> ipMapEntry : ipMap
-                    .entrySet()) {
-                    if (ipMapEntry.getKey().equals(targetIP)) { continue; }
-
-                    ConcurrentMap<Integer, RpcContext> portMapOnOtherIP = ipMapEntry.getValue();
-                    if (portMapOnOtherIP == null || portMapOnOtherIP.isEmpty()) {
-                        continue;
-                    }
-
-                    for (ConcurrentMap.Entry<Integer, RpcContext> portMapOnOtherIPEntry : portMapOnOtherIP.entrySet()) {
-                        Channel channel = portMapOnOtherIPEntry.getValue().getChannel();
-
-                        if (channel.isActive()) {
-                            resultChannel = channel;
-                            if (LOGGER.isInfoEnabled()) {
-                                LOGGER.info("Choose {} on the same application[{}] as alternative of {}", channel, targetApplicationId, clientId);
-                            }
-                            break;
-                        } else {
-                            if (portMapOnOtherIP.remove(portMapOnOtherIPEntry.getKey(),
-                                portMapOnOtherIPEntry.getValue())) {
-                                if (LOGGER.isInfoEnabled()) {
-                                    LOGGER.info("Removed inactive {}", channel);
-                                }
-                            }
-                        }
-                    }
-                    if (resultChannel != null) { break; }
+        // Firstly, try to find the original channel through which the branch was registered.
+        RpcContext exactRpcContext = group.getByClientId(clientId);
+        if (exactRpcContext != null) {
+            Channel channel = exactRpcContext.getChannel();
+            if (channel.isActive()) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Just got exactly the one {} for {}", channel, clientId);
                 }
+                return channel;
             }
+            removeInactiveRMChannel(resourceId, exactRpcContext);
         }
 
-        if (resultChannel == null) {
-            resultChannel = tryOtherApp(applicationIdMap, targetApplicationId);
-
-            if (resultChannel == null) {
-                if (LOGGER.isInfoEnabled()) {
-                    LOGGER.info("No channel is available for resource[{}] as alternative of {}", resourceId, clientId);
-                }
-            } else {
-                if (LOGGER.isInfoEnabled()) {
-                    LOGGER.info("Choose {} on the same resource[{}] as alternative of {}", resultChannel, resourceId, clientId);
+        // The original channel was broken, try another one on the same IP, then on the same application,
+        // then on the same resource.
+        RpcContext alternative = group.find(targetApplicationId, targetIP, rpcContext -> {
+            if (rpcContext == exactRpcContext) {
+                return false;
+            }
+            if (!rpcContext.getChannel().isActive()) {
+                removeInactiveRMChannel(resourceId, rpcContext);
+                return false;
+            }
+            return true;
+        });
+        if (alternative != null) {
+            Channel channel = alternative.getChannel();
+            if (LOGGER.isInfoEnabled()) {
+                if (!targetApplicationId.equals(alternative.getApplicationId())) {
+                    LOGGER.info("Choose {} on the same resource[{}] as alternative of {}", channel, resourceId, clientId);
+                } else if (targetIP.equals(ChannelUtil.getClientIpFromChannel(channel))) {
+                    LOGGER.info("Choose {} on the same IP[{}] as alternative of {}", channel, targetIP, clientId);
+                } else {
+                    LOGGER.info("Choose {} on the same application[{}] as alternative of {}", channel,
+                        targetApplicationId, clientId);
                 }
             }
+            return channel;
         }
 
-        return resultChannel;
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("No channel is available for resource[{}] as alternative of {}", resourceId, clientId);
+        }
+        return null;
 
     }
 
-    private static Channel tryOtherApp(ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<Integer,
-        RpcContext>>> applicationIdMap, String myApplicationId) {
-        Channel chosenChannel = null;
-        for (ConcurrentMap.Entry<String, ConcurrentMap<String, ConcurrentMap<Integer, RpcContext>>> applicationIdMapEntry : applicationIdMap
-            .entrySet()) {
-            if (!StringUtils.isNullOrEmpty(myApplicationId) && applicationIdMapEntry.getKey().equals(myApplicationId)) {
-                continue;
-            }
-
-            ConcurrentMap<String, ConcurrentMap<Integer, RpcContext>> targetIPMap = applicationIdMapEntry.getValue();
-            if (targetIPMap == null || targetIPMap.isEmpty()) {
-                continue;
-            }
-
-            for (ConcurrentMap.Entry<String, ConcurrentMap<Integer, RpcContext>> targetIPMapEntry : targetIPMap
-                .entrySet()) {
-                ConcurrentMap<Integer, RpcContext> portMap = targetIPMapEntry.getValue();
-                if (portMap == null || portMap.isEmpty()) {
-                    continue;
-                }
-
-                for (ConcurrentMap.Entry<Integer, RpcContext> portMapEntry : portMap.entrySet()) {
-                    Channel channel = portMapEntry.getValue().getChannel();
-                    if (channel.isActive()) {
-                        chosenChannel = channel;
-                        break;
-                    } else {
-                        if (portMap.remove(portMapEntry.getKey(), portMapEntry.getValue())) {
-                            if (LOGGER.isInfoEnabled()) {
-                                LOGGER.info("Removed inactive {}", channel);
-                            }
-                        }
-                    }
-                }
-                if (chosenChannel != null) { break; }
+    private static void removeInactiveRMChannel(String resourceId, RpcContext rpcContext) {
+        if (removeRMChannel(resourceId, rpcContext)) {
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Removed inactive {}", rpcContext.getChannel());
             }
-            if (chosenChannel != null) { break; }
         }
-        return chosenChannel;
-
     }
 
     /**
@@ -448,12 +376,14 @@ public class ChannelManager {
             return null;
         }
         Map<String, Channel> channels = new HashMap<>(RM_CHANNELS.size());
-        RM_CHANNELS.forEach((resourceId, value) -> {
-            Channel channel = tryOtherApp(value, null);
-            if (channel == null) {
-                return;
+        RM_CHANNELS.forEach((resourceId, group) -> {
+            for (RpcContext rpcContext : group.getContexts()) {
+                Channel channel = rpcContext.getChannel();
+                if (channel.isActive()) {
+                    channels.put(resourceId, channel);
+                    return;
+                }
             }
-            channels.put(resourceId, channel);
         });
         return channels;
     }
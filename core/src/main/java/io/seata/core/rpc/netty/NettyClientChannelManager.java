@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -51,7 +52,7 @@ class NettyClientChannelManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NettyClientChannelManager.class);
 
-    private final ConcurrentMap<String, Object> channelLocks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ReentrantLock> channelLocks = new ConcurrentHashMap<>();
 
     private final ConcurrentMap<String, NettyPoolKey> poolKeyMap = new ConcurrentHashMap<>();
 
@@ -105,9 +106,12 @@ class NettyClientChannelManager {
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("will connect to {}", serverAddress);
         }
-        Object lockObj = CollectionUtils.computeIfAbsent(channelLocks, serverAddress, key -> new Object());
-        synchronized (lockObj) {
+        ReentrantLock lock = CollectionUtils.computeIfAbsent(channelLocks, serverAddress, key -> new ReentrantLock());
+        lock.lock();
+        try {
             return doConnect(serverAddress);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -119,21 +123,21 @@ class NettyClientChannelManager {
      */
     void releaseChannel(Channel channel, String serverAddress) {
         if (channel == null || serverAddress == null) { return; }
+        ReentrantLock lock = CollectionUtils.computeIfAbsent(channelLocks, serverAddress, key -> new ReentrantLock());
+        lock.lock();
         try {
-            synchronized (channelLocks.get(serverAddress)) {
-                Channel ch = channels.get(serverAddress);
-                if (ch == null) {
-                    nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), channel);
-                    return;
-                }
-                if (ch.compareTo(channel) == 0) {
-                    if (LOGGER.isInfoEnabled()) {
-                        LOGGER.info("return to pool, rm channel:{}", channel);
-                    }
-                    destroyChannel(serverAddress, channel);
-                } else {
-                    nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), channel);
+            Channel ch = channels.get(serverAddress);
+            if (ch == null) {
+                nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), channel);
+                return;
+            }
+            if (ch.compareTo(channel) == 0) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("return to pool, rm channel:{}", channel);
                 }
+                destroyChannel(serverAddress, channel);
+            } else {
+                nettyClientKeyPool.returnObject(poolKeyMap.get(serverAddress), channel);
             }
         } catch (Exception exx) {
             LOGGER.error(exx.getMessage());
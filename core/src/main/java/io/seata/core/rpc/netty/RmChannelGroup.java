@@ -0,0 +1,228 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import io.seata.common.Constants;
+import io.seata.core.rpc.RpcContext;
+
+/**
+ * The rm channels registered for one resource.
+ * <p>
+ * A group is immutable and replaced on every registration change. Dispatching a branch request to the
+ * resource looks up the exact client first, then walks the contexts of the same application on the same ip,
+ * of the same application on the other ips, and of the other applications, through the indexes built once
+ * per group.
+ */
+final class RmChannelGroup {
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    /**
+     * The empty group.
+     */
+    static final RmChannelGroup EMPTY = new RmChannelGroup(new RpcContext[0], new String[0]);
+
+    /**
+     * the contexts in the registration order
+     */
+    private final RpcContext[] contexts;
+
+    /**
+     * the client ip of each context
+     */
+    private final String[] clientIps;
+
+    /**
+     * clientId -> context
+     */
+    private final Map<String, RpcContext> clientIdMap;
+
+    /**
+     * applicationId:ip -> the indexes of its contexts
+     */
+    private final Map<String, int[]> sameClientMap;
+
+    /**
+     * applicationId -> the indexes of its contexts
+     */
+    private final Map<String, int[]> sameApplicationMap;
+
+    private RmChannelGroup(RpcContext[] contexts, String[] clientIps) {
+        this.contexts = contexts;
+        this.clientIps = clientIps;
+        this.clientIdMap = new HashMap<>(contexts.length * 2);
+        Map<String, List<Integer>> clientIndexes = new HashMap<>();
+        Map<String, List<Integer>> applicationIndexes = new HashMap<>();
+        for (int i = 0; i < contexts.length; i++) {
+            RpcContext rpcContext = contexts[i];
+            clientIdMap.put(rpcContext.getClientId(), rpcContext);
+            clientIndexes.computeIfAbsent(clientIdentified(rpcContext.getApplicationId(), clientIps[i]),
+                key -> new ArrayList<>()).add(i);
+            applicationIndexes.computeIfAbsent(rpcContext.getApplicationId(), key -> new ArrayList<>()).add(i);
+        }
+        this.sameClientMap = toIndexMap(clientIndexes);
+        this.sameApplicationMap = toIndexMap(applicationIndexes);
+    }
+
+    private static Map<String, int[]> toIndexMap(Map<String, List<Integer>> indexes) {
+        Map<String, int[]> indexMap = new HashMap<>(indexes.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : indexes.entrySet()) {
+            indexMap.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return indexMap;
+    }
+
+    private static String clientIdentified(String applicationId, String clientIp) {
+        return applicationId + Constants.CLIENT_ID_SPLIT_CHAR + clientIp;
+    }
+
+    /**
+     * Returns a group with the given contexts of one client added.
+     *
+     * @param rpcContexts the contexts
+     * @param clientIp    the client ip of the contexts
+     * @return the new group, or this group if all the contexts are present
+     */
+    RmChannelGroup add(Collection<RpcContext> rpcContexts, String clientIp) {
+        List<RpcContext> added = null;
+        for (RpcContext rpcContext : rpcContexts) {
+            if (!contains(rpcContext)) {
+                if (added == null) {
+                    added = new ArrayList<>(rpcContexts.size());
+                }
+                added.add(rpcContext);
+            }
+        }
+        if (added == null) {
+            return this;
+        }
+        int size = contexts.length + added.size();
+        RpcContext[] newContexts = new RpcContext[size];
+        String[] newClientIps = new String[size];
+        System.arraycopy(contexts, 0, newContexts, 0, contexts.length);
+        System.arraycopy(clientIps, 0, newClientIps, 0, clientIps.length);
+        for (int i = contexts.length; i < size; i++) {
+            newContexts[i] = added.get(i - contexts.length);
+            newClientIps[i] = clientIp;
+        }
+        return new RmChannelGroup(newContexts, newClientIps);
+    }
+
+    /**
+     * Returns a group with the given context removed.
+     *
+     * @param rpcContext the context
+     * @return the new group, or this group if the context is absent
+     */
+    RmChannelGroup remove(RpcContext rpcContext) {
+        int index = indexOf(rpcContext);
+        if (index < 0) {
+            return this;
+        }
+        if (contexts.length == 1) {
+            return EMPTY;
+        }
+        RpcContext[] newContexts = new RpcContext[contexts.length - 1];
+        String[] newClientIps = new String[contexts.length - 1];
+        System.arraycopy(contexts, 0, newContexts, 0, index);
+        System.arraycopy(clientIps, 0, newClientIps, 0, index);
+        System.arraycopy(contexts, index + 1, newContexts, index, contexts.length - index - 1);
+        System.arraycopy(clientIps, index + 1, newClientIps, index, clientIps.length - index - 1);
+        return new RmChannelGroup(newContexts, newClientIps);
+    }
+
+    private int indexOf(RpcContext rpcContext) {
+        for (int i = 0; i < contexts.length; i++) {
+            if (contexts[i] == rpcContext) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Whether the context is in the group.
+     *
+     * @param rpcContext the context
+     * @return the boolean
+     */
+    boolean contains(RpcContext rpcContext) {
+        return clientIdMap.get(rpcContext.getClientId()) == rpcContext;
+    }
+
+    /**
+     * Gets the context of the client.
+     *
+     * @param clientId the client id
+     * @return the context, null if absent
+     */
+    RpcContext getByClientId(String clientId) {
+        return clientIdMap.get(clientId);
+    }
+
+    /**
+     * Finds the first context accepted by the predicate in the preference order of the target client: the
+     * same application on the same ip, then the same application on the other ips, then the other applications.
+     *
+     * @param applicationId the application id of the target client
+     * @param clientIp      the ip of the target client
+     * @param predicate     the predicate
+     * @return the context, null if none is accepted
+     */
+    RpcContext find(String applicationId, String clientIp, Predicate<RpcContext> predicate) {
+        for (int index : sameClientMap.getOrDefault(clientIdentified(applicationId, clientIp), NO_INDEXES)) {
+            if (predicate.test(contexts[index])) {
+                return contexts[index];
+            }
+        }
+        for (int index : sameApplicationMap.getOrDefault(applicationId, NO_INDEXES)) {
+            if (!clientIps[index].equals(clientIp) && predicate.test(contexts[index])) {
+                return contexts[index];
+            }
+        }
+        for (RpcContext rpcContext : contexts) {
+            if (!applicationId.equals(rpcContext.getApplicationId()) && predicate.test(rpcContext)) {
+                return rpcContext;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets all the contexts in the registration order.
+     *
+     * @return the contexts
+     */
+    RpcContext[] getContexts() {
+        return contexts;
+    }
+
+    /**
+     * Whether the group is empty.
+     *
+     * @return the boolean
+     */
+    boolean isEmpty() {
+        return contexts.length == 0;
+    }
+}
@@ -22,7 +22,7 @@ import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.StringUtils;
-import io.seata.config.ConfigurationFactory;
+import io.seata.config.ConfigurationValue;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.model.Resource;
 import io.seata.core.model.ResourceManager;
@@ -45,6 +45,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import static io.seata.common.Constants.DBKEYS_SPLIT_CHAR;
@@ -63,8 +64,13 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
     private ResourceManager resourceManager;
     private static volatile RmNettyRemotingClient instance;
     private final AtomicBoolean initialized = new AtomicBoolean(false);
+    private final ReentrantLock registerLock = new ReentrantLock();
     private static final long KEEP_ALIVE_TIME = Integer.MAX_VALUE;
     private static final int MAX_QUEUE_SIZE = 20000;
+    private static final ConfigurationValue<String> ENABLE_RM_CLIENT_BATCH_SEND_REQUEST = ConfigurationValue.ofString(
+        ConfigurationKeys.ENABLE_RM_CLIENT_BATCH_SEND_REQUEST, null);
+    private static final ConfigurationValue<Boolean> ENABLE_CLIENT_BATCH_SEND_REQUEST = ConfigurationValue.ofBoolean(
+        ConfigurationKeys.ENABLE_CLIENT_BATCH_SEND_REQUEST, DefaultValues.DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST);
     private String applicationId;
     private String transactionServiceGroup;
 
@@ -197,7 +203,9 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
             getClientChannelManager().reconnect(transactionServiceGroup);
             return;
         }
-        synchronized (getClientChannelManager().getChannels()) {
+        // the send may wait for the channel to be writable, a j.u.c lock does not pin a virtual thread
+        registerLock.lock();
+        try {
             for (Map.Entry<String, Channel> entry : getClientChannelManager().getChannels().entrySet()) {
                 String serverAddress = entry.getKey();
                 Channel rmChannel = entry.getValue();
@@ -206,6 +214,8 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
                 }
                 sendRegisterMessage(serverAddress, rmChannel, resourceId);
             }
+        } finally {
+            registerLock.unlock();
         }
     }
 
@@ -273,15 +283,14 @@ public final class RmNettyRemotingClient extends AbstractNettyRemotingClient {
     @Override
     public boolean isEnableClientBatchSendRequest() {
         // New configuration takes precedence
-        String newConfig = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.ENABLE_RM_CLIENT_BATCH_SEND_REQUEST);
+        String newConfig = ENABLE_RM_CLIENT_BATCH_SEND_REQUEST.get();
         if (StringUtils.isNotBlank(newConfig)) {
             return Boolean.parseBoolean(newConfig);
         }
         // Compatible with old configuration
         // If the old configuration exists, use the old configuration
         // RM client Turns on batch sending by default
-        return ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.ENABLE_CLIENT_BATCH_SEND_REQUEST,
-            DefaultValues.DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST);
+        return ENABLE_CLIENT_BATCH_SEND_REQUEST.get();
     }
 
     @Override
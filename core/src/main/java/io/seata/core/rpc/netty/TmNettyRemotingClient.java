@@ -29,7 +29,7 @@ import io.seata.common.loader.EnhancedServiceLoader;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.thread.RejectedPolicies;
 import io.seata.common.util.NetUtil;
-import io.seata.config.ConfigurationFactory;
+import io.seata.config.ConfigurationValue;
 import io.seata.core.auth.AuthSigner;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.protocol.AbstractMessage;
@@ -60,6 +60,8 @@ public final class TmNettyRemotingClient extends AbstractNettyRemotingClient {
     private static volatile TmNettyRemotingClient instance;
     private static final long KEEP_ALIVE_TIME = Integer.MAX_VALUE;
     private static final int MAX_QUEUE_SIZE = 2000;
+    private static final ConfigurationValue<Boolean> ENABLE_TM_CLIENT_BATCH_SEND_REQUEST = ConfigurationValue.ofBoolean(
+        ConfigurationKeys.ENABLE_TM_CLIENT_BATCH_SEND_REQUEST, DefaultValues.DEFAULT_ENABLE_TM_CLIENT_BATCH_SEND_REQUEST);
     private final AtomicBoolean initialized = new AtomicBoolean(false);
     private String applicationId;
     private String transactionServiceGroup;
@@ -191,8 +193,7 @@ public final class TmNettyRemotingClient extends AbstractNettyRemotingClient {
 
     @Override
     public boolean isEnableClientBatchSendRequest() {
-        return ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.ENABLE_TM_CLIENT_BATCH_SEND_REQUEST,
-            DefaultValues.DEFAULT_ENABLE_TM_CLIENT_BATCH_SEND_REQUEST);
+        return ENABLE_TM_CLIENT_BATCH_SEND_REQUEST.get();
     }
 
     @Override
@@ -15,6 +15,8 @@
  */
 package io.seata.core.context;
 
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -81,4 +83,30 @@ public class ContextCoreTest {
         assertThat(load.remove(NOT_EXIST_KEY)).isNull();
     }
 
+    /**
+     * Test the keys of root context and the entries.
+     */
+    @Test
+    public void testRootContextKeysAndEntries() {
+        ContextCore load = ContextCoreLoader.load();
+        assertThat(load.put(RootContext.KEY_XID, FIRST_VALUE)).isNull();
+        assertThat(load.put(RootContext.KEY_XID, SECOND_VALUE)).isEqualTo(FIRST_VALUE);
+        assertThat(load.put(RootContext.KEY_GLOBAL_LOCK_FLAG, RootContext.VALUE_GLOBAL_LOCK_FLAG)).isNull();
+        load.put(FIRST_KEY, FIRST_VALUE);
+
+        Map<String, Object> entries = load.entries();
+        assertThat(entries).hasSize(3);
+        assertThat(entries.get(RootContext.KEY_XID)).isEqualTo(SECOND_VALUE);
+        assertThat(entries.get(RootContext.KEY_GLOBAL_LOCK_FLAG)).isEqualTo(RootContext.VALUE_GLOBAL_LOCK_FLAG);
+        assertThat(entries.get(FIRST_KEY)).isEqualTo(FIRST_VALUE);
+        assertThat(entries).doesNotContainKey(RootContext.KEY_BRANCH_TYPE);
+
+        assertThat(load.remove(RootContext.KEY_XID)).isEqualTo(SECOND_VALUE);
+        assertThat(load.get(RootContext.KEY_XID)).isNull();
+        assertThat(load.remove(RootContext.KEY_XID)).isNull();
+        assertThat(load.remove(RootContext.KEY_GLOBAL_LOCK_FLAG)).isEqualTo(RootContext.VALUE_GLOBAL_LOCK_FLAG);
+        assertThat(load.remove(FIRST_KEY)).isEqualTo(FIRST_VALUE);
+        assertThat(load.entries()).isEmpty();
+    }
+
 }
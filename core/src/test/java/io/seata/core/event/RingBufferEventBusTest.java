@@ -0,0 +1,191 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.event;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test {@link RingBufferEventBus}.
+ */
+public class RingBufferEventBusTest {
+
+    private static class TestEvent implements Event {
+        private final int value;
+
+        TestEvent(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+    }
+
+    private static class TestSubscriber implements EventSubscriber<TestEvent> {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final CountDownLatch latch;
+
+        TestSubscriber(int count) {
+            this.latch = new CountDownLatch(count);
+        }
+
+        @Override
+        public Class<TestEvent> getEventType() {
+            return TestEvent.class;
+        }
+
+        @Override
+        public void onEvent(TestEvent event) {
+            counter.addAndGet(event.getValue());
+            latch.countDown();
+        }
+    }
+
+    @Test
+    public void testTypedSubscriber() throws InterruptedException {
+        EventBus eventBus = new RingBufferEventBus("test", 4, EventOverflowPolicy.BLOCK);
+        TestSubscriber subscriber = new TestSubscriber(100);
+        eventBus.register(subscriber);
+
+        // many more events than slots, the posters wait for the consumer
+        for (int i = 0; i < 100; i++) {
+            eventBus.post(new TestEvent(1));
+        }
+        Assertions.assertTrue(subscriber.latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(100, subscriber.counter.get());
+    }
+
+    @Test
+    public void testAnnotatedSubscriber() throws InterruptedException {
+        EventBus eventBus = new RingBufferEventBus("test", 16, EventOverflowPolicy.BLOCK);
+        AtomicInteger counter = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        class AnnotatedSubscriber {
+            @Subscribe
+            public void process(TestEvent event) {
+                counter.addAndGet(event.getValue());
+                latch.countDown();
+            }
+        }
+
+        AnnotatedSubscriber subscriber = new AnnotatedSubscriber();
+        eventBus.register(subscriber);
+        eventBus.post(new TestEvent(2));
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, counter.get());
+
+        eventBus.unregister(subscriber);
+        Assertions.assertTrue(eventBus.getSubscribers().isEmpty());
+    }
+
+    @Test
+    public void testWakeUpAfterIdle() throws InterruptedException {
+        EventBus eventBus = new RingBufferEventBus("test", 4, null);
+        TestSubscriber subscriber = new TestSubscriber(2);
+        eventBus.register(subscriber);
+
+        eventBus.post(new TestEvent(1));
+        // the consumer parks without a timeout once the buffer is drained, the next post must unpark it
+        Thread.sleep(100);
+        eventBus.post(new TestEvent(1));
+        Assertions.assertTrue(subscriber.latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, subscriber.counter.get());
+    }
+
+    @Test
+    public void testOverflowPolicy() {
+        Assertions.assertEquals(EventOverflowPolicy.BLOCK, EventOverflowPolicy.get("block"));
+        Assertions.assertEquals(EventOverflowPolicy.DROP, EventOverflowPolicy.get("Drop"));
+        // unknown names fall back to the lossless policy
+        Assertions.assertEquals(EventOverflowPolicy.BLOCK, EventOverflowPolicy.get("unknown"));
+        Assertions.assertEquals(EventOverflowPolicy.BLOCK, EventOverflowPolicy.get(null));
+    }
+
+    @Test
+    public void testDropWhenFull() throws InterruptedException {
+        RingBufferEventBus eventBus = new RingBufferEventBus("test", 4, EventOverflowPolicy.DROP);
+        CountDownLatch blocked = new CountDownLatch(1);
+        TestSubscriber subscriber = new TestSubscriber(4) {
+            @Override
+            public void onEvent(TestEvent event) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException ignore) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvent(event);
+            }
+        };
+        eventBus.register(subscriber);
+
+        for (int i = 0; i < 10; i++) {
+            eventBus.post(new TestEvent(1));
+        }
+        // the consumer holds its first batch until released, so only the buffered events are kept
+        Assertions.assertEquals(6, eventBus.getDroppedCount());
+
+        blocked.countDown();
+        Assertions.assertTrue(subscriber.latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(4, subscriber.counter.get());
+    }
+
+    @Test
+    public void testBlockUntilConsumerFreesSlots() throws InterruptedException {
+        // null is the default policy, which must not lose events
+        RingBufferEventBus eventBus = new RingBufferEventBus("test", 4, null);
+        CountDownLatch blocked = new CountDownLatch(1);
+        TestSubscriber subscriber = new TestSubscriber(20) {
+            @Override
+            public void onEvent(TestEvent event) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException ignore) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvent(event);
+            }
+        };
+        eventBus.register(subscriber);
+
+        Thread poster = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                eventBus.post(new TestEvent(1));
+            }
+        });
+        poster.start();
+        // the poster sleeps on the full buffer without a timeout, until the consumer wakes it
+        long deadline = System.currentTimeMillis() + 5000;
+        while (poster.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        Assertions.assertEquals(Thread.State.WAITING, poster.getState());
+        Assertions.assertEquals(4, eventBus.getPendingCount());
+
+        blocked.countDown();
+        poster.join(5000);
+        Assertions.assertFalse(poster.isAlive());
+        Assertions.assertTrue(subscriber.latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(20, subscriber.counter.get());
+        Assertions.assertEquals(0, eventBus.getDroppedCount());
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.AbstractResultMessage;
+import io.seata.core.protocol.MergeResultMessage;
+import io.seata.core.protocol.MergedWarpMessage;
+import io.seata.core.protocol.ProtocolConstants;
+import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.RpcMessage;
+import io.seata.core.protocol.transaction.BranchReportRequest;
+import io.seata.core.protocol.transaction.BranchReportResponse;
+import io.seata.core.rpc.processor.client.ClientOnResponseProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The lock and condition signalling of the netty remoting client.
+ */
+class AbstractNettyRemotingClientTest {
+
+    private static final String SERVER_ADDRESS = "127.0.0.1:8091";
+
+    private final BlockingQueue<RpcMessage> writes = new LinkedBlockingQueue<>();
+
+    private final AtomicBoolean writable = new AtomicBoolean(true);
+
+    private final ExecutorService senders = Executors.newCachedThreadPool();
+
+    private MockRemotingClient client;
+
+    @AfterEach
+    void tearDown() {
+        senders.shutdownNow();
+        if (client != null) {
+            client.destroy();
+        }
+    }
+
+    @Test
+    void testSignalChannelWritableWakesWaiter() throws Exception {
+        client = newClient(false);
+        Channel channel = mockChannel();
+        writable.set(false);
+
+        Future<?> sent = senders.submit(() -> client.sendAsyncRequest(channel, newRequest(1L)));
+
+        ReentrantLock writableLock = getField(AbstractNettyRemoting.class, client, "writableLock");
+        Condition writableCondition = getField(AbstractNettyRemoting.class, client, "writableCondition");
+        awaitWaiter(writableLock, writableCondition);
+        Assertions.assertTrue(writes.isEmpty());
+
+        writableLock.lock();
+        try {
+            writable.set(true);
+            client.signalChannelWritable();
+            // the waiter is moved from the condition to the lock queue at once
+            Assertions.assertFalse(writableLock.hasWaiters(writableCondition));
+        } finally {
+            writableLock.unlock();
+        }
+        sent.get(5, TimeUnit.SECONDS);
+        RpcMessage rpcMessage = writes.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(rpcMessage);
+        Assertions.assertEquals(ProtocolConstants.MSGTYPE_RESQUEST_ONEWAY, rpcMessage.getMessageType());
+    }
+
+    @Test
+    void testMergeSend() throws Exception {
+        client = newClient(true);
+        mockChannel();
+        client.init();
+
+        List<Future<Object>> results = new ArrayList<>();
+        for (long branchId = 1; branchId <= 3; branchId++) {
+            BranchReportRequest request = newRequest(branchId);
+            results.add(senders.submit(() -> client.sendSyncRequest(request)));
+        }
+
+        // the merged send thread is woken by the requests and sends them as merged messages
+        int received = 0;
+        while (received < results.size()) {
+            RpcMessage rpcMessage = writes.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(rpcMessage);
+            Assertions.assertTrue(rpcMessage.getBody() instanceof MergedWarpMessage);
+            received += respond(rpcMessage);
+        }
+        for (Future<Object> result : results) {
+            Object response = result.get(5, TimeUnit.SECONDS);
+            Assertions.assertTrue(response instanceof BranchReportResponse);
+            Assertions.assertEquals(ResultCode.Success, ((BranchReportResponse) response).getResultCode());
+        }
+    }
+
+    @Test
+    void testSendSyncRequests() throws Exception {
+        client = newClient(false);
+        mockChannel();
+
+        List<BranchReportRequest> requests = Arrays.asList(newRequest(1L), newRequest(2L), newRequest(3L));
+        Future<List<Object>> results = senders.submit(() -> client.sendSyncRequests(requests));
+
+        RpcMessage rpcMessage = writes.poll(5, TimeUnit.SECONDS);
+        Assertions.assertNotNull(rpcMessage);
+        MergedWarpMessage mergeMessage = (MergedWarpMessage) rpcMessage.getBody();
+        Assertions.assertEquals(requests, mergeMessage.msgs);
+        Assertions.assertEquals(3, respond(rpcMessage));
+
+        List<Object> responses = results.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(3, responses.size());
+        for (Object response : responses) {
+            Assertions.assertEquals(ResultCode.Success, ((BranchReportResponse) response).getResultCode());
+        }
+        // one request for all of them
+        Assertions.assertTrue(writes.isEmpty());
+        Assertions.assertTrue(client.futures.isEmpty());
+    }
+
+    private int respond(RpcMessage rpcMessage) throws Exception {
+        MergedWarpMessage mergeMessage = (MergedWarpMessage) rpcMessage.getBody();
+        AbstractResultMessage[] resultMessages = new AbstractResultMessage[mergeMessage.msgs.size()];
+        for (int i = 0; i < resultMessages.length; i++) {
+            BranchReportResponse response = new BranchReportResponse();
+            response.setResultCode(ResultCode.Success);
+            resultMessages[i] = response;
+        }
+        MergeResultMessage resultMessage = new MergeResultMessage();
+        resultMessage.setMsgs(resultMessages);
+        RpcMessage response = new RpcMessage();
+        response.setId(rpcMessage.getId());
+        response.setMessageType(ProtocolConstants.MSGTYPE_RESPONSE);
+        response.setBody(resultMessage);
+        new ClientOnResponseProcessor(client.mergeMsgMap, client.futures, null).process(null, response);
+        return resultMessages.length;
+    }
+
+    private static void awaitWaiter(ReentrantLock lock, Condition condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            lock.lock();
+            try {
+                if (lock.hasWaiters(condition)) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            Thread.sleep(1);
+        }
+        Assertions.fail("no thread waits for the channel to be writable");
+    }
+
+    private static BranchReportRequest newRequest(long branchId) {
+        BranchReportRequest request = new BranchReportRequest();
+        request.setXid("127.0.0.1:8091:1");
+        request.setBranchId(branchId);
+        return request;
+    }
+
+    private MockRemotingClient newClient(boolean enableBatchSendRequest) {
+        ThreadPoolExecutor messageExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>());
+        return new MockRemotingClient(messageExecutor, enableBatchSendRequest);
+    }
+
+    private Channel mockChannel() throws Exception {
+        Channel channel = mock(Channel.class);
+        ChannelFuture channelFuture = mock(ChannelFuture.class);
+        when(channel.isWritable()).thenAnswer(invocation -> writable.get());
+        when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 8091));
+        when(channel.writeAndFlush(any())).thenAnswer(invocation -> {
+            writes.add(invocation.getArgument(0));
+            return channelFuture;
+        });
+        when(channelFuture.addListener(any())).thenReturn(channelFuture);
+
+        NettyClientChannelManager channelManager = mock(NettyClientChannelManager.class);
+        when(channelManager.acquireChannel(anyString())).thenReturn(channel);
+        Field field = AbstractNettyRemotingClient.class.getDeclaredField("clientChannelManager");
+        field.setAccessible(true);
+        field.set(client, channelManager);
+        return channel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T getField(Class<?> clazz, Object target, String name) throws Exception {
+        Field field = clazz.getDeclaredField(name);
+        field.setAccessible(true);
+        return (T) field.get(target);
+    }
+
+    private static class MockRemotingClient extends AbstractNettyRemotingClient {
+
+        private final boolean enableBatchSendRequest;
+
+        MockRemotingClient(ThreadPoolExecutor messageExecutor, boolean enableBatchSendRequest) {
+            super(new NettyClientConfig(), null, messageExecutor, NettyPoolKey.TransactionRole.RMROLE);
+            this.enableBatchSendRequest = enableBatchSendRequest;
+        }
+
+        @Override
+        protected String loadBalance(String transactionServiceGroup, Object msg) {
+            return SERVER_ADDRESS;
+        }
+
+        @Override
+        protected Function<String, NettyPoolKey> getPoolKeyFunction() {
+            return serverAddress -> null;
+        }
+
+        @Override
+        protected String getTransactionServiceGroup() {
+            return "default_tx_group";
+        }
+
+        @Override
+        protected boolean isEnableClientBatchSendRequest() {
+            return enableBatchSendRequest;
+        }
+
+        @Override
+        protected long getRpcRequestTimeout() {
+            return 5000L;
+        }
+
+        @Override
+        public void onRegisterMsgSuccess(String serverAddress, Channel channel, Object response,
+                                         AbstractMessage requestMessage) {
+        }
+
+        @Override
+        public void onRegisterMsgFail(String serverAddress, Channel channel, Object response,
+                                      AbstractMessage requestMessage) {
+        }
+    }
+}
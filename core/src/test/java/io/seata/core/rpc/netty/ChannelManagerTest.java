@@ -0,0 +1,176 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.netty.channel.Channel;
+import io.seata.core.protocol.RegisterRMRequest;
+import io.seata.core.rpc.RpcContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The rm channel registration of the channel manager.
+ */
+class ChannelManagerTest {
+
+    private static final String TX_GROUP = "default_tx_group";
+
+    private final List<Channel> channels = new ArrayList<>();
+
+    private final Map<Channel, AtomicBoolean> activeFlags = new HashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Channel channel : channels) {
+            ChannelManager.releaseRpcContext(channel);
+        }
+    }
+
+    @Test
+    void testRegisterAndDispatch() throws Exception {
+        Channel first = registerRM("app1", "127.0.0.1", 8001, "dispatch_r1,dispatch_r2");
+        Assertions.assertTrue(ChannelManager.isRegistered(first));
+        Assertions.assertEquals(NettyPoolKey.TransactionRole.RMROLE, ChannelManager.getRoleFromChannel(first));
+        Assertions.assertSame(first, ChannelManager.getChannel("dispatch_r1", "app1:127.0.0.1:8001"));
+        Assertions.assertSame(first, ChannelManager.getChannel("dispatch_r2", "app1:127.0.0.1:8001"));
+        Assertions.assertSame(first, ChannelManager.getRmChannels().get("dispatch_r1"));
+        Assertions.assertNull(ChannelManager.getChannel("dispatch_r3", "app1:127.0.0.1:8001"));
+
+        // a resource registered on another channel of the same client is served by both
+        Channel second = registerRM("app1", "127.0.0.1", 8002, "dispatch_r3");
+        Assertions.assertSame(first, ChannelManager.getChannel("dispatch_r3", "app1:127.0.0.1:8001"));
+        Assertions.assertSame(second, ChannelManager.getChannel("dispatch_r3", "app1:127.0.0.1:8002"));
+        Assertions.assertTrue(ChannelManager.getContextFromIdentified(first).getHeldResourceIds()
+            .contains("dispatch_r3"));
+        Assertions.assertEquals(2, getSameClientContexts("app1:127.0.0.1").size());
+
+        // the same channel registers one more resource
+        registerRM(second, "app1", "dispatch_r4");
+        Assertions.assertSame(second, ChannelManager.getChannel("dispatch_r4", "app1:127.0.0.1:8002"));
+        Assertions.assertSame(first, ChannelManager.getChannel("dispatch_r4", "app1:127.0.0.1:8001"));
+    }
+
+    @Test
+    void testFallbackOrder() throws Exception {
+        String resourceId = "fallback_r1";
+        Channel exact = registerRM("app1", "127.0.0.1", 8001, resourceId);
+        Channel otherIp = registerRM("app1", "127.0.0.2", 8003, resourceId);
+        Channel otherApp = registerRM("app2", "127.0.0.1", 8004, resourceId);
+        Channel sameIp = registerRM("app1", "127.0.0.1", 8002, resourceId);
+        String clientId = "app1:127.0.0.1:8001";
+
+        Assertions.assertSame(exact, ChannelManager.getChannel(resourceId, clientId));
+        // the same application on the same ip, then on the other ips, then the other applications
+        deactivate(exact);
+        Assertions.assertSame(sameIp, ChannelManager.getChannel(resourceId, clientId));
+        deactivate(sameIp);
+        Assertions.assertSame(otherIp, ChannelManager.getChannel(resourceId, clientId));
+        deactivate(otherIp);
+        Assertions.assertSame(otherApp, ChannelManager.getChannel(resourceId, clientId));
+        deactivate(otherApp);
+        Assertions.assertNull(ChannelManager.getChannel(resourceId, clientId));
+
+        // the inactive channels are dropped from the resource on the way
+        Map<String, Channel> rmChannels = ChannelManager.getRmChannels();
+        Assertions.assertTrue(rmChannels == null || !rmChannels.containsKey(resourceId));
+        Assertions.assertThrows(RuntimeException.class, () -> ChannelManager.getChannel(resourceId, "app1"));
+    }
+
+    @Test
+    void testDisconnectPrunesChannels() throws Exception {
+        String resourceId = "disconnect_r1";
+        Channel first = registerRM("app1", "127.0.0.3", 8001, resourceId);
+        Channel second = registerRM("app1", "127.0.0.3", 8002, resourceId);
+        Assertions.assertEquals(2, getSameClientContexts("app1:127.0.0.3").size());
+
+        RpcContext firstContext = ChannelManager.getContextFromIdentified(first);
+        deactivate(first);
+        ChannelManager.releaseRpcContext(first);
+        Assertions.assertTrue(firstContext.getHeldResourceIds().isEmpty());
+        Assertions.assertEquals(1, getSameClientContexts("app1:127.0.0.3").size());
+        Assertions.assertSame(second, ChannelManager.getChannel(resourceId, "app1:127.0.0.3:8001"));
+        Assertions.assertSame(second, ChannelManager.getRmChannels().get(resourceId));
+
+        deactivate(second);
+        ChannelManager.releaseRpcContext(second);
+        Assertions.assertNull(getSameClientContexts("app1:127.0.0.3"));
+        Assertions.assertNull(ChannelManager.getChannel(resourceId, "app1:127.0.0.3:8002"));
+        Map<String, Channel> rmChannels = ChannelManager.getRmChannels();
+        Assertions.assertTrue(rmChannels == null || !rmChannels.containsKey(resourceId));
+    }
+
+    @Test
+    void testGetSameClientChannel() throws Exception {
+        Channel first = registerRM("app1", "127.0.0.4", 8001, "same_client_r1");
+        Channel second = registerRM("app1", "127.0.0.4", 8002, "same_client_r2");
+        Channel otherClient = registerRM("app1", "127.0.0.5", 8003, "same_client_r1");
+
+        Assertions.assertSame(first, ChannelManager.getSameClientChannel(first));
+        deactivate(first);
+        // only a channel of the same application on the same ip can replace it
+        Assertions.assertSame(second, ChannelManager.getSameClientChannel(first));
+        deactivate(second);
+        Assertions.assertNull(ChannelManager.getSameClientChannel(first));
+        Assertions.assertSame(otherClient, ChannelManager.getSameClientChannel(otherClient));
+    }
+
+    private Channel registerRM(String applicationId, String ip, int port, String resourceIds) throws Exception {
+        Channel channel = mockChannel(ip, port);
+        registerRM(channel, applicationId, resourceIds);
+        return channel;
+    }
+
+    private static void registerRM(Channel channel, String applicationId, String resourceIds) throws Exception {
+        RegisterRMRequest request = new RegisterRMRequest(applicationId, TX_GROUP);
+        request.setResourceIds(resourceIds);
+        ChannelManager.registerRMChannel(request, channel);
+    }
+
+    private Channel mockChannel(String ip, int port) {
+        Channel channel = mock(Channel.class);
+        AtomicBoolean active = new AtomicBoolean(true);
+        when(channel.remoteAddress()).thenReturn(new InetSocketAddress(ip, port));
+        when(channel.isActive()).thenAnswer(invocation -> active.get());
+        channels.add(channel);
+        activeFlags.put(channel, active);
+        return channel;
+    }
+
+    private void deactivate(Channel channel) {
+        activeFlags.get(channel).set(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<RpcContext> getSameClientContexts(String clientIdentified) throws Exception {
+        Field field = ChannelManager.class.getDeclaredField("RM_CLIENT_CHANNELS");
+        field.setAccessible(true);
+        return ((ConcurrentMap<String, Set<RpcContext>>) field.get(null)).get(clientIdentified);
+    }
+}
@@ -27,6 +27,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import static io.seata.common.DefaultValues.DEFAULT_TX_GROUP;
@@ -148,9 +149,9 @@ class NettyClientChannelManagerTest {
     
     @SuppressWarnings("unchecked")
     private void setUpReleaseChannel() {
-        ConcurrentMap<String, Object> channelLocks =
-            (ConcurrentMap<String, Object>) getFieldValue("channelLocks", channelManager);
-        channelLocks.putIfAbsent("127.0.0.1:8091", new Object());
+        ConcurrentMap<String, ReentrantLock> channelLocks =
+            (ConcurrentMap<String, ReentrantLock>) getFieldValue("channelLocks", channelManager);
+        channelLocks.putIfAbsent("127.0.0.1:8091", new ReentrantLock());
         ConcurrentMap<String, NettyPoolKey> poolKeyMap =
             (ConcurrentMap<String, NettyPoolKey>) getFieldValue("poolKeyMap", channelManager);
         poolKeyMap.putIfAbsent("127.0.0.1:8091", nettyPoolKey);
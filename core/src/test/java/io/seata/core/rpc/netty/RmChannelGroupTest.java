@@ -0,0 +1,91 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.seata.core.rpc.RpcContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Rm channel group test.
+ */
+class RmChannelGroupTest {
+
+    @Test
+    void testAddAndRemove() {
+        RpcContext first = newRpcContext("app1", "127.0.0.1", 8001);
+        RpcContext second = newRpcContext("app1", "127.0.0.1", 8002);
+        RmChannelGroup group = RmChannelGroup.EMPTY.add(Arrays.asList(first, second), "127.0.0.1");
+        Assertions.assertEquals(2, group.getContexts().length);
+        Assertions.assertSame(first, group.getByClientId("app1:127.0.0.1:8001"));
+        Assertions.assertTrue(group.contains(second));
+        Assertions.assertSame(group, group.add(Collections.singleton(first), "127.0.0.1"));
+
+        RmChannelGroup removed = group.remove(first);
+        Assertions.assertFalse(removed.contains(first));
+        Assertions.assertNull(removed.getByClientId("app1:127.0.0.1:8001"));
+        Assertions.assertArrayEquals(new RpcContext[] {second}, removed.getContexts());
+        Assertions.assertSame(removed, removed.remove(first));
+        Assertions.assertTrue(removed.remove(second).isEmpty());
+    }
+
+    @Test
+    void testPreferredContexts() {
+        RpcContext sameIp = newRpcContext("app1", "127.0.0.1", 8001);
+        RpcContext otherIp = newRpcContext("app1", "127.0.0.2", 8002);
+        RpcContext otherApp = newRpcContext("app2", "127.0.0.1", 8003);
+        RpcContext sameIp2 = newRpcContext("app1", "127.0.0.1", 8004);
+        RmChannelGroup group = RmChannelGroup.EMPTY
+            .add(Collections.singleton(sameIp), "127.0.0.1")
+            .add(Collections.singleton(otherIp), "127.0.0.2")
+            .add(Collections.singleton(otherApp), "127.0.0.1")
+            .add(Collections.singleton(sameIp2), "127.0.0.1");
+
+        Assertions.assertEquals(Arrays.asList(sameIp, sameIp2, otherIp, otherApp),
+            visitedContexts(group, "app1", "127.0.0.1"));
+        Assertions.assertEquals(Arrays.asList(otherIp, sameIp, sameIp2, otherApp),
+            visitedContexts(group, "app1", "127.0.0.2"));
+        Assertions.assertEquals(Arrays.asList(sameIp, otherIp, sameIp2, otherApp),
+            visitedContexts(group, "app1", "127.0.0.9"));
+        Assertions.assertEquals(Arrays.asList(otherApp, sameIp, otherIp, sameIp2),
+            visitedContexts(group, "app2", "127.0.0.1"));
+        Assertions.assertEquals(Arrays.asList(group.getContexts()), visitedContexts(group, "app3", "127.0.0.1"));
+
+        Assertions.assertSame(sameIp2, group.find("app1", "127.0.0.1", rpcContext -> rpcContext != sameIp));
+        Assertions.assertNull(group.find("app1", "127.0.0.1", rpcContext -> false));
+    }
+
+    private static List<RpcContext> visitedContexts(RmChannelGroup group, String applicationId, String ip) {
+        List<RpcContext> visited = new ArrayList<>();
+        Assertions.assertNull(group.find(applicationId, ip, rpcContext -> {
+            visited.add(rpcContext);
+            return false;
+        }));
+        return visited;
+    }
+
+    private static RpcContext newRpcContext(String applicationId, String ip, int port) {
+        RpcContext rpcContext = new RpcContext();
+        rpcContext.setApplicationId(applicationId);
+        rpcContext.setClientId(applicationId + ":" + ip + ":" + port);
+        return rpcContext;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.discovery.loadbalance;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.loader.LoadLevel;
+import io.seata.common.rpc.RpcStatus;
+import io.seata.common.util.NetUtil;
+import io.seata.common.util.StringUtils;
+
+import static io.seata.discovery.loadbalance.LoadBalanceFactory.ADAPTIVE_LOAD_BALANCE;
+
+/**
+ * The type adaptive load balance.
+ * <p>
+ * Requests of an existing global transaction go to the TC which began it (the address is the prefix of the xid)
+ * when it is still alive. Others pick the better of two random TCs, scored by the EWMA response time times
+ * the requests in flight, so a TC slowed down by GC or its store quickly gets less traffic.
+ */
+@LoadLevel(name = ADAPTIVE_LOAD_BALANCE)
+public class AdaptiveLoadBalance implements LoadBalance {
+
+    private static final String IP_PORT_SPLIT_CHAR = ":";
+
+    /**
+     * The response time taken for a TC without a recorded or with a fully decayed EWMA, so that its requests
+     * in flight still count and an idle TC does not draw all the traffic.
+     */
+    private static final double MIN_RESPONSE_TIME_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Override
+    public <T> T select(List<T> invokers, String xid) {
+        int length = invokers.size();
+        if (length == 0) {
+            return null;
+        }
+        if (length == 1) {
+            return invokers.get(0);
+        }
+        T affinity = selectByXid(invokers, xid);
+        if (affinity != null) {
+            return affinity;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(length);
+        int second = random.nextInt(length - 1);
+        if (second >= first) {
+            second++;
+        }
+        T firstInvoker = invokers.get(first);
+        T secondInvoker = invokers.get(second);
+        return cost(firstInvoker) <= cost(secondInvoker) ? firstInvoker : secondInvoker;
+    }
+
+    private <T> T selectByXid(List<T> invokers, String xid) {
+        // xid: ip:port:transactionId
+        if (StringUtils.isBlank(xid)) {
+            return null;
+        }
+        int end = xid.lastIndexOf(IP_PORT_SPLIT_CHAR);
+        if (end <= 0 || xid.lastIndexOf(IP_PORT_SPLIT_CHAR, end - 1) < 0) {
+            return null;
+        }
+        String serverAddress = xid.substring(0, end);
+        for (T invoker : invokers) {
+            if (serverAddress.equals(toAddress(invoker))) {
+                return invoker;
+            }
+        }
+        return null;
+    }
+
+    private double cost(Object invoker) {
+        RpcStatus status = RpcStatus.getStatus(toAddress(invoker));
+        return Math.max(status.getEwmaResponseTime(), MIN_RESPONSE_TIME_NANOS) * (status.getActive() + 1);
+    }
+
+    private String toAddress(Object invoker) {
+        // the same key as the rpc hooks use for the channel
+        if (invoker instanceof InetSocketAddress && !((InetSocketAddress)invoker).isUnresolved()) {
+            return NetUtil.toStringAddress((InetSocketAddress)invoker);
+        }
+        return String.valueOf(invoker);
+    }
+}
@@ -15,11 +15,9 @@
  */
 package io.seata.discovery.loadbalance;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 import io.seata.common.loader.LoadLevel;
 import io.seata.config.ConfigurationFactory;
@@ -45,53 +43,94 @@ public class ConsistentHashLoadBalance implements LoadBalance {
      */
     private static final int VIRTUAL_NODES_NUM = ConfigurationFactory.getInstance().getInt(LOAD_BALANCE_CONSISTENT_HASH_VISUAL_NODES, VIRTUAL_NODES_DEFAULT);
 
+    private volatile ConsistentHashSelector<?> selector;
+
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T select(List<T> invokers, String xid) {
-        return new ConsistentHashSelector<>(invokers, VIRTUAL_NODES_NUM).select(xid);
+        ConsistentHashSelector<?> current = selector;
+        if (current == null || !current.isBuiltFrom(invokers)) {
+            // the ring only changes with the membership of the TC cluster
+            current = new ConsistentHashSelector<>(invokers, VIRTUAL_NODES_NUM);
+            selector = current;
+        }
+        return (T)current.select(xid);
     }
 
     private static final class ConsistentHashSelector<T> {
 
-        private final SortedMap<Long, T> virtualInvokers = new TreeMap<>();
-        private final HashFunction hashFunction = new MD5Hash();
+        private final HashFunction hashFunction = new Fnv1aHash();
+        private final List<T> invokers;
+        /**
+         * the sorted hashes of the virtual nodes
+         */
+        private final long[] ring;
+        /**
+         * the index in invokers of the virtual node at the same position of the ring
+         */
+        private final int[] owners;
 
         ConsistentHashSelector(List<T> invokers, int virtualNodes) {
-            for (T invoker : invokers) {
+            this.invokers = new ArrayList<>(invokers);
+            // the unsigned 32 bits hash above the invoker index (31 bits), the packed value stays positive
+            // so one sort of the longs orders the ring
+            long[] nodes = new long[invokers.size() * virtualNodes];
+            int n = 0;
+            for (int index = 0; index < this.invokers.size(); index++) {
+                String key = String.valueOf(this.invokers.get(index));
                 for (int i = 0; i < virtualNodes; i++) {
-                    virtualInvokers.put(hashFunction.hash(invoker.toString() + i), invoker);
+                    nodes[n++] = hashFunction.hash(key + i) << 31 | index;
                 }
             }
+            Arrays.sort(nodes);
+            this.ring = new long[nodes.length];
+            this.owners = new int[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                ring[i] = nodes[i] >>> 31;
+                owners[i] = (int)(nodes[i] & Integer.MAX_VALUE);
+            }
         }
 
-        public T select(String objectKey) {
-            SortedMap<Long, T> tailMap = virtualInvokers.tailMap(hashFunction.hash(objectKey));
-            Long nodeHashVal = tailMap.isEmpty() ? virtualInvokers.firstKey() : tailMap.firstKey();
-            return virtualInvokers.get(nodeHashVal);
+        boolean isBuiltFrom(List<?> invokers) {
+            return this.invokers.equals(invokers);
         }
-    }
 
-    @SuppressWarnings("lgtm[java/weak-cryptographic-algorithm]")
-    private static class MD5Hash implements HashFunction {
-        MessageDigest instance;
-        public MD5Hash() {
-            try {
-                instance = MessageDigest.getInstance("MD5");
-            } catch (NoSuchAlgorithmException e) {
-                throw new IllegalStateException(e.getMessage(), e);
+        public T select(String objectKey) {
+            if (ring.length == 0) {
+                return null;
+            }
+            int position = Arrays.binarySearch(ring, hashFunction.hash(objectKey));
+            if (position < 0) {
+                position = -position - 1;
             }
+            if (position == ring.length) {
+                position = 0;
+            }
+            return invokers.get(owners[position]);
         }
+    }
+
+    /**
+     * FNV-1a over the chars of the key followed by the murmur3 finalizer, no allocation and no digest.
+     */
+    private static class Fnv1aHash implements HashFunction {
+
+        private static final int FNV_OFFSET_BASIS = 0x811c9dc5;
+        private static final int FNV_PRIME = 0x01000193;
 
         @Override
         public long hash(String key) {
-            instance.reset();
-            instance.update(key.getBytes());
-            byte[] digest = instance.digest();
-            long h = 0;
-            for (int i = 0; i < 4; i++) {
-                h <<= 8;
-                h |= ((int) digest[i]) & 0xFF;
+            int h = FNV_OFFSET_BASIS;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= FNV_PRIME;
             }
-            return h;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h & 0xFFFFFFFFL;
         }
     }
 
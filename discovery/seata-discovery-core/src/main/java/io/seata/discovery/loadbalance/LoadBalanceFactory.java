@@ -43,6 +43,8 @@ public class LoadBalanceFactory {
 
     public static final String LEAST_ACTIVE_LOAD_BALANCE = "LeastActiveLoadBalance";
 
+    public static final String ADAPTIVE_LOAD_BALANCE = "AdaptiveLoadBalance";
+
 
     /**
      * Get instance.
@@ -16,15 +16,19 @@
 package io.seata.discovery.loadbalance;
 
 import io.seata.common.rpc.RpcStatus;
+import io.seata.common.util.NetUtil;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
@@ -87,6 +91,25 @@ public class LoadBalanceTest {
         Assertions.assertEquals(1, selected, "selected must be equal to 1");
     }
 
+    /**
+     * Test consistent hash load balance select after the membership changed.
+     *
+     * @param addresses the addresses
+     */
+    @ParameterizedTest
+    @MethodSource("addressProvider")
+    public void testConsistentHashLoadBalance_membershipChanged(List<InetSocketAddress> addresses) {
+        ConsistentHashLoadBalance loadBalance = new ConsistentHashLoadBalance();
+        InetSocketAddress selected = loadBalance.select(addresses, XID);
+        Assertions.assertEquals(selected, loadBalance.select(new ArrayList<>(addresses), XID));
+
+        List<InetSocketAddress> remains = new ArrayList<>(addresses);
+        remains.remove(selected);
+        InetSocketAddress reselected = loadBalance.select(remains, XID);
+        Assertions.assertNotEquals(selected, reselected);
+        Assertions.assertTrue(remains.contains(reselected));
+    }
+
     /**
      * Test least active load balance select.
      *
@@ -119,6 +142,58 @@ public class LoadBalanceTest {
         }
     }
 
+    /**
+     * Test adaptive load balance select.
+     *
+     * @param addresses the addresses
+     */
+    @ParameterizedTest
+    @MethodSource("addressProvider")
+    public void testAdaptiveLoadBalance_select(List<InetSocketAddress> addresses) {
+        int runs = 10000;
+        LoadBalance loadBalance = new AdaptiveLoadBalance();
+        InetSocketAddress slowAddress = addresses.get(0);
+        RpcStatus.recordResponseTime(NetUtil.toStringAddress(slowAddress), TimeUnit.SECONDS.toNanos(1));
+        for (int i = 1; i < addresses.size(); i++) {
+            RpcStatus.recordResponseTime(NetUtil.toStringAddress(addresses.get(i)), TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        Map<InetSocketAddress, AtomicLong> counter = getSelectedCounter(runs, addresses, loadBalance);
+        for (InetSocketAddress address : counter.keySet()) {
+            Long count = counter.get(address).get();
+            if (address == slowAddress) {
+                Assertions.assertEquals(0, count);
+            } else {
+                Assertions.assertTrue(count > 0);
+            }
+        }
+
+        // requests of an existing global transaction go to the TC which began it
+        String xid = NetUtil.toStringAddress(slowAddress) + ":2000042948";
+        Assertions.assertEquals(slowAddress, loadBalance.select(addresses, xid));
+    }
+
+    /**
+     * Test adaptive load balance select without a recorded response time.
+     */
+    @Test
+    public void testAdaptiveLoadBalance_selectUnknownResponseTime() {
+        List<InetSocketAddress> addresses = Arrays.asList(new InetSocketAddress("127.0.0.1", 18091),
+                new InetSocketAddress("127.0.0.1", 18092));
+        InetSocketAddress busyAddress = addresses.get(0);
+        String busyService = NetUtil.toStringAddress(busyAddress);
+        for (int i = 0; i < 10; i++) {
+            RpcStatus.beginCount(busyService);
+        }
+        try {
+            // the requests in flight count even though no response time is known yet
+            Map<InetSocketAddress, AtomicLong> counter = getSelectedCounter(1000, addresses, new AdaptiveLoadBalance());
+            Assertions.assertEquals(0, counter.get(busyAddress).get());
+            Assertions.assertEquals(1000, counter.get(addresses.get(1)).get());
+        } finally {
+            RpcStatus.removeStatus(busyService);
+        }
+    }
+
     /**
      * Gets selected counter.
      *
@@ -15,25 +15,40 @@
  */
 package io.seata.metrics;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.UUID;
 
 /**
  * Meter id
+ * <p>
+ * An id is immutable, {@link #withTag(String, String)} returns a new id instead of changing this one,
+ * so an id can be shared as a constant and used as the key of a meter. Two ids with the same name and
+ * tags are equal.
  *
  * @author zhengyangyong
  */
 public class Id {
-    private final UUID id;
-
     private final String name;
 
     private final SortedMap<String, String> tags;
 
+    private final int hashCode;
+
+    private volatile UUID id;
+
     public UUID getId() {
-        return id;
+        UUID uuid = id;
+        if (uuid == null) {
+            // derived from name and tags, so equal ids share the same uuid
+            uuid = UUID.nameUUIDFromBytes(toString().getBytes(StandardCharsets.UTF_8));
+            id = uuid;
+        }
+        return uuid;
     }
 
     public String getName() {
@@ -49,23 +64,50 @@ public class Id {
     }
 
     public Id(String name) {
-        this.id = UUID.randomUUID();
+        this(name, Collections.emptySortedMap());
+    }
+
+    private Id(String name, SortedMap<String, String> tags) {
         this.name = name;
-        this.tags = new TreeMap<>();
+        this.tags = tags;
+        this.hashCode = 31 * Objects.hashCode(name) + tags.hashCode();
     }
 
     public Id withTag(String name, String value) {
-        this.tags.put(name, value);
-        return this;
+        if (tags.containsKey(name) && Objects.equals(tags.get(name), value)) {
+            return this;
+        }
+        SortedMap<String, String> newTags = new TreeMap<>(tags);
+        newTags.put(name, value);
+        return new Id(this.name, Collections.unmodifiableSortedMap(newTags));
     }
 
     public Id withTag(Iterable<Entry<String, String>> tags) {
-        if (tags != null) {
-            for (Entry<String, String> tag : tags) {
-                this.tags.put(tag.getKey(), tag.getValue());
-            }
+        if (tags == null) {
+            return this;
+        }
+        SortedMap<String, String> newTags = new TreeMap<>(this.tags);
+        for (Entry<String, String> tag : tags) {
+            newTags.put(tag.getKey(), tag.getValue());
         }
-        return this;
+        return new Id(this.name, Collections.unmodifiableSortedMap(newTags));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Id)) {
+            return false;
+        }
+        Id other = (Id)o;
+        return hashCode == other.hashCode && Objects.equals(name, other.name) && tags.equals(other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
     }
 
     @Override
@@ -23,6 +23,10 @@ package io.seata.metrics;
 public interface IdConstants {
     String SEATA_TRANSACTION = "seata.transaction";
 
+    String SEATA_OPERATION = "seata.operation";
+
+    String SEATA_EVENT = "seata.event";
+
     String APP_ID_KEY = "applicationId";
     
     String GROUP_KEY = "group";
@@ -37,6 +41,10 @@ public interface IdConstants {
 
     String STATUS_KEY = "status";
 
+    String OPERATION_KEY = "operation";
+
+    String QUANTILE_KEY = "quantile";
+
     String ROLE_VALUE_TC = "tc";
 
     String ROLE_VALUE_TM = "tm";
@@ -61,6 +69,28 @@ public interface IdConstants {
 
     String STATISTIC_VALUE_AVERAGE = "average";
 
+    String STATISTIC_VALUE_QUANTILE = "quantile";
+
+    String STATISTIC_VALUE_DROPPED = "dropped";
+
+    String STATISTIC_VALUE_PENDING = "pending";
+
+    String QUANTILE_VALUE_P50 = "0.5";
+
+    String QUANTILE_VALUE_P99 = "0.99";
+
+    String QUANTILE_VALUE_P999 = "0.999";
+
+    String OPERATION_VALUE_BRANCH_REGISTER = "branchRegister";
+
+    String OPERATION_VALUE_BRANCH_COMMIT = "branchCommit";
+
+    String OPERATION_VALUE_BRANCH_ROLLBACK = "branchRollback";
+
+    String OPERATION_VALUE_LOCK_ACQUIRE = "lockAcquire";
+
+    String OPERATION_VALUE_STORE_WRITE = "storeWrite";
+
     String STATUS_VALUE_ACTIVE = "active";
 
     String STATUS_VALUE_COMMITTED = "committed";
@@ -32,4 +32,14 @@ public interface Timer extends Meter {
     long max();
 
     double average();
+
+    /**
+     * Gets the value below which the given percentage of the records fall, in the unit of {@link #max()}.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the value, NaN if the timer does not track the distribution
+     */
+    default double percentile(double percentile) {
+        return Double.NaN;
+    }
 }
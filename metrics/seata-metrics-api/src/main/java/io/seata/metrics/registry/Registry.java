@@ -41,4 +41,14 @@ public interface Registry {
     Iterable<Measurement> measure();
 
     void clearUp();
+
+    /**
+     * Gets the number of times the registry has been cleared up.
+     * Meters cached by a caller are stale once this number changes.
+     *
+     * @return the clear up count
+     */
+    default long getClearUpCount() {
+        return 0;
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test Id
+ */
+public class IdTest {
+
+    @Test
+    public void testWithTagDoesNotChangeId() {
+        Id id = new Id("seata.transaction").withTag("role", "tc");
+        String before = id.toString();
+        int hashCode = id.hashCode();
+
+        Id tagged = id.withTag("applicationId", "app");
+        Assertions.assertNotSame(id, tagged);
+        Assertions.assertEquals(before, id.toString());
+        Assertions.assertEquals(hashCode, id.hashCode());
+        Assertions.assertEquals(1, id.getTagCount());
+        Assertions.assertEquals(2, tagged.getTagCount());
+        Assertions.assertEquals("seata.transaction(applicationId=app,role=tc)", tagged.toString());
+
+        // replacing a tag value returns a new id as well
+        Id replaced = tagged.withTag("applicationId", "other");
+        Assertions.assertEquals("seata.transaction(applicationId=app,role=tc)", tagged.toString());
+        Assertions.assertEquals("seata.transaction(applicationId=other,role=tc)", replaced.toString());
+
+        // the same tag value changes nothing
+        Assertions.assertSame(tagged, tagged.withTag("applicationId", "app"));
+    }
+
+    @Test
+    public void testTagsNotModifiable() {
+        Id id = new Id("seata.transaction").withTag("role", "tc");
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> id.getTags().iterator().next().setValue("rm"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> {
+            Iterator<Entry<String, String>> iterator = id.getTags().iterator();
+            iterator.next();
+            iterator.remove();
+        });
+        Assertions.assertEquals("seata.transaction(role=tc)", id.toString());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Id base = new Id("seata.transaction");
+        // the order in which the tags are added does not matter
+        Id first = base.withTag("role", "tc").withTag("status", "active");
+        Id second = base.withTag("status", "active").withTag("role", "tc");
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(first.hashCode(), second.hashCode());
+        Assertions.assertEquals(first.getId(), second.getId());
+
+        Iterable<Entry<String, String>> tags = Arrays.asList(new SimpleEntry<>("role", "tc"),
+            new SimpleEntry<>("status", "active"));
+        Id third = base.withTag(tags);
+        Assertions.assertEquals(first, third);
+        Assertions.assertEquals(first.hashCode(), third.hashCode());
+
+        Assertions.assertNotEquals(first, first.withTag("status", "committed"));
+        Assertions.assertNotEquals(first, new Id("seata.other").withTag("role", "tc").withTag("status", "active"));
+        Assertions.assertNotEquals(base, first);
+        Assertions.assertNotEquals(first.getId(), first.withTag("status", "committed").getId());
+
+        // null tag values, like a null applicationId or group, are kept and compared
+        Id nullApp = base.withTag("applicationId", null);
+        Assertions.assertEquals(nullApp, base.withTag("applicationId", null));
+        Assertions.assertEquals(nullApp.hashCode(), base.withTag("applicationId", null).hashCode());
+        Assertions.assertEquals("seata.transaction(applicationId=null)", nullApp.toString());
+        Assertions.assertNotEquals(nullApp, base.withTag("applicationId", "app"));
+    }
+}
@@ -17,15 +17,20 @@ package io.seata.metrics.exporter.prometheus;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.prometheus.client.Collector;
 import io.prometheus.client.Collector.MetricFamilySamples.Sample;
 import io.prometheus.client.exporter.HTTPServer;
 import io.seata.common.loader.LoadLevel;
+import io.seata.common.util.CollectionUtils;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.metrics.Id;
 import io.seata.metrics.Measurement;
 import io.seata.metrics.exporter.Exporter;
 import io.seata.metrics.registry.Registry;
@@ -40,10 +45,22 @@ import static io.seata.core.constants.ConfigurationKeys.METRICS_EXPORTER_PROMETH
 @LoadLevel(name = "prometheus", order = 1)
 public class PrometheusExporter extends Collector implements Collector.Describable, Exporter {
 
+    private static final int MAX_SAMPLE_TEMPLATES = 4096;
+
     private final HTTPServer server;
 
     private Registry registry;
 
+    /**
+     * The prometheus name and labels of every id, ids are immutable so they are converted only once.
+     */
+    private final Map<Id, SampleTemplate> sampleTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * The sample count of the last collection, used to presize the next one.
+     */
+    private volatile int lastSampleCount = 16;
+
     public PrometheusExporter() throws IOException {
         int port = ConfigurationFactory.getInstance().getInt(
             ConfigurationKeys.METRICS_PREFIX + METRICS_EXPORTER_PROMETHEUS_PORT, 9898);
@@ -60,9 +77,14 @@ public class PrometheusExporter extends Collector implements Collector.Describab
     public List<MetricFamilySamples> collect() {
         List<MetricFamilySamples> familySamples = new ArrayList<>();
         if (registry != null) {
+            if (sampleTemplates.size() > MAX_SAMPLE_TEMPLATES) {
+                // the registry has been cleared up many times, drop the templates of removed meters
+                sampleTemplates.clear();
+            }
             Iterable<Measurement> measurements = registry.measure();
-            List<Sample> samples = new ArrayList<>();
+            List<Sample> samples = new ArrayList<>(lastSampleCount);
             measurements.forEach(measurement -> samples.add(convertMeasurementToSample(measurement)));
+            lastSampleCount = Math.max(samples.size(), 1);
 
             if (!samples.isEmpty()) {
                 Type unknownType = getUnknownType();
@@ -73,14 +95,9 @@ public class PrometheusExporter extends Collector implements Collector.Describab
     }
 
     private Sample convertMeasurementToSample(Measurement measurement) {
-        String prometheusName = measurement.getId().getName().replace(".", "_");
-        List<String> labelNames = new ArrayList<>();
-        List<String> labelValues = new ArrayList<>();
-        for (Entry<String, String> tag : measurement.getId().getTags()) {
-            labelNames.add(tag.getKey());
-            labelValues.add(tag.getValue());
-        }
-        return new Sample(prometheusName, labelNames, labelValues, measurement.getValue(),
+        SampleTemplate template = CollectionUtils.computeIfAbsent(sampleTemplates, measurement.getId(),
+            SampleTemplate::new);
+        return new Sample(template.name, template.labelNames, template.labelValues, measurement.getValue(),
             (long)measurement.getTimestamp());
     }
 
@@ -99,6 +116,27 @@ public class PrometheusExporter extends Collector implements Collector.Describab
         return unknownType;
     }
 
+    private static class SampleTemplate {
+
+        private final String name;
+
+        private final List<String> labelNames;
+
+        private final List<String> labelValues;
+
+        SampleTemplate(Id id) {
+            this.name = id.getName().replace(".", "_");
+            List<String> names = new ArrayList<>(id.getTagCount());
+            List<String> values = new ArrayList<>(id.getTagCount());
+            for (Entry<String, String> tag : id.getTags()) {
+                names.add(tag.getKey());
+                values.add(tag.getValue());
+            }
+            this.labelNames = Collections.unmodifiableList(names);
+            this.labelValues = Collections.unmodifiableList(values);
+        }
+    }
+
     @Override
     public List<MetricFamilySamples> describe() {
         return collect();
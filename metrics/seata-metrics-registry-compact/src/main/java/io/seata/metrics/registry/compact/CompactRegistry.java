@@ -16,10 +16,11 @@
 package io.seata.metrics.registry.compact;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import io.seata.common.loader.LoadLevel;
@@ -34,40 +35,44 @@ import io.seata.metrics.Summary;
 import io.seata.metrics.Timer;
 
 /**
- * Compact Registry implement, this registry only compute all Measurements when call measure method and do not cache
+ * Compact Registry implement, this registry only compute all Measurements when call measure method and do not cache.
+ * Meters are keyed by the (immutable) id itself, so ids with the same name and tags share one meter.
  *
  * @author zhengyangyong
  */
 @LoadLevel(name = "compact", order = 1)
 public class CompactRegistry implements Registry {
-    private static final Map<UUID, Meter> METERS = new ConcurrentHashMap<>();
+    private static final Map<Id, Meter> METERS = new ConcurrentHashMap<>();
+
+    private static final AtomicLong CLEAR_UP_COUNT = new AtomicLong();
 
     @Override
     public <T extends Number> Gauge<T> getGauge(Id id, Supplier<T> supplier) {
-        return (Gauge<T>)CollectionUtils.computeIfAbsent(METERS, id.getId(), key -> new CompactGauge<>(id, supplier));
+        return (Gauge<T>)CollectionUtils.computeIfAbsent(METERS, id, key -> new CompactGauge<>(id, supplier));
     }
 
     @Override
     public Counter getCounter(Id id) {
-        return (Counter)CollectionUtils.computeIfAbsent(METERS, id.getId(), key -> new CompactCounter(id));
+        return (Counter)CollectionUtils.computeIfAbsent(METERS, id, key -> new CompactCounter(id));
     }
 
     @Override
     public Summary getSummary(Id id) {
-        return (Summary)CollectionUtils.computeIfAbsent(METERS, id.getId(), key -> new CompactSummary(id));
+        return (Summary)CollectionUtils.computeIfAbsent(METERS, id, key -> new CompactSummary(id));
     }
 
     @Override
     public Timer getTimer(Id id) {
-        return (Timer)CollectionUtils.computeIfAbsent(METERS, id.getId(), key -> new CompactTimer(id));
+        return (Timer)CollectionUtils.computeIfAbsent(METERS, id, key -> new CompactTimer(id));
     }
 
     @Override
     public Iterable<Measurement> measure() {
-        final List<Measurement> measurements = new ArrayList<>();
         if (METERS.isEmpty()) {
-            return measurements;
+            return Collections.emptyList();
         }
+        // most of the meters are summaries and timers, which produce several measurements
+        final List<Measurement> measurements = new ArrayList<>(METERS.size() * 4);
         METERS.values().iterator()
                 .forEachRemaining(meter -> meter.measure().forEach(measurements::add));
         return measurements;
@@ -76,5 +81,11 @@ public class CompactRegistry implements Registry {
     @Override
     public void clearUp() {
         METERS.clear();
+        CLEAR_UP_COUNT.incrementAndGet();
+    }
+
+    @Override
+    public long getClearUpCount() {
+        return CLEAR_UP_COUNT.get();
     }
 }
@@ -48,12 +48,9 @@ public class CompactSummary implements Summary {
 
     public CompactSummary(Id id, Clock clock) {
         this.id = id;
-        this.countId = new Id(id.getName()).withTag(id.getTags())
-            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_COUNT);
-        this.totalId = new Id(id.getName()).withTag(id.getTags())
-            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_TOTAL);
-        this.tpsId = new Id(id.getName()).withTag(id.getTags())
-            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_TPS);
+        this.countId = id.withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_COUNT);
+        this.totalId = id.withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_TOTAL);
+        this.tpsId = id.withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_TPS);
         this.value = new SummaryValue(clock.getCurrentMilliseconds());
         this.clock = clock;
     }
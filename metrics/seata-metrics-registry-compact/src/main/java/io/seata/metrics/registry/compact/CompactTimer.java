@@ -26,7 +26,8 @@ import io.seata.metrics.Timer;
 import io.seata.metrics.IdConstants;
 
 /**
- * Compact Timer implement with TimerValue
+ * Compact Timer implement with TimerValue, the values are reset on every measure,
+ * so the percentiles describe the latest measure interval
  *
  * @author zhengyangyong
  */
@@ -41,6 +42,12 @@ public class CompactTimer implements Timer {
 
     private final Id averageId;
 
+    private final Id p50Id;
+
+    private final Id p99Id;
+
+    private final Id p999Id;
+
     private volatile TimerValue value;
 
     private final Clock clock;
@@ -51,14 +58,14 @@ public class CompactTimer implements Timer {
 
     public CompactTimer(Id id, Clock clock) {
         this.id = id;
-        this.countId = new Id(id.getName()).withTag(id.getTags())
-            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_COUNT);
-        this.totalId = new Id(id.getName()).withTag(id.getTags())
-            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_TOTAL);
-        this.maxId = new Id(id.getName()).withTag(id.getTags())
-            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_MAX);
-        this.averageId = new Id(id.getName()).withTag(id.getTags())
-            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_AVERAGE);
+        this.countId = id.withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_COUNT);
+        this.totalId = id.withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_TOTAL);
+        this.maxId = id.withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_MAX);
+        this.averageId = id.withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_AVERAGE);
+        Id quantileId = id.withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_QUANTILE);
+        this.p50Id = quantileId.withTag(IdConstants.QUANTILE_KEY, IdConstants.QUANTILE_VALUE_P50);
+        this.p99Id = quantileId.withTag(IdConstants.QUANTILE_KEY, IdConstants.QUANTILE_VALUE_P99);
+        this.p999Id = quantileId.withTag(IdConstants.QUANTILE_KEY, IdConstants.QUANTILE_VALUE_P999);
         this.value = new TimerValue();
         this.clock = clock;
     }
@@ -93,6 +100,11 @@ public class CompactTimer implements Timer {
         return this.value.getAverage();
     }
 
+    @Override
+    public double percentile(double percentile) {
+        return this.value.getPercentile(percentile);
+    }
+
     @Override
     public Iterable<Measurement> measure() {
         //reset value when measure
@@ -102,6 +114,9 @@ public class CompactTimer implements Timer {
         return Arrays.asList(new Measurement(countId, time, value.getCount()),
             new Measurement(totalId, time, value.getTotal() * 0.001),
             new Measurement(maxId, time, value.getMax() * 0.001),
-            new Measurement(averageId, time, value.getAverage() * 0.001));
+            new Measurement(averageId, time, value.getAverage() * 0.001),
+            new Measurement(p50Id, time, value.getPercentile(0.5) * 0.001),
+            new Measurement(p99Id, time, value.getPercentile(0.99) * 0.001),
+            new Measurement(p999Id, time, value.getPercentile(0.999) * 0.001));
     }
 }
@@ -31,6 +31,8 @@ public class TimerValue {
 
     private final AtomicLong max;
 
+    private final LatencyHistogram histogram;
+
     public long getCount() {
         return count.longValue();
     }
@@ -49,10 +51,15 @@ public class TimerValue {
         return count == 0 ? 0 : total / count;
     }
 
+    public long getPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile, count.longValue(), max.get());
+    }
+
     public TimerValue() {
         this.count = new LongAdder();
         this.total = new LongAdder();
         this.max = new AtomicLong(0);
+        this.histogram = new LatencyHistogram();
     }
 
     public void record(long value, TimeUnit unit) {
@@ -63,5 +70,6 @@ public class TimerValue {
         this.count.increment();
         this.total.add(changeValue);
         this.max.accumulateAndGet(changeValue, Math::max);
+        this.histogram.record(changeValue);
     }
 }
\ No newline at end of file
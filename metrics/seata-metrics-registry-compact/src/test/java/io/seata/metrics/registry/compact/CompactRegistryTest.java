@@ -0,0 +1,78 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.registry.compact;
+
+import io.seata.metrics.Counter;
+import io.seata.metrics.Id;
+import io.seata.metrics.Summary;
+import io.seata.metrics.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Compact registry test.
+ */
+public class CompactRegistryTest {
+
+    private final CompactRegistry registry = new CompactRegistry();
+
+    @AfterEach
+    public void tearDown() {
+        registry.clearUp();
+    }
+
+    @Test
+    public void testEqualIdsShareMeter() {
+        Id id = new Id("seata.test").withTag("role", "tc");
+        Counter counter = registry.getCounter(id);
+        // built separately, tags in another order
+        Id sameId = new Id("seata.test").withTag("status", "active").withTag("role", "tc");
+        Id otherId = new Id("seata.test").withTag("role", "tc").withTag("status", "committed");
+
+        Assertions.assertSame(registry.getCounter(id.withTag("status", "active")), registry.getCounter(sameId));
+        Assertions.assertNotSame(registry.getCounter(sameId), registry.getCounter(otherId));
+        Assertions.assertSame(counter, registry.getCounter(new Id("seata.test").withTag("role", "tc")));
+
+        registry.getCounter(sameId).increase(2);
+        Assertions.assertEquals(2, registry.getCounter(id.withTag("status", "active")).get());
+        Assertions.assertEquals(0, registry.getCounter(otherId).get());
+        Assertions.assertEquals(0, counter.get());
+
+        Summary summary = registry.getSummary(new Id("seata.summary").withTag("role", "tc"));
+        Assertions.assertSame(summary, registry.getSummary(new Id("seata.summary").withTag("role", "tc")));
+        Timer timer = registry.getTimer(new Id("seata.timer").withTag("role", "tc"));
+        Assertions.assertSame(timer, registry.getTimer(new Id("seata.timer").withTag("role", "tc")));
+    }
+
+    @Test
+    public void testClearUp() {
+        Id id = new Id("seata.test").withTag("role", "tc");
+        Counter counter = registry.getCounter(id);
+        counter.increase(1);
+        long clearUpCount = registry.getClearUpCount();
+
+        registry.clearUp();
+        Assertions.assertEquals(clearUpCount + 1, registry.getClearUpCount());
+        Assertions.assertFalse(registry.measure().iterator().hasNext());
+
+        // the dropped meter is not reused
+        Counter newCounter = registry.getCounter(id);
+        Assertions.assertNotSame(counter, newCounter);
+        Assertions.assertEquals(0, newCounter.get());
+        Assertions.assertSame(newCounter, registry.getCounter(id));
+    }
+}
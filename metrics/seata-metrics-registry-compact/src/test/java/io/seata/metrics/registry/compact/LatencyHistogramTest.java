@@ -0,0 +1,88 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.registry.compact;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Latency histogram test.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testIndexOf() {
+        // a bucket per value below 64
+        for (int value = 0; value < 64; value++) {
+            Assertions.assertEquals(value, LatencyHistogram.indexOf(value));
+            Assertions.assertEquals(value, LatencyHistogram.middleValueOf(value));
+        }
+        // then 32 buckets per power of two, without gaps
+        Assertions.assertEquals(64, LatencyHistogram.indexOf(64));
+        Assertions.assertEquals(64, LatencyHistogram.indexOf(65));
+        Assertions.assertEquals(65, LatencyHistogram.indexOf(66));
+        Assertions.assertEquals(95, LatencyHistogram.indexOf(127));
+        Assertions.assertEquals(96, LatencyHistogram.indexOf(128));
+        int previous = LatencyHistogram.indexOf(63);
+        for (long value = 64; value < 1 << 20; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            Assertions.assertTrue(index == previous || index == previous + 1, "gap at " + value);
+            previous = index;
+        }
+    }
+
+    @Test
+    public void testBucketWidth() {
+        for (long value = 64; value <= LatencyHistogram.MAX_VALUE; value = value * 3 / 2 + 7) {
+            long middle = LatencyHistogram.middleValueOf(LatencyHistogram.indexOf(value));
+            Assertions.assertEquals(LatencyHistogram.indexOf(value), LatencyHistogram.indexOf(middle));
+            Assertions.assertTrue(Math.abs(middle - value) <= value / 32, "value " + value + ", middle " + middle);
+        }
+        Assertions.assertEquals(LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE),
+            LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE - 1));
+    }
+
+    @Test
+    public void testPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(0.5, 0, 0));
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-1);
+        assertClose(50000, histogram.getValueAtPercentile(0.5, 100000, 100000));
+        assertClose(99000, histogram.getValueAtPercentile(0.99, 100000, 100000));
+        assertClose(99900, histogram.getValueAtPercentile(0.999, 100000, 100000));
+        Assertions.assertEquals(1, histogram.getValueAtPercentile(0, 100000, 100000));
+        assertClose(100000, histogram.getValueAtPercentile(1, 100000, 100000));
+        // bounded by the max recorded value
+        Assertions.assertEquals(60000, histogram.getValueAtPercentile(0.99, 100000, 60000));
+    }
+
+    @Test
+    public void testAboveMaxValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(LatencyHistogram.MAX_VALUE * 4);
+        // counted in the last bucket
+        Assertions.assertEquals(LatencyHistogram.middleValueOf(LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE)),
+            histogram.getValueAtPercentile(0.5, 1, LatencyHistogram.MAX_VALUE * 4));
+        Assertions.assertEquals(10, histogram.getValueAtPercentile(0.5, 1, 10));
+    }
+
+    private static void assertClose(long expected, long actual) {
+        Assertions.assertTrue(Math.abs(expected - actual) <= expected / 32, "expected " + expected + ", got " + actual);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates the extension index of the classes annotated with {@code io.seata.common.loader.LoadLevel}, read by
+ * {@code io.seata.common.loader.ExtensionIndex}.
+ * <p>
+ * The processor is a build time only dependency, add it to the {@code annotationProcessorPaths} of the compiler
+ * plugin. The annotation is read by name, so the processor does not depend on seata-common. The entries of the
+ * index left by the previous build are kept unless the class is gone, so incremental compilation of a part of the
+ * sources does not drop the others.
+ */
+@SupportedAnnotationTypes(ExtensionIndexProcessor.LOAD_LEVEL)
+public class ExtensionIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The index resource, the same as {@code io.seata.common.loader.ExtensionIndex}.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/seata-extension.index";
+
+    static final String LOAD_LEVEL = "io.seata.common.loader.LoadLevel";
+
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    private final Map<String, String> lines = new TreeMap<>();
+
+    private boolean changed;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        readExistingIndex();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (changed) {
+                writeIndex();
+            }
+            return false;
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    continue;
+                }
+                TypeElement type = (TypeElement)element;
+                String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+                // className=name,order,scope
+                String line = className + "=" + getLoadLevel(type);
+                if (!line.equals(lines.put(className, line))) {
+                    changed = true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String getLoadLevel(TypeElement type) {
+        String name = null;
+        Object order = 0;
+        String scope = "SINGLETON";
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (!LOAD_LEVEL.equals(mirror.getAnnotationType().toString())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+                String key = entry.getKey().getSimpleName().toString();
+                Object value = entry.getValue().getValue();
+                if ("name".equals(key)) {
+                    name = String.valueOf(value);
+                } else if ("order".equals(key)) {
+                    order = value;
+                } else if ("scope".equals(key)) {
+                    // the enum constant
+                    scope = value.toString();
+                }
+            }
+        }
+        return name + "," + order + "," + scope;
+    }
+
+    private void readExistingIndex() {
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                INDEX_RESOURCE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(),
+                CHARSET))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int keyEnd = line.indexOf('=');
+                    if (line.startsWith("#") || keyEnd <= 0) {
+                        continue;
+                    }
+                    String className = line.substring(0, keyEnd);
+                    // drop the classes removed since the previous build
+                    if (processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) == null) {
+                        changed = true;
+                        continue;
+                    }
+                    lines.put(className, line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no index yet
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                INDEX_RESOURCE);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), CHARSET)) {
+                writer.write("# generated by " + ExtensionIndexProcessor.class.getName() + ", do not edit\n");
+                for (String line : lines.values()) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Unable to write the extension index: " + e.getMessage());
+        }
+    }
+}
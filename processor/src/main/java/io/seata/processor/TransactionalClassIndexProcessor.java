@@ -0,0 +1,145 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates the index of the classes which declare the annotations scanned by the GlobalTransactionScanner, on
+ * the class itself or on its methods.
+ * <p>
+ * The processor is a build time only dependency, add it to the {@code annotationProcessorPaths} of the compiler
+ * plugin of the modules declaring such classes. The annotations are referenced by name, so it also indexes the
+ * modules which only depend on seata-tcc, e.g. the api modules of the TCC services. The entries left by the
+ * previous build are kept unless the class is gone.
+ */
+@SupportedAnnotationTypes({
+    "io.seata.spring.annotation.GlobalTransactional",
+    "io.seata.spring.annotation.GlobalLock",
+    "io.seata.rm.tcc.api.LocalTCC",
+    "io.seata.rm.tcc.api.TwoPhaseBusinessAction"})
+public class TransactionalClassIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The index resource, the same as {@code io.seata.spring.annotation.TransactionalClassIndex}.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/seata-transactional.index";
+
+    private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+    private final Set<String> classNames = new TreeSet<>();
+
+    private boolean changed;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        readExistingIndex();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (changed) {
+                writeIndex();
+            }
+            return false;
+        }
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                TypeElement type = getDeclaringType(element);
+                if (type != null
+                    && classNames.add(processingEnv.getElementUtils().getBinaryName(type).toString())) {
+                    changed = true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static TypeElement getDeclaringType(Element element) {
+        Element current = element;
+        while (current != null && !(current instanceof TypeElement)) {
+            current = current.getEnclosingElement();
+        }
+        return (TypeElement)current;
+    }
+
+    private void readExistingIndex() {
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                INDEX_RESOURCE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(),
+                CHARSET))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    // drop the classes removed since the previous build
+                    if (processingEnv.getElementUtils().getTypeElement(line.replace('$', '.')) == null) {
+                        changed = true;
+                        continue;
+                    }
+                    classNames.add(line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // no index yet
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                INDEX_RESOURCE);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), CHARSET)) {
+                writer.write("# generated by " + TransactionalClassIndexProcessor.class.getName() + ", do not edit\n");
+                for (String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Unable to write the transactional class index: " + e.getMessage());
+        }
+    }
+}
@@ -19,19 +19,20 @@ import java.io.PrintWriter;
 import java.sql.Driver;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import javax.sql.DataSource;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import io.seata.common.exception.ShouldNeverHappenException;
+import io.seata.common.DefaultValues;
 import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.Resource;
 import io.seata.rm.datasource.SeataDataSourceProxy;
+import io.seata.rm.datasource.xa.BoundedKeeper;
 import io.seata.rm.datasource.xa.Holdable;
 import io.seata.rm.datasource.xa.Holder;
 
@@ -54,7 +55,10 @@ public abstract class BaseDataSourceResource<T extends Holdable> implements Seat
 
     protected Driver driver;
 
-    private Map<String, T> keeper = new ConcurrentHashMap<>();
+    private static final long HOLD_WAIT_TIMEOUT = ConfigurationFactory.getInstance().getLong(
+        ConfigurationKeys.CLIENT_XA_HOLD_WAIT_TIMEOUT, DefaultValues.DEFAULT_CLIENT_XA_HOLD_WAIT_TIMEOUT);
+
+    private final BoundedKeeper<T> keeper = createKeeper();
 
     private static final Cache<String, BranchStatus> BRANCH_STATUS_CACHE =
         CacheBuilder.newBuilder().maximumSize(1024).expireAfterAccess(10, TimeUnit.MINUTES).build();
@@ -170,33 +174,91 @@ public abstract class BaseDataSourceResource<T extends Holdable> implements Seat
 
     @Override
     public T hold(String key, T value) {
-        if (value.isHeld()) {
-            T x = keeper.get(key);
-            if (x != value) {
-                throw new ShouldNeverHappenException("something wrong with keeper, keeping[" + x +
-                    "] but[" + value + "] is also kept with the same key[" + key + "]");
-            }
-            return value;
-        }
-        T x = keeper.put(key, value);
-        value.setHeld(true);
-        return x;
+        return keeper.hold(key, value);
     }
 
     @Override
     public T release(String key, T value) {
-        T x = keeper.remove(key);
-        if (x != value) {
-            throw new ShouldNeverHappenException("something wrong with keeper, released[" + x +
-                "] but[" + value + "] is wanted with key[" + key + "]");
-        }
-        value.setHeld(false);
-        return x;
+        return keeper.release(key, value);
     }
 
     @Override
     public T lookup(String key) {
-        return keeper.get(key);
+        return keeper.lookup(key);
+    }
+
+    /**
+     * Wait for a free slot of the keeper before starting a new branch which will be held until phase two.
+     *
+     * @return true if a slot was acquired, false if the keeper stays full for {@code client.rm.xaHoldWaitTimeout}
+     */
+    public boolean acquireHoldSlot() {
+        try {
+            return keeper.tryAcquire(HOLD_WAIT_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Give back a slot acquired by {@link #acquireHoldSlot()} when the branch failed to start.
+     */
+    public void releaseHoldSlot() {
+        keeper.releaseSlot();
+    }
+
+    /**
+     * Create the keeper limited by {@code client.rm.xaMaxHeldConnections}. A limited keeper requires a positive
+     * {@code client.rm.xaHeldIdleTimeout}, otherwise a branch whose phase two never comes would hold its slot forever.
+     *
+     * @param <T> the type of the held value
+     * @return the keeper
+     */
+    private static <T extends Holdable> BoundedKeeper<T> createKeeper() {
+        int maxHeldConnections = ConfigurationFactory.getInstance().getInt(
+            ConfigurationKeys.CLIENT_XA_MAX_HELD_CONNECTIONS, DefaultValues.DEFAULT_CLIENT_XA_MAX_HELD_CONNECTIONS);
+        if (maxHeldConnections > 0) {
+            long heldIdleTimeout = ConfigurationFactory.getInstance().getLong(
+                ConfigurationKeys.CLIENT_XA_HELD_IDLE_TIMEOUT, DefaultValues.DEFAULT_CLIENT_XA_HELD_IDLE_TIMEOUT);
+            if (heldIdleTimeout <= 0) {
+                throw new IllegalArgumentException(ConfigurationKeys.CLIENT_XA_HELD_IDLE_TIMEOUT
+                    + " must be positive when " + ConfigurationKeys.CLIENT_XA_MAX_HELD_CONNECTIONS + " is "
+                    + maxHeldConnections + ", but it is " + heldIdleTimeout);
+            }
+        }
+        return new BoundedKeeper<>(maxHeldConnections);
+    }
+
+    protected BoundedKeeper<T> getKeeper() {
+        return keeper;
+    }
+
+    /**
+     * Gets the number of held values.
+     *
+     * @return the held count
+     */
+    public int getHeldCount() {
+        return keeper.getHeldCount();
+    }
+
+    /**
+     * Gets the max number of held values, 0 means unlimited.
+     *
+     * @return the held capacity
+     */
+    public int getHeldCapacity() {
+        return keeper.getCapacity();
+    }
+
+    /**
+     * Gets the number of held values evicted before phase two.
+     *
+     * @return the evicted count
+     */
+    public long getEvictedCount() {
+        return keeper.getEvictedCount();
     }
 
     public static void setBranchStatus(String xaBranchXid, BranchStatus branchStatus) {
@@ -17,13 +17,22 @@ package io.seata.rm.datasource.sql.struct.cache;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.seata.common.exception.ShouldNeverHappenException;
+import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
 import io.seata.core.context.RootContext;
 import io.seata.rm.datasource.sql.struct.TableMeta;
@@ -44,9 +53,21 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
 
     private static final long EXPIRE_TIME = 900 * 1000;
 
+    private static final int SCHEMA_VERSION_BATCH_SIZE = 500;
+
     private static final Cache<String, TableMeta> TABLE_META_CACHE = Caffeine.newBuilder().maximumSize(CACHE_SIZE)
             .expireAfterWrite(EXPIRE_TIME, TimeUnit.MILLISECONDS).softValues().build();
 
+    /**
+     * resourceId -> cache keys of the tables of the resource, so that refreshing a data source
+     * does not need to scan the whole table meta cache
+     */
+    private static final ConcurrentMap<String, Set<String>> RESOURCE_CACHE_KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * cache key -> the last schema version seen for the table
+     */
+    private static final ConcurrentMap<String, String> SCHEMA_VERSIONS = new ConcurrentHashMap<>();
 
     @Override
     public TableMeta getTableMeta(final Connection connection, final String tableName, String resourceId) {
@@ -58,6 +79,7 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
         final String key = getCacheKey(connection, tableName, resourceId);
         tmeta = TABLE_META_CACHE.get(key, mappingFunction -> {
             try {
+                RESOURCE_CACHE_KEYS.computeIfAbsent(resourceId, k -> ConcurrentHashMap.newKeySet()).add(key);
                 return fetchSchema(connection, tableName);
             } catch (SQLException e) {
                 LOGGER.error("get table meta of the table `{}` error: {}", tableName, e.getMessage(), e);
@@ -74,23 +96,91 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
 
     @Override
     public void refresh(final Connection connection, String resourceId) {
-        ConcurrentMap<String, TableMeta> tableMetaMap = TABLE_META_CACHE.asMap();
+        Set<String> cacheKeys = RESOURCE_CACHE_KEYS.get(resourceId);
+        if (CollectionUtils.isEmpty(cacheKeys)) {
+            return;
+        }
+        Map<String, TableMeta> tableMetaMap = new HashMap<>(cacheKeys.size());
+        for (String cacheKey : cacheKeys) {
+            TableMeta tableMeta = TABLE_META_CACHE.getIfPresent(cacheKey);
+            if (tableMeta == null) {
+                // expired or evicted, it will be fetched again on next access
+                cacheKeys.remove(cacheKey);
+                SCHEMA_VERSIONS.remove(cacheKey);
+            } else {
+                tableMetaMap.put(cacheKey, tableMeta);
+            }
+        }
+        if (tableMetaMap.isEmpty()) {
+            return;
+        }
+
+        List<String> tableNames = new ArrayList<>(tableMetaMap.size());
+        for (TableMeta tableMeta : tableMetaMap.values()) {
+            tableNames.add(tableMeta.getTableName());
+        }
+        Map<String, String> versions = new HashMap<>(tableNames.size());
+        try {
+            for (int i = 0; i < tableNames.size(); i += SCHEMA_VERSION_BATCH_SIZE) {
+                List<String> batch = tableNames.subList(i, Math.min(i + SCHEMA_VERSION_BATCH_SIZE, tableNames.size()));
+                versions.putAll(fetchSchemaVersions(connection, batch));
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("get schema versions error, fall back to fetch all table metas:{}", e.getMessage());
+            versions.clear();
+        }
+
         for (Map.Entry<String, TableMeta> entry : tableMetaMap.entrySet()) {
-            String key = getCacheKey(connection, entry.getValue().getTableName(), resourceId);
-            if (entry.getKey().equals(key)) {
-                try {
-                    TableMeta tableMeta = fetchSchema(connection, entry.getValue().getTableName());
-                    if (!tableMeta.equals(entry.getValue())) {
-                        TABLE_META_CACHE.put(entry.getKey(), tableMeta);
-                        LOGGER.info("table meta change was found, update table meta cache automatically.");
-                    }
-                } catch (SQLException e) {
-                    LOGGER.error("get table meta error:{}", e.getMessage(), e);
+            String cacheKey = entry.getKey();
+            String tableName = entry.getValue().getTableName();
+            String version = versions.get(tableName);
+            // tables without version are always fetched, as the periodic full refresh did before
+            if (version != null && version.equals(SCHEMA_VERSIONS.get(cacheKey))) {
+                continue;
+            }
+            try {
+                TableMeta tableMeta = fetchSchema(connection, tableName);
+                if (!tableMeta.equals(entry.getValue())) {
+                    TABLE_META_CACHE.put(cacheKey, tableMeta);
+                    LOGGER.info("table meta change was found, update table meta cache automatically.");
+                }
+                if (version != null) {
+                    SCHEMA_VERSIONS.put(cacheKey, version);
                 }
+            } catch (SQLException e) {
+                LOGGER.error("get table meta error:{}", e.getMessage(), e);
             }
         }
     }
 
+    /**
+     * Fetch a cheap schema version of the tables, a table whose version is unchanged since the last refresh
+     * is not fetched again. The version of a table must change whenever its columns or indexes change.
+     *
+     * @param connection the connection
+     * @param tableNames the table names, as {@link TableMeta#getTableName()}
+     * @return table name -> schema version, tables missing in the result are fetched on every refresh
+     * @throws SQLException the sql exception
+     */
+    protected Map<String, String> fetchSchemaVersions(Connection connection, Collection<String> tableNames)
+        throws SQLException {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Join the columns of a schema version row.
+     *
+     * @param parts the parts of the version
+     * @return the version
+     */
+    protected static String toVersion(Object... parts) {
+        StringBuilder version = new StringBuilder();
+        for (Object part : parts) {
+            version.append(Objects.toString(part)).append('|');
+        }
+        return version.toString();
+    }
+
     /**
      * generate cache key
      *
@@ -17,10 +17,15 @@ package io.seata.rm.datasource.sql.struct.cache;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import io.seata.common.exception.NotSupportYetException;
 import io.seata.common.exception.ShouldNeverHappenException;
@@ -88,6 +93,61 @@ public class MysqlTableMetaCache extends AbstractTableMetaCache {
         }
     }
 
+    /**
+     * The create time covers the DDL which rebuilds the table, the column and index checksums cover the
+     * in-place/instant DDL which keeps the create time, e.g. adding a column or adding/dropping an index.
+     * Each checksum is a subquery of its own, joining both dictionaries would multiply their rows.
+     */
+    private static final String SCHEMA_VERSION_SQL = "SELECT T.TABLE_NAME, T.CREATE_TIME, "
+        + "(SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS C "
+        + "WHERE C.TABLE_SCHEMA = T.TABLE_SCHEMA AND C.TABLE_NAME = T.TABLE_NAME), "
+        + "(SELECT SUM(CRC32(CONCAT_WS(',', C.COLUMN_NAME, C.COLUMN_TYPE, C.IS_NULLABLE, C.COLUMN_KEY, "
+        + "C.ORDINAL_POSITION, C.EXTRA))) FROM INFORMATION_SCHEMA.COLUMNS C "
+        + "WHERE C.TABLE_SCHEMA = T.TABLE_SCHEMA AND C.TABLE_NAME = T.TABLE_NAME), "
+        + "(SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS S "
+        + "WHERE S.TABLE_SCHEMA = T.TABLE_SCHEMA AND S.TABLE_NAME = T.TABLE_NAME), "
+        + "(SELECT SUM(CRC32(CONCAT_WS(',', S.INDEX_NAME, S.NON_UNIQUE, S.SEQ_IN_INDEX, S.COLUMN_NAME))) "
+        + "FROM INFORMATION_SCHEMA.STATISTICS S "
+        + "WHERE S.TABLE_SCHEMA = T.TABLE_SCHEMA AND S.TABLE_NAME = T.TABLE_NAME) "
+        + "FROM INFORMATION_SCHEMA.TABLES T WHERE T.TABLE_SCHEMA = DATABASE() AND T.TABLE_NAME IN (%s)";
+
+    @Override
+    protected Map<String, String> fetchSchemaVersions(Connection connection, Collection<String> tableNames)
+        throws SQLException {
+        if (tableNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < tableNames.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+        }
+        Map<String, String> lowerCaseVersions = new HashMap<>(tableNames.size());
+        try (PreparedStatement ps = connection.prepareStatement(String.format(SCHEMA_VERSION_SQL, placeholders))) {
+            int index = 1;
+            for (String tableName : tableNames) {
+                ps.setString(index++, tableName);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString(1);
+                    if (tableName != null) {
+                        lowerCaseVersions.put(tableName.toLowerCase(),
+                            toVersion(rs.getTimestamp(2), rs.getLong(3), rs.getLong(4), rs.getLong(5),
+                                rs.getLong(6)));
+                    }
+                }
+            }
+        }
+        Map<String, String> versions = new HashMap<>(tableNames.size());
+        for (String tableName : tableNames) {
+            String version = lowerCaseVersions.get(tableName.toLowerCase());
+            if (version != null) {
+                versions.put(tableName, version);
+            }
+        }
+        return versions;
+    }
+
     private TableMeta resultSetMetaToSchema(ResultSetMetaData rsmd, DatabaseMetaData dbmd)
         throws SQLException {
         //always "" for mysql
@@ -17,6 +17,7 @@ package io.seata.rm.datasource.sql.struct.cache;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
@@ -31,6 +32,9 @@ import io.seata.rm.datasource.sql.struct.TableMeta;
 import io.seata.sqlparser.util.JdbcConstants;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -73,9 +77,45 @@ public class OracleTableMetaCache extends AbstractTableMetaCache {
         }
     }
 
-    private TableMeta resultSetMetaToSchema(DatabaseMetaData dbmd, String tableName) throws SQLException {
-        TableMeta tm = new TableMeta();
-        tm.setTableName(tableName);
+    private static final String SCHEMA_VERSION_SQL = "SELECT OWNER, OBJECT_NAME, LAST_DDL_TIME FROM ALL_OBJECTS "
+        + "WHERE OBJECT_TYPE = 'TABLE' AND OBJECT_NAME IN (%s)";
+
+    @Override
+    protected Map<String, String> fetchSchemaVersions(Connection connection, Collection<String> tableNames)
+        throws SQLException {
+        if (tableNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        DatabaseMetaData dbmd = connection.getMetaData();
+        Map<String, String[]> schemaTables = new HashMap<>(tableNames.size());
+        StringBuilder placeholders = new StringBuilder();
+        for (String tableName : tableNames) {
+            schemaTables.put(tableName, toSchemaAndTable(dbmd, tableName));
+            placeholders.append(placeholders.length() == 0 ? "?" : ",?");
+        }
+        Map<String, String> schemaTableVersions = new HashMap<>(tableNames.size());
+        try (PreparedStatement ps = connection.prepareStatement(String.format(SCHEMA_VERSION_SQL, placeholders))) {
+            int index = 1;
+            for (String tableName : tableNames) {
+                ps.setString(index++, schemaTables.get(tableName)[1]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    schemaTableVersions.put(rs.getString(1) + "." + rs.getString(2), toVersion(rs.getTimestamp(3)));
+                }
+            }
+        }
+        Map<String, String> versions = new HashMap<>(tableNames.size());
+        for (Map.Entry<String, String[]> entry : schemaTables.entrySet()) {
+            String version = schemaTableVersions.get(entry.getValue()[0] + "." + entry.getValue()[1]);
+            if (version != null) {
+                versions.put(entry.getKey(), version);
+            }
+        }
+        return versions;
+    }
+
+    private String[] toSchemaAndTable(DatabaseMetaData dbmd, String tableName) throws SQLException {
         String[] schemaTable = tableName.split("\\.");
         String schemaName = schemaTable.length > 1 ? schemaTable[0] : dbmd.getUserName();
         tableName = schemaTable.length > 1 ? schemaTable[1] : tableName;
@@ -87,10 +127,18 @@ public class OracleTableMetaCache extends AbstractTableMetaCache {
 
         if (tableName.contains("\"")) {
             tableName = tableName.replace("\"", "");
-
         } else {
             tableName = tableName.toUpperCase();
         }
+        return new String[] {schemaName, tableName};
+    }
+
+    private TableMeta resultSetMetaToSchema(DatabaseMetaData dbmd, String tableName) throws SQLException {
+        TableMeta tm = new TableMeta();
+        tm.setTableName(tableName);
+        String[] schemaTable = toSchemaAndTable(dbmd, tableName);
+        String schemaName = schemaTable[0];
+        tableName = schemaTable[1];
 
         try (ResultSet rsColumns = dbmd.getColumns("", schemaName, tableName, "%");
              ResultSet rsIndex = dbmd.getIndexInfo(null, schemaName, tableName, false, true);
@@ -17,8 +17,13 @@ package io.seata.rm.datasource.sql.struct.cache;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import io.seata.common.exception.NotSupportYetException;
 import io.seata.common.exception.ShouldNeverHappenException;
@@ -69,13 +74,82 @@ public class PostgresqlTableMetaCache extends AbstractTableMetaCache {
         }
     }
 
+    /**
+     * pg_class.xmin changes when the table row is rewritten by ALTER TABLE, the attribute and index
+     * digests cover the DDL which only touches pg_attribute/pg_index.
+     */
+    private static final String SCHEMA_VERSION_SQL = "SELECT N.NSPNAME, C.RELNAME, C.XMIN::TEXT, "
+        + "MD5(COALESCE((SELECT STRING_AGG(A.ATTNAME || ':' || A.ATTTYPID || ':' || A.ATTTYPMOD || ':' || A.ATTNOTNULL, ',' ORDER BY A.ATTNUM) "
+        + "FROM PG_CATALOG.PG_ATTRIBUTE A WHERE A.ATTRELID = C.OID AND A.ATTNUM > 0 AND NOT A.ATTISDROPPED), '') || '/' || "
+        + "COALESCE((SELECT STRING_AGG(I.INDEXRELID::TEXT || ':' || I.INDISUNIQUE || ':' || I.INDKEY::TEXT, ',' ORDER BY I.INDEXRELID) "
+        + "FROM PG_CATALOG.PG_INDEX I WHERE I.INDRELID = C.OID), '')) "
+        + "FROM PG_CATALOG.PG_CLASS C JOIN PG_CATALOG.PG_NAMESPACE N ON N.OID = C.RELNAMESPACE "
+        + "WHERE C.RELKIND IN ('r', 'p') AND C.RELNAME IN (%s)";
+
+    @Override
+    protected Map<String, String> fetchSchemaVersions(Connection connection, Collection<String> tableNames)
+        throws SQLException {
+        if (tableNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String[]> schemaTables = new HashMap<>(tableNames.size());
+        StringBuilder placeholders = new StringBuilder();
+        for (String tableName : tableNames) {
+            schemaTables.put(tableName, toSchemaAndTable(connection, tableName));
+            placeholders.append(placeholders.length() == 0 ? "?" : ",?");
+        }
+        Map<String, String> schemaTableVersions = new HashMap<>(tableNames.size());
+        try (PreparedStatement ps = connection.prepareStatement(String.format(SCHEMA_VERSION_SQL, placeholders))) {
+            int index = 1;
+            for (String tableName : tableNames) {
+                ps.setString(index++, schemaTables.get(tableName)[1]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    schemaTableVersions.put(rs.getString(1) + "." + rs.getString(2),
+                        toVersion(rs.getString(3), rs.getString(4)));
+                }
+            }
+        }
+        Map<String, String> versions = new HashMap<>(tableNames.size());
+        for (Map.Entry<String, String[]> entry : schemaTables.entrySet()) {
+            String version = schemaTableVersions.get(entry.getValue()[0] + "." + entry.getValue()[1]);
+            if (version != null) {
+                versions.put(entry.getKey(), version);
+            }
+        }
+        return versions;
+    }
+
+    private String[] toSchemaAndTable(Connection connection, String tableName) throws SQLException {
+        String[] schemaTable = tableName.split("\\.");
+        String schemaName = schemaTable.length > 1 ? schemaTable[0] : null;
+        tableName = schemaTable.length > 1 ? schemaTable[1] : tableName;
+        if (schemaName != null) {
+            if (schemaName.startsWith("\"") && schemaName.endsWith("\"")) {
+                schemaName = schemaName.replaceAll("(^\")|(\"$)", "");
+            } else {
+                schemaName = schemaName.toLowerCase();
+            }
+        } else {
+            schemaName = connection.getSchema();
+        }
+
+        if (tableName.startsWith("\"") && tableName.endsWith("\"")) {
+            tableName = tableName.replaceAll("(^\")|(\"$)", "");
+        } else {
+            tableName = tableName.toLowerCase();
+        }
+        return new String[] {schemaName, tableName};
+    }
+
     private TableMeta resultSetMetaToSchema(Connection connection, String tableName) throws SQLException {
         DatabaseMetaData dbmd = connection.getMetaData();
         TableMeta tm = new TableMeta();
         tm.setTableName(tableName);
-        String[] schemaTable = tableName.split("\\.");
-        String schemaName = schemaTable.length > 1 ? schemaTable[0] : null;
-        tableName = schemaTable.length > 1 ? schemaTable[1] : tableName;
+        String[] schemaTable = toSchemaAndTable(connection, tableName);
+        String schemaName = schemaTable[0];
+        tableName = schemaTable[1];
         /*
          * use ResultSetMetaData to get the pure table name
          * can avoid the problem below
@@ -93,21 +167,6 @@ public class PostgresqlTableMetaCache extends AbstractTableMetaCache {
          * select * from "Test".test
          * select * from "Test"."Select"
          */
-        if (schemaName != null) {
-            if (schemaName.startsWith("\"") && schemaName.endsWith("\"")) {
-                schemaName = schemaName.replaceAll("(^\")|(\"$)", "");
-            } else {
-                schemaName = schemaName.toLowerCase();
-            }
-        } else {
-            schemaName = connection.getSchema();
-        }
-
-        if (tableName.startsWith("\"") && tableName.endsWith("\"")) {
-            tableName = tableName.replaceAll("(^\")|(\"$)", "");
-        } else {
-            tableName = tableName.toLowerCase();
-        }
 
         try (ResultSet rsColumns = dbmd.getColumns(null, schemaName, tableName, "%");
              ResultSet rsIndex = dbmd.getIndexInfo(null, schemaName, tableName, false, true);
@@ -17,8 +17,12 @@ package io.seata.rm.datasource.xa;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.sql.PooledConnection;
 import io.seata.rm.BaseDataSourceResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Abstract DataSource proxy for XA mode.
@@ -27,6 +31,8 @@ import io.seata.rm.BaseDataSourceResource;
  */
 public abstract class AbstractDataSourceProxyXA extends BaseDataSourceResource<ConnectionProxyXA> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDataSourceProxyXA.class);
+
     protected static final String DEFAULT_RESOURCE_GROUP_ID = "DEFAULT_XA";
 
     /**
@@ -58,14 +64,66 @@ public abstract class AbstractDataSourceProxyXA extends BaseDataSourceResource<C
         ConnectionProxyXA connectionProxyXA = lookup(xaXid.toString());
         if (connectionProxyXA != null) {
             connectionProxyXA.close();
-            Connection physicalConn = connectionProxyXA.getWrappedConnection();
-            if (physicalConn instanceof PooledConnection) {
-                physicalConn = ((PooledConnection)physicalConn).getConnection();
+            closePhysicalConnection(connectionProxyXA);
+        }
+    }
+
+    /**
+     * Evict the connections which have been held for phase two longer than the idle timeout, e.g. the TC is
+     * late or the branch was finished by another RM. The prepared XA branch stays in the database, and its
+     * phase two will be done by xid on a new connection. Branches still in phase one are never evicted.
+     *
+     * @param idleTimeoutMillis the idle timeout in milliseconds
+     * @return the number of evicted connections
+     */
+    public int evictIdleConnections(long idleTimeoutMillis) {
+        if (idleTimeoutMillis <= 0) {
+            return 0;
+        }
+        Map<String, ConnectionProxyXA> expired =
+            getKeeper().getHeldBefore(System.currentTimeMillis() - idleTimeoutMillis);
+        int evicted = 0;
+        for (Map.Entry<String, ConnectionProxyXA> entry : expired.entrySet()) {
+            try {
+                if (evict(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            } catch (SQLException e) {
+                LOGGER.warn("Failed to close the evicted connection of xa branch {} since {}", entry.getKey(),
+                    e.getMessage());
             }
-            // Force close the physical connection
-            physicalConn.close();
         }
+        if (evicted > 0) {
+            LOGGER.warn("Evicted {} connections held longer than {}ms on {}, still held: {}", evicted,
+                idleTimeoutMillis, getResourceId(), getHeldCount());
+        }
+        return evicted;
+    }
 
+    private boolean evict(String xaBranchXid, ConnectionProxyXA connectionProxyXA) throws SQLException {
+        // phase two runs with the lock of the connection
+        ReentrantLock lock = connectionProxyXA.getLock();
+        lock.lock();
+        try {
+            if (connectionProxyXA.isXaActive() || !getKeeper().evict(xaBranchXid, connectionProxyXA)) {
+                return false;
+            }
+            if (!connectionProxyXA.getWrappedConnection().isClosed()) {
+                closePhysicalConnection(connectionProxyXA);
+            }
+            connectionProxyXA.close();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
 
+    private void closePhysicalConnection(ConnectionProxyXA connectionProxyXA) throws SQLException {
+        Connection physicalConn = connectionProxyXA.getWrappedConnection();
+        if (physicalConn instanceof PooledConnection) {
+            physicalConn = ((PooledConnection)physicalConn).getConnection();
+        }
+        // Force close the physical connection
+        physicalConn.close();
     }
 }
@@ -0,0 +1,197 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.xa;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.seata.common.exception.ShouldNeverHappenException;
+
+/**
+ * Keeps the held values (connections of XA branches between phase one and phase two) with an optional
+ * capacity limit.
+ * <p>
+ * A slot must be acquired by {@link #tryAcquire(long)} before a new branch is started, and it is given
+ * back when the value is released or evicted. When all the slots are taken, new branches wait for one
+ * instead of pinning more physical connections.
+ *
+ * @param <T> the type of the held value
+ */
+public class BoundedKeeper<T extends Holdable> implements Holder<T> {
+
+    private final ConcurrentMap<String, Kept<T>> keeper = new ConcurrentHashMap<>();
+
+    private final int capacity;
+
+    /**
+     * null if the capacity is unlimited
+     */
+    private final Semaphore slots;
+
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    /**
+     * Instantiates a new Bounded keeper.
+     *
+     * @param capacity the max number of held values, unlimited if not positive
+     */
+    public BoundedKeeper(int capacity) {
+        this.capacity = Math.max(capacity, 0);
+        this.slots = capacity > 0 ? new Semaphore(capacity) : null;
+    }
+
+    /**
+     * Acquire a slot for a value to be held.
+     *
+     * @param timeoutMillis the max milliseconds to wait for a free slot
+     * @return true if a slot was acquired
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire(long timeoutMillis) throws InterruptedException {
+        return slots == null || slots.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Give back a slot acquired by {@link #tryAcquire(long)} which will not be used by a held value.
+     */
+    public void releaseSlot() {
+        if (slots != null) {
+            slots.release();
+        }
+    }
+
+    @Override
+    public T hold(String key, T value) {
+        if (value.isHeld()) {
+            Kept<T> x = keeper.get(key);
+            if (x == null || x.value != value) {
+                throw new ShouldNeverHappenException("something wrong with keeper, keeping[" + valueOf(x) +
+                    "] but[" + value + "] is also kept with the same key[" + key + "]");
+            }
+            return value;
+        }
+        Kept<T> x = keeper.put(key, new Kept<>(value));
+        value.setHeld(true);
+        if (x != null) {
+            // the replaced value will never be released by its key
+            releaseSlot();
+        }
+        return valueOf(x);
+    }
+
+    @Override
+    public T release(String key, T value) {
+        Kept<T> x = keeper.remove(key);
+        if (x == null || x.value != value) {
+            throw new ShouldNeverHappenException("something wrong with keeper, released[" + valueOf(x) +
+                "] but[" + value + "] is wanted with key[" + key + "]");
+        }
+        value.setHeld(false);
+        releaseSlot();
+        return x.value;
+    }
+
+    @Override
+    public T lookup(String key) {
+        return valueOf(keeper.get(key));
+    }
+
+    /**
+     * Release the value held by the key if it is still held and count it as evicted.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return true if the value was evicted
+     */
+    public boolean evict(String key, T value) {
+        Kept<T> x = keeper.get(key);
+        if (x == null || x.value != value || !keeper.remove(key, x)) {
+            return false;
+        }
+        value.setHeld(false);
+        releaseSlot();
+        evictedCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Gets the values which have been held since the given time.
+     *
+     * @param heldBeforeMillis the time in milliseconds
+     * @return the values by keys
+     */
+    public Map<String, T> getHeldBefore(long heldBeforeMillis) {
+        Map<String, T> result = null;
+        for (Map.Entry<String, Kept<T>> entry : keeper.entrySet()) {
+            if (entry.getValue().heldTime <= heldBeforeMillis) {
+                if (result == null) {
+                    result = new LinkedHashMap<>();
+                }
+                result.put(entry.getKey(), entry.getValue().value);
+            }
+        }
+        return result == null ? Collections.emptyMap() : result;
+    }
+
+    /**
+     * Gets the number of held values.
+     *
+     * @return the held count
+     */
+    public int getHeldCount() {
+        return keeper.size();
+    }
+
+    /**
+     * Gets the capacity, 0 means unlimited.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of evicted values.
+     *
+     * @return the evicted count
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    private static <T> T valueOf(Kept<T> kept) {
+        return kept == null ? null : kept.value;
+    }
+
+    private static final class Kept<T> {
+
+        private final T value;
+
+        private final long heldTime;
+
+        Kept(T value) {
+            this.value = value;
+            this.heldTime = System.currentTimeMillis();
+        }
+    }
+}
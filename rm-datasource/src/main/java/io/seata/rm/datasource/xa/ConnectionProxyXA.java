@@ -17,6 +17,7 @@ package io.seata.rm.datasource.xa;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.sql.XAConnection;
 import javax.transaction.xa.XAException;
 import javax.transaction.xa.XAResource;
@@ -49,6 +50,12 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
     private volatile boolean kept = false;
 
     private volatile boolean rollBacked = false;
+
+    /**
+     * Guards the XA state of the branch, a j.u.c lock does not pin the carrier of a virtual thread while the
+     * XA calls wait on the database.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
     
     /**
      * Constructor of Connection Proxy for XA mode.
@@ -76,7 +83,9 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
     }
 
     private void keepIfNecessary() {
-        resource.hold(xaBranchXid.toString(), this);
+        if (shouldBeHeld()) {
+            resource.hold(xaBranchXid.toString(), this);
+        }
     }
 
     private void releaseIfNecessary() {
@@ -96,10 +105,15 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
      * @param applicationData application data
      * @throws SQLException SQLException
      */
-    public synchronized void xaCommit(String xid, long branchId, String applicationData) throws XAException {
-        XAXid xaXid = XAXidBuilder.build(xid, branchId);
-        xaResource.commit(xaXid, false);
-        releaseIfNecessary();
+    public void xaCommit(String xid, long branchId, String applicationData) throws XAException {
+        lock.lock();
+        try {
+            XAXid xaXid = XAXidBuilder.build(xid, branchId);
+            xaResource.commit(xaXid, false);
+            releaseIfNecessary();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -109,9 +123,14 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
      * @param applicationData application data
      * @throws SQLException  SQLException
      */
-    public synchronized void xaRollback(String xid, long branchId, String applicationData) throws XAException {
-        XAXid xaXid = XAXidBuilder.build(xid, branchId);
-        xaRollback(xaXid);
+    public void xaRollback(String xid, long branchId, String applicationData) throws XAException {
+        lock.lock();
+        try {
+            XAXid xaXid = XAXidBuilder.build(xid, branchId);
+            xaRollback(xaXid);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -141,19 +160,35 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
                 throw new SQLException("should NEVER happen: setAutoCommit from true to false while xa branch is active");
             }
             // Start a XA branch
+            // 0. wait for a free slot of the keeper if the connection will be held until phase two
+            boolean held = shouldBeHeld();
+            if (held && !resource.acquireHoldSlot()) {
+                throw new SQLException("failed to start xa branch " + xid + " since too many xa branches are held on "
+                    + resource.getResourceId() + ", max: " + resource.getHeldCapacity());
+            }
             long branchId;
             try {
                 // 1. register branch to TC then get the branchId
                 branchId = DefaultResourceManager.get().branchRegister(BranchType.XA, resource.getResourceId(), null, xid, null,
                     null);
             } catch (TransactionException te) {
+                if (held) {
+                    resource.releaseHoldSlot();
+                }
                 cleanXABranchContext();
                 throw new SQLException("failed to register xa branch " + xid + " since " + te.getCode() + ":" + te.getMessage(), te);
             }
             // 2. build XA-Xid with xid and branchId
             this.xaBranchXid = XAXidBuilder.build(xid, branchId);
             // Keep the Connection if necessary
-            keepIfNecessary();
+            try {
+                keepIfNecessary();
+            } catch (RuntimeException e) {
+                if (held) {
+                    resource.releaseHoldSlot();
+                }
+                throw e;
+            }
             try {
                 start();
             } catch (XAException e) {
@@ -174,85 +209,105 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
     }
 
     @Override
-    public synchronized void commit() throws SQLException {
-        if (currentAutoCommitStatus) {
-            // Ignore the committing on an autocommit session.
-            return;
-        }
-        if (!xaActive || this.xaBranchXid == null) {
-            throw new SQLException("should NOT commit on an inactive session", SQLSTATE_XA_NOT_END);
+    public void commit() throws SQLException {
+        lock.lock();
+        try {
+            if (currentAutoCommitStatus) {
+                // Ignore the committing on an autocommit session.
+                return;
+            }
+            if (!xaActive || this.xaBranchXid == null) {
+                throw new SQLException("should NOT commit on an inactive session", SQLSTATE_XA_NOT_END);
+            }
+            try {
+                end(XAResource.TMSUCCESS);
+                xaResource.prepare(xaBranchXid);
+            } catch (XAException xe) {
+                try {
+                    // Branch Report to TC: Failed
+                    DefaultResourceManager.get().branchReport(BranchType.XA, xid, xaBranchXid.getBranchId(),
+                        BranchStatus.PhaseOne_Failed, null);
+                } catch (TransactionException te) {
+                    LOGGER.warn("Failed to report XA branch commit-failure on " + xid + "-" + xaBranchXid.getBranchId()
+                        + " since " + te.getCode() + ":" + te.getMessage() + " and XAException:" + xe.getMessage());
+
+                }
+                throw new SQLException(
+                    "Failed to end(TMSUCCESS)/prepare xa branch on " + xid + "-" + xaBranchXid.getBranchId() + " since " + xe
+                        .getMessage(), xe);
+            } finally {
+                cleanXABranchContext();
+            }
+        } finally {
+            lock.unlock();
         }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        lock.lock();
         try {
-            end(XAResource.TMSUCCESS);
-            xaResource.prepare(xaBranchXid);
-        } catch (XAException xe) {
+            if (currentAutoCommitStatus) {
+                // Ignore the committing on an autocommit session.
+                return;
+            }
+            if (!xaActive || this.xaBranchXid == null) {
+                throw new SQLException("should NOT rollback on an inactive session");
+            }
             try {
-                // Branch Report to TC: Failed
+                if (!rollBacked) {
+                    // XA End: Fail
+                    xaResource.end(this.xaBranchXid, XAResource.TMFAIL);
+                    xaRollback(xaBranchXid);
+                }
+                // Branch Report to TC
                 DefaultResourceManager.get().branchReport(BranchType.XA, xid, xaBranchXid.getBranchId(),
                     BranchStatus.PhaseOne_Failed, null);
+                LOGGER.info(xaBranchXid + " was rollbacked");
+            } catch (XAException xe) {
+                throw new SQLException("Failed to end(TMFAIL) xa branch on " + xid + "-" + xaBranchXid.getBranchId()
+                    + " since " + xe.getMessage(), xe);
             } catch (TransactionException te) {
-                LOGGER.warn("Failed to report XA branch commit-failure on " + xid + "-" + xaBranchXid.getBranchId()
-                    + " since " + te.getCode() + ":" + te.getMessage() + " and XAException:" + xe.getMessage());
-
+                // log and ignore the report failure
+                LOGGER.warn("Failed to report XA branch rollback on " + xid + "-" + xaBranchXid.getBranchId() + " since "
+                    + te.getCode() + ":" + te.getMessage());
+            } finally {
+                cleanXABranchContext();
             }
-            throw new SQLException(
-                "Failed to end(TMSUCCESS)/prepare xa branch on " + xid + "-" + xaBranchXid.getBranchId() + " since " + xe
-                    .getMessage(), xe);
         } finally {
-            cleanXABranchContext();
+            lock.unlock();
         }
     }
 
-    @Override
-    public void rollback() throws SQLException {
-        if (currentAutoCommitStatus) {
-            // Ignore the committing on an autocommit session.
-            return;
-        }
-        if (!xaActive || this.xaBranchXid == null) {
-            throw new SQLException("should NOT rollback on an inactive session");
-        }
+    private void start() throws XAException, SQLException {
+        lock.lock();
         try {
-            if (!rollBacked) {
-                // XA End: Fail
+            // 3. XA Start
+            xaResource.start(this.xaBranchXid, XAResource.TMNOFLAGS);
+            try {
+                termination();
+            } catch (SQLException e) {
+                // the framework layer does not actively call ROLLBACK when setAutoCommit throws an SQL exception
                 xaResource.end(this.xaBranchXid, XAResource.TMFAIL);
                 xaRollback(xaBranchXid);
+                throw  e;
             }
-            // Branch Report to TC
-            DefaultResourceManager.get().branchReport(BranchType.XA, xid, xaBranchXid.getBranchId(),
-                BranchStatus.PhaseOne_Failed, null);
-            LOGGER.info(xaBranchXid + " was rollbacked");
-        } catch (XAException xe) {
-            throw new SQLException("Failed to end(TMFAIL) xa branch on " + xid + "-" + xaBranchXid.getBranchId()
-                + " since " + xe.getMessage(), xe);
-        } catch (TransactionException te) {
-            // log and ignore the report failure
-            LOGGER.warn("Failed to report XA branch rollback on " + xid + "-" + xaBranchXid.getBranchId() + " since "
-                + te.getCode() + ":" + te.getMessage());
         } finally {
-            cleanXABranchContext();
+            lock.unlock();
         }
     }
 
-    private synchronized void start() throws XAException, SQLException {
-        // 3. XA Start
-        xaResource.start(this.xaBranchXid, XAResource.TMNOFLAGS);
+    private void end(int flags) throws XAException, SQLException {
+        lock.lock();
         try {
             termination();
-        } catch (SQLException e) {
-            // the framework layer does not actively call ROLLBACK when setAutoCommit throws an SQL exception
-            xaResource.end(this.xaBranchXid, XAResource.TMFAIL);
-            xaRollback(xaBranchXid);
-            throw  e;
+            // XA End: Success
+            xaResource.end(xaBranchXid, flags);
+        } finally {
+            lock.unlock();
         }
     }
 
-    private synchronized void end(int flags) throws XAException, SQLException {
-        termination();
-        // XA End: Success
-        xaResource.end(xaBranchXid, flags);
-    }
-
     private void cleanXABranchContext() {
         xaActive = false;
         if (!isHeld()) {
@@ -261,14 +316,37 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
     }
 
     @Override
-    public synchronized void close() throws SQLException {
-        rollBacked = false;
-        if (isHeld() && shouldBeHeld()) {
-            // if kept by a keeper, just hold the connection.
-            return;
+    public void close() throws SQLException {
+        lock.lock();
+        try {
+            rollBacked = false;
+            if (isHeld() && shouldBeHeld()) {
+                // if kept by a keeper, just hold the connection.
+                return;
+            }
+            cleanXABranchContext();
+            originalConnection.close();
+        } finally {
+            lock.unlock();
         }
-        cleanXABranchContext();
-        originalConnection.close();
+    }
+
+    /**
+     * Whether the XA branch is between XA start and XA end.
+     *
+     * @return the boolean
+     */
+    boolean isXaActive() {
+        return xaActive;
+    }
+
+    /**
+     * Gets the lock guarding the XA state of the branch.
+     *
+     * @return the lock
+     */
+    ReentrantLock getLock() {
+        return lock;
     }
 
     @Override
@@ -16,8 +16,15 @@
 package io.seata.rm.datasource.xa;
 
 import java.sql.SQLException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.transaction.xa.XAException;
 
+import io.seata.common.DefaultValues;
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
@@ -36,9 +43,35 @@ public class ResourceManagerXA extends AbstractDataSourceCacheResourceManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceManagerXA.class);
 
+    private static final long MIN_EVICT_PERIOD = 1000L;
+
+    private static final long MAX_EVICT_PERIOD = 60000L;
+
+    private ScheduledExecutorService xaEvictExecutor;
+
     @Override
     public void init() {
         LOGGER.info("ResourceManagerXA init ...");
+        long idleTimeout = ConfigurationFactory.getInstance().getLong(ConfigurationKeys.CLIENT_XA_HELD_IDLE_TIMEOUT,
+            DefaultValues.DEFAULT_CLIENT_XA_HELD_IDLE_TIMEOUT);
+        if (idleTimeout > 0) {
+            long period = Math.min(Math.max(idleTimeout / 2, MIN_EVICT_PERIOD), MAX_EVICT_PERIOD);
+            xaEvictExecutor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("xaConnectionEvictor", 1, true));
+            xaEvictExecutor.scheduleAtFixedRate(() -> evictIdleConnections(idleTimeout), period, period,
+                TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void evictIdleConnections(long idleTimeout) {
+        for (Resource resource : dataSourceCache.values()) {
+            if (resource instanceof AbstractDataSourceProxyXA) {
+                try {
+                    ((AbstractDataSourceProxyXA)resource).evictIdleConnections(idleTimeout);
+                } catch (Exception e) {
+                    LOGGER.error("Failed to evict the idle xa connections of {}", resource.getResourceId(), e);
+                }
+            }
+        }
     }
 
     @Override
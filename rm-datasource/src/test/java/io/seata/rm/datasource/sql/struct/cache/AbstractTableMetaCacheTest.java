@@ -0,0 +1,113 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.sql.struct.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.seata.rm.datasource.sql.struct.TableMeta;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Abstract table meta cache test.
+ */
+public class AbstractTableMetaCacheTest {
+
+    @Test
+    public void testRefreshOnlyChangedTables() {
+        VersionedTableMetaCache cache = new VersionedTableMetaCache();
+        String resourceId = "jdbc:mock:refresh";
+        cache.versions.put("t_order", "1");
+        cache.versions.put("t_stock", "1");
+        cache.getTableMeta(null, "t_order", resourceId);
+        cache.getTableMeta(null, "t_stock", resourceId);
+        cache.getTableMeta(null, "t_no_version", resourceId);
+        Assertions.assertEquals(3, cache.fetchCount.get());
+
+        // the first refresh records the versions
+        cache.refresh(null, resourceId);
+        Assertions.assertEquals(6, cache.fetchCount.get());
+
+        // nothing changed, only the table without version is fetched
+        cache.refresh(null, resourceId);
+        Assertions.assertEquals(7, cache.fetchCount.get());
+
+        cache.versions.put("t_stock", "2");
+        cache.refresh(null, resourceId);
+        Assertions.assertEquals(9, cache.fetchCount.get());
+
+        // other resources are untouched
+        cache.refresh(null, "jdbc:mock:other");
+        Assertions.assertEquals(9, cache.fetchCount.get());
+    }
+
+    @Test
+    public void testRefreshFallbackOnVersionError() {
+        VersionedTableMetaCache cache = new VersionedTableMetaCache();
+        String resourceId = "jdbc:mock:fallback";
+        cache.versions.put("t_order", "1");
+        cache.getTableMeta(null, "t_order", resourceId);
+        cache.refresh(null, resourceId);
+        cache.refresh(null, resourceId);
+        Assertions.assertEquals(2, cache.fetchCount.get());
+
+        cache.versionError = true;
+        cache.refresh(null, resourceId);
+        Assertions.assertEquals(3, cache.fetchCount.get());
+    }
+
+    private static class VersionedTableMetaCache extends AbstractTableMetaCache {
+
+        private final Map<String, String> versions = new HashMap<>();
+
+        private final AtomicInteger fetchCount = new AtomicInteger();
+
+        private boolean versionError;
+
+        @Override
+        protected String getCacheKey(Connection connection, String tableName, String resourceId) {
+            return resourceId + "." + tableName;
+        }
+
+        @Override
+        protected TableMeta fetchSchema(Connection connection, String tableName) {
+            fetchCount.incrementAndGet();
+            TableMeta tableMeta = new TableMeta();
+            tableMeta.setTableName(tableName);
+            return tableMeta;
+        }
+
+        @Override
+        protected Map<String, String> fetchSchemaVersions(Connection connection, Collection<String> tableNames)
+            throws SQLException {
+            if (versionError) {
+                throw new SQLException("mock error");
+            }
+            Map<String, String> result = new HashMap<>();
+            for (String tableName : tableNames) {
+                if (versions.containsKey(tableName)) {
+                    result.put(tableName, versions.get(tableName));
+                }
+            }
+            return result;
+        }
+    }
+}
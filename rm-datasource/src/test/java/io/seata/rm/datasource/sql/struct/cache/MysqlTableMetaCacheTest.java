@@ -15,12 +15,20 @@
  */
 package io.seata.rm.datasource.sql.struct.cache;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 
 import com.alibaba.druid.pool.DruidDataSource;
 
@@ -152,6 +160,43 @@ public class MysqlTableMetaCacheTest {
         getTableMetaCache().refresh(dataSourceProxy.getPlainConnection(), dataSourceProxy.getResourceId());
     }
 
+    @Test
+    public void refreshOnIndexChangeTest() throws SQLException {
+        AtomicLong indexChecksum = new AtomicLong(1L);
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement ps = Mockito.mock(PreparedStatement.class);
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        Mockito.when(connection.prepareStatement(sqlCaptor.capture())).thenReturn(ps);
+        Mockito.when(ps.executeQuery()).thenAnswer(invocation -> {
+            ResultSet rs = Mockito.mock(ResultSet.class);
+            Mockito.when(rs.next()).thenReturn(true, false);
+            Mockito.when(rs.getString(1)).thenReturn("t_index");
+            Mockito.when(rs.getTimestamp(2)).thenReturn(new Timestamp(0L));
+            Mockito.when(rs.getLong(3)).thenReturn(2L);
+            Mockito.when(rs.getLong(4)).thenReturn(100L);
+            Mockito.when(rs.getLong(5)).thenReturn(1L);
+            Mockito.when(rs.getLong(6)).thenReturn(indexChecksum.get());
+            return rs;
+        });
+
+        CountingMysqlTableMetaCache cache = new CountingMysqlTableMetaCache();
+        String resourceId = "jdbc:mock:index-change";
+        cache.getTableMeta(connection, "t_index", resourceId);
+        Assertions.assertEquals(1, cache.fetchCount.get());
+        // the first refresh records the version
+        cache.refresh(connection, resourceId);
+        Assertions.assertEquals(2, cache.fetchCount.get());
+        Assertions.assertTrue(sqlCaptor.getValue().contains("INFORMATION_SCHEMA.STATISTICS"));
+
+        cache.refresh(connection, resourceId);
+        Assertions.assertEquals(2, cache.fetchCount.get());
+
+        // an index was added or dropped, the columns and the create time are the same
+        indexChecksum.set(2L);
+        cache.refresh(connection, resourceId);
+        Assertions.assertEquals(3, cache.fetchCount.get());
+    }
+
     private void assertColumnMetaEquals(Object[] expected, ColumnMeta actual) {
         Assertions.assertEquals(expected[0], actual.getTableCat());
         Assertions.assertEquals(expected[3], actual.getColumnName());
@@ -179,4 +224,22 @@ public class MysqlTableMetaCacheTest {
         Assertions.assertEquals(expected[6], actual.getAscOrDesc());
         Assertions.assertEquals(expected[7], actual.getCardinality());
     }
+
+    private static class CountingMysqlTableMetaCache extends MysqlTableMetaCache {
+
+        private final AtomicInteger fetchCount = new AtomicInteger();
+
+        @Override
+        protected String getCacheKey(Connection connection, String tableName, String resourceId) {
+            return resourceId + "." + tableName;
+        }
+
+        @Override
+        protected TableMeta fetchSchema(Connection connection, String tableName) {
+            fetchCount.incrementAndGet();
+            TableMeta tableMeta = new TableMeta();
+            tableMeta.setTableName(tableName);
+            return tableMeta;
+        }
+    }
 }
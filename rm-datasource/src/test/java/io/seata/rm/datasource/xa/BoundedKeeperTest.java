@@ -0,0 +1,100 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.xa;
+
+import io.seata.common.exception.ShouldNeverHappenException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Bounded keeper test.
+ */
+public class BoundedKeeperTest {
+
+    @Test
+    public void testCapacity() throws InterruptedException {
+        BoundedKeeper<MockHoldable> keeper = new BoundedKeeper<>(1);
+        MockHoldable value = new MockHoldable();
+
+        Assertions.assertTrue(keeper.tryAcquire(0));
+        Assertions.assertNull(keeper.hold("a", value));
+        Assertions.assertTrue(value.isHeld());
+        Assertions.assertSame(value, keeper.lookup("a"));
+        Assertions.assertEquals(1, keeper.getHeldCount());
+        // the keeper is full
+        Assertions.assertFalse(keeper.tryAcquire(10));
+
+        Assertions.assertSame(value, keeper.release("a", value));
+        Assertions.assertFalse(value.isHeld());
+        Assertions.assertNull(keeper.lookup("a"));
+        Assertions.assertTrue(keeper.tryAcquire(0));
+        keeper.releaseSlot();
+
+        Assertions.assertThrows(ShouldNeverHappenException.class, () -> keeper.release("a", value));
+    }
+
+    @Test
+    public void testUnlimited() throws InterruptedException {
+        BoundedKeeper<MockHoldable> keeper = new BoundedKeeper<>(0);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(keeper.tryAcquire(0));
+            keeper.hold(String.valueOf(i), new MockHoldable());
+        }
+        Assertions.assertEquals(100, keeper.getHeldCount());
+        Assertions.assertEquals(0, keeper.getCapacity());
+    }
+
+    @Test
+    public void testEvict() throws InterruptedException {
+        BoundedKeeper<MockHoldable> keeper = new BoundedKeeper<>(2);
+        MockHoldable value = new MockHoldable();
+        Assertions.assertTrue(keeper.tryAcquire(0));
+        keeper.hold("a", value);
+
+        Assertions.assertTrue(keeper.getHeldBefore(System.currentTimeMillis() - 60000).isEmpty());
+        Assertions.assertSame(value, keeper.getHeldBefore(System.currentTimeMillis()).get("a"));
+
+        Assertions.assertFalse(keeper.evict("a", new MockHoldable()));
+        Assertions.assertTrue(keeper.evict("a", value));
+        Assertions.assertFalse(keeper.evict("a", value));
+        Assertions.assertFalse(value.isHeld());
+        Assertions.assertEquals(0, keeper.getHeldCount());
+        Assertions.assertEquals(1, keeper.getEvictedCount());
+        // both slots are free again
+        Assertions.assertTrue(keeper.tryAcquire(0));
+        Assertions.assertTrue(keeper.tryAcquire(0));
+    }
+
+    private static class MockHoldable implements Holdable {
+
+        private boolean held;
+
+        @Override
+        public void setHeld(boolean held) {
+            this.held = held;
+        }
+
+        @Override
+        public boolean isHeld() {
+            return held;
+        }
+
+        @Override
+        public boolean shouldBeHeld() {
+            return true;
+        }
+    }
+}
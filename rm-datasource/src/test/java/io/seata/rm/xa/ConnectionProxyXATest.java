@@ -21,6 +21,7 @@ import io.seata.core.model.Resource;
 import io.seata.core.model.ResourceManager;
 import io.seata.rm.BaseDataSourceResource;
 import io.seata.rm.DefaultResourceManager;
+import io.seata.sqlparser.util.JdbcConstants;
 import io.seata.rm.datasource.xa.ConnectionProxyXA;
 import io.seata.rm.datasource.xa.StatementProxyXA;
 import org.junit.jupiter.api.AfterAll;
@@ -32,6 +33,7 @@ import javax.sql.XAConnection;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -68,6 +70,7 @@ public class ConnectionProxyXATest {
         XAConnection xaConnection = Mockito.mock(XAConnection.class);
         Mockito.when(xaConnection.getXAResource()).thenReturn(xaResource);
         BaseDataSourceResource<ConnectionProxyXA> baseDataSourceResource = Mockito.mock(BaseDataSourceResource.class);
+        Mockito.when(baseDataSourceResource.acquireHoldSlot()).thenReturn(true);
         String xid = "xxx";
         ResourceManager resourceManager = Mockito.mock(ResourceManager.class);
         Mockito.doNothing().when(resourceManager).registerResource(any(Resource.class));
@@ -99,6 +102,7 @@ public class ConnectionProxyXATest {
         XAConnection xaConnection = Mockito.mock(XAConnection.class);
         Mockito.when(xaConnection.getXAResource()).thenReturn(xaResource);
         BaseDataSourceResource<ConnectionProxyXA> baseDataSourceResource = Mockito.mock(BaseDataSourceResource.class);
+        Mockito.when(baseDataSourceResource.acquireHoldSlot()).thenReturn(true);
         String xid = "xxx";
         ResourceManager resourceManager = Mockito.mock(ResourceManager.class);
         Mockito.doNothing().when(resourceManager).registerResource(any(Resource.class));
@@ -124,6 +128,42 @@ public class ConnectionProxyXATest {
         Mockito.verify(xaResource, times(0)).prepare(any(Xid.class));
     }
 
+    @Test
+    public void testHoldSlot() throws Throwable {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+
+        XAResource xaResource = Mockito.mock(XAResource.class);
+        XAConnection xaConnection = Mockito.mock(XAConnection.class);
+        Mockito.when(xaConnection.getXAResource()).thenReturn(xaResource);
+        String xid = "xxx";
+        ResourceManager resourceManager = Mockito.mock(ResourceManager.class);
+        DefaultResourceManager.get();
+        DefaultResourceManager.mockResourceManager(BranchType.XA, resourceManager);
+
+        // the connection of MySQL is held until phase two, so a slot is required
+        BaseDataSourceResource<ConnectionProxyXA> mysqlResource = Mockito.mock(BaseDataSourceResource.class);
+        Mockito.when(mysqlResource.getDbType()).thenReturn(JdbcConstants.MYSQL);
+        Mockito.when(mysqlResource.acquireHoldSlot()).thenReturn(false);
+        ConnectionProxyXA mysqlConnection = new ConnectionProxyXA(connection, xaConnection, mysqlResource, xid);
+        mysqlConnection.init();
+        Assertions.assertThrows(SQLException.class, () -> mysqlConnection.setAutoCommit(false));
+        Mockito.verify(resourceManager, times(0)).branchRegister(any(), any(), any(), any(), any(), any());
+        Mockito.verify(xaResource, times(0)).start(any(Xid.class), any(Integer.class));
+
+        // the connection of Oracle is closed after phase one, so no slot is taken
+        BaseDataSourceResource<ConnectionProxyXA> oracleResource = Mockito.mock(BaseDataSourceResource.class);
+        Mockito.when(oracleResource.getDbType()).thenReturn(JdbcConstants.ORACLE);
+        ConnectionProxyXA oracleConnection = new ConnectionProxyXA(connection, xaConnection, oracleResource, xid);
+        oracleConnection.init();
+        oracleConnection.setAutoCommit(false);
+        Mockito.verify(oracleResource, times(0)).acquireHoldSlot();
+        Mockito.verify(oracleResource, times(0)).hold(any(), any());
+        Mockito.verify(xaResource).start(any(Xid.class), any(Integer.class));
+        oracleConnection.commit();
+        Assertions.assertFalse(oracleConnection.isHeld());
+    }
+
     @Test
     public void testClose() throws Throwable {
         Connection connection = Mockito.mock(Connection.class);
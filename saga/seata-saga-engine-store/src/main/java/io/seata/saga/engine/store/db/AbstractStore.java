@@ -186,6 +186,103 @@ public class AbstractStore {
         }
     }
 
+    protected <T> T execute(ConnectionCallback<T> callback) {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            T result = callback.execute(connection);
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new StoreException(e);
+        } finally {
+            closeSilent(connection);
+        }
+    }
+
+    /**
+     * execute the callback in one local transaction, committed once whatever the statements it runs
+     *
+     * @param callback the connection callback
+     * @param <T>      the result type
+     * @return the callback result
+     */
+    protected <T> T executeInTransaction(ConnectionCallback<T> callback) {
+        Connection connection = null;
+        boolean autoCommit = false;
+        try {
+            connection = dataSource.getConnection();
+            autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            T result = callback.execute(connection);
+            connection.commit();
+            return result;
+        } catch (SQLException e) {
+            rollbackSilent(connection);
+            throw new StoreException(e);
+        } finally {
+            if (connection != null && autoCommit) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LOGGER.info(e.getMessage(), e);
+                }
+            }
+            closeSilent(connection);
+        }
+    }
+
+    protected <T> int[] executeBatch(Connection connection, String sql, ObjectToStatement<T> objectToStatement,
+                                     List<T> objects) throws SQLException {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Preparing batch SQL: {}, batch size: {}", sql, objects.size());
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (T o : objects) {
+                objectToStatement.toStatement(o, stmt);
+                stmt.addBatch();
+            }
+            return stmt.executeBatch();
+        }
+    }
+
+    protected <T> int executeUpdate(Connection connection, String sql, ObjectToStatement<T> objectToStatement, T o)
+        throws SQLException {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Preparing SQL: {}", sql);
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            objectToStatement.toStatement(o, stmt);
+            return stmt.executeUpdate();
+        }
+    }
+
+    protected int executeUpdate(Connection connection, String sql, Object... args) throws SQLException {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Preparing SQL: {}, params: {}", sql, Arrays.toString(args));
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                stmt.setObject(i + 1, args[i]);
+            }
+            return stmt.executeUpdate();
+        }
+    }
+
+    private static void rollbackSilent(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                LOGGER.info(e.getMessage(), e);
+            }
+        }
+    }
+
     public void setDataSource(DataSource dataSource) {
         this.dataSource = dataSource;
     }
@@ -207,4 +304,9 @@ public class AbstractStore {
 
         void toStatement(T o, PreparedStatement statement) throws SQLException;
     }
+
+    protected interface ConnectionCallback<T> {
+
+        T execute(Connection connection) throws SQLException;
+    }
 }
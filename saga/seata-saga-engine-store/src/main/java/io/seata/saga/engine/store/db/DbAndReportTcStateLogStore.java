@@ -15,14 +15,20 @@
  */
 package io.seata.saga.engine.store.db;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.seata.common.Constants;
 import io.seata.common.exception.FrameworkErrorCode;
@@ -63,6 +69,16 @@ import org.springframework.util.StringUtils;
 
 /**
  * State machine logs and definitions persist to database and report status to TC (Transaction Coordinator)
+ * <p>
+ * When {@code client.rm.sagaWriteBehindEnable} is on, the finished state of each state instance is buffered per
+ * state machine instance and flushed as a JDBC batch, in the same local transaction as the next checkpoint: the
+ * insert of the next state instance (always written before its service is invoked), the restart and the end of the
+ * state machine. The success branch reports are deferred to the end of the state machine and sent as one merged
+ * request on the thread ending it.
+ * Recovery guarantee: a state instance row always exists before its service is called, only its finished status
+ * may be lost on a crash, so recovery sees it running (RU), exactly as if the process had crashed during the service
+ * call: the compensation compensates it and the forward operation retries it if it is the last one. A lost success
+ * branch report is the same as {@code client.rm.reportSuccessEnable = false}.
  *
  * @author lorne.cl
  */
@@ -88,6 +104,11 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
     private String            defaultTenantId;
     private SeqGenerator      seqGenerator;
 
+    /**
+     * the write behind buffers by state machine instance id, removed when the state machine instance ends
+     */
+    private final ConcurrentMap<String, StateLogBuffer> stateLogBuffers = new ConcurrentHashMap<>();
+
     @Override
     public void recordStateMachineStarted(StateMachineInstance machineInstance, ProcessContext context) {
         if (machineInstance != null) {
@@ -174,8 +195,12 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
                 machineInstance.setSerializedEndParams(paramsSerializer.serialize(machineInstance.getEndParams()));
                 machineInstance.setSerializedException(exceptionSerializer.serialize(machineInstance.getException()));
-                int effect = executeUpdate(stateLogStoreSqls.getRecordStateMachineFinishedSql(dbType),
-                        STATE_MACHINE_INSTANCE_TO_STATEMENT_FOR_UPDATE, machineInstance);
+                int effect = executeUpdateWithStateLogBuffer(context, machineInstance.getId(),
+                    connection -> executeUpdate(connection, stateLogStoreSqls.getRecordStateMachineFinishedSql(dbType),
+                        STATE_MACHINE_INSTANCE_TO_STATEMENT_FOR_UPDATE, machineInstance));
+                if (isWriteBehindEnable(context)) {
+                    reportDeferredBranches(machineInstance.getId());
+                }
                 if (effect < 1) {
                     LOGGER.warn("StateMachineInstance[{}] is recovery by server, skip recordStateMachineFinished.", machineInstance.getId());
                 } else {
@@ -189,6 +214,8 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
                     }
                 }
             } finally {
+                // the finished states not flushed are lost, recovery sees them running
+                stateLogBuffers.remove(machineInstance.getId());
                 RootContext.unbind();
                 RootContext.unbindBranchType();
             }
@@ -246,8 +273,10 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
         if (machineInstance != null) {
             //save to db
             Date gmtUpdated = new Date();
-            int effect = executeUpdate(stateLogStoreSqls.getUpdateStateMachineRunningStatusSql(dbType), machineInstance.isRunning(), new Timestamp(gmtUpdated.getTime()),
-                    machineInstance.getId(), new Timestamp(machineInstance.getGmtUpdated().getTime()));
+            int effect = executeUpdateWithStateLogBuffer(context, machineInstance.getId(),
+                connection -> executeUpdate(connection, stateLogStoreSqls.getUpdateStateMachineRunningStatusSql(dbType),
+                    machineInstance.isRunning(), new Timestamp(gmtUpdated.getTime()), machineInstance.getId(),
+                    new Timestamp(machineInstance.getGmtUpdated().getTime())));
             if (effect < 1) {
                 throw new EngineExecutionException(
                         "StateMachineInstance [id:" + machineInstance.getId() + "] is recovered by an other execution, restart denied", FrameworkErrorCode.OperationDenied);
@@ -283,14 +312,17 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
             }
 
             stateInstance.setSerializedInputParams(paramsSerializer.serialize(stateInstance.getInputParams()));
+            // the state instance must be persisted before its service is invoked, it is a checkpoint of the buffer
             if (!isUpdateMode) {
-                executeUpdate(stateLogStoreSqls.getRecordStateStartedSql(dbType),
-                    STATE_INSTANCE_TO_STATEMENT_FOR_INSERT, stateInstance);
+                executeUpdateWithStateLogBuffer(context, stateInstance.getMachineInstanceId(),
+                    connection -> executeUpdate(connection, stateLogStoreSqls.getRecordStateStartedSql(dbType),
+                        STATE_INSTANCE_TO_STATEMENT_FOR_INSERT, stateInstance));
             } else {
                 // if this retry/compensate state do not need persist, just update last inst
-                executeUpdate(stateLogStoreSqls.getUpdateStateExecutionStatusSql(dbType),
-                    stateInstance.getStatus().name(), new Timestamp(System.currentTimeMillis()),
-                    stateInstance.getMachineInstanceId(), stateInstance.getId());
+                executeUpdateWithStateLogBuffer(context, stateInstance.getMachineInstanceId(),
+                    connection -> executeUpdate(connection, stateLogStoreSqls.getUpdateStateExecutionStatusSql(dbType),
+                        stateInstance.getStatus().name(), new Timestamp(System.currentTimeMillis()),
+                        stateInstance.getMachineInstanceId(), stateInstance.getId()));
             }
         }
     }
@@ -459,8 +491,12 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
             stateInstance.setSerializedOutputParams(paramsSerializer.serialize(stateInstance.getOutputParams()));
             stateInstance.setSerializedException(exceptionSerializer.serialize(stateInstance.getException()));
-            executeUpdate(stateLogStoreSqls.getRecordStateFinishedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE,
-                    stateInstance);
+            if (isWriteBehindEnable(context)) {
+                getStateLogBuffer(stateInstance.getMachineInstanceId()).addFinishedState(stateInstance);
+            } else {
+                executeUpdate(stateLogStoreSqls.getRecordStateFinishedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE,
+                        stateInstance);
+            }
 
             //A switch to skip branch report on branch success, in order to optimize performance
             StateMachineConfig stateMachineConfig = (StateMachineConfig) context.getVariable(
@@ -546,6 +582,16 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
                     throw new EngineExecutionException("Global transaction is not exists", FrameworkErrorCode.ObjectNotExists);
                 }
 
+                if (isWriteBehindEnable(context)) {
+                    StateLogBuffer stateLogBuffer = getStateLogBuffer(stateInstance.getMachineInstanceId());
+                    if (ExecutionStatus.SU.equals(stateInstance.getStatus())) {
+                        stateLogBuffer.deferBranchReport(globalTransaction.getXid(), originalStateInst, branchStatus);
+                        return;
+                    }
+                    // a failure is reported at once, the server may act on it, make the state logs durable first
+                    stateLogBuffer.removeBranchReport(originalStateInst.getId());
+                    executeUpdateWithStateLogBuffer(context, stateInstance.getMachineInstanceId(), null);
+                }
                 sagaTransactionalTemplate.branchReport(globalTransaction.getXid(), Long.parseLong(originalStateInst.getId()), branchStatus,
                         null);
             } catch (TransactionException e) {
@@ -576,6 +622,75 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
         }
     }
 
+    private boolean isWriteBehindEnable(ProcessContext context) {
+        StateMachineConfig stateMachineConfig = (StateMachineConfig) context.getVariable(
+                DomainConstants.VAR_NAME_STATEMACHINE_CONFIG);
+        return stateMachineConfig instanceof DbStateMachineConfig
+                && ((DbStateMachineConfig)stateMachineConfig).isSagaWriteBehindEnable();
+    }
+
+    private StateLogBuffer getStateLogBuffer(String machineInstanceId) {
+        // the states of a parallel loop share the buffer of the state machine instance
+        return CollectionUtils.computeIfAbsent(stateLogBuffers, machineInstanceId, key -> new StateLogBuffer());
+    }
+
+    /**
+     * execute the update together with the buffered finished states, in one local transaction
+     *
+     * @param context           the process context
+     * @param machineInstanceId the state machine instance id
+     * @param callback          the update, null to only flush the buffer
+     * @return the update count of the callback
+     */
+    private int executeUpdateWithStateLogBuffer(ProcessContext context, String machineInstanceId,
+                                                ConnectionCallback<Integer> callback) {
+        StateLogBuffer stateLogBuffer = isWriteBehindEnable(context) ? stateLogBuffers.get(machineInstanceId) : null;
+        List<StateInstance> finishedStates = stateLogBuffer != null
+                ? stateLogBuffer.drainFinishedStates() : Collections.emptyList();
+        if (finishedStates.isEmpty()) {
+            return callback == null ? 0 : execute(callback);
+        }
+        try {
+            return executeInTransaction(connection -> {
+                executeBatch(connection, stateLogStoreSqls.getRecordStateFinishedSql(dbType),
+                        STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE, finishedStates);
+                return callback == null ? 0 : callback.execute(connection);
+            });
+        } catch (RuntimeException e) {
+            // keep them for the next checkpoint
+            stateLogBuffer.restoreFinishedStates(finishedStates);
+            throw e;
+        }
+    }
+
+    /**
+     * Send the deferred branch reports of each global transaction as one merged request on the current thread. It may
+     * be a thread of the saga thread pool, which must not wait for the tasks queued behind it.
+     *
+     * @param machineInstanceId the state machine instance id
+     */
+    private void reportDeferredBranches(String machineInstanceId) {
+        StateLogBuffer stateLogBuffer = stateLogBuffers.get(machineInstanceId);
+        if (stateLogBuffer == null || sagaTransactionalTemplate == null) {
+            return;
+        }
+        Map<String, Map<Long, BranchStatus>> branchStatusesByXid = new LinkedHashMap<>();
+        for (DeferredBranchReport branchReport : stateLogBuffer.drainBranchReports()) {
+            CollectionUtils.computeIfAbsent(branchStatusesByXid, branchReport.xid, key -> new LinkedHashMap<>())
+                .put(Long.parseLong(branchReport.originalStateInst.getId()), branchReport.branchStatus);
+        }
+        branchStatusesByXid.forEach(this::reportDeferredBranches);
+    }
+
+    private void reportDeferredBranches(String xid, Map<Long, BranchStatus> branchStatuses) {
+        try {
+            sagaTransactionalTemplate.branchReport(xid, branchStatuses);
+        } catch (TransactionException | RuntimeException e) {
+            LOGGER.error("Report deferred branch status to server error, XID: {}, branchStatuses: {}, Reason:{} ",
+                xid, branchStatuses, e.getMessage(), e);
+        }
+    }
+
     private StateInstance findOutOriginalStateInstanceOfRetryState(StateInstance stateInstance) {
         StateInstance originalStateInst;
         Map<String, StateInstance> stateInstanceMap = stateInstance.getStateMachineInstance().getStateMap();
@@ -787,6 +902,69 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
         this.stateLogStoreSqls = new StateLogStoreSqls(tablePrefix);
     }
 
+    /**
+     * the write behind buffer of a state machine instance
+     */
+    private static class StateLogBuffer {
+
+        private final List<StateInstance> finishedStates = new ArrayList<>();
+
+        /**
+         * the deferred branch reports by branch id, a later report of a branch replaces the earlier one
+         */
+        private final Map<String, DeferredBranchReport> branchReports = new LinkedHashMap<>();
+
+        synchronized void addFinishedState(StateInstance stateInstance) {
+            finishedStates.add(stateInstance);
+        }
+
+        synchronized List<StateInstance> drainFinishedStates() {
+            if (finishedStates.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<StateInstance> drained = new ArrayList<>(finishedStates);
+            finishedStates.clear();
+            return drained;
+        }
+
+        synchronized void restoreFinishedStates(List<StateInstance> stateInstances) {
+            finishedStates.addAll(0, stateInstances);
+        }
+
+        synchronized void deferBranchReport(String xid, StateInstance originalStateInst, BranchStatus branchStatus) {
+            branchReports.remove(originalStateInst.getId());
+            branchReports.put(originalStateInst.getId(), new DeferredBranchReport(xid, originalStateInst, branchStatus));
+        }
+
+        synchronized void removeBranchReport(String branchId) {
+            branchReports.remove(branchId);
+        }
+
+        synchronized List<DeferredBranchReport> drainBranchReports() {
+            if (branchReports.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<DeferredBranchReport> drained = new ArrayList<>(branchReports.values());
+            branchReports.clear();
+            return drained;
+        }
+    }
+
+    private static class DeferredBranchReport {
+
+        private final String xid;
+
+        private final StateInstance originalStateInst;
+
+        private final BranchStatus branchStatus;
+
+        DeferredBranchReport(String xid, StateInstance originalStateInst, BranchStatus branchStatus) {
+            this.xid = xid;
+            this.originalStateInst = originalStateInst;
+            this.branchStatus = branchStatus;
+        }
+    }
+
     private static class StateMachineInstanceToStatementForInsert implements ObjectToStatement<StateMachineInstance> {
         @Override
         public void toStatement(StateMachineInstance stateMachineInstance, PreparedStatement statement)
@@ -19,6 +19,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 
 import io.seata.saga.engine.evaluation.EvaluatorFactoryManager;
 import io.seata.saga.engine.expression.ExpressionFactoryManager;
+import io.seata.saga.engine.impl.AsyncExecutionLimiter;
 import io.seata.saga.engine.invoker.ServiceInvokerManager;
 import io.seata.saga.engine.repo.StateLogRepository;
 import io.seata.saga.engine.repo.StateMachineRepository;
@@ -143,6 +144,15 @@ public interface StateMachineConfig {
      */
     boolean isEnableAsync();
 
+    /**
+     * Gets the limiter of the asynchronous executions.
+     *
+     * @return the async execution limiter, null if not limited
+     */
+    default AsyncExecutionLimiter getAsyncExecutionLimiter() {
+        return null;
+    }
+
     /**
      * get ServiceInvokerManager
      *
@@ -24,6 +24,14 @@ import org.springframework.expression.AccessException;
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.Assign;
+import org.springframework.expression.spel.ast.BeanReference;
+import org.springframework.expression.spel.ast.ConstructorReference;
+import org.springframework.expression.spel.ast.FunctionReference;
+import org.springframework.expression.spel.ast.MethodReference;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -35,17 +43,43 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
  */
 public class SpringELExpressionFactory implements ExpressionFactory, ApplicationContextAware {
 
-    ExpressionParser parser = new SpelExpressionParser();
+    /**
+     * The expressions are compiled to bytecode once they have been interpreted a few times,
+     * MIXED mode falls back to the interpreter if the types seen by a compiled expression change.
+     * The fallback evaluates the whole expression again, so it is only used for expressions without side effects.
+     */
+    ExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
+    /**
+     * Expressions invoking methods or beans are always interpreted, so that they run exactly once per evaluation.
+     */
+    ExpressionParser interpretedParser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.OFF, null));
     ApplicationContext applicationContext;
 
     @Override
     public Expression createExpression(String expression) {
         org.springframework.expression.Expression defaultExpression = parser.parseExpression(expression);
+        if (mayHaveSideEffects(((SpelExpression)defaultExpression).getAST())) {
+            defaultExpression = interpretedParser.parseExpression(expression);
+        }
         EvaluationContext evaluationContext = ((SpelExpression)defaultExpression).getEvaluationContext();
         ((StandardEvaluationContext)evaluationContext).setBeanResolver(new AppContextBeanResolver());
         return new SpringELExpression(defaultExpression);
     }
 
+    private static boolean mayHaveSideEffects(SpelNode node) {
+        if (node instanceof MethodReference || node instanceof FunctionReference || node instanceof BeanReference
+            || node instanceof ConstructorReference || node instanceof Assign) {
+            return true;
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            if (mayHaveSideEffects(node.getChild(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
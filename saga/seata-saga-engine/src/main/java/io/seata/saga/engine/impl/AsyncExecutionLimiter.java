@@ -0,0 +1,191 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.seata.common.exception.FrameworkErrorCode;
+import io.seata.saga.engine.exception.EngineExecutionException;
+import io.seata.saga.proctrl.ProcessContext;
+import io.seata.saga.statelang.domain.DomainConstants;
+
+/**
+ * Limits the state machines executing asynchronously per tenant.
+ * <p>
+ * A permit is taken when an asynchronous start/forward/compensate is submitted and given back when the state
+ * machine ends, so the callers of {@code startAsync} are slowed down (and finally rejected) instead of
+ * growing the queue of the async executor without bound. The waiting callers, the rejections and the in-flight
+ * executions are exposed as plain counters, the saga modules do not depend on seata-metrics.
+ */
+public class AsyncExecutionLimiter {
+
+    private final int maxInFlightPerTenant;
+
+    private final long acquireTimeoutMillis;
+
+    private final ConcurrentMap<String, Semaphore> tenantSemaphores = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waitingCount = new AtomicInteger();
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * Instantiates a new Async execution limiter.
+     *
+     * @param maxInFlightPerTenant the max state machines executing asynchronously per tenant, unlimited if <= 0
+     * @param acquireTimeoutMillis the max milliseconds a caller waits for a permit
+     */
+    public AsyncExecutionLimiter(int maxInFlightPerTenant, long acquireTimeoutMillis) {
+        this.maxInFlightPerTenant = maxInFlightPerTenant;
+        this.acquireTimeoutMillis = Math.max(0, acquireTimeoutMillis);
+    }
+
+    /**
+     * Whether the in-flight executions are limited.
+     *
+     * @return the boolean
+     */
+    public boolean isEnabled() {
+        return maxInFlightPerTenant > 0;
+    }
+
+    /**
+     * Acquire a permit for the tenant, waiting at most the acquire timeout.
+     *
+     * @param tenantId the tenant id
+     * @return the permit, null if the executions are not limited
+     * @throws EngineExecutionException if no permit is available in time
+     */
+    public Permit acquire(String tenantId) throws EngineExecutionException {
+        if (!isEnabled()) {
+            return null;
+        }
+        Semaphore semaphore = tenantSemaphores.computeIfAbsent(String.valueOf(tenantId),
+            k -> new Semaphore(maxInFlightPerTenant));
+        boolean acquired = semaphore.tryAcquire();
+        if (!acquired) {
+            waitingCount.incrementAndGet();
+            try {
+                acquired = semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waitingCount.decrementAndGet();
+            }
+        }
+        if (!acquired) {
+            rejectedCount.increment();
+            throw new EngineExecutionException("Too many state machines executing asynchronously for tenant ["
+                + tenantId + "], max: " + maxInFlightPerTenant, FrameworkErrorCode.AsynchronousExecutionRejected);
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * Gets the number of state machines executing asynchronously for the tenant.
+     *
+     * @param tenantId the tenant id
+     * @return the in-flight count
+     */
+    public int getInFlight(String tenantId) {
+        Semaphore semaphore = tenantSemaphores.get(String.valueOf(tenantId));
+        return semaphore == null ? 0 : maxInFlightPerTenant - semaphore.availablePermits();
+    }
+
+    /**
+     * Gets the number of state machines executing asynchronously for all the tenants.
+     *
+     * @return the in-flight count
+     */
+    public int getInFlight() {
+        int inFlight = 0;
+        for (Semaphore semaphore : tenantSemaphores.values()) {
+            inFlight += maxInFlightPerTenant - semaphore.availablePermits();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of callers waiting for a permit.
+     *
+     * @return the waiting count
+     */
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    /**
+     * Gets the number of executions rejected since the start.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Bind the permit to the process context, it is released when the state machine ends.
+     *
+     * @param context the process context
+     * @param permit  the permit, may be null
+     */
+    public static void bind(ProcessContext context, Permit permit) {
+        if (permit != null) {
+            context.setVariable(DomainConstants.VAR_NAME_ASYNC_PERMIT, permit);
+        }
+    }
+
+    /**
+     * Release the permit bound to the process context, if any.
+     *
+     * @param context the process context
+     */
+    public static void release(ProcessContext context) {
+        Object permit = context.getVariable(DomainConstants.VAR_NAME_ASYNC_PERMIT);
+        if (permit instanceof Permit) {
+            ((Permit)permit).release();
+        }
+    }
+
+    /**
+     * The permit of one asynchronous execution, releasing it more than once has no effect.
+     */
+    public static final class Permit {
+
+        private final Semaphore semaphore;
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        /**
+         * Release.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
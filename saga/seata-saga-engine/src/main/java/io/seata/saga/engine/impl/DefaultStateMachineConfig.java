@@ -16,9 +16,12 @@
 package io.seata.saga.engine.impl;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import javax.script.ScriptEngineManager;
 
@@ -86,6 +89,7 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
 
     private static final int DEFAULT_TRANS_OPER_TIMEOUT     = 60000 * 30;
     private static final int DEFAULT_SERVICE_INVOKE_TIMEOUT = 60000 * 5;
+    private static final int DEFAULT_ASYNC_ACQUIRE_TIMEOUT  = 3000;
 
     private int transOperationTimeout = DEFAULT_TRANS_OPER_TIMEOUT;
     private int serviceInvokeTimeout  = DEFAULT_SERVICE_INVOKE_TIMEOUT;
@@ -104,6 +108,11 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
     private ApplicationContext applicationContext;
     private ThreadPoolExecutor threadPoolExecutor;
     private boolean enableAsync = false;
+    private Executor serviceInvokeExecutor;
+    private boolean enableVirtualThreads = false;
+    private int asyncMaxInFlightPerTenant = 0;
+    private int asyncAcquireTimeout = DEFAULT_ASYNC_ACQUIRE_TIMEOUT;
+    private AsyncExecutionLimiter asyncExecutionLimiter;
     private ServiceInvokerManager serviceInvokerManager;
 
     private boolean autoRegisterResources = true;
@@ -151,6 +160,7 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
             stateMachineRepository.setStateLangStore(stateLangStore);
             stateMachineRepository.setDefaultTenantId(defaultTenantId);
             stateMachineRepository.setJsonParserName(sagaJsonParser);
+            stateMachineRepository.setExpressionFactoryManager(expressionFactoryManager);
             this.stateMachineRepository = stateMachineRepository;
         }
         //stateMachineRepository may be overridden, so move `stateMachineRepository.registryByResources()` here.
@@ -198,7 +208,8 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
             processCtrlEventConsumer.setProcessController(processorController);
 
             AsyncEventBus asyncEventBus = new AsyncEventBus();
-            asyncEventBus.setThreadPoolExecutor(getThreadPoolExecutor());
+            asyncEventBus.setExecutor(getAsyncStepExecutor());
+            asyncEventBus.setExceptionHandler((context, e) -> AsyncExecutionLimiter.release(context));
             asyncEventPublisher.setEventBus(asyncEventBus);
 
             asyncEventBus.registerEventConsumer(processCtrlEventConsumer);
@@ -211,7 +222,7 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
 
             SpringBeanServiceInvoker springBeanServiceInvoker = new SpringBeanServiceInvoker();
             springBeanServiceInvoker.setApplicationContext(getApplicationContext());
-            springBeanServiceInvoker.setThreadPoolExecutor(threadPoolExecutor);
+            springBeanServiceInvoker.setExecutor(getServiceInvokeExecutor());
             springBeanServiceInvoker.setSagaJsonParser(getSagaJsonParser());
             this.serviceInvokerManager.putServiceInvoker(DomainConstants.SERVICE_TYPE_SPRING_BEAN,
                 springBeanServiceInvoker);
@@ -220,6 +231,49 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
         if (this.scriptEngineManager == null) {
             this.scriptEngineManager = new ScriptEngineManager();
         }
+
+        if (this.asyncExecutionLimiter == null) {
+            this.asyncExecutionLimiter = new AsyncExecutionLimiter(asyncMaxInFlightPerTenant, asyncAcquireTimeout);
+        }
+    }
+
+    /**
+     * The executor of the engine steps, a virtual thread per step if enabled and the JDK supports it.
+     */
+    protected Executor getAsyncStepExecutor() {
+        if (enableVirtualThreads) {
+            Executor virtualThreadExecutor = createVirtualThreadExecutor();
+            if (virtualThreadExecutor != null) {
+                return virtualThreadExecutor;
+            }
+        }
+        return getThreadPoolExecutor();
+    }
+
+    /**
+     * The executor of the async service invocations, kept apart from the engine steps
+     * so slow services cannot starve the steps of other state machines.
+     * <p>
+     * The split needs a dedicated executor, set by {@link #setServiceInvokeExecutor} (the
+     * {@code seataSagaServiceInvokeExecutor} bean of the spring boot starter) or created by
+     * {@code enableVirtualThreads}. Without one the service invocations share the thread pool of the steps.
+     */
+    public Executor getServiceInvokeExecutor() {
+        if (serviceInvokeExecutor == null && enableVirtualThreads) {
+            serviceInvokeExecutor = createVirtualThreadExecutor();
+        }
+        return serviceInvokeExecutor != null ? serviceInvokeExecutor : getThreadPoolExecutor();
+    }
+
+    private static Executor createVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor)method.invoke(null);
+        } catch (Exception e) {
+            LOGGER.warn("Virtual threads are not supported by the current JDK, use the thread pool executor instead. {}",
+                e.toString());
+            return null;
+        }
     }
 
     protected ProcessControllerImpl createProcessorController(ProcessCtrlEventPublisher eventPublisher) throws Exception {
@@ -418,6 +472,43 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
         this.enableAsync = enableAsync;
     }
 
+    public void setServiceInvokeExecutor(Executor serviceInvokeExecutor) {
+        this.serviceInvokeExecutor = serviceInvokeExecutor;
+    }
+
+    public boolean isEnableVirtualThreads() {
+        return enableVirtualThreads;
+    }
+
+    public void setEnableVirtualThreads(boolean enableVirtualThreads) {
+        this.enableVirtualThreads = enableVirtualThreads;
+    }
+
+    public int getAsyncMaxInFlightPerTenant() {
+        return asyncMaxInFlightPerTenant;
+    }
+
+    public void setAsyncMaxInFlightPerTenant(int asyncMaxInFlightPerTenant) {
+        this.asyncMaxInFlightPerTenant = asyncMaxInFlightPerTenant;
+    }
+
+    public int getAsyncAcquireTimeout() {
+        return asyncAcquireTimeout;
+    }
+
+    public void setAsyncAcquireTimeout(int asyncAcquireTimeout) {
+        this.asyncAcquireTimeout = asyncAcquireTimeout;
+    }
+
+    @Override
+    public AsyncExecutionLimiter getAsyncExecutionLimiter() {
+        return asyncExecutionLimiter;
+    }
+
+    public void setAsyncExecutionLimiter(AsyncExecutionLimiter asyncExecutionLimiter) {
+        this.asyncExecutionLimiter = asyncExecutionLimiter;
+    }
+
     @Override
     public StateLogRepository getStateLogRepository() {
         return stateLogRepository;
@@ -102,6 +102,8 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
     private StateMachineInstance startInternal(String stateMachineName, String tenantId, String businessKey,
                                                Map<String, Object> startParams, boolean async, AsyncCallback callback)
             throws EngineExecutionException {
+        AsyncExecutionLimiter.Permit permit = null;
+        boolean published = false;
         try {
             if (async && !stateMachineConfig.isEnableAsync()) {
                 throw new EngineExecutionException(
@@ -113,6 +115,8 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
                 tenantId = stateMachineConfig.getDefaultTenantId();
             }
 
+            permit = acquireAsyncPermit(async, tenantId);
+
             StateMachineInstance instance = createMachineInstance(stateMachineName, tenantId, businessKey, startParams);
 
             ProcessContextBuilder contextBuilder = ProcessContextBuilder.create().withProcessType(ProcessType.STATE_LANG)
@@ -134,6 +138,7 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
             contextBuilder.withIsAsyncExecution(async);
 
             ProcessContext processContext = contextBuilder.build();
+            AsyncExecutionLimiter.bind(processContext, permit);
 
             if (instance.getStateMachine().isPersist() && stateMachineConfig.getStateLogStore() != null) {
                 stateMachineConfig.getStateLogStore().recordStateMachineStarted(instance, processContext);
@@ -154,15 +159,32 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
             } else {
                 stateMachineConfig.getProcessCtrlEventPublisher().publish(processContext);
             }
+            published = true;
 
             return instance;
         } finally {
+            if (!published && permit != null) {
+                permit.release();
+            }
             if (stateMachineConfig.getStateLogStore() != null) {
                 stateMachineConfig.getStateLogStore().clearUp();
             }
         }
     }
 
+    /**
+     * Take a permit of the per tenant in-flight limit, blocking the caller for a while if the tenant
+     * already has too many state machines executing asynchronously.
+     */
+    private AsyncExecutionLimiter.Permit acquireAsyncPermit(boolean async, String tenantId)
+        throws EngineExecutionException {
+        AsyncExecutionLimiter limiter = stateMachineConfig.getAsyncExecutionLimiter();
+        if (!async || limiter == null) {
+            return null;
+        }
+        return limiter.acquire(tenantId);
+    }
+
     private StateMachineInstance createMachineInstance(String stateMachineName, String tenantId, String businessKey,
                                                        Map<String, Object> startParams) {
         StateMachine stateMachine = stateMachineConfig.getStateMachineRepository().getStateMachine(stateMachineName,
@@ -287,6 +309,8 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
             lastForwardState.setIgnoreStatus(true);
         }
 
+        AsyncExecutionLimiter.Permit permit = null;
+        boolean published = false;
         try {
             StateInstruction inst = new StateInstruction();
             inst.setTenantId(stateMachineInstance.getTenantId());
@@ -317,6 +341,9 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
             }
             context.setInstruction(inst);
 
+            permit = acquireAsyncPermit(async, stateMachineInstance.getTenantId());
+            AsyncExecutionLimiter.bind(context, permit);
+
             stateMachineInstance.setStatus(ExecutionStatus.RU);
             stateMachineInstance.setRunning(true);
 
@@ -338,9 +365,14 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
             } else {
                 stateMachineConfig.getProcessCtrlEventPublisher().publish(context);
             }
+            published = true;
         } catch (EngineExecutionException e) {
             LOGGER.error("Operation [forward] failed", e);
             throw e;
+        } finally {
+            if (!published && permit != null) {
+                permit.release();
+            }
         }
         return stateMachineInstance;
     }
@@ -516,16 +548,21 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
         CompensationTriggerStateImpl tempCompensationTriggerState = new CompensationTriggerStateImpl();
         tempCompensationTriggerState.setStateMachine(stateMachineInstance.getStateMachine());
 
+        AsyncExecutionLimiter.Permit permit = acquireAsyncPermit(async, stateMachineInstance.getTenantId());
+        AsyncExecutionLimiter.bind(context, permit);
+        boolean published = false;
+
         stateMachineInstance.setRunning(true);
 
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Operation [compensate] start.  stateMachineInstance[id:" + stateMachineInstance.getId() + "]");
         }
 
-        if (stateMachineInstance.getStateMachine().isPersist()) {
-            stateMachineConfig.getStateLogStore().recordStateMachineRestarted(stateMachineInstance, context);
-        }
         try {
+            if (stateMachineInstance.getStateMachine().isPersist()) {
+                stateMachineConfig.getStateLogStore().recordStateMachineRestarted(stateMachineInstance, context);
+            }
+
             StateInstruction inst = new StateInstruction();
             inst.setTenantId(stateMachineInstance.getTenantId());
             inst.setStateMachineName(stateMachineInstance.getStateMachine().getName());
@@ -538,10 +575,15 @@ public class ProcessCtrlStateMachineEngine implements StateMachineEngine {
             } else {
                 stateMachineConfig.getProcessCtrlEventPublisher().publish(context);
             }
+            published = true;
 
         } catch (EngineExecutionException e) {
             LOGGER.error("Operation [compensate] failed", e);
             throw e;
+        } finally {
+            if (!published && permit != null) {
+                permit.release();
+            }
         }
 
         return stateMachineInstance;
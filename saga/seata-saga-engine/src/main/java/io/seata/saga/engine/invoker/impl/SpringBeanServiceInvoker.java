@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -54,17 +55,17 @@ public class SpringBeanServiceInvoker implements ServiceInvoker, ApplicationCont
     private static final Logger LOGGER = LoggerFactory.getLogger(SpringBeanServiceInvoker.class);
 
     private ApplicationContext applicationContext;
-    private ThreadPoolExecutor threadPoolExecutor;
+    private Executor executor;
     private String sagaJsonParser;
 
     @Override
     public Object invoke(ServiceTaskState serviceTaskState, Object... input) throws Throwable {
         ServiceTaskStateImpl state = (ServiceTaskStateImpl) serviceTaskState;
         if (state.isAsync()) {
-            if (threadPoolExecutor == null) {
+            if (executor == null) {
                 if (LOGGER.isWarnEnabled()) {
                     LOGGER.warn(
-                            "threadPoolExecutor is null, Service[{}.{}] cannot execute asynchronously, executing "
+                            "executor is null, Service[{}.{}] cannot execute asynchronously, executing "
                                     + "synchronously now. stateName: {}",
                             state.getServiceName(), state.getServiceMethod(), state.getName());
                 }
@@ -75,7 +76,7 @@ public class SpringBeanServiceInvoker implements ServiceInvoker, ApplicationCont
                 LOGGER.info("Submit Service[{}.{}] to asynchronously executing. stateName: {}", state.getServiceName(),
                         state.getServiceMethod(), state.getName());
             }
-            threadPoolExecutor.execute(new Runnable() {
+            executor.execute(new Runnable() {
                 @Override
                 public void run() {
                     try {
@@ -235,7 +236,11 @@ public class SpringBeanServiceInvoker implements ServiceInvoker, ApplicationCont
     }
 
     public void setThreadPoolExecutor(ThreadPoolExecutor threadPoolExecutor) {
-        this.threadPoolExecutor = threadPoolExecutor;
+        this.executor = threadPoolExecutor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
     }
 
     protected Method findMethod(Class<?> clazz, String methodName, List<String> parameterTypes) {
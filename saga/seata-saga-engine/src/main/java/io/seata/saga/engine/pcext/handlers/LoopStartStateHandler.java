@@ -94,8 +94,8 @@ public class LoopStartStateHandler implements StateHandler {
 
                     ProcessContextImpl tempContext;
                     // fail end inst should be forward without completion condition check
-                    if (!loopContextHolder.getForwardCounterStack().isEmpty()) {
-                        int failEndLoopCounter = loopContextHolder.getForwardCounterStack().pop();
+                    if (loopContextHolder.hasForwardCounter()) {
+                        int failEndLoopCounter = loopContextHolder.pollForwardCounter();
                         tempContext = (ProcessContextImpl)LoopTaskUtils.createLoopEventContext(context, failEndLoopCounter);
                     } else if (loopContextHolder.isFailEnd() || LoopTaskUtils.isCompletionConditionSatisfied(context)) {
                         semaphore.release();
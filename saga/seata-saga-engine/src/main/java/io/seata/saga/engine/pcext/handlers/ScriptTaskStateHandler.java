@@ -32,8 +32,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
 import javax.script.SimpleBindings;
 import java.util.ArrayList;
 import java.util.List;
@@ -49,6 +52,11 @@ public class ScriptTaskStateHandler implements StateHandler, InterceptableStateH
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ScriptTaskStateHandler.class);
 
+    /**
+     * the engine factory parameter telling whether the engine can be used by several threads
+     */
+    private static final String THREADING = "THREADING";
+
     private List<StateHandlerInterceptor> interceptors = new ArrayList<>();
 
     private volatile Map<String, ScriptEngine> scriptEngineCache = new ConcurrentHashMap<>();
@@ -100,11 +108,18 @@ public class ScriptTaskStateHandler implements StateHandler, InterceptableStateH
                     }
                 }
             }
-            if (bindings != null) {
-                result = scriptEngine.eval(scriptContent, bindings);
-            }
-            else {
-                result = scriptEngine.eval(scriptContent);
+            CompiledScript compiledScript = getCompiledScript(state, scriptEngine);
+            if (compiledScript == null) {
+                if (bindings != null) {
+                    result = scriptEngine.eval(scriptContent, bindings);
+                }
+                else {
+                    result = scriptEngine.eval(scriptContent);
+                }
+            } else if (bindings != null) {
+                result = compiledScript.eval(bindings);
+            } else {
+                result = compiledScript.eval();
             }
 
             if (LOGGER.isDebugEnabled()) {
@@ -129,6 +144,38 @@ public class ScriptTaskStateHandler implements StateHandler, InterceptableStateH
 
     }
 
+    /**
+     * compile the script once per state definition, if the engine supports it.
+     * A not thread safe engine gets one compiled script per thread,
+     * so a compiled script is never evaluated by several threads at once.
+     *
+     * @param state        the script task state
+     * @param scriptEngine the script engine
+     * @return the compiled script, null if the engine is not compilable
+     * @throws ScriptException the script exception
+     */
+    protected CompiledScript getCompiledScript(ScriptTaskStateImpl state, ScriptEngine scriptEngine) throws ScriptException {
+        if (!(scriptEngine instanceof Compilable)) {
+            return null;
+        }
+        boolean threadSafe = isThreadSafe(scriptEngine);
+        CompiledScript compiledScript = threadSafe ? state.getCompiledScript() : state.getThreadCompiledScript();
+        if (compiledScript == null || compiledScript.getEngine() != scriptEngine) {
+            compiledScript = ((Compilable) scriptEngine).compile(state.getScriptContent());
+            if (threadSafe) {
+                state.setCompiledScript(compiledScript);
+            } else {
+                state.setThreadCompiledScript(compiledScript);
+            }
+        }
+        return compiledScript;
+    }
+
+    private boolean isThreadSafe(ScriptEngine scriptEngine) {
+        // a null THREADING parameter means the engine implementation is not thread safe
+        return scriptEngine.getFactory().getParameter(THREADING) != null;
+    }
+
     protected ScriptEngine getScriptEngineFromCache(String scriptType, ScriptEngineManager scriptEngineManager) {
         return CollectionUtils.computeIfAbsent(scriptEngineCache, scriptType,
             key -> scriptEngineManager.getEngineByName(scriptType));
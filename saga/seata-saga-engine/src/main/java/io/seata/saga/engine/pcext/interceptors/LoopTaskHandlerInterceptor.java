@@ -15,8 +15,6 @@
  */
 package io.seata.saga.engine.pcext.interceptors;
 
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
@@ -80,12 +78,12 @@ public class LoopTaskHandlerInterceptor implements StateHandlerInterceptor {
                 loopCounter = (int)context.getVariable(DomainConstants.LOOP_COUNTER);
             }
 
-            Collection collection = LoopContextHolder.getCurrent(context, true).getCollection();
+            LoopContextHolder loopContextHolder = LoopContextHolder.getCurrent(context, true);
             Map<String, Object> contextVariables = (Map<String, Object>)context.getVariable(
                 DomainConstants.VAR_NAME_STATEMACHINE_CONTEXT);
             Map<String, Object> copyContextVariables = new ConcurrentHashMap<>(contextVariables);
             copyContextVariables.put(loop.getElementIndexName(), loopCounter);
-            copyContextVariables.put(loop.getElementVariableName(), iterator(collection, loopCounter));
+            copyContextVariables.put(loop.getElementVariableName(), loopContextHolder.getElement(loopCounter));
             ((HierarchicalProcessContext)context).setVariableLocally(DomainConstants.VAR_NAME_STATEMACHINE_CONTEXT, copyContextVariables);
         }
     }
@@ -124,15 +122,4 @@ public class LoopTaskHandlerInterceptor implements StateHandlerInterceptor {
         }
     }
 
-    private Object iterator(Collection collection, int loopCounter) {
-        Iterator iterator = collection.iterator();
-        int index = 0;
-        Object value = null;
-        while (index <= loopCounter) {
-            value = iterator.next();
-            index += 1;
-        }
-        return value;
-    }
-
 }
@@ -25,6 +25,7 @@ import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
 import io.seata.saga.engine.AsyncCallback;
 import io.seata.saga.engine.StateMachineConfig;
+import io.seata.saga.engine.impl.AsyncExecutionLimiter;
 import io.seata.saga.engine.pcext.StateInstruction;
 import io.seata.saga.engine.pcext.handlers.ScriptTaskStateHandler;
 import io.seata.saga.proctrl.HierarchicalProcessContext;
@@ -119,6 +120,8 @@ public class EngineUtils {
             stateMachineConfig.getStateLogStore().recordStateMachineFinished(stateMachineInstance, context);
         }
 
+        AsyncExecutionLimiter.release(context);
+
         AsyncCallback callback = (AsyncCallback)context.getVariable(DomainConstants.VAR_NAME_ASYNC_CALLBACK);
         if (callback != null) {
             if (exp != null) {
@@ -163,6 +166,8 @@ public class EngineUtils {
             stateMachineConfig.getStateLogStore().recordStateMachineFinished(stateMachineInstance, context);
         }
 
+        AsyncExecutionLimiter.release(context);
+
         AsyncCallback callback = (AsyncCallback)context.getVariable(DomainConstants.VAR_NAME_ASYNC_CALLBACK);
         if (callback != null) {
             callback.onError(context, stateMachineInstance, exp);
@@ -15,15 +15,25 @@
  */
 package io.seata.saga.engine.pcext.utils;
 
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import io.seata.saga.proctrl.ProcessContext;
 import io.seata.saga.statelang.domain.DomainConstants;
 
 /**
  * Loop Context Holder for Loop Attributes
+ * <p>
+ * The loop counters still to be executed are kept in bitmaps (one bit per element of the collection)
+ * instead of stacks of boxed counters, so loops over large collections stay compact and a forward
+ * resumes from the bitmap in linear time.
  *
  * @author anselleeyy
  */
@@ -34,9 +44,10 @@ public class LoopContextHolder {
     private final AtomicInteger nrOfCompletedInstances = new AtomicInteger();
     private volatile boolean failEnd = false;
     private volatile boolean completionConditionSatisfied = false;
-    private final Stack<Integer> loopCounterStack = new Stack<>();
-    private final Stack<Integer> forwardCounterStack = new Stack<>();
+    private final BitSet pendingCounters = new BitSet();
+    private final BitSet forwardCounters = new BitSet();
     private Collection collection;
+    private volatile Object[] elements;
 
     public static LoopContextHolder getCurrent(ProcessContext context, boolean forceCreate) {
         LoopContextHolder loopContextHolder = (LoopContextHolder)context.getVariable(
@@ -87,12 +98,231 @@ public class LoopContextHolder {
         this.completionConditionSatisfied = completionConditionSatisfied;
     }
 
-    public Stack<Integer> getLoopCounterStack() {
-        return loopCounterStack;
+    /**
+     * mark all the loop counters of the collection to be executed
+     *
+     * @param nrOfInstances
+     */
+    public synchronized void initLoopCounters(int nrOfInstances) {
+        pendingCounters.clear();
+        forwardCounters.clear();
+        pendingCounters.set(0, nrOfInstances);
     }
 
-    public Stack<Integer> getForwardCounterStack() {
-        return forwardCounterStack;
+    /**
+     * the loop counter has been executed, it is not executed again
+     *
+     * @param loopCounter
+     */
+    public synchronized void markExecuted(int loopCounter) {
+        if (loopCounter < 0) {
+            return;
+        }
+        pendingCounters.clear(loopCounter);
+    }
+
+    /**
+     * the loop counter has failed, it is executed again (without completion condition check) on forward
+     *
+     * @param loopCounter
+     */
+    public synchronized void markForward(int loopCounter) {
+        if (loopCounter < 0) {
+            return;
+        }
+        pendingCounters.clear(loopCounter);
+        forwardCounters.set(loopCounter);
+    }
+
+    /**
+     * take the smallest loop counter to be executed
+     *
+     * @return the loop counter, -1 if there is none
+     */
+    public synchronized int pollLoopCounter() {
+        return poll(pendingCounters);
+    }
+
+    /**
+     * take the smallest failed loop counter to be executed again
+     *
+     * @return the loop counter, -1 if there is none
+     */
+    public synchronized int pollForwardCounter() {
+        return poll(forwardCounters);
+    }
+
+    public synchronized boolean hasForwardCounter() {
+        return !forwardCounters.isEmpty();
+    }
+
+    /**
+     * get the loop counters to be executed, the smallest on the top
+     * <p>
+     * Since the counters are kept in a bitmap, the stack is a read-only snapshot: pushing or popping it can not change
+     * the loop, so every mutation throws {@link UnsupportedOperationException}.
+     *
+     * @return a read-only snapshot of the loop counters
+     * @deprecated use {@link #pollLoopCounter()} and {@link #initLoopCounters(int)} instead
+     */
+    @Deprecated
+    public synchronized Stack<Integer> getLoopCounterStack() {
+        return new ReadOnlyCounterStack(pendingCounters);
+    }
+
+    /**
+     * get the failed loop counters to be executed again, the smallest on the top
+     * <p>
+     * Since the counters are kept in a bitmap, the stack is a read-only snapshot: pushing or popping it can not change
+     * the loop, so every mutation throws {@link UnsupportedOperationException}.
+     *
+     * @return a read-only snapshot of the loop counters
+     * @deprecated use {@link #pollForwardCounter()} and {@link #markForward(int)} instead
+     */
+    @Deprecated
+    public synchronized Stack<Integer> getForwardCounterStack() {
+        return new ReadOnlyCounterStack(forwardCounters);
+    }
+
+    private static int poll(BitSet counters) {
+        int loopCounter = counters.nextSetBit(0);
+        if (loopCounter >= 0) {
+            counters.clear(loopCounter);
+        }
+        return loopCounter;
+    }
+
+    /**
+     * the loop counters of a bitmap as a stack, the smallest on the top, rejecting any mutation
+     */
+    private static class ReadOnlyCounterStack extends Stack<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        ReadOnlyCounterStack(BitSet counters) {
+            for (int i = counters.previousSetBit(counters.length() - 1); i >= 0; i = counters.previousSetBit(i - 1)) {
+                super.addElement(i);
+            }
+        }
+
+        @Override
+        public Integer push(Integer item) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized Integer pop() {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized void setSize(int newSize) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized void setElementAt(Integer obj, int index) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized void removeElementAt(int index) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized void insertElementAt(Integer obj, int index) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized void addElement(Integer obj) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized boolean removeElement(Object obj) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized void removeAllElements() {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized Integer set(int index, Integer element) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized boolean add(Integer e) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            throw readOnly();
+        }
+
+        @Override
+        public void add(int index, Integer element) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized Integer remove(int index) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear() {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized boolean addAll(Collection<? extends Integer> c) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized boolean addAll(int index, Collection<? extends Integer> c) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized boolean removeAll(Collection<?> c) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized boolean retainAll(Collection<?> c) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized boolean removeIf(Predicate<? super Integer> filter) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized void replaceAll(UnaryOperator<Integer> operator) {
+            throw readOnly();
+        }
+
+        @Override
+        public synchronized void sort(Comparator<? super Integer> c) {
+            throw readOnly();
+        }
+
+        @Override
+        protected synchronized void removeRange(int fromIndex, int toIndex) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("the loop counter stack is read-only, it does not change the loop");
+        }
     }
 
     public Collection getCollection() {
@@ -101,5 +331,29 @@ public class LoopContextHolder {
 
     public void setCollection(Collection collection) {
         this.collection = collection;
+        this.elements = null;
+    }
+
+    /**
+     * get the element of the collection at the loop counter, without walking the collection every time
+     *
+     * @param loopCounter
+     * @return
+     */
+    public Object getElement(int loopCounter) {
+        if (collection instanceof List && collection instanceof RandomAccess) {
+            return ((List)collection).get(loopCounter);
+        }
+        Object[] array = elements;
+        if (array == null) {
+            synchronized (this) {
+                array = elements;
+                if (array == null) {
+                    array = collection.toArray();
+                    elements = array;
+                }
+            }
+        }
+        return array[loopCounter];
     }
 }
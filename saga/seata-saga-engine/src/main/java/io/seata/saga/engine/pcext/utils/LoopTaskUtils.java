@@ -17,8 +17,6 @@ package io.seata.saga.engine.pcext.utils;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EmptyStackException;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -115,10 +113,7 @@ public class LoopTaskUtils {
         LoopContextHolder contextHolder = LoopContextHolder.getCurrent(context, true);
         Collection collection = contextHolder.getCollection();
         contextHolder.getNrOfInstances().set(collection.size());
-
-        for (int i = collection.size() - 1; i >= 0; i--) {
-            contextHolder.getLoopCounterStack().push(i);
-        }
+        contextHolder.initLoopCounters(collection.size());
     }
 
 
@@ -139,27 +134,22 @@ public class LoopTaskUtils {
 
         LoopContextHolder loopContextHolder = LoopContextHolder.getCurrent(context, true);
         Collection collection = loopContextHolder.getCollection();
+        loopContextHolder.initLoopCounters(collection.size());
 
-        LinkedList<Integer> list = new LinkedList<>();
-        for (int i = 0; i < collection.size(); i++) {
-            list.addFirst(i);
-        }
         int executedNumber = 0;
-        LinkedList<Integer> failEndList = new LinkedList<>();
         for (StateInstance stateInstance : forwardStateList) {
             if (!stateInstance.isIgnoreStatus()) {
+                int loopCounter = reloadLoopCounter(stateInstance.getName());
                 if (ExecutionStatus.SU.equals(stateInstance.getStatus())) {
                     executedNumber += 1;
+                    loopContextHolder.markExecuted(loopCounter);
                 } else {
                     stateInstance.setIgnoreStatus(true);
-                    failEndList.addFirst(reloadLoopCounter(stateInstance.getName()));
+                    loopContextHolder.markForward(loopCounter);
                 }
-                list.remove(Integer.valueOf(reloadLoopCounter(stateInstance.getName())));
             }
         }
 
-        loopContextHolder.getLoopCounterStack().addAll(list);
-        loopContextHolder.getForwardCounterStack().addAll(failEndList);
         loopContextHolder.getNrOfInstances().set(collection.size());
         loopContextHolder.getNrOfCompletedInstances().set(executedNumber);
     }
@@ -250,11 +240,7 @@ public class LoopTaskUtils {
     }
 
     public static int acquireNextLoopCounter(ProcessContext context) {
-        try {
-            return LoopContextHolder.getCurrent(context, true).getLoopCounterStack().pop();
-        } catch (EmptyStackException e) {
-            return -1;
-        }
+        return LoopContextHolder.getCurrent(context, true).pollLoopCounter();
     }
 
     /**
@@ -20,9 +20,13 @@ import io.seata.saga.engine.expression.Expression;
 import io.seata.saga.engine.expression.ExpressionFactory;
 import io.seata.saga.engine.expression.ExpressionFactoryManager;
 import io.seata.saga.engine.expression.seq.SequenceExpression;
+import io.seata.saga.statelang.domain.State;
 import io.seata.saga.statelang.domain.StateInstance;
+import io.seata.saga.statelang.domain.StateMachine;
 import io.seata.saga.statelang.domain.impl.AbstractTaskState;
 import io.seata.saga.statelang.domain.impl.StateInstanceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
@@ -38,6 +42,8 @@ import java.util.Map;
  */
 public class ParameterUtils {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParameterUtils.class);
+
     public static List<Object> createInputParams(ExpressionFactoryManager expressionFactoryManager,
                                                  StateInstanceImpl stateInstance,
                                                  AbstractTaskState serviceTaskState, Object variablesFrom) {
@@ -51,10 +57,7 @@ public class ParameterUtils {
             synchronized (serviceTaskState) {
                 inputExpressions = serviceTaskState.getInputExpressions();
                 if (inputExpressions == null) {
-                    inputExpressions = new ArrayList<>(inputAssignments.size());
-                    for (Object inputAssignment : inputAssignments) {
-                        inputExpressions.add(createValueExpression(expressionFactoryManager, inputAssignment));
-                    }
+                    inputExpressions = createInputExpressions(expressionFactoryManager, inputAssignments);
                 }
                 serviceTaskState.setInputExpressions(inputExpressions);
             }
@@ -80,22 +83,74 @@ public class ParameterUtils {
             synchronized (serviceTaskState) {
                 outputExpressions = serviceTaskState.getOutputExpressions();
                 if (outputExpressions == null) {
-                    outputExpressions = new LinkedHashMap<>(outputAssignments.size());
-                    for (Map.Entry<String, Object> entry : outputAssignments.entrySet()) {
-                        outputExpressions.put(entry.getKey(),
-                                createValueExpression(expressionFactoryManager, entry.getValue()));
-                    }
+                    outputExpressions = createOutputExpressions(expressionFactoryManager, outputAssignments);
                 }
                 serviceTaskState.setOutputExpressions(outputExpressions);
             }
         }
-        Map<String, Object> outputValues = new LinkedHashMap<>(outputExpressions.size());
-        for (String paramName : outputExpressions.keySet()) {
-            outputValues.put(paramName, getValue(outputExpressions.get(paramName), variablesFrom, null));
+        Map<String, Object> outputValues = new LinkedHashMap<>(initialCapacity(outputExpressions.size()));
+        for (Map.Entry<String, Object> entry : outputExpressions.entrySet()) {
+            outputValues.put(entry.getKey(), getValue(entry.getValue(), variablesFrom, null));
         }
         return outputValues;
     }
 
+    /**
+     * Create the input/output expressions of all the task states of the state machine in advance,
+     * so the first executions do not parse them under the state lock.
+     *
+     * @param expressionFactoryManager the expression factory manager
+     * @param stateMachine             the state machine
+     */
+    public static void compileExpressions(ExpressionFactoryManager expressionFactoryManager,
+                                          StateMachine stateMachine) {
+        if (expressionFactoryManager == null || stateMachine.getStates() == null) {
+            return;
+        }
+        for (State state : stateMachine.getStates().values()) {
+            if (!(state instanceof AbstractTaskState)) {
+                continue;
+            }
+            AbstractTaskState taskState = (AbstractTaskState)state;
+            try {
+                synchronized (taskState) {
+                    if (taskState.getInputExpressions() == null && CollectionUtils.isNotEmpty(taskState.getInput())) {
+                        taskState.setInputExpressions(createInputExpressions(expressionFactoryManager, taskState.getInput()));
+                    }
+                    if (taskState.getOutputExpressions() == null && CollectionUtils.isNotEmpty(taskState.getOutput())) {
+                        taskState.setOutputExpressions(createOutputExpressions(expressionFactoryManager, taskState.getOutput()));
+                    }
+                }
+            } catch (RuntimeException e) {
+                // keep the lazy creation, the error is raised when the state is executed
+                LOGGER.warn("Create expressions of State[{}] in StateMachine[{}] failed: {}", state.getName(),
+                        stateMachine.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private static List<Object> createInputExpressions(ExpressionFactoryManager expressionFactoryManager,
+                                                       List<Object> inputAssignments) {
+        List<Object> inputExpressions = new ArrayList<>(inputAssignments.size());
+        for (Object inputAssignment : inputAssignments) {
+            inputExpressions.add(createValueExpression(expressionFactoryManager, inputAssignment));
+        }
+        return inputExpressions;
+    }
+
+    private static Map<String, Object> createOutputExpressions(ExpressionFactoryManager expressionFactoryManager,
+                                                               Map<String, Object> outputAssignments) {
+        Map<String, Object> outputExpressions = new LinkedHashMap<>(initialCapacity(outputAssignments.size()));
+        for (Map.Entry<String, Object> entry : outputAssignments.entrySet()) {
+            outputExpressions.put(entry.getKey(), createValueExpression(expressionFactoryManager, entry.getValue()));
+        }
+        return outputExpressions;
+    }
+
+    private static int initialCapacity(int size) {
+        return (int)(size / 0.75f) + 1;
+    }
+
     public static Object getValue(Object valueExpression, Object variablesFrom, StateInstance stateInstance) {
         if (valueExpression instanceof Expression) {
             Object value = ((Expression)valueExpression).getValue(variablesFrom);
@@ -106,7 +161,7 @@ public class ParameterUtils {
             return value;
         } else if (valueExpression instanceof Map) {
             Map<String, Object> mapValueExpression = (Map<String, Object>)valueExpression;
-            Map<String, Object> mapValue = new LinkedHashMap<>();
+            Map<String, Object> mapValue = new LinkedHashMap<>(initialCapacity(mapValueExpression.size()));
             mapValueExpression.forEach((key, value) -> {
                 value = getValue(value, variablesFrom, stateInstance);
                 if (value != null) {
@@ -25,6 +25,8 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
+import io.seata.saga.engine.expression.ExpressionFactoryManager;
+import io.seata.saga.engine.pcext.utils.ParameterUtils;
 import io.seata.saga.engine.repo.StateMachineRepository;
 import io.seata.saga.engine.sequence.SeqGenerator;
 import io.seata.saga.engine.sequence.SpringJvmUUIDSeqGenerator;
@@ -52,6 +54,7 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
     private String charset = "UTF-8";
     private String defaultTenantId;
     private String jsonParserName = DomainConstants.DEFAULT_JSON_PARSER;
+    private ExpressionFactoryManager expressionFactoryManager;
 
     @Override
     public StateMachine getStateMachineById(String stateMachineId) {
@@ -120,6 +123,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
         String stateMachineName = stateMachine.getName();
         String tenantId = stateMachine.getTenantId();
 
+        ParameterUtils.compileExpressions(expressionFactoryManager, stateMachine);
+
         if (stateLangStore != null) {
             StateMachine oldStateMachine = stateLangStore.getLastVersionStateMachine(stateMachineName, tenantId);
 
@@ -218,6 +223,10 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
         this.jsonParserName = jsonParserName;
     }
 
+    public void setExpressionFactoryManager(ExpressionFactoryManager expressionFactoryManager) {
+        this.expressionFactoryManager = expressionFactoryManager;
+    }
+
     private static class Item {
 
         private StateMachine value;
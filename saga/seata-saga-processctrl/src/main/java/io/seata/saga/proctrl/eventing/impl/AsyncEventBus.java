@@ -16,7 +16,12 @@
 package io.seata.saga.proctrl.eventing.impl;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.util.CollectionUtils;
@@ -27,6 +32,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Asynchronized EventBus
+ * <p>
+ * Besides dispatching the steps, it keeps the number of steps waiting for a thread (queue depth)
+ * and the latency of the executed steps, so the async executor can be sized from real numbers.
  *
  * @author lorne.cl
  */
@@ -34,7 +42,17 @@ public class AsyncEventBus extends AbstractEventBus<ProcessContext> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncEventBus.class);
 
-    private ThreadPoolExecutor threadPoolExecutor;
+    private Executor executor;
+
+    private BiConsumer<ProcessContext, Throwable> exceptionHandler;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final LongAdder stepCount = new LongAdder();
+
+    private final LongAdder stepTotalNanos = new LongAdder();
+
+    private final LongAccumulator stepMaxNanos = new LongAccumulator(Long::max, 0L);
 
     @Override
     public boolean offer(ProcessContext context) throws FrameworkException {
@@ -47,12 +65,87 @@ public class AsyncEventBus extends AbstractEventBus<ProcessContext> {
         }
 
         for (EventConsumer eventConsumer : eventConsumers) {
-            threadPoolExecutor.execute(() -> eventConsumer.process(context));
+            queueDepth.incrementAndGet();
+            try {
+                executor.execute(() -> process(eventConsumer, context));
+            } catch (RuntimeException e) {
+                queueDepth.decrementAndGet();
+                throw e;
+            }
         }
         return true;
     }
 
+    private void process(EventConsumer eventConsumer, ProcessContext context) {
+        queueDepth.decrementAndGet();
+        long start = System.nanoTime();
+        try {
+            eventConsumer.process(context);
+        } catch (RuntimeException | Error e) {
+            if (exceptionHandler != null) {
+                exceptionHandler.accept(context, e);
+            }
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            stepCount.increment();
+            stepTotalNanos.add(elapsed);
+            stepMaxNanos.accumulate(elapsed);
+        }
+    }
+
+    /**
+     * Gets the number of steps submitted but not started yet.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Gets the number of executed steps.
+     *
+     * @return the step count
+     */
+    public long getStepCount() {
+        return stepCount.sum();
+    }
+
+    /**
+     * Gets the average step latency in nanoseconds.
+     *
+     * @return the average step latency
+     */
+    public long getAverageStepNanos() {
+        long count = stepCount.sum();
+        return count == 0 ? 0 : stepTotalNanos.sum() / count;
+    }
+
+    /**
+     * Gets the max step latency in nanoseconds.
+     *
+     * @return the max step latency
+     */
+    public long getMaxStepNanos() {
+        return stepMaxNanos.get();
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
     public void setThreadPoolExecutor(ThreadPoolExecutor threadPoolExecutor) {
-        this.threadPoolExecutor = threadPoolExecutor;
+        this.executor = threadPoolExecutor;
+    }
+
+    /**
+     * Sets the handler of the exceptions thrown out of a step, the state machine of the context
+     * will not go on, so it is the last chance to clean up.
+     *
+     * @param exceptionHandler the exception handler
+     */
+    public void setExceptionHandler(BiConsumer<ProcessContext, Throwable> exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
     }
-}
\ No newline at end of file
+}
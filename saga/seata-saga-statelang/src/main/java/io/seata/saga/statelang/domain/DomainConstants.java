@@ -71,6 +71,7 @@ public interface DomainConstants {
     String VAR_NAME_IS_ASYNC_EXECUTION = "_is_async_execution_";
     String VAR_NAME_IS_LOOP_STATE = "_is_loop_state_";
     String VAR_NAME_CURRENT_LOOP_CONTEXT_HOLDER = "_current_loop_context_holder_";
+    String VAR_NAME_ASYNC_PERMIT = "_async_permit_";
     //endregion
 
     // region of loop
@@ -15,6 +15,8 @@
  */
 package io.seata.saga.statelang.domain.impl;
 
+import javax.script.CompiledScript;
+
 import io.seata.saga.statelang.domain.DomainConstants;
 import io.seata.saga.statelang.domain.ScriptTaskState;
 
@@ -31,6 +33,16 @@ public class ScriptTaskStateImpl extends AbstractTaskState implements ScriptTask
 
     private String scriptContent;
 
+    /**
+     * the script compiled by the engine of the script type, compiled on first execution
+     */
+    private volatile CompiledScript compiledScript;
+
+    /**
+     * the scripts compiled per thread, used when the engine of the script type is not thread safe
+     */
+    private volatile ThreadLocal<CompiledScript> threadCompiledScript = new ThreadLocal<>();
+
     public ScriptTaskStateImpl() {
         setType(DomainConstants.STATE_TYPE_SCRIPT_TASK);
     }
@@ -51,5 +63,23 @@ public class ScriptTaskStateImpl extends AbstractTaskState implements ScriptTask
 
     public void setScriptContent(String scriptContent) {
         this.scriptContent = scriptContent;
+        this.compiledScript = null;
+        this.threadCompiledScript = new ThreadLocal<>();
+    }
+
+    public CompiledScript getCompiledScript() {
+        return compiledScript;
+    }
+
+    public void setCompiledScript(CompiledScript compiledScript) {
+        this.compiledScript = compiledScript;
+    }
+
+    public CompiledScript getThreadCompiledScript() {
+        return threadCompiledScript.get();
+    }
+
+    public void setThreadCompiledScript(CompiledScript compiledScript) {
+        this.threadCompiledScript.set(compiledScript);
     }
-}
\ No newline at end of file
+}
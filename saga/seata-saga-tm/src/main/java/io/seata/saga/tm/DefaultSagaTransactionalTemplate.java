@@ -15,12 +15,20 @@
  */
 package io.seata.saga.tm;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
+import io.seata.core.exception.RmTransactionException;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.exception.TransactionExceptionCode;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
+import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.transaction.BranchReportRequest;
+import io.seata.core.protocol.transaction.BranchReportResponse;
 import io.seata.core.rpc.netty.RmNettyRemotingClient;
 import io.seata.core.rpc.ShutdownHook;
 import io.seata.core.rpc.netty.TmNettyRemotingClient;
@@ -123,6 +131,34 @@ public class DefaultSagaTransactionalTemplate
         DefaultResourceManager.get().branchReport(BranchType.SAGA, xid, branchId, status, applicationData);
     }
 
+    @Override
+    public void branchReport(String xid, Map<Long, BranchStatus> branchStatuses) throws TransactionException {
+        List<BranchReportRequest> requests = new ArrayList<>(branchStatuses.size());
+        for (Map.Entry<Long, BranchStatus> entry : branchStatuses.entrySet()) {
+            BranchReportRequest request = new BranchReportRequest();
+            request.setXid(xid);
+            request.setBranchId(entry.getKey());
+            request.setStatus(entry.getValue());
+            request.setBranchType(BranchType.SAGA);
+            requests.add(request);
+        }
+        try {
+            // one merged request for all the branches
+            List<Object> responses = RmNettyRemotingClient.getInstance().sendSyncRequests(requests);
+            for (Object result : responses) {
+                BranchReportResponse response = (BranchReportResponse) result;
+                if (response.getResultCode() == ResultCode.Failed) {
+                    throw new RmTransactionException(response.getTransactionExceptionCode(),
+                        String.format("Response[ %s ]", response.getMsg()));
+                }
+            }
+        } catch (TimeoutException toe) {
+            throw new RmTransactionException(TransactionExceptionCode.IO, "RPC Timeout", toe);
+        } catch (RuntimeException rex) {
+            throw new RmTransactionException(TransactionExceptionCode.BranchReportFailed, "Runtime", rex);
+        }
+    }
+
     protected void triggerBeforeBegin() {
         for (TransactionHook hook : getCurrentHooks()) {
             try {
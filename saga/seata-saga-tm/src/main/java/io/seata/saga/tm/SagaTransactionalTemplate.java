@@ -15,6 +15,8 @@
  */
 package io.seata.saga.tm;
 
+import java.util.Map;
+
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.GlobalStatus;
@@ -48,6 +50,29 @@ public interface SagaTransactionalTemplate {
     void branchReport(String xid, long branchId, BranchStatus status, String applicationData)
         throws TransactionException;
 
+    /**
+     * report the status of several branches of a global transaction together
+     *
+     * @param xid            the xid
+     * @param branchStatuses the branch statuses by branch id
+     * @throws TransactionException the first failure, the other branches are still reported
+     */
+    default void branchReport(String xid, Map<Long, BranchStatus> branchStatuses) throws TransactionException {
+        TransactionException failure = null;
+        for (Map.Entry<Long, BranchStatus> entry : branchStatuses.entrySet()) {
+            try {
+                branchReport(xid, entry.getKey(), entry.getValue(), null);
+            } catch (TransactionException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     void triggerAfterCompletion();
 
     void cleanUp();
@@ -60,6 +60,10 @@ public class SeataProperties {
      * Specifies beans that won't be scanned in the GlobalTransactionScanner
      */
     private String[] excludesForScanning = {};
+    /**
+     * Whether scan only the beans in the transactional class index generated at build time
+     */
+    private boolean scanIndexEnabled = false;
     /**
      * Specifies which datasource bean are not eligible for auto-proxying
      */
@@ -127,6 +131,15 @@ public class SeataProperties {
         return this;
     }
 
+    public boolean isScanIndexEnabled() {
+        return scanIndexEnabled;
+    }
+
+    public SeataProperties setScanIndexEnabled(boolean scanIndexEnabled) {
+        this.scanIndexEnabled = scanIndexEnabled;
+        return this;
+    }
+
     public String[] getExcludesForAutoProxying() {
         return excludesForAutoProxying;
     }
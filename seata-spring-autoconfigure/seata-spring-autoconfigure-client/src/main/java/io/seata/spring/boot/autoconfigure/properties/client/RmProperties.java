@@ -25,7 +25,11 @@ import static io.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_WRITE_BEHIND_ENABLE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_XA_HELD_IDLE_TIMEOUT;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_XA_HOLD_WAIT_TIMEOUT;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_XA_MAX_HELD_CONNECTIONS;
 import static io.seata.common.DefaultValues.DEFAULT_SAGA_JSON_PARSER;
 import static io.seata.common.DefaultValues.DEFAULT_TABLE_META_CHECKER_INTERVAL;
 import static io.seata.common.DefaultValues.TCC_ACTION_INTERCEPTOR_ORDER;
@@ -42,7 +46,11 @@ public class RmProperties {
     private boolean tableMetaCheckEnable = DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
     private long tableMetaCheckerInterval = DEFAULT_TABLE_META_CHECKER_INTERVAL;
     private boolean reportSuccessEnable = DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
+    private int xaMaxHeldConnections = DEFAULT_CLIENT_XA_MAX_HELD_CONNECTIONS;
+    private long xaHoldWaitTimeout = DEFAULT_CLIENT_XA_HOLD_WAIT_TIMEOUT;
+    private long xaHeldIdleTimeout = DEFAULT_CLIENT_XA_HELD_IDLE_TIMEOUT;
     private boolean sagaBranchRegisterEnable = DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
+    private boolean sagaWriteBehindEnable = DEFAULT_CLIENT_SAGA_WRITE_BEHIND_ENABLE;
     private String sagaJsonParser = DEFAULT_SAGA_JSON_PARSER;
     private boolean sagaRetryPersistModeUpdate = DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
     private boolean sagaCompensatePersistModeUpdate = DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
@@ -85,6 +93,33 @@ public class RmProperties {
         return this;
     }
 
+    public int getXaMaxHeldConnections() {
+        return xaMaxHeldConnections;
+    }
+
+    public RmProperties setXaMaxHeldConnections(int xaMaxHeldConnections) {
+        this.xaMaxHeldConnections = xaMaxHeldConnections;
+        return this;
+    }
+
+    public long getXaHoldWaitTimeout() {
+        return xaHoldWaitTimeout;
+    }
+
+    public RmProperties setXaHoldWaitTimeout(long xaHoldWaitTimeout) {
+        this.xaHoldWaitTimeout = xaHoldWaitTimeout;
+        return this;
+    }
+
+    public long getXaHeldIdleTimeout() {
+        return xaHeldIdleTimeout;
+    }
+
+    public RmProperties setXaHeldIdleTimeout(long xaHeldIdleTimeout) {
+        this.xaHeldIdleTimeout = xaHeldIdleTimeout;
+        return this;
+    }
+
     public boolean isSagaBranchRegisterEnable() {
         return sagaBranchRegisterEnable;
     }
@@ -93,6 +128,14 @@ public class RmProperties {
         this.sagaBranchRegisterEnable = sagaBranchRegisterEnable;
     }
 
+    public boolean isSagaWriteBehindEnable() {
+        return sagaWriteBehindEnable;
+    }
+
+    public void setSagaWriteBehindEnable(boolean sagaWriteBehindEnable) {
+        this.sagaWriteBehindEnable = sagaWriteBehindEnable;
+    }
+
     public String getSagaJsonParser() {
         return sagaJsonParser;
     }
@@ -82,6 +82,8 @@ public interface StarterConstants {
     String STORE_REDIS_SENTINEL_PREFIX = STORE_REDIS_PREFIX + ".sentinel";
 
     String SESSION_PREFIX = SERVER_PREFIX + ".session";
+    String SERVER_LOCK_PREFIX = SERVER_PREFIX + ".lock";
+    String SERVER_EVENT_PREFIX = SERVER_PREFIX + ".event";
 
     String REGEX_SPLIT_CHAR = ";";
 
@@ -16,6 +16,8 @@
 package io.seata.spring.boot.autoconfigure;
 
 import io.seata.spring.boot.autoconfigure.properties.server.MetricsProperties;
+import io.seata.spring.boot.autoconfigure.properties.server.ServerEventProperties;
+import io.seata.spring.boot.autoconfigure.properties.server.ServerLockProperties;
 import io.seata.spring.boot.autoconfigure.properties.server.ServerProperties;
 import io.seata.spring.boot.autoconfigure.properties.server.ServerRecoveryProperties;
 import io.seata.spring.boot.autoconfigure.properties.server.ServerUndoProperties;
@@ -31,6 +33,8 @@ import org.springframework.core.env.ConfigurableEnvironment;
 
 import static io.seata.spring.boot.autoconfigure.StarterConstants.METRICS_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.PROPERTY_BEAN_MAP;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_EVENT_PREFIX;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_LOCK_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_RECOVERY_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_UNDO_PREFIX;
@@ -55,6 +59,8 @@ public class SeataServerEnvironmentPostProcessor implements EnvironmentPostProce
         PROPERTY_BEAN_MAP.put(SERVER_PREFIX, ServerProperties.class);
         PROPERTY_BEAN_MAP.put(SERVER_UNDO_PREFIX, ServerUndoProperties.class);
         PROPERTY_BEAN_MAP.put(SERVER_RECOVERY_PREFIX, ServerRecoveryProperties.class);
+        PROPERTY_BEAN_MAP.put(SERVER_LOCK_PREFIX, ServerLockProperties.class);
+        PROPERTY_BEAN_MAP.put(SERVER_EVENT_PREFIX, ServerEventProperties.class);
         PROPERTY_BEAN_MAP.put(METRICS_PREFIX, MetricsProperties.class);
         PROPERTY_BEAN_MAP.put(STORE_PREFIX, StoreProperties.class);
         PROPERTY_BEAN_MAP.put(STORE_SESSION_PREFIX, StoreProperties.Session.class);
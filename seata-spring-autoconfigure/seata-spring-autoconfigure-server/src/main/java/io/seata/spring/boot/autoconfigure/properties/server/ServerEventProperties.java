@@ -0,0 +1,60 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.server;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EVENT_BUFFER_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EVENT_OVERFLOW_POLICY;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_EVENT_PREFIX;
+
+/**
+ * server transaction event bus properties
+ */
+@Component
+@ConfigurationProperties(prefix = SERVER_EVENT_PREFIX)
+public class ServerEventProperties {
+
+    /**
+     * transaction event ring buffer size, rounded up to a power of two
+     */
+    private Integer bufferSize = DEFAULT_SERVER_EVENT_BUFFER_SIZE;
+
+    /**
+     * what to do when the buffer is full, block: wait for a free slot, no event is lost, drop: drop and count the
+     * event, the subscribers miss it
+     */
+    private String overflowPolicy = DEFAULT_SERVER_EVENT_OVERFLOW_POLICY;
+
+    public Integer getBufferSize() {
+        return bufferSize;
+    }
+
+    public ServerEventProperties setBufferSize(Integer bufferSize) {
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public ServerEventProperties setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+}
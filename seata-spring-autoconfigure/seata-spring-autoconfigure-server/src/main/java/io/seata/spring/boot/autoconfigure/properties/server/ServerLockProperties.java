@@ -0,0 +1,74 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.server;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_LOCK_MAX_WAITERS;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_LOCK_WAIT_ENABLE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_LOCK_WAIT_TIMEOUT;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.SERVER_LOCK_PREFIX;
+
+/**
+ * server lock wait properties
+ */
+@Component
+@ConfigurationProperties(prefix = SERVER_LOCK_PREFIX)
+public class ServerLockProperties {
+
+    /**
+     * park conflicting branch registrations on the TC instead of failing them at once
+     */
+    private Boolean waitEnable = DEFAULT_SERVER_LOCK_WAIT_ENABLE;
+
+    /**
+     * max milliseconds a branch registration waits for its row locks
+     */
+    private Integer waitTimeout = DEFAULT_SERVER_LOCK_WAIT_TIMEOUT;
+
+    /**
+     * max branch registrations waiting at the same time
+     */
+    private Integer maxWaiters = DEFAULT_SERVER_LOCK_MAX_WAITERS;
+
+    public Boolean getWaitEnable() {
+        return waitEnable;
+    }
+
+    public ServerLockProperties setWaitEnable(Boolean waitEnable) {
+        this.waitEnable = waitEnable;
+        return this;
+    }
+
+    public Integer getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public ServerLockProperties setWaitTimeout(Integer waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        return this;
+    }
+
+    public Integer getMaxWaiters() {
+        return maxWaiters;
+    }
+
+    public ServerLockProperties setMaxWaiters(Integer maxWaiters) {
+        this.maxWaiters = maxWaiters;
+        return this;
+    }
+}
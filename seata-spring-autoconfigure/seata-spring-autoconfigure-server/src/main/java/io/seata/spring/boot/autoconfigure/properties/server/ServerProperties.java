@@ -32,6 +32,7 @@ public class ServerProperties {
     private Duration maxCommitRetryTimeout = DurationUtil.DEFAULT_DURATION;
     private Duration maxRollbackRetryTimeout = DurationUtil.DEFAULT_DURATION;
     private Boolean rollbackRetryTimeoutUnlockEnable = false;
+    private Boolean xaAsyncCommitEnable = false;
     private Boolean enableCheckAuth = true;
     private Integer retryDeadThreshold = 130000;
     private Integer servicePort;
@@ -63,6 +64,15 @@ public class ServerProperties {
         return this;
     }
 
+    public Boolean getXaAsyncCommitEnable() {
+        return xaAsyncCommitEnable;
+    }
+
+    public ServerProperties setXaAsyncCommitEnable(Boolean xaAsyncCommitEnable) {
+        this.xaAsyncCommitEnable = xaAsyncCommitEnable;
+        return this;
+    }
+
     public Boolean getEnableCheckAuth() {
         return enableCheckAuth;
     }
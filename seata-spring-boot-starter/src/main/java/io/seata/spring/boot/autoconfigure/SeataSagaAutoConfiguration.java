@@ -15,6 +15,7 @@
  */
 package io.seata.spring.boot.autoconfigure;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -54,6 +55,11 @@ public class SeataSagaAutoConfiguration {
     public static final String SAGA_DATA_SOURCE_BEAN_NAME = "seataSagaDataSource";
     public static final String SAGA_ASYNC_THREAD_POOL_EXECUTOR_BEAN_NAME = "seataSagaAsyncThreadPoolExecutor";
     public static final String SAGA_REJECTED_EXECUTION_HANDLER_BEAN_NAME = "seataSagaRejectedExecutionHandler";
+    /**
+     * The optional executor of the async service invocations, they share the async thread pool of the steps
+     * unless an executor bean of this name is defined or virtual threads are enabled.
+     */
+    public static final String SAGA_SERVICE_INVOKE_EXECUTOR_BEAN_NAME = "seataSagaServiceInvokeExecutor";
 
     /**
      * Create state machine config bean.
@@ -66,6 +72,7 @@ public class SeataSagaAutoConfiguration {
             DataSource dataSource,
             @Qualifier(SAGA_DATA_SOURCE_BEAN_NAME) @Autowired(required = false) DataSource sagaDataSource,
             @Qualifier(SAGA_ASYNC_THREAD_POOL_EXECUTOR_BEAN_NAME) @Autowired(required = false) ThreadPoolExecutor threadPoolExecutor,
+            @Qualifier(SAGA_SERVICE_INVOKE_EXECUTOR_BEAN_NAME) @Autowired(required = false) Executor serviceInvokeExecutor,
             @Value("${spring.application.name:}") String applicationId,
             @Value("${seata.tx-service-group:}") String txServiceGroup) {
         DbStateMachineConfig config = new DbStateMachineConfig();
@@ -76,6 +83,9 @@ public class SeataSagaAutoConfiguration {
         if (threadPoolExecutor != null) {
             config.setThreadPoolExecutor(threadPoolExecutor);
         }
+        if (serviceInvokeExecutor != null) {
+            config.setServiceInvokeExecutor(serviceInvokeExecutor);
+        }
 
         return config;
     }
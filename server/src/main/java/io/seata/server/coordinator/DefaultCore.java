@@ -32,6 +32,8 @@ import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
 import io.seata.core.rpc.RemotingServer;
 import io.seata.server.event.EventBusManager;
+import io.seata.server.metrics.MeterIdConstants;
+import io.seata.server.metrics.MetricsManager;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
 import io.seata.server.session.SessionHelper;
@@ -97,8 +99,13 @@ public class DefaultCore implements Core {
     @Override
     public Long branchRegister(BranchType branchType, String resourceId, String clientId, String xid,
                                String applicationData, String lockKeys) throws TransactionException {
-        return getCore(branchType).branchRegister(branchType, resourceId, clientId, xid,
-            applicationData, lockKeys);
+        long start = System.nanoTime();
+        try {
+            return getCore(branchType).branchRegister(branchType, resourceId, clientId, xid,
+                applicationData, lockKeys);
+        } finally {
+            MetricsManager.get().recordElapsed(MeterIdConstants.TIMER_BRANCH_REGISTER, start);
+        }
     }
 
     @Override
@@ -115,12 +122,22 @@ public class DefaultCore implements Core {
 
     @Override
     public BranchStatus branchCommit(GlobalSession globalSession, BranchSession branchSession) throws TransactionException {
-        return getCore(branchSession.getBranchType()).branchCommit(globalSession, branchSession);
+        long start = System.nanoTime();
+        try {
+            return getCore(branchSession.getBranchType()).branchCommit(globalSession, branchSession);
+        } finally {
+            MetricsManager.get().recordElapsed(MeterIdConstants.TIMER_BRANCH_COMMIT, start);
+        }
     }
 
     @Override
     public BranchStatus branchRollback(GlobalSession globalSession, BranchSession branchSession) throws TransactionException {
-        return getCore(branchSession.getBranchType()).branchRollback(globalSession, branchSession);
+        long start = System.nanoTime();
+        try {
+            return getCore(branchSession.getBranchType()).branchRollback(globalSession, branchSession);
+        } finally {
+            MetricsManager.get().recordElapsed(MeterIdConstants.TIMER_BRANCH_ROLLBACK, start);
+        }
     }
 
     @Override
@@ -15,8 +15,16 @@
  */
 package io.seata.server.event;
 
+import io.seata.config.Configuration;
+import io.seata.config.ConfigurationFactory;
 import io.seata.core.event.EventBus;
-import io.seata.core.event.GuavaEventBus;
+import io.seata.core.event.EventOverflowPolicy;
+import io.seata.core.event.RingBufferEventBus;
+
+import static io.seata.common.ConfigurationKeys.SERVER_EVENT_BUFFER_SIZE;
+import static io.seata.common.ConfigurationKeys.SERVER_EVENT_OVERFLOW_POLICY;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EVENT_BUFFER_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_EVENT_OVERFLOW_POLICY;
 
 /**
  * Manager hold the singleton event bus instance.
@@ -25,7 +33,14 @@ import io.seata.core.event.GuavaEventBus;
  */
 public class EventBusManager {
     private static class SingletonHolder {
-        private static EventBus INSTANCE = new GuavaEventBus("tc",true);
+        private static EventBus INSTANCE = createEventBus();
+    }
+
+    private static EventBus createEventBus() {
+        Configuration config = ConfigurationFactory.getInstance();
+        return new RingBufferEventBus("tc",
+            config.getInt(SERVER_EVENT_BUFFER_SIZE, DEFAULT_SERVER_EVENT_BUFFER_SIZE),
+            EventOverflowPolicy.get(config.getConfig(SERVER_EVENT_OVERFLOW_POLICY, DEFAULT_SERVER_EVENT_OVERFLOW_POLICY)));
     }
 
     public static EventBus get() {
@@ -18,17 +18,32 @@ package io.seata.server.lock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+
 import io.seata.common.XID;
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
+import io.seata.config.Configuration;
+import io.seata.config.ConfigurationFactory;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.lock.Locker;
 import io.seata.core.lock.RowLock;
 import io.seata.core.model.LockStatus;
+import io.seata.server.metrics.MeterIdConstants;
+import io.seata.server.metrics.MetricsManager;
 import io.seata.server.session.BranchSession;
+import io.seata.server.session.GlobalSession;
+import io.seata.server.session.SessionHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static io.seata.common.ConfigurationKeys.SERVER_LOCK_MAX_WAITERS;
+import static io.seata.common.ConfigurationKeys.SERVER_LOCK_WAIT_ENABLE;
+import static io.seata.common.ConfigurationKeys.SERVER_LOCK_WAIT_TIMEOUT;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_LOCK_MAX_WAITERS;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_LOCK_WAIT_ENABLE;
+import static io.seata.common.DefaultValues.DEFAULT_SERVER_LOCK_WAIT_TIMEOUT;
+
 /**
  * The type Abstract lock manager.
  *
@@ -41,6 +56,35 @@ public abstract class AbstractLockManager implements LockManager {
      */
     protected static final Logger LOGGER = LoggerFactory.getLogger(AbstractLockManager.class);
 
+    /**
+     * The lock wait queue, parks the branches which conflict on row locks until the locks are released.
+     */
+    protected final LockWaitQueue lockWaitQueue;
+
+    /**
+     * Instantiates a new Abstract lock manager.
+     */
+    public AbstractLockManager() {
+        Configuration config = ConfigurationFactory.getInstance();
+        int waitTimeout = config.getInt(SERVER_LOCK_WAIT_TIMEOUT, DEFAULT_SERVER_LOCK_WAIT_TIMEOUT);
+        this.lockWaitQueue = new LockWaitQueue(
+            config.getBoolean(SERVER_LOCK_WAIT_ENABLE, DEFAULT_SERVER_LOCK_WAIT_ENABLE), waitTimeout,
+            config.getInt(SERVER_LOCK_MAX_WAITERS, DEFAULT_SERVER_LOCK_MAX_WAITERS));
+        if (lockWaitQueue.isEnabled() && waitTimeout > lockWaitQueue.getWaitTimeoutMills()) {
+            LOGGER.warn("{}={} exceeds the global session lock timeout, capped at {}ms", SERVER_LOCK_WAIT_TIMEOUT,
+                waitTimeout, lockWaitQueue.getWaitTimeoutMills());
+        }
+    }
+
+    /**
+     * Instantiates a new Abstract lock manager.
+     *
+     * @param lockWaitQueue the lock wait queue
+     */
+    protected AbstractLockManager(LockWaitQueue lockWaitQueue) {
+        this.lockWaitQueue = lockWaitQueue;
+    }
+
     @Override
     public boolean acquireLock(BranchSession branchSession) throws TransactionException {
         return acquireLock(branchSession, true, false);
@@ -62,7 +106,45 @@ public abstract class AbstractLockManager implements LockManager {
             // no lock
             return true;
         }
-        return getLocker(branchSession).acquireLock(locks, autoCommit, skipCheckLock);
+        long start = System.nanoTime();
+        try {
+            Locker locker = getLocker(branchSession);
+            // queue up behind the branches already waiting for these rows, keeps the grants in FIFO order,
+            // unless the global transaction holds them already: its waiters can't be served before it ends
+            if ((!lockWaitQueue.hasWaiters(locks) || isLockHolder(branchSession, locks))
+                && locker.acquireLock(locks, autoCommit, skipCheckLock)) {
+                return true;
+            }
+            return lockWaitQueue.await(locks, () -> locker.acquireLock(locks, autoCommit, skipCheckLock));
+        } finally {
+            MetricsManager.get().recordElapsed(MeterIdConstants.TIMER_LOCK_ACQUIRE, start);
+        }
+    }
+
+    /**
+     * Whether the other branches of the global transaction hold one of the row locks.
+     *
+     * @param branchSession the branch session
+     * @param locks         the row locks of the branch
+     * @return the boolean
+     */
+    protected boolean isLockHolder(BranchSession branchSession, List<RowLock> locks) {
+        GlobalSession globalSession = SessionHolder.findGlobalSession(branchSession.getXid());
+        if (globalSession == null) {
+            return false;
+        }
+        Set<String> rowKeys = LockWaitQueue.getRowKeys(locks);
+        for (BranchSession heldBranchSession : globalSession.getBranchSessions()) {
+            if (heldBranchSession.getBranchId() == branchSession.getBranchId()) {
+                continue;
+            }
+            for (RowLock heldLock : collectRowLocks(heldBranchSession)) {
+                if (rowKeys.contains(LockWaitQueue.getRowKey(heldLock))) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     @Override
@@ -76,6 +158,8 @@ public abstract class AbstractLockManager implements LockManager {
         } catch (Exception t) {
             LOGGER.error("unLock error, branchSession:{}", branchSession, t);
             return false;
+        } finally {
+            lockWaitQueue.signal(locks);
         }
     }
 
@@ -100,6 +184,30 @@ public abstract class AbstractLockManager implements LockManager {
         getLocker().cleanAllLocks();
     }
 
+    /**
+     * Wake up the branches waiting for the row locks of the branch session.
+     *
+     * @param branchSession the branch session
+     */
+    protected void notifyLockReleased(BranchSession branchSession) {
+        if (lockWaitQueue.getWaiterCount() > 0) {
+            lockWaitQueue.signal(collectRowLocks(branchSession));
+        }
+    }
+
+    /**
+     * Wake up the branches waiting for the row locks of the global session.
+     *
+     * @param globalSession the global session
+     */
+    protected void notifyLockReleased(GlobalSession globalSession) {
+        if (lockWaitQueue.getWaiterCount() > 0) {
+            for (BranchSession branchSession : globalSession.getBranchSessions()) {
+                lockWaitQueue.signal(collectRowLocks(branchSession));
+            }
+        }
+    }
+
     /**
      * Gets locker.
      *
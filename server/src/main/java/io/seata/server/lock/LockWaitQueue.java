@@ -0,0 +1,302 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.seata.common.util.CollectionUtils;
+import io.seata.core.lock.RowLock;
+
+/**
+ * The server side lock wait queue.
+ * <p>
+ * When a branch fails to acquire its row locks, instead of answering the RM with a conflict immediately
+ * (which makes the RM sleep and re-run the whole local transaction), the TC parks the request in a FIFO queue
+ * per row key and retries the acquisition when one of the keys is released. The wait is bounded by
+ * {@code server.lock.waitTimeout}, so two branches waiting on each other can never dead lock: both of them
+ * time out and fall back to the client side {@code LockRetryPolicy}.
+ * <p>
+ * A waiter parks while holding the lock of its global session, which the other requests of the same global
+ * transaction take with a 2 seconds timeout, so the wait timeout is capped at {@link #MAX_WAIT_TIMEOUT_MILLS}.
+ */
+public class LockWaitQueue {
+
+    /**
+     * The max interval between two retries of a parked waiter, covers releases
+     * that happened on another TC node of the cluster (db/redis store).
+     */
+    private static final long RECHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The max milliseconds a branch waits for its locks, half of the timeout of the global session lock.
+     */
+    public static final long MAX_WAIT_TIMEOUT_MILLS = 1000;
+
+    private static final String ROW_KEY_SPLIT = "^^^";
+
+    private final ConcurrentMap<String, PriorityQueue<Waiter>> waiterQueues = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    private final boolean enabled;
+
+    private final long waitTimeoutNanos;
+
+    private final int maxWaiters;
+
+    /**
+     * Instantiates a new Lock wait queue.
+     *
+     * @param enabled       whether the waiting is enabled
+     * @param waitTimeoutMs the max milliseconds a branch waits for its locks, capped at
+     *                      {@link #MAX_WAIT_TIMEOUT_MILLS}
+     * @param maxWaiters    the max number of branches waiting at the same time
+     */
+    public LockWaitQueue(boolean enabled, long waitTimeoutMs, int maxWaiters) {
+        this.enabled = enabled && waitTimeoutMs > 0 && maxWaiters > 0;
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(waitTimeoutMs, MAX_WAIT_TIMEOUT_MILLS));
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * Is enabled boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the max milliseconds a branch waits for its locks.
+     *
+     * @return the wait timeout
+     */
+    public long getWaitTimeoutMills() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTimeoutNanos);
+    }
+
+    /**
+     * Whether some branch is queued on one of the row locks.
+     *
+     * @param rowLocks the row locks
+     * @return the boolean
+     */
+    public boolean hasWaiters(List<RowLock> rowLocks) {
+        if (!enabled || waiterCount.get() == 0) {
+            return false;
+        }
+        for (RowLock rowLock : rowLocks) {
+            PriorityQueue<Waiter> queue = waiterQueues.get(getRowKey(rowLock));
+            if (queue != null) {
+                synchronized (queue) {
+                    if (!queue.isEmpty()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queue the current thread on the row locks and retry the acquisition until it succeeds or the wait times out.
+     *
+     * @param rowLocks the row locks
+     * @param acquirer the acquisition to retry
+     * @return true if the locks were acquired
+     */
+    public boolean await(List<RowLock> rowLocks, LockAcquirer acquirer) {
+        if (!enabled || CollectionUtils.isEmpty(rowLocks)) {
+            return false;
+        }
+        if (waiterCount.incrementAndGet() > maxWaiters) {
+            // too many parked requests, let the client retry
+            waiterCount.decrementAndGet();
+            return false;
+        }
+        Set<String> rowKeys = getRowKeys(rowLocks);
+        Waiter waiter = new Waiter(sequence.incrementAndGet(), Thread.currentThread());
+        enqueue(waiter, rowKeys);
+        long deadline = System.nanoTime() + waitTimeoutNanos;
+        boolean acquired = false;
+        try {
+            while (true) {
+                waiter.signalled = false;
+                if (isHead(waiter, rowKeys) && acquirer.acquire()) {
+                    acquired = true;
+                    return true;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                if (!waiter.signalled) {
+                    LockSupport.parkNanos(this, Math.min(remaining, RECHECK_INTERVAL_NANOS));
+                }
+            }
+        } finally {
+            dequeue(waiter, rowKeys);
+            waiterCount.decrementAndGet();
+            if (!acquired) {
+                // pass the turn to the next waiter
+                signalHeads(rowKeys);
+            }
+        }
+    }
+
+    /**
+     * Wake up the first waiter of every released row lock.
+     *
+     * @param rowLocks the released row locks
+     */
+    public void signal(Collection<RowLock> rowLocks) {
+        if (!enabled || waiterCount.get() == 0 || CollectionUtils.isEmpty(rowLocks)) {
+            return;
+        }
+        signalHeads(getRowKeys(rowLocks));
+    }
+
+    /**
+     * Gets the number of parked waiters.
+     *
+     * @return the waiter count
+     */
+    public int getWaiterCount() {
+        return waiterCount.get();
+    }
+
+    private void signalHeads(Collection<String> rowKeys) {
+        List<Waiter> heads = new ArrayList<>(rowKeys.size());
+        for (String rowKey : rowKeys) {
+            PriorityQueue<Waiter> queue = waiterQueues.get(rowKey);
+            if (queue != null) {
+                synchronized (queue) {
+                    Waiter head = queue.peek();
+                    if (head != null) {
+                        heads.add(head);
+                    }
+                }
+            }
+        }
+        for (Waiter head : heads) {
+            head.signalled = true;
+            LockSupport.unpark(head.thread);
+        }
+    }
+
+    private void enqueue(Waiter waiter, Set<String> rowKeys) {
+        for (String rowKey : rowKeys) {
+            while (true) {
+                PriorityQueue<Waiter> queue = waiterQueues.computeIfAbsent(rowKey, k -> new PriorityQueue<>());
+                synchronized (queue) {
+                    // the queue may have been dropped by a concurrent dequeue
+                    if (waiterQueues.get(rowKey) == queue) {
+                        queue.offer(waiter);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void dequeue(Waiter waiter, Set<String> rowKeys) {
+        for (String rowKey : rowKeys) {
+            PriorityQueue<Waiter> queue = waiterQueues.get(rowKey);
+            if (queue != null) {
+                synchronized (queue) {
+                    queue.remove(waiter);
+                    if (queue.isEmpty()) {
+                        waiterQueues.remove(rowKey, queue);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isHead(Waiter waiter, Set<String> rowKeys) {
+        for (String rowKey : rowKeys) {
+            PriorityQueue<Waiter> queue = waiterQueues.get(rowKey);
+            if (queue != null) {
+                synchronized (queue) {
+                    Waiter head = queue.peek();
+                    if (head != null && head != waiter) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    static Set<String> getRowKeys(Collection<RowLock> rowLocks) {
+        Set<String> rowKeys = new LinkedHashSet<>(rowLocks.size());
+        for (RowLock rowLock : rowLocks) {
+            rowKeys.add(getRowKey(rowLock));
+        }
+        return rowKeys;
+    }
+
+    static String getRowKey(RowLock rowLock) {
+        return rowLock.getResourceId() + ROW_KEY_SPLIT + rowLock.getTableName() + ROW_KEY_SPLIT + rowLock.getPk();
+    }
+
+    /**
+     * The lock acquisition retried by a waiter.
+     */
+    @FunctionalInterface
+    public interface LockAcquirer {
+
+        /**
+         * Acquire boolean.
+         *
+         * @return true if the locks were acquired
+         */
+        boolean acquire();
+    }
+
+    private static class Waiter implements Comparable<Waiter> {
+
+        private final long sequence;
+
+        private final Thread thread;
+
+        private volatile boolean signalled;
+
+        Waiter(long sequence, Thread thread) {
+            this.sequence = sequence;
+            this.thread = thread;
+        }
+
+        @Override
+        public int compareTo(Waiter other) {
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -58,4 +58,39 @@ public interface MeterIdConstants {
         .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
         .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
         .withTag(IdConstants.STATUS_KEY, IdConstants.STATUS_VALUE_ROLLBACKED);
+
+    Id TIMER_BRANCH_REGISTER = new Id(IdConstants.SEATA_OPERATION)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
+        .withTag(IdConstants.OPERATION_KEY, IdConstants.OPERATION_VALUE_BRANCH_REGISTER);
+
+    Id TIMER_BRANCH_COMMIT = new Id(IdConstants.SEATA_OPERATION)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
+        .withTag(IdConstants.OPERATION_KEY, IdConstants.OPERATION_VALUE_BRANCH_COMMIT);
+
+    Id TIMER_BRANCH_ROLLBACK = new Id(IdConstants.SEATA_OPERATION)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
+        .withTag(IdConstants.OPERATION_KEY, IdConstants.OPERATION_VALUE_BRANCH_ROLLBACK);
+
+    Id TIMER_LOCK_ACQUIRE = new Id(IdConstants.SEATA_OPERATION)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
+        .withTag(IdConstants.OPERATION_KEY, IdConstants.OPERATION_VALUE_LOCK_ACQUIRE);
+
+    Id TIMER_STORE_WRITE = new Id(IdConstants.SEATA_OPERATION)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
+        .withTag(IdConstants.OPERATION_KEY, IdConstants.OPERATION_VALUE_STORE_WRITE);
+
+    Id GAUGE_EVENT_DROPPED = new Id(IdConstants.SEATA_EVENT)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+        .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_DROPPED);
+
+    Id GAUGE_EVENT_PENDING = new Id(IdConstants.SEATA_EVENT)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+        .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_PENDING);
 }
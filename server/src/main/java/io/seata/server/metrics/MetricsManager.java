@@ -16,9 +16,13 @@
 package io.seata.server.metrics;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.event.EventBus;
+import io.seata.core.event.RingBufferEventBus;
+import io.seata.metrics.Id;
 import io.seata.metrics.exporter.Exporter;
 import io.seata.metrics.exporter.ExporterFactory;
 import io.seata.metrics.registry.Registry;
@@ -45,6 +49,19 @@ public class MetricsManager {
         return registry;
     }
 
+    /**
+     * Record the time elapsed since the start on the timer of the id, does nothing when metrics are disabled.
+     *
+     * @param id         the timer id
+     * @param startNanos the start time, from {@link System#nanoTime()}
+     */
+    public void recordElapsed(Id id, long startNanos) {
+        Registry registry = this.registry;
+        if (registry != null) {
+            registry.getTimer(id).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
     public void init() {
         boolean enabled = ConfigurationFactory.getInstance().getBoolean(
             ConfigurationKeys.METRICS_PREFIX + ConfigurationKeys.METRICS_ENABLED, false);
@@ -55,7 +72,13 @@ public class MetricsManager {
                 //only at least one metrics exporter implement had imported in pom then need register MetricsSubscriber
                 if (exporters.size() != 0) {
                     exporters.forEach(exporter -> exporter.setRegistry(registry));
-                    EventBusManager.get().register(new MetricsSubscriber(registry));
+                    EventBus eventBus = EventBusManager.get();
+                    eventBus.register(new MetricsSubscriber(registry));
+                    if (eventBus instanceof RingBufferEventBus) {
+                        RingBufferEventBus ringBufferEventBus = (RingBufferEventBus)eventBus;
+                        registry.getGauge(MeterIdConstants.GAUGE_EVENT_DROPPED, ringBufferEventBus::getDroppedCount);
+                        registry.getGauge(MeterIdConstants.GAUGE_EVENT_PENDING, ringBufferEventBus::getPendingCount);
+                    }
                 }
             }
         }
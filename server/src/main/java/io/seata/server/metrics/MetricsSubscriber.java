@@ -15,14 +15,22 @@
  */
 package io.seata.server.metrics;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 
 import com.google.common.eventbus.Subscribe;
+import io.seata.common.util.CollectionUtils;
+import io.seata.core.event.EventSubscriber;
 import io.seata.core.event.GlobalTransactionEvent;
 import io.seata.core.model.GlobalStatus;
+import io.seata.metrics.Counter;
+import io.seata.metrics.Id;
+import io.seata.metrics.Summary;
+import io.seata.metrics.Timer;
 import io.seata.metrics.registry.Registry;
 import io.seata.server.event.EventBusManager;
 import org.slf4j.Logger;
@@ -36,16 +44,28 @@ import static io.seata.metrics.IdConstants.GROUP_KEY;
  *
  * @author zhengyangyong
  */
-public class MetricsSubscriber {
+public class MetricsSubscriber implements EventSubscriber<GlobalTransactionEvent> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsSubscriber.class);
+
+    /**
+     * The key of a null applicationId or group, concurrent maps do not accept null keys.
+     */
+    private static final String NULL_KEY = "\u0000";
+
     private final Registry registry;
 
-    private final Map<GlobalStatus, Consumer<GlobalTransactionEvent>> consumers;
+    private final Map<GlobalStatus, BiConsumer<GlobalTransactionEvent, TransactionMeters>> consumers;
+
+    /**
+     * The meters resolved per applicationId and group, so recording an event does not build ids
+     * nor look up the registry.
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, TransactionMeters>> metersCache = new ConcurrentHashMap<>();
 
     public MetricsSubscriber(Registry registry) {
         this.registry = registry;
-        consumers = new HashMap<>();
+        consumers = new EnumMap<>(GlobalStatus.class);
         consumers.put(GlobalStatus.Begin, this::processGlobalStatusBegin);
         consumers.put(GlobalStatus.Committed, this::processGlobalStatusCommitted);
         consumers.put(GlobalStatus.Rollbacked, this::processGlobalStatusRollbacked);
@@ -56,78 +76,79 @@ public class MetricsSubscriber {
         consumers.put(GlobalStatus.TimeoutRollbackFailed, this::processGlobalStatusTimeoutRollbackFailed);
     }
 
-    private void processGlobalStatusBegin(GlobalTransactionEvent event) {
+    private void processGlobalStatusBegin(GlobalTransactionEvent event, TransactionMeters meters) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("accept new event,xid:{},event:{}", event.getId(), event);
             for (Object object : EventBusManager.get().getSubscribers()) {
                 LOGGER.debug("subscribe:{},threadName:{}", object.toString(), Thread.currentThread().getName());
             }
         }
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE.withTag(APP_ID_KEY, event.getApplicationId())
-            .withTag(GROUP_KEY, event.getGroup())).increase(1);
+        meters.active.increase(1);
     }
 
-    private void processGlobalStatusCommitted(GlobalTransactionEvent event) {
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).decrease(1);
-        registry.getCounter(MeterIdConstants.COUNTER_COMMITTED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getSummary(MeterIdConstants.SUMMARY_COMMITTED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_COMMITTED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup()))
-                .record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
+    private void processGlobalStatusCommitted(GlobalTransactionEvent event, TransactionMeters meters) {
+        meters.active.decrease(1);
+        meters.committed.increase(1);
+        meters.committedSummary.increase(1);
+        meters.committedTimer.record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
     }
 
-    private void processGlobalStatusRollbacked(GlobalTransactionEvent event) {
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).decrease(1);
-        registry.getCounter(MeterIdConstants.COUNTER_ROLLBACKED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getSummary(MeterIdConstants.SUMMARY_ROLLBACKED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_ROLLBACK
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup()))
-                .record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
+    private void processGlobalStatusRollbacked(GlobalTransactionEvent event, TransactionMeters meters) {
+        meters.active.decrease(1);
+        meters.rollbacked.increase(1);
+        meters.rollbackedSummary.increase(1);
+        meters.rollbackedTimer.record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
     }
 
-    private void processGlobalStatusCommitFailed(GlobalTransactionEvent event) {
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).decrease(1);
+    private void processGlobalStatusCommitFailed(GlobalTransactionEvent event, TransactionMeters meters) {
+        meters.active.decrease(1);
     }
 
-    private void processGlobalStatusRollbackFailed(GlobalTransactionEvent event) {
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).decrease(1);
+    private void processGlobalStatusRollbackFailed(GlobalTransactionEvent event, TransactionMeters meters) {
+        meters.active.decrease(1);
     }
 
-    private void processGlobalStatusTimeoutRollbacked(GlobalTransactionEvent event) {
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).decrease(1);
+    private void processGlobalStatusTimeoutRollbacked(GlobalTransactionEvent event, TransactionMeters meters) {
+        meters.active.decrease(1);
     }
 
-    private void processGlobalStatusTimeoutRollbackFailed(GlobalTransactionEvent event) {
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).decrease(1);
+    private void processGlobalStatusTimeoutRollbackFailed(GlobalTransactionEvent event, TransactionMeters meters) {
+        meters.active.decrease(1);
+    }
+
+    @Override
+    public Class<GlobalTransactionEvent> getEventType() {
+        return GlobalTransactionEvent.class;
+    }
+
+    @Override
+    public void onEvent(GlobalTransactionEvent event) {
+        recordGlobalTransactionEventForMetrics(event);
     }
 
     @Subscribe
     public void recordGlobalTransactionEventForMetrics(GlobalTransactionEvent event) {
-        if (registry != null && consumers.containsKey(event.getStatus())) {
-            consumers.get(event.getStatus()).accept(event);
+        if (registry == null) {
+            return;
+        }
+        BiConsumer<GlobalTransactionEvent, TransactionMeters> consumer = consumers.get(event.getStatus());
+        if (consumer != null) {
+            consumer.accept(event, getMeters(event.getApplicationId(), event.getGroup()));
+        }
+    }
+
+    private TransactionMeters getMeters(String applicationId, String group) {
+        ConcurrentMap<String, TransactionMeters> groupMeters = CollectionUtils.computeIfAbsent(metersCache,
+            applicationId == null ? NULL_KEY : applicationId, key -> new ConcurrentHashMap<>());
+        String groupKey = group == null ? NULL_KEY : group;
+        TransactionMeters meters = groupMeters.get(groupKey);
+        long clearUpCount = registry.getClearUpCount();
+        if (meters == null || meters.clearUpCount != clearUpCount) {
+            // first event of the series, or the registry has dropped the meters
+            meters = new TransactionMeters(registry, clearUpCount, applicationId, group);
+            groupMeters.put(groupKey, meters);
         }
+        return meters;
     }
 
     @Override
@@ -144,4 +165,41 @@ public class MetricsSubscriber {
     public int hashCode() {
         return super.hashCode();
     }
+
+    /**
+     * The meters of one applicationId and group series.
+     */
+    private static class TransactionMeters {
+
+        private final long clearUpCount;
+
+        private final Counter active;
+
+        private final Counter committed;
+
+        private final Counter rollbacked;
+
+        private final Summary committedSummary;
+
+        private final Summary rollbackedSummary;
+
+        private final Timer committedTimer;
+
+        private final Timer rollbackedTimer;
+
+        TransactionMeters(Registry registry, long clearUpCount, String applicationId, String group) {
+            this.clearUpCount = clearUpCount;
+            this.active = registry.getCounter(withSeries(MeterIdConstants.COUNTER_ACTIVE, applicationId, group));
+            this.committed = registry.getCounter(withSeries(MeterIdConstants.COUNTER_COMMITTED, applicationId, group));
+            this.rollbacked = registry.getCounter(withSeries(MeterIdConstants.COUNTER_ROLLBACKED, applicationId, group));
+            this.committedSummary = registry.getSummary(withSeries(MeterIdConstants.SUMMARY_COMMITTED, applicationId, group));
+            this.rollbackedSummary = registry.getSummary(withSeries(MeterIdConstants.SUMMARY_ROLLBACKED, applicationId, group));
+            this.committedTimer = registry.getTimer(withSeries(MeterIdConstants.TIMER_COMMITTED, applicationId, group));
+            this.rollbackedTimer = registry.getTimer(withSeries(MeterIdConstants.TIMER_ROLLBACK, applicationId, group));
+        }
+
+        private static Id withSeries(Id id, String applicationId, String group) {
+            return id.withTag(APP_ID_KEY, applicationId).withTag(GROUP_KEY, group);
+        }
+    }
 }
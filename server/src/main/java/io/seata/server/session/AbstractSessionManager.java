@@ -22,6 +22,8 @@ import io.seata.core.exception.TransactionExceptionCode;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.GlobalStatus;
 import io.seata.core.model.LockStatus;
+import io.seata.server.metrics.MeterIdConstants;
+import io.seata.server.metrics.MetricsManager;
 import io.seata.server.store.SessionStorable;
 import io.seata.server.store.TransactionStoreManager;
 import io.seata.server.store.TransactionStoreManager.LogOperation;
@@ -153,7 +155,14 @@ public abstract class AbstractSessionManager implements SessionManager, SessionL
     }
 
     private void writeSession(LogOperation logOperation, SessionStorable sessionStorable) throws TransactionException {
-        if (!transactionStoreManager.writeSession(logOperation, sessionStorable)) {
+        long start = System.nanoTime();
+        boolean written;
+        try {
+            written = transactionStoreManager.writeSession(logOperation, sessionStorable);
+        } finally {
+            MetricsManager.get().recordElapsed(MeterIdConstants.TIMER_STORE_WRITE, start);
+        }
+        if (!written) {
             if (LogOperation.GLOBAL_ADD.equals(logOperation)) {
                 throw new GlobalTransactionException(TransactionExceptionCode.FailedWriteSession,
                     "Fail to store global session");
@@ -20,7 +20,9 @@ import java.nio.ByteBuffer;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import io.seata.common.ConfigurationKeys;
 import io.seata.common.util.CompressUtil;
+import io.seata.config.ConfigurationFactory;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
@@ -33,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
+import static io.seata.common.DefaultValues.DEFAULT_XA_ASYNC_COMMIT_ENABLE;
 import static io.seata.core.model.LockStatus.Locked;
 
 /**
@@ -46,6 +49,15 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     private static final int MAX_BRANCH_SESSION_SIZE = StoreConfig.getMaxBranchSessionSize();
 
+    /**
+     * XA branches are prepared in phase one, so the global commit can be reported once it is decided and
+     * the branches are committed by the async committing task, the same as AT branches.
+     * Unlike AT, the database keeps the row locks of a prepared XA branch until its xa commit, so the TM is told
+     * Committed while the rows written by the transaction are still locked and invisible to other transactions.
+     */
+    private static final boolean XA_ASYNC_COMMIT_ENABLE = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.XA_ASYNC_COMMIT_ENABLE, DEFAULT_XA_ASYNC_COMMIT_ENABLE);
+
     private static ThreadLocal<ByteBuffer> byteBufferThreadLocal = ThreadLocal.withInitial(() -> ByteBuffer.allocate(
         MAX_BRANCH_SESSION_SIZE));
 
@@ -264,8 +276,16 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
         return Long.compare(this.branchId, o.branchId);
     }
 
+    /**
+     * Whether the branch can be committed by the async committing task after the global commit is reported.
+     * XA branches only qualify with {@code server.xaAsyncCommitEnable}, their rows stay locked in the database
+     * until the task commits them.
+     *
+     * @return the boolean
+     */
     public boolean canBeCommittedAsync() {
-        return branchType == BranchType.AT || status == BranchStatus.PhaseOne_Failed;
+        return branchType == BranchType.AT || status == BranchStatus.PhaseOne_Failed
+            || (branchType == BranchType.XA && XA_ASYNC_COMMIT_ENABLE);
     }
 
     /**
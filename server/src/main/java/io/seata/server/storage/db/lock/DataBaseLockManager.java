@@ -56,6 +56,8 @@ public class DataBaseLockManager extends AbstractLockManager implements Initiali
         } catch (Exception t) {
             LOGGER.error("unLock error, xid {}, branchId:{}", branchSession.getXid(), branchSession.getBranchId(), t);
             return false;
+        } finally {
+            notifyLockReleased(branchSession);
         }
     }
 
@@ -71,6 +73,8 @@ public class DataBaseLockManager extends AbstractLockManager implements Initiali
         } catch (Exception t) {
             LOGGER.error("unLock globalSession error, xid:{}", globalSession.getXid(), t);
             return false;
+        } finally {
+            notifyLockReleased(globalSession);
         }
     }
 
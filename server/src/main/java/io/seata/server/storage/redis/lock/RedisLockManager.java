@@ -51,6 +51,8 @@ public class RedisLockManager extends AbstractLockManager implements Initialize
         } catch (Exception t) {
             LOGGER.error("unLock error, xid {}, branchId:{}", branchSession.getXid(), branchSession.getBranchId(), t);
             return false;
+        } finally {
+            notifyLockReleased(branchSession);
         }
     }
 
@@ -61,6 +63,8 @@ public class RedisLockManager extends AbstractLockManager implements Initialize
         } catch (Exception t) {
             LOGGER.error("unLock globalSession error, xid:{}", globalSession.getXid(), t);
             return false;
+        } finally {
+            notifyLockReleased(globalSession);
         }
     }
 }
\ No newline at end of file
@@ -28,6 +28,7 @@ import io.seata.core.protocol.transaction.GlobalCommitResponse;
 import io.seata.core.protocol.transaction.GlobalRollbackRequest;
 import io.seata.core.protocol.transaction.GlobalRollbackResponse;
 import io.seata.core.rpc.RpcContext;
+import io.seata.metrics.IdConstants;
 import io.seata.metrics.Measurement;
 import io.seata.server.metrics.MetricsManager;
 import io.seata.server.session.SessionHolder;
@@ -70,13 +71,17 @@ public class DefaultCoordinatorMetricsTest {
             coordinator.doGlobalBegin(request, response, new RpcContext());
             Thread.sleep(2000);
             Map<String, Measurement> measurements = new HashMap<>();
-            MetricsManager.get().getRegistry().measure().forEach(
-                measurement -> measurements.put(measurement.getId().toString(), measurement));
+            collectTransactionMeasurements(measurements);
 
-            Assertions.assertEquals(1, measurements.size());
+            // all the meters of the series are created by its first event:
+            // 3 counters, 2 summaries of 3 statistics and 2 timers of 7 statistics
+            Assertions.assertEquals(23, measurements.size());
             Assertions.assertEquals(1,
                 measurements.get("seata.transaction(applicationId=null,group=null,meter=counter,role=tc,status=active)")
                     .getValue(), 0);
+            Assertions.assertEquals(0, measurements
+                .get("seata.transaction(applicationId=null,group=null,meter=counter,role=tc,status=committed)")
+                .getValue(), 0);
 
             //commit this transaction
             GlobalCommitRequest commitRequest = new GlobalCommitRequest();
@@ -87,9 +92,8 @@ public class DefaultCoordinatorMetricsTest {
             //we need sleep for a short while because default canBeCommittedAsync() is true
             Thread.sleep(2000);
 
-            MetricsManager.get().getRegistry().measure().forEach(
-                measurement -> measurements.put(measurement.getId().toString(), measurement));
-            Assertions.assertEquals(9, measurements.size());
+            collectTransactionMeasurements(measurements);
+            Assertions.assertEquals(23, measurements.size());
             Assertions.assertEquals(0,
                 measurements.get("seata.transaction(applicationId=null,group=null,meter=counter,role=tc,status=active)")
                     .getValue(), 0);
@@ -121,9 +125,8 @@ public class DefaultCoordinatorMetricsTest {
 
             measurements.clear();
             Thread.sleep(2000);
-            MetricsManager.get().getRegistry().measure().forEach(
-                measurement -> measurements.put(measurement.getId().toString(), measurement));
-            Assertions.assertEquals(17, measurements.size());
+            collectTransactionMeasurements(measurements);
+            Assertions.assertEquals(23, measurements.size());
             Assertions.assertEquals(0,
                 measurements.get("seata.transaction(applicationId=null,group=null,meter=counter,role=tc,status=active)")
                     .getValue(), 0);
@@ -163,4 +166,12 @@ public class DefaultCoordinatorMetricsTest {
         }
     }
 
+    private static void collectTransactionMeasurements(Map<String, Measurement> measurements) {
+        // the operation timers and the event gauges are left out, only the transaction meters are checked
+        MetricsManager.get().getRegistry().measure().forEach(measurement -> {
+            if (IdConstants.SEATA_TRANSACTION.equals(measurement.getId().getName())) {
+                measurements.put(measurement.getId().toString(), measurement);
+            }
+        });
+    }
 }
@@ -18,6 +18,7 @@ package io.seata.server.coordinator;
 import java.util.Collection;
 import java.util.stream.Stream;
 
+import io.seata.common.util.ReflectionUtil;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
@@ -39,6 +40,8 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
 
+import static io.seata.common.DefaultValues.DEFAULT_XA_ASYNC_COMMIT_ENABLE;
+
 /**
  * The type Default core test.
  *
@@ -219,6 +222,75 @@ public class DefaultCoreTest {
         Assertions.assertEquals(globalSession.getStatus(), GlobalStatus.CommitRetrying);
     }
 
+    /**
+     * Sync commit of xa branches test, the default.
+     *
+     * @param xid the xid
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("xidProvider")
+    public void xaSyncCommitTest(String xid) throws Exception {
+        globalSession = SessionHolder.findGlobalSession(xid);
+        BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.XA, resourceId,
+            applicationData, null, clientId);
+        globalSession.addBranch(branchSession);
+        globalSession.changeBranchStatus(branchSession, BranchStatus.PhaseOne_Done);
+        Assertions.assertFalse(branchSession.canBeCommittedAsync());
+        MockCore mockCore = new MockCore(BranchStatus.PhaseTwo_Committed, BranchStatus.PhaseOne_Done);
+        core.mockCore(BranchType.XA, mockCore);
+
+        // the xa branch is committed before the TM is told Committed, its rows are visible once commit returns
+        Assertions.assertEquals(GlobalStatus.Committed, core.commit(xid));
+        Assertions.assertEquals(1, mockCore.getCommitCount());
+        Assertions.assertTrue(globalSession.getBranchSessions().isEmpty());
+    }
+
+    /**
+     * Async commit of xa branches test.
+     *
+     * @param xid the xid
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("xidProvider")
+    public void xaAsyncCommitTest(String xid) throws Exception {
+        ReflectionUtil.modifyStaticFinalField(BranchSession.class, "XA_ASYNC_COMMIT_ENABLE", true);
+        try {
+            globalSession = SessionHolder.findGlobalSession(xid);
+            BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.XA, resourceId,
+                applicationData, null, clientId);
+            globalSession.addBranch(branchSession);
+            globalSession.changeBranchStatus(branchSession, BranchStatus.PhaseOne_Done);
+            Assertions.assertTrue(branchSession.canBeCommittedAsync());
+            MockCore mockCore = new MockCore(BranchStatus.PhaseTwo_CommitFailed_Retryable, BranchStatus.PhaseOne_Done);
+            core.mockCore(BranchType.XA, mockCore);
+
+            // the TM is told Committed before the xa branch is committed: its rows are still locked in the database
+            Assertions.assertEquals(GlobalStatus.Committed, core.commit(xid));
+            Assertions.assertEquals(0, mockCore.getCommitCount());
+            Assertions.assertEquals(GlobalStatus.AsyncCommitting, globalSession.getStatus());
+            Assertions.assertEquals(1, globalSession.getBranchSessions().size());
+            Assertions.assertEquals(BranchStatus.PhaseOne_Done, branchSession.getStatus());
+
+            // the async committing task keeps a branch which failed to commit for its next run
+            core.doGlobalCommit(globalSession, true);
+            Assertions.assertEquals(1, mockCore.getCommitCount());
+            Assertions.assertEquals(GlobalStatus.AsyncCommitting, globalSession.getStatus());
+            Assertions.assertEquals(1, globalSession.getBranchSessions().size());
+
+            core.mockCore(BranchType.XA,
+                new MockCore(BranchStatus.PhaseTwo_Committed, BranchStatus.PhaseOne_Done));
+            core.doGlobalCommit(globalSession, true);
+            Assertions.assertTrue(globalSession.getBranchSessions().isEmpty());
+            Assertions.assertEquals(GlobalStatus.Committed, globalSession.getStatus());
+            globalSession = null;
+        } finally {
+            ReflectionUtil.modifyStaticFinalField(BranchSession.class, "XA_ASYNC_COMMIT_ENABLE",
+                DEFAULT_XA_ASYNC_COMMIT_ENABLE);
+        }
+    }
+
     /**
      * Roll back test.
      *
@@ -343,6 +415,7 @@ public class DefaultCoreTest {
 
         private BranchStatus commitStatus;
         private BranchStatus rollbackStatus;
+        private int commitCount;
 
         /**
          * Instantiates a new Mock resource manager inbound.
@@ -358,6 +431,7 @@ public class DefaultCoreTest {
 
         @Override
         public BranchStatus branchCommit(GlobalSession globalSession, BranchSession branchSession) throws TransactionException {
+            commitCount++;
             return commitStatus;
         }
 
@@ -370,6 +444,10 @@ public class DefaultCoreTest {
         public BranchType getHandleBranchType() {
             return BranchType.AT;
         }
+
+        public int getCommitCount() {
+            return commitCount;
+        }
     }
 
 }
@@ -18,6 +18,7 @@ package io.seata.server.lock;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -28,17 +29,21 @@ import io.seata.core.console.param.GlobalLockParam;
 import io.seata.core.console.result.PageResult;
 import io.seata.core.console.vo.GlobalLockVO;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.lock.Locker;
 import io.seata.core.model.BranchType;
 import io.seata.server.UUIDGenerator;
 import io.seata.server.console.service.GlobalLockService;
 import io.seata.server.lock.file.FileLockManagerForTest;
+import io.seata.server.storage.file.lock.FileLocker;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
+import io.seata.server.session.SessionHelper;
 import io.seata.server.session.SessionHolder;
 import io.seata.server.session.SessionManager;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -211,6 +216,62 @@ public class LockManagerTest {
         Assertions.assertEquals(0, (long) branchSession2.getLockHolder().values().size());
     }
 
+    /**
+     * A branch of a global transaction holding the rows doesn't queue up behind the branches waiting for them.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void reentrantAcquireLockTest() throws Exception {
+        LockWaitQueue lockWaitQueue = new LockWaitQueue(true, 1000, 10);
+        LockManager lockManager = new AbstractLockManager(lockWaitQueue) {
+            @Override
+            protected Locker getLocker(BranchSession branchSession) {
+                return new FileLocker(branchSession);
+            }
+
+            @Override
+            public boolean releaseGlobalSessionLock(GlobalSession globalSession) {
+                return true;
+            }
+        };
+        GlobalSession holder = GlobalSession.createGlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 6000);
+        GlobalSession other = GlobalSession.createGlobalSession("demo-app", DEFAULT_TX_GROUP, "test", 6000);
+        SessionHolder.getRootSessionManager().addGlobalSession(holder);
+        try {
+            BranchSession heldBranch = SessionHelper.newBranchByGlobal(holder, BranchType.AT, "tb_1", "t:1", "c1");
+            Assertions.assertTrue(lockManager.acquireLock(heldBranch));
+            holder.add(heldBranch);
+
+            BranchSession otherBranch = SessionHelper.newBranchByGlobal(other, BranchType.AT, "tb_1", "t:1", "c2");
+            CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return lockManager.acquireLock(otherBranch);
+                } catch (TransactionException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            long deadline = System.currentTimeMillis() + 5000;
+            while (lockWaitQueue.getWaiterCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.yield();
+            }
+            Assertions.assertEquals(1, lockWaitQueue.getWaiterCount());
+
+            BranchSession reentrantBranch = SessionHelper.newBranchByGlobal(holder, BranchType.AT, "tb_1", "t:1,t:2",
+                "c1");
+            long start = System.currentTimeMillis();
+            Assertions.assertTrue(lockManager.acquireLock(reentrantBranch));
+            Assertions.assertTrue(System.currentTimeMillis() - start < lockWaitQueue.getWaitTimeoutMills());
+
+            lockManager.releaseLock(reentrantBranch);
+            lockManager.releaseLock(heldBranch);
+            Assertions.assertTrue(waiting.get(5, TimeUnit.SECONDS));
+            lockManager.releaseLock(otherBranch);
+        } finally {
+            SessionHolder.getRootSessionManager().removeGlobalSession(holder);
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("globalSessionForLockTestProvider")
     public void lockQueryTest(GlobalSession globalSessions1, GlobalSession globalSessions2) throws TransactionException, ParseException {
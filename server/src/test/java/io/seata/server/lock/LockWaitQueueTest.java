@@ -0,0 +1,106 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.seata.core.lock.RowLock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Lock wait queue test.
+ */
+public class LockWaitQueueTest {
+
+    @Test
+    public void testDisabled() {
+        LockWaitQueue queue = new LockWaitQueue(false, 1000, 10);
+        Assertions.assertFalse(queue.isEnabled());
+        Assertions.assertFalse(queue.await(rowLocks("1"), () -> true));
+    }
+
+    @Test
+    public void testWaitTimeout() {
+        LockWaitQueue queue = new LockWaitQueue(true, 200, 10);
+        long start = System.currentTimeMillis();
+        Assertions.assertFalse(queue.await(rowLocks("1"), () -> false));
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 200);
+        Assertions.assertEquals(0, queue.getWaiterCount());
+    }
+
+    @Test
+    public void testWaitTimeoutCapped() {
+        Assertions.assertEquals(200, new LockWaitQueue(true, 200, 10).getWaitTimeoutMills());
+        Assertions.assertEquals(LockWaitQueue.MAX_WAIT_TIMEOUT_MILLS,
+            new LockWaitQueue(true, 10000, 10).getWaitTimeoutMills());
+    }
+
+    @Test
+    public void testMaxWaiters() {
+        LockWaitQueue queue = new LockWaitQueue(true, 10000, 0);
+        Assertions.assertFalse(queue.isEnabled());
+        queue = new LockWaitQueue(true, 10000, 1);
+        LockWaitQueue finalQueue = queue;
+        AtomicBoolean released = new AtomicBoolean(false);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(
+            () -> finalQueue.await(rowLocks("1"), released::get));
+        waitForWaiters(queue, 1);
+        // the only slot is taken, the second conflict goes back to the client at once
+        Assertions.assertFalse(queue.await(rowLocks("2"), () -> true));
+        released.set(true);
+        queue.signal(rowLocks("1"));
+        Assertions.assertTrue(first.join());
+    }
+
+    @Test
+    public void testWakeOnRelease() throws Exception {
+        LockWaitQueue queue = new LockWaitQueue(true, 10000, 10);
+        AtomicBoolean released = new AtomicBoolean(false);
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(
+            () -> queue.await(rowLocks("1"), released::get));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!queue.hasWaiters(rowLocks("1")) && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Assertions.assertTrue(queue.hasWaiters(rowLocks("1")));
+        Assertions.assertFalse(queue.hasWaiters(rowLocks("2")));
+        released.set(true);
+        queue.signal(rowLocks("1"));
+        Assertions.assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(queue.hasWaiters(rowLocks("1")));
+    }
+
+    private static void waitForWaiters(LockWaitQueue queue, int count) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queue.getWaiterCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Assertions.assertEquals(count, queue.getWaiterCount());
+    }
+
+    private static List<RowLock> rowLocks(String pk) {
+        RowLock rowLock = new RowLock();
+        rowLock.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        rowLock.setTableName("t_account");
+        rowLock.setPk(pk);
+        return Collections.singletonList(rowLock);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.metrics;
+
+import java.util.Map;
+
+import io.seata.common.util.ReflectionUtil;
+import io.seata.core.event.GlobalTransactionEvent;
+import io.seata.core.model.GlobalStatus;
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.registry.Registry;
+import io.seata.metrics.registry.compact.CompactRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.seata.metrics.IdConstants.APP_ID_KEY;
+import static io.seata.metrics.IdConstants.GROUP_KEY;
+
+/**
+ * Test the meters cached by the metrics subscriber.
+ */
+public class MetricsSubscriberTest {
+
+    private final Registry registry = new CompactRegistry();
+
+    private MetricsSubscriber subscriber;
+
+    @BeforeEach
+    public void setUp() {
+        registry.clearUp();
+        subscriber = new MetricsSubscriber(registry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        registry.clearUp();
+    }
+
+    @Test
+    public void testMetersReused() throws Exception {
+        subscriber.onEvent(newEvent(GlobalStatus.Begin, "app", "group"));
+        Object meters = getCachedMeters("app", "group");
+        Assertions.assertNotNull(meters);
+
+        subscriber.onEvent(newEvent(GlobalStatus.Begin, "app", "group"));
+        subscriber.onEvent(newEvent(GlobalStatus.Committed, "app", "group"));
+        Assertions.assertSame(meters, getCachedMeters("app", "group"));
+        Assertions.assertEquals(1, getCounterValue(MeterIdConstants.COUNTER_ACTIVE, "app", "group"));
+        Assertions.assertEquals(1, getCounterValue(MeterIdConstants.COUNTER_COMMITTED, "app", "group"));
+
+        // another group of the same application has its own meters
+        subscriber.onEvent(newEvent(GlobalStatus.Begin, "app", "other"));
+        Object otherMeters = getCachedMeters("app", "other");
+        Assertions.assertNotSame(meters, otherMeters);
+        Assertions.assertEquals(1, getCounterValue(MeterIdConstants.COUNTER_ACTIVE, "app", "other"));
+        Assertions.assertEquals(1, getCounterValue(MeterIdConstants.COUNTER_ACTIVE, "app", "group"));
+
+        // the shared id constants are not tagged by the events
+        Assertions.assertEquals(3, MeterIdConstants.COUNTER_ACTIVE.getTagCount());
+    }
+
+    @Test
+    public void testNullApplicationIdAndGroup() throws Exception {
+        subscriber.onEvent(newEvent(GlobalStatus.Begin, null, null));
+        subscriber.onEvent(newEvent(GlobalStatus.Rollbacked, null, null));
+        Object meters = getCachedMeters("\u0000", "\u0000");
+        Assertions.assertNotNull(meters);
+
+        subscriber.onEvent(newEvent(GlobalStatus.Begin, null, null));
+        Assertions.assertSame(meters, getCachedMeters("\u0000", "\u0000"));
+        Assertions.assertEquals(1, getCounterValue(MeterIdConstants.COUNTER_ACTIVE, null, null));
+        Assertions.assertEquals(1, getCounterValue(MeterIdConstants.COUNTER_ROLLBACKED, null, null));
+    }
+
+    @Test
+    public void testMetersResolvedAgainAfterClearUp() throws Exception {
+        subscriber.onEvent(newEvent(GlobalStatus.Begin, "app", "group"));
+        Object meters = getCachedMeters("app", "group");
+
+        registry.clearUp();
+        subscriber.onEvent(newEvent(GlobalStatus.Begin, "app", "group"));
+        Object newMeters = getCachedMeters("app", "group");
+        Assertions.assertNotSame(meters, newMeters);
+        // recorded to the meter now in the registry, not the dropped one
+        Assertions.assertEquals(1, getCounterValue(MeterIdConstants.COUNTER_ACTIVE, "app", "group"));
+
+        subscriber.onEvent(newEvent(GlobalStatus.Begin, "app", "group"));
+        Assertions.assertSame(newMeters, getCachedMeters("app", "group"));
+        Assertions.assertEquals(2, getCounterValue(MeterIdConstants.COUNTER_ACTIVE, "app", "group"));
+    }
+
+    private Object getCachedMeters(String applicationId, String group) throws Exception {
+        Map<String, Map<String, Object>> metersCache = ReflectionUtil.getFieldValue(subscriber, "metersCache");
+        Map<String, Object> groupMeters = metersCache.get(applicationId);
+        return groupMeters == null ? null : groupMeters.get(group);
+    }
+
+    private long getCounterValue(Id id, String applicationId, String group) {
+        return registry.getCounter(id.withTag(APP_ID_KEY, applicationId).withTag(GROUP_KEY, group)).get();
+    }
+
+    private static GlobalTransactionEvent newEvent(GlobalStatus status, String applicationId, String group) {
+        long now = System.currentTimeMillis();
+        return new GlobalTransactionEvent(1L, IdConstants.ROLE_VALUE_TC, "test", applicationId, group, now, now,
+            status);
+    }
+}
@@ -17,10 +17,13 @@ package io.seata.server.session;
 
 import java.util.stream.Stream;
 
+import io.seata.common.util.ReflectionUtil;
+import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.server.UUIDGenerator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -28,6 +31,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
 
 import static io.seata.common.DefaultValues.DEFAULT_TX_GROUP;
+import static io.seata.common.DefaultValues.DEFAULT_XA_ASYNC_COMMIT_ENABLE;
 
 /**
  * The type Branch session test.
@@ -64,6 +68,36 @@ public class BranchSessionTest {
 
     }
 
+    /**
+     * Can be committed async test.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void canBeCommittedAsyncTest() throws Exception {
+        BranchSession branchSession = new BranchSession();
+        branchSession.setStatus(BranchStatus.PhaseOne_Done);
+        branchSession.setBranchType(BranchType.AT);
+        Assertions.assertTrue(branchSession.canBeCommittedAsync());
+        branchSession.setBranchType(BranchType.TCC);
+        Assertions.assertFalse(branchSession.canBeCommittedAsync());
+        branchSession.setBranchType(BranchType.XA);
+        Assertions.assertFalse(branchSession.canBeCommittedAsync());
+
+        ReflectionUtil.modifyStaticFinalField(BranchSession.class, "XA_ASYNC_COMMIT_ENABLE", true);
+        try {
+            Assertions.assertTrue(branchSession.canBeCommittedAsync());
+            branchSession.setBranchType(BranchType.TCC);
+            Assertions.assertFalse(branchSession.canBeCommittedAsync());
+        } finally {
+            ReflectionUtil.modifyStaticFinalField(BranchSession.class, "XA_ASYNC_COMMIT_ENABLE",
+                DEFAULT_XA_ASYNC_COMMIT_ENABLE);
+        }
+        // a branch failed in phase one has nothing to commit
+        branchSession.setStatus(BranchStatus.PhaseOne_Failed);
+        Assertions.assertTrue(branchSession.canBeCommittedAsync());
+    }
+
     /**
      * Branch session provider object [ ] [ ].
      *
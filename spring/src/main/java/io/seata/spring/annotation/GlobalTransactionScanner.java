@@ -15,6 +15,7 @@
  */
 package io.seata.spring.annotation;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Collection;
@@ -35,6 +36,7 @@ import io.seata.core.rpc.ShutdownHook;
 import io.seata.core.rpc.netty.RmNettyRemotingClient;
 import io.seata.core.rpc.netty.TmNettyRemotingClient;
 import io.seata.rm.RMClient;
+import io.seata.rm.tcc.remoting.parser.DefaultRemotingParser;
 import io.seata.spring.annotation.scannercheckers.PackageScannerChecker;
 import io.seata.spring.tcc.TccActionInterceptor;
 import io.seata.spring.util.OrderUtil;
@@ -93,6 +95,8 @@ public class GlobalTransactionScanner extends AbstractAutoProxyCreator
 
     private static ConfigurableListableBeanFactory beanFactory;
 
+    private static boolean scanIndexEnabled = false;
+
     private MethodInterceptor interceptor;
     private MethodInterceptor globalTransactionalInterceptor;
 
@@ -109,6 +113,9 @@ public class GlobalTransactionScanner extends AbstractAutoProxyCreator
 
     private ApplicationContext applicationContext;
 
+    private TransactionalClassIndex transactionalClassIndex;
+    private volatile boolean transactionalClassIndexLoaded;
+
 
     /**
      * Instantiates a new Global transaction scanner.
@@ -264,6 +271,11 @@ public class GlobalTransactionScanner extends AbstractAutoProxyCreator
      */
     @Override
     protected Object wrapIfNecessary(Object bean, String beanName, Object cacheKey) {
+        // skip the reflective scan of the beans which are not in the transactional class index
+        if (!isIndexedCandidate(bean, beanName)) {
+            return bean;
+        }
+
         // do checkers
         if (!doCheckers(bean, beanName)) {
             return bean;
@@ -322,6 +334,46 @@ public class GlobalTransactionScanner extends AbstractAutoProxyCreator
         }
     }
 
+    private boolean isIndexedCandidate(Object bean, String beanName) {
+        TransactionalClassIndex index = getTransactionalClassIndex();
+        if (index == null) {
+            return true;
+        }
+        try {
+            if (index.isCandidate(bean.getClass(), SpringProxyUtils.findTargetClass(bean))
+                || index.isCandidate(SpringProxyUtils.findInterfaces(bean))) {
+                return true;
+            }
+        } catch (Exception e) {
+            return true;
+        }
+        // the remoting beans of the rpc frameworks, e.g. the ServiceBean of dubbo, are not annotated
+        return DefaultRemotingParser.get().isRemoting(bean, beanName) != null;
+    }
+
+    private TransactionalClassIndex getTransactionalClassIndex() {
+        if (!scanIndexEnabled) {
+            return null;
+        }
+        if (!transactionalClassIndexLoaded) {
+            ClassLoader loader = applicationContext != null ? applicationContext.getClassLoader() : null;
+            try {
+                transactionalClassIndex = TransactionalClassIndex.load(
+                    loader != null ? loader : GlobalTransactionScanner.class.getClassLoader());
+            } catch (IOException e) {
+                LOGGER.warn("Load the transactional class index failed, scan all the beans", e);
+            }
+            if (transactionalClassIndex == null) {
+                LOGGER.warn("The transactional class index is enabled but not found, scan all the beans");
+            } else {
+                LOGGER.info("Scan the beans by the transactional class index of {} classes",
+                    transactionalClassIndex.size());
+            }
+            transactionalClassIndexLoaded = true;
+        }
+        return transactionalClassIndex;
+    }
+
     private boolean doCheckers(Object bean, String beanName) {
         if (PROXYED_SET.contains(beanName) || EXCLUDE_BEAN_NAME_SET.contains(beanName)
             || FactoryBean.class.isAssignableFrom(bean.getClass())) {
@@ -534,6 +586,17 @@ public class GlobalTransactionScanner extends AbstractAutoProxyCreator
         GlobalTransactionScanner.beanFactory = beanFactory;
     }
 
+    /**
+     * Scan only the beans which are in the transactional class index generated at build time, see
+     * {@code io.seata.processor.TransactionalClassIndexProcessor} of seata-processor.
+     * The beans with classes from the jars or directories which ship no index are still scanned.
+     *
+     * @param scanIndexEnabled whether to use the index
+     */
+    public static void setScanIndexEnabled(boolean scanIndexEnabled) {
+        GlobalTransactionScanner.scanIndexEnabled = scanIndexEnabled;
+    }
+
     public static void addScannablePackages(String... packages) {
         PackageScannerChecker.addScannablePackages(packages);
     }
@@ -17,9 +17,12 @@ package io.seata.spring.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -70,10 +73,13 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GlobalTransactionalInterceptor.class);
     private static final FailureHandler DEFAULT_FAIL_HANDLER = new DefaultFailureHandlerImpl();
+    private static final Class<?> NULL_TARGET_CLASS = Void.class;
 
     private final TransactionalTemplate transactionalTemplate = new TransactionalTemplate();
     private final GlobalLockTemplate globalLockTemplate = new GlobalLockTemplate();
     private final FailureHandler failureHandler;
+    private final ConcurrentMap<Method, ConcurrentMap<Class<?>, MethodMetadata>> methodMetadataCache =
+        new ConcurrentHashMap<>();
     private volatile boolean disable;
     private int order;
     protected AspectTransactional aspectTransactional;
@@ -145,40 +151,71 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
 
     @Override
     public Object invoke(final MethodInvocation methodInvocation) throws Throwable {
-        Class<?> targetClass =
-            methodInvocation.getThis() != null ? AopUtils.getTargetClass(methodInvocation.getThis()) : null;
-        Method specificMethod = ClassUtils.getMostSpecificMethod(methodInvocation.getMethod(), targetClass);
-        if (specificMethod != null && !specificMethod.getDeclaringClass().equals(Object.class)) {
-            final Method method = BridgeMethodResolver.findBridgedMethod(specificMethod);
-            final GlobalTransactional globalTransactionalAnnotation =
-                getAnnotation(method, targetClass, GlobalTransactional.class);
-            final GlobalLock globalLockAnnotation = getAnnotation(method, targetClass, GlobalLock.class);
-            boolean localDisable = disable || (degradeCheck && degradeNum >= degradeCheckAllowTimes);
-            if (!localDisable) {
-                if (globalTransactionalAnnotation != null || this.aspectTransactional != null) {
-                    AspectTransactional transactional;
-                    if (globalTransactionalAnnotation != null) {
-                        transactional = new AspectTransactional(globalTransactionalAnnotation.timeoutMills(),
-                            globalTransactionalAnnotation.name(), globalTransactionalAnnotation.rollbackFor(),
-                            globalTransactionalAnnotation.noRollbackForClassName(),
-                            globalTransactionalAnnotation.noRollbackFor(),
-                            globalTransactionalAnnotation.noRollbackForClassName(),
-                            globalTransactionalAnnotation.propagation(),
-                            globalTransactionalAnnotation.lockRetryInterval(),
-                            globalTransactionalAnnotation.lockRetryTimes());
-                    } else {
-                        transactional = this.aspectTransactional;
-                    }
-                    return handleGlobalTransaction(methodInvocation, transactional);
-                } else if (globalLockAnnotation != null) {
-                    return handleGlobalLock(methodInvocation, globalLockAnnotation);
-                }
+        boolean localDisable = disable || (degradeCheck && degradeNum >= degradeCheckAllowTimes);
+        if (!localDisable) {
+            Class<?> targetClass =
+                methodInvocation.getThis() != null ? AopUtils.getTargetClass(methodInvocation.getThis()) : null;
+            MethodMetadata metadata = getMethodMetadata(methodInvocation.getMethod(), targetClass);
+            if (metadata.transactionInfo != null) {
+                return handleGlobalTransaction(methodInvocation, metadata.transactionInfo);
+            } else if (metadata.globalLockConfig != null) {
+                return handleGlobalLock(methodInvocation, metadata.globalLockConfig);
             }
         }
         return methodInvocation.proceed();
     }
 
-    private Object handleGlobalLock(final MethodInvocation methodInvocation, final GlobalLock globalLockAnno) throws Throwable {
+    /**
+     * Gets the transactional metadata of the method, resolved once per (method, target class).
+     */
+    private MethodMetadata getMethodMetadata(Method method, Class<?> targetClass) {
+        ConcurrentMap<Class<?>, MethodMetadata> metadataMap = methodMetadataCache.get(method);
+        if (metadataMap == null) {
+            metadataMap = methodMetadataCache.computeIfAbsent(method, k -> new ConcurrentHashMap<>(4));
+        }
+        Class<?> targetClassKey = targetClass != null ? targetClass : NULL_TARGET_CLASS;
+        MethodMetadata metadata = metadataMap.get(targetClassKey);
+        if (metadata == null) {
+            metadata = metadataMap.computeIfAbsent(targetClassKey, k -> resolveMethodMetadata(method, targetClass));
+        }
+        return metadata;
+    }
+
+    private MethodMetadata resolveMethodMetadata(Method method, Class<?> targetClass) {
+        Method specificMethod = ClassUtils.getMostSpecificMethod(method, targetClass);
+        if (specificMethod == null || specificMethod.getDeclaringClass().equals(Object.class)) {
+            return MethodMetadata.NONE;
+        }
+        final Method bridgedMethod = BridgeMethodResolver.findBridgedMethod(specificMethod);
+        final GlobalTransactional globalTransactionalAnnotation =
+            getAnnotation(bridgedMethod, targetClass, GlobalTransactional.class);
+        if (globalTransactionalAnnotation != null || this.aspectTransactional != null) {
+            AspectTransactional transactional;
+            if (globalTransactionalAnnotation != null) {
+                transactional = new AspectTransactional(globalTransactionalAnnotation.timeoutMills(),
+                    globalTransactionalAnnotation.name(), globalTransactionalAnnotation.rollbackFor(),
+                    globalTransactionalAnnotation.rollbackForClassName(),
+                    globalTransactionalAnnotation.noRollbackFor(),
+                    globalTransactionalAnnotation.noRollbackForClassName(),
+                    globalTransactionalAnnotation.propagation(),
+                    globalTransactionalAnnotation.lockRetryInterval(),
+                    globalTransactionalAnnotation.lockRetryTimes());
+            } else {
+                transactional = this.aspectTransactional;
+            }
+            return new MethodMetadata(buildTransactionInfo(method, transactional), null);
+        }
+        final GlobalLock globalLockAnnotation = getAnnotation(bridgedMethod, targetClass, GlobalLock.class);
+        if (globalLockAnnotation != null) {
+            GlobalLockConfig config = new GlobalLockConfig();
+            config.setLockRetryInterval(globalLockAnnotation.lockRetryInterval());
+            config.setLockRetryTimes(globalLockAnnotation.lockRetryTimes());
+            return new MethodMetadata(null, config);
+        }
+        return MethodMetadata.NONE;
+    }
+
+    private Object handleGlobalLock(final MethodInvocation methodInvocation, final GlobalLockConfig globalLockConfig) throws Throwable {
         return globalLockTemplate.execute(new GlobalLockExecutor() {
             @Override
             public Object execute() throws Throwable {
@@ -187,16 +224,19 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
 
             @Override
             public GlobalLockConfig getGlobalLockConfig() {
-                GlobalLockConfig config = new GlobalLockConfig();
-                config.setLockRetryInterval(globalLockAnno.lockRetryInterval());
-                config.setLockRetryTimes(globalLockAnno.lockRetryTimes());
-                return config;
+                return globalLockConfig;
             }
         });
     }
 
     Object handleGlobalTransaction(final MethodInvocation methodInvocation,
         final AspectTransactional aspectTransactional) throws Throwable {
+        return handleGlobalTransaction(methodInvocation,
+            buildTransactionInfo(methodInvocation.getMethod(), aspectTransactional));
+    }
+
+    Object handleGlobalTransaction(final MethodInvocation methodInvocation,
+        final TransactionInfo transactionInfo) throws Throwable {
         boolean succeed = true;
         try {
             return transactionalTemplate.execute(new TransactionalExecutor() {
@@ -205,42 +245,8 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
                     return methodInvocation.proceed();
                 }
 
-                public String name() {
-                    String name = aspectTransactional.getName();
-                    if (!StringUtils.isNullOrEmpty(name)) {
-                        return name;
-                    }
-                    return formatMethod(methodInvocation.getMethod());
-                }
-
                 @Override
                 public TransactionInfo getTransactionInfo() {
-                    // reset the value of timeout
-                    int timeout = aspectTransactional.getTimeoutMills();
-                    if (timeout <= 0 || timeout == DEFAULT_GLOBAL_TRANSACTION_TIMEOUT) {
-                        timeout = defaultGlobalTransactionTimeout;
-                    }
-
-                    TransactionInfo transactionInfo = new TransactionInfo();
-                    transactionInfo.setTimeOut(timeout);
-                    transactionInfo.setName(name());
-                    transactionInfo.setPropagation(aspectTransactional.getPropagation());
-                    transactionInfo.setLockRetryInterval(aspectTransactional.getLockRetryInterval());
-                    transactionInfo.setLockRetryTimes(aspectTransactional.getLockRetryTimes());
-                    Set<RollbackRule> rollbackRules = new LinkedHashSet<>();
-                    for (Class<?> rbRule : aspectTransactional.getRollbackFor()) {
-                        rollbackRules.add(new RollbackRule(rbRule));
-                    }
-                    for (String rbRule : aspectTransactional.getRollbackForClassName()) {
-                        rollbackRules.add(new RollbackRule(rbRule));
-                    }
-                    for (Class<?> rbRule : aspectTransactional.getNoRollbackFor()) {
-                        rollbackRules.add(new NoRollbackRule(rbRule));
-                    }
-                    for (String rbRule : aspectTransactional.getNoRollbackForClassName()) {
-                        rollbackRules.add(new NoRollbackRule(rbRule));
-                    }
-                    transactionInfo.setRollbackRules(rollbackRules);
                     return transactionInfo;
                 }
             });
@@ -273,6 +279,41 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
         }
     }
 
+    /**
+     * Build the transaction info of the method, the result is shared by all the calls of the method
+     * and must not be modified.
+     */
+    private TransactionInfo buildTransactionInfo(Method method, AspectTransactional aspectTransactional) {
+        // reset the value of timeout
+        int timeout = aspectTransactional.getTimeoutMills();
+        if (timeout <= 0 || timeout == DEFAULT_GLOBAL_TRANSACTION_TIMEOUT) {
+            timeout = defaultGlobalTransactionTimeout;
+        }
+
+        TransactionInfo transactionInfo = new TransactionInfo();
+        transactionInfo.setTimeOut(timeout);
+        String name = aspectTransactional.getName();
+        transactionInfo.setName(StringUtils.isNullOrEmpty(name) ? formatMethod(method) : name);
+        transactionInfo.setPropagation(aspectTransactional.getPropagation());
+        transactionInfo.setLockRetryInterval(aspectTransactional.getLockRetryInterval());
+        transactionInfo.setLockRetryTimes(aspectTransactional.getLockRetryTimes());
+        Set<RollbackRule> rollbackRules = new LinkedHashSet<>();
+        for (Class<?> rbRule : aspectTransactional.getRollbackFor()) {
+            rollbackRules.add(new RollbackRule(rbRule));
+        }
+        for (String rbRule : aspectTransactional.getRollbackForClassName()) {
+            rollbackRules.add(new RollbackRule(rbRule));
+        }
+        for (Class<?> rbRule : aspectTransactional.getNoRollbackFor()) {
+            rollbackRules.add(new NoRollbackRule(rbRule));
+        }
+        for (String rbRule : aspectTransactional.getNoRollbackForClassName()) {
+            rollbackRules.add(new NoRollbackRule(rbRule));
+        }
+        transactionInfo.setRollbackRules(Collections.unmodifiableSet(rollbackRules));
+        return transactionInfo;
+    }
+
     public <T extends Annotation> T getAnnotation(Method method, Class<?> targetClass, Class<T> annotationClass) {
         return Optional.ofNullable(method).map(m -> m.getAnnotation(annotationClass))
             .orElse(Optional.ofNullable(targetClass).map(t -> t.getAnnotation(annotationClass)).orElse(null));
@@ -366,4 +407,21 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
     public SeataInterceptorPosition getPosition() {
         return SeataInterceptorPosition.BeforeTransaction;
     }
+
+    /**
+     * The transactional metadata of a method, at most one of the fields is not null.
+     */
+    private static final class MethodMetadata {
+
+        private static final MethodMetadata NONE = new MethodMetadata(null, null);
+
+        private final TransactionInfo transactionInfo;
+
+        private final GlobalLockConfig globalLockConfig;
+
+        MethodMetadata(TransactionInfo transactionInfo, GlobalLockConfig globalLockConfig) {
+            this.transactionInfo = transactionInfo;
+            this.globalLockConfig = globalLockConfig;
+        }
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.annotation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.seata.common.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The classes which declare {@linkplain GlobalTransactional}, {@linkplain GlobalLock}, LocalTCC or
+ * TwoPhaseBusinessAction, generated at build time by {@code io.seata.processor.TransactionalClassIndexProcessor}
+ * of seata-processor.
+ * <p>
+ * The index is only trusted for the classes of the jars or directories which ship an index resource. A bean with
+ * a class from any other location, e.g. a module built without the processor, is always scanned. The JDK and the
+ * frameworks declare no seata annotation, their classes never make a bean a candidate whatever their location.
+ * The decision is made once per code source, not per class.
+ */
+final class TransactionalClassIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionalClassIndex.class);
+
+    /**
+     * The index resource.
+     */
+    static final String INDEX_RESOURCE = "META-INF/seata-transactional.index";
+
+    private static final String JAR_URL_PREFIX = "jar:";
+
+    private static final String JAR_URL_SEPARATOR = "!/";
+
+    /**
+     * the packages of the JDK and of the frameworks a bean class commonly extends or implements
+     */
+    private static final String[] FRAMEWORK_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun.",
+        "org.springframework.", "org.aopalliance.", "kotlin.", "scala.", "groovy.", "org.slf4j.",
+        "com.fasterxml.jackson.", "io.netty."};
+
+    private final Set<String> classNames;
+
+    /**
+     * the roots of the jars and directories which ship an index
+     */
+    private final Set<String> indexedLocations;
+
+    /**
+     * code source location -> whether it ships an index
+     */
+    private final ConcurrentMap<String, Boolean> locationIndexed = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean unindexedWarned = new AtomicBoolean();
+
+    private TransactionalClassIndex(Set<String> classNames, Set<String> indexedLocations) {
+        this.classNames = classNames;
+        this.indexedLocations = indexedLocations;
+    }
+
+    /**
+     * Load the index resources visible to the class loader.
+     *
+     * @param loader the class loader
+     * @return the index, null if there is no index resource
+     * @throws IOException the io exception
+     */
+    static TransactionalClassIndex load(ClassLoader loader) throws IOException {
+        Enumeration<URL> urls = loader.getResources(INDEX_RESOURCE);
+        if (!urls.hasMoreElements()) {
+            return null;
+        }
+        Set<String> classNames = new HashSet<>();
+        Set<String> indexedLocations = new HashSet<>();
+        while (urls.hasMoreElements()) {
+            URL url = urls.nextElement();
+            String location = url.toString();
+            indexedLocations.add(normalizeLocation(location.substring(0, location.length() - INDEX_RESOURCE.length())));
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(),
+                Constants.DEFAULT_CHARSET))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && line.charAt(0) != '#') {
+                        classNames.add(line);
+                    }
+                }
+            }
+        }
+        return new TransactionalClassIndex(classNames, indexedLocations);
+    }
+
+    /**
+     * Make the root of an index resource url and a code source location comparable, e.g. both
+     * {@code jar:file:/app.jar!/} and {@code file:/app.jar} become {@code file:/app.jar}.
+     */
+    static String normalizeLocation(String location) {
+        if (location.startsWith(JAR_URL_PREFIX)) {
+            location = location.substring(JAR_URL_PREFIX.length());
+        }
+        if (location.endsWith(JAR_URL_SEPARATOR)) {
+            location = location.substring(0, location.length() - JAR_URL_SEPARATOR.length());
+        }
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        return location;
+    }
+
+    int size() {
+        return classNames.size();
+    }
+
+    /**
+     * Gets the number of code sources checked for an index.
+     *
+     * @return the number of code sources
+     */
+    int checkedLocationCount() {
+        return locationIndexed.size();
+    }
+
+    /**
+     * Whether any of the classes, their super classes or their interfaces is indexed, or is an application class
+     * from a location without an index.
+     *
+     * @param classes the classes
+     * @return true if the classes may need to be proxied
+     */
+    boolean isCandidate(Class<?>... classes) {
+        for (Class<?> clazz : classes) {
+            if (clazz != null && isCandidate(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCandidate(Class<?> clazz) {
+        for (Class<?> current = clazz; current != null && current != Object.class;
+             current = current.getSuperclass()) {
+            if (classNames.contains(current.getName()) || !isIndexedLocation(current)) {
+                return true;
+            }
+            for (Class<?> interfaceClass : current.getInterfaces()) {
+                if (isCandidate(interfaceClass)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isIndexedLocation(Class<?> clazz) {
+        if (isFrameworkClass(clazz.getName())) {
+            return true;
+        }
+        ProtectionDomain protectionDomain = clazz.getProtectionDomain();
+        CodeSource codeSource = protectionDomain != null ? protectionDomain.getCodeSource() : null;
+        URL url = codeSource != null ? codeSource.getLocation() : null;
+        if (url == null) {
+            // the jdk classes, or generated at runtime, e.g. the cglib proxies whose super classes are checked
+            return true;
+        }
+        String location = url.toString();
+        Boolean indexed = locationIndexed.get(location);
+        if (indexed == null) {
+            indexed = locationIndexed.computeIfAbsent(location, this::checkLocation);
+        }
+        return indexed;
+    }
+
+    private boolean checkLocation(String location) {
+        if (indexedLocations.contains(normalizeLocation(location))) {
+            return true;
+        }
+        if (unindexedWarned.compareAndSet(false, true)) {
+            LOGGER.warn("No transactional class index in {}, scan its beans reflectively. Build the modules "
+                + "declaring transactional classes with the index processor to skip them", location);
+        } else if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("No transactional class index in {}, scan its beans reflectively", location);
+        }
+        return false;
+    }
+
+    private static boolean isFrameworkClass(String className) {
+        for (String frameworkPackage : FRAMEWORK_PACKAGES) {
+            if (className.startsWith(frameworkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.annotation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+
+import io.seata.common.util.ReflectionUtil;
+import io.seata.tm.api.transaction.NoRollbackRule;
+import io.seata.tm.api.transaction.RollbackRule;
+import io.seata.tm.api.transaction.TransactionInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Global transactional interceptor test.
+ */
+public class GlobalTransactionalInterceptorTest {
+
+    @Test
+    public void testMethodMetadataCached() throws Exception {
+        GlobalTransactionalInterceptor interceptor = new GlobalTransactionalInterceptor(null);
+        Method method = MockRollbackBusiness.class.getDeclaredMethod("doBiz", String.class);
+
+        Object metadata = getMethodMetadata(interceptor, method, MockRollbackBusiness.class);
+        Assertions.assertSame(metadata, getMethodMetadata(interceptor, method, MockRollbackBusiness.class));
+        TransactionInfo transactionInfo = getTransactionInfo(metadata);
+        Assertions.assertNotNull(transactionInfo);
+        Assertions.assertSame(transactionInfo,
+            getTransactionInfo(getMethodMetadata(interceptor, method, MockRollbackBusiness.class)));
+
+        Map<Method, Map<Class<?>, Object>> cache = ReflectionUtil.getFieldValue(interceptor, "methodMetadataCache");
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(1, cache.get(method).size());
+    }
+
+    @Test
+    public void testMethodMetadataPerTargetClass() throws Exception {
+        GlobalTransactionalInterceptor interceptor = new GlobalTransactionalInterceptor(null);
+        Method method = MockBaseBusiness.class.getDeclaredMethod("doBiz", String.class);
+
+        TransactionInfo first = getTransactionInfo(getMethodMetadata(interceptor, method, MockFirstBusiness.class));
+        TransactionInfo second = getTransactionInfo(getMethodMetadata(interceptor, method, MockSecondBusiness.class));
+        Assertions.assertEquals("first", first.getName());
+        Assertions.assertEquals("second", second.getName());
+
+        // no annotation on the method itself, nothing to do without a target class
+        Object none = getMethodMetadata(interceptor, method, null);
+        Assertions.assertNull(getTransactionInfo(none));
+        Assertions.assertNull(ReflectionUtil.getFieldValue(none, "globalLockConfig"));
+        Assertions.assertSame(none, getMethodMetadata(interceptor, method, null));
+
+        Map<Method, Map<Class<?>, Object>> cache = ReflectionUtil.getFieldValue(interceptor, "methodMetadataCache");
+        Assertions.assertEquals(3, cache.get(method).size());
+    }
+
+    @Test
+    public void testRollbackForClassName() throws Exception {
+        GlobalTransactionalInterceptor interceptor = new GlobalTransactionalInterceptor(null);
+        Method method = MockRollbackBusiness.class.getDeclaredMethod("doBiz", String.class);
+        TransactionInfo transactionInfo =
+            getTransactionInfo(getMethodMetadata(interceptor, method, MockRollbackBusiness.class));
+
+        Set<RollbackRule> rollbackRules = transactionInfo.getRollbackRules();
+        Assertions.assertEquals(2, rollbackRules.size());
+        for (RollbackRule rule : rollbackRules) {
+            if (IllegalStateException.class.getSimpleName().equals(rule.getExceptionName())) {
+                Assertions.assertFalse(rule instanceof NoRollbackRule);
+            } else {
+                Assertions.assertEquals(IllegalArgumentException.class.getSimpleName(), rule.getExceptionName());
+                Assertions.assertTrue(rule instanceof NoRollbackRule);
+            }
+        }
+        Assertions.assertTrue(transactionInfo.rollbackOn(new IllegalStateException()));
+        Assertions.assertFalse(transactionInfo.rollbackOn(new IllegalArgumentException()));
+
+        // the rules are shared by all the calls of the method
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> rollbackRules.add(new RollbackRule(RuntimeException.class)));
+    }
+
+    private static Object getMethodMetadata(GlobalTransactionalInterceptor interceptor, Method method,
+                                            Class<?> targetClass) throws Exception {
+        return ReflectionUtil.invokeMethod(interceptor, "getMethodMetadata",
+            new Class<?>[] {Method.class, Class.class}, method, targetClass);
+    }
+
+    private static TransactionInfo getTransactionInfo(Object metadata) throws Exception {
+        return ReflectionUtil.getFieldValue(metadata, "transactionInfo");
+    }
+
+    /**
+     * the type mock rollback business
+     */
+    private static class MockRollbackBusiness {
+        @GlobalTransactional(name = "rollbackBiz", rollbackForClassName = "IllegalStateException",
+            noRollbackForClassName = "IllegalArgumentException")
+        public String doBiz(String msg) {
+            return "hello " + msg;
+        }
+    }
+
+    /**
+     * the type mock base business
+     */
+    private static class MockBaseBusiness {
+        public String doBiz(String msg) {
+            return "hello " + msg;
+        }
+    }
+
+    /**
+     * the type mock first business
+     */
+    @GlobalTransactional(name = "first")
+    private static class MockFirstBusiness extends MockBaseBusiness {
+    }
+
+    /**
+     * the type mock second business
+     */
+    @GlobalTransactional(name = "second")
+    private static class MockSecondBusiness extends MockBaseBusiness {
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.annotation;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.seata.spring.tcc.LocalTccActionImpl;
+import io.seata.spring.tcc.TccActionImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * The type Transactional class index test.
+ */
+public class TransactionalClassIndexTest {
+
+    @Test
+    public void testIsCandidate() throws Exception {
+        TransactionalClassIndex index = TransactionalClassIndex.load(getClass().getClassLoader());
+        Assertions.assertNotNull(index);
+        Assertions.assertTrue(index.isCandidate(BusinessImpl.class));
+        Assertions.assertTrue(index.isCandidate(new BusinessImpl() { }.getClass()));
+        Assertions.assertTrue(index.isCandidate(TccActionImpl.class));
+        Assertions.assertTrue(index.isCandidate(LocalTccActionImpl.class));
+        Assertions.assertTrue(index.isCandidate(Object.class, null, BusinessImpl.class));
+        Assertions.assertFalse(index.isCandidate(BusinessProxy.class));
+        Assertions.assertFalse(index.isCandidate(Object.class));
+        Assertions.assertFalse(index.isCandidate(Business.class));
+    }
+
+    @Test
+    public void testUnindexedLocation() throws Exception {
+        TransactionalClassIndex index = TransactionalClassIndex.load(getClass().getClassLoader());
+        Assertions.assertNotNull(index);
+        Assertions.assertFalse(index.isCandidate(BusinessProxy.class));
+        // the same class from a jar or directory without an index may be annotated, it is not skipped
+        Class<?> unindexedClass = loadFromUnindexedLocation(BusinessProxy.class);
+        Assertions.assertNotSame(BusinessProxy.class, unindexedClass);
+        Assertions.assertTrue(index.isCandidate(unindexedClass));
+
+        // the decision is made once per code source
+        int checkedLocationCount = index.checkedLocationCount();
+        Assertions.assertTrue(index.isCandidate(unindexedClass));
+        Assertions.assertEquals(checkedLocationCount, index.checkedLocationCount());
+    }
+
+    @Test
+    public void testFrameworkClassesSkipped() throws Exception {
+        TransactionalClassIndex index = TransactionalClassIndex.load(getClass().getClassLoader());
+        Assertions.assertNotNull(index);
+        // spring ships no index, but its classes declare no seata annotation
+        Assertions.assertFalse(index.isCandidate(DefaultResourceLoader.class));
+        Assertions.assertFalse(index.isCandidate(FrameworkBean.class));
+        Assertions.assertFalse(index.isCandidate(ArrayList.class));
+
+        List<Class<?>> beanClasses = Arrays.asList(BusinessImpl.class, BusinessProxy.class, FrameworkBean.class,
+            DefaultResourceLoader.class, ArrayList.class, TccActionImpl.class);
+        int candidates = 0;
+        for (Class<?> beanClass : beanClasses) {
+            if (index.isCandidate(beanClass)) {
+                candidates++;
+            }
+        }
+        // only the indexed beans are scanned reflectively
+        Assertions.assertEquals(2, candidates);
+        // the test classes only, no framework jar is checked
+        Assertions.assertEquals(1, index.checkedLocationCount());
+    }
+
+    @Test
+    public void testNormalizeLocation() {
+        Assertions.assertEquals("file:/app/lib/biz.jar",
+            TransactionalClassIndex.normalizeLocation("jar:file:/app/lib/biz.jar!/"));
+        Assertions.assertEquals("file:/app/lib/biz.jar", TransactionalClassIndex.normalizeLocation("file:/app/lib/biz.jar"));
+        Assertions.assertEquals("file:/app/classes", TransactionalClassIndex.normalizeLocation("file:/app/classes/"));
+        Assertions.assertEquals("file:/app.jar!/BOOT-INF/classes",
+            TransactionalClassIndex.normalizeLocation("jar:file:/app.jar!/BOOT-INF/classes!/"));
+    }
+
+    @Test
+    public void testScanByIndex() {
+        GlobalTransactionScanner.setScanIndexEnabled(true);
+        try {
+            GlobalTransactionScanner scanner = new GlobalTransactionScanner("transactional-class-index-test");
+            Object notIndexed = new BusinessProxy(new BusinessImpl());
+            Assertions.assertSame(notIndexed, scanner.wrapIfNecessary(notIndexed, "notIndexedBean", "notIndexedBean"));
+
+            Business business = new BusinessImpl();
+            Assertions.assertNotSame(business, scanner.wrapIfNecessary(business, "indexedBusiness", "indexedBusiness"));
+        } finally {
+            GlobalTransactionScanner.setScanIndexEnabled(false);
+        }
+    }
+
+    private static Class<?> loadFromUnindexedLocation(Class<?> clazz) throws Exception {
+        String classResource = clazz.getName().replace('.', '/') + ".class";
+        Path root = Files.createTempDirectory("seata-unindexed");
+        Path classFile = root.resolve(classResource);
+        Files.createDirectories(classFile.getParent());
+        try (InputStream in = clazz.getClassLoader().getResourceAsStream(classResource)) {
+            Files.copy(in, classFile);
+        }
+        // child first for the copied class only, its super types still come from the indexed location
+        ClassLoader loader = new URLClassLoader(new URL[] {root.toUri().toURL()}, clazz.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.equals(clazz.getName())) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    return loaded != null ? loaded : findClass(name);
+                }
+            }
+
+            @Override
+            public URL getResource(String name) {
+                return classResource.equals(name) ? findResource(name) : super.getResource(name);
+            }
+        };
+        return loader.loadClass(clazz.getName());
+    }
+
+    /**
+     * a bean built on framework types only
+     */
+    private static class FrameworkBean extends DefaultResourceLoader implements InitializingBean, DisposableBean {
+
+        @Override
+        public void afterPropertiesSet() {
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
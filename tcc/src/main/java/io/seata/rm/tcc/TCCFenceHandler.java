@@ -17,13 +17,16 @@ package io.seata.rm.tcc;
 
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 
+import io.seata.common.DefaultValues;
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.SkipCallbackWrapperException;
 import io.seata.common.executor.Callback;
@@ -58,6 +61,13 @@ public class TCCFenceHandler {
 
     private static TransactionTemplate transactionTemplate;
 
+    /**
+     * the max fence logs deleted by one statement, keeps the or-ed conditions within the database limits
+     */
+    static final int MAX_CLEAN_BATCH_SIZE = 1000;
+
+    private static volatile int cleanBatchSize = DefaultValues.DEFAULT_TCC_FENCE_CLEAN_BATCH_SIZE;
+
     private static final int MAX_THREAD_CLEAN = 1;
 
     private static final int MAX_QUEUE_SIZE = 500;
@@ -84,6 +94,20 @@ public class TCCFenceHandler {
         TCCFenceHandler.transactionTemplate = transactionTemplate;
     }
 
+    public static void setCleanBatchSize(int cleanBatchSize) {
+        if (cleanBatchSize < 1 || cleanBatchSize > MAX_CLEAN_BATCH_SIZE) {
+            int adjusted = Math.max(1, Math.min(cleanBatchSize, MAX_CLEAN_BATCH_SIZE));
+            LOGGER.warn("tcc fence clean batch size {} is out of range [1, {}], use {} instead",
+                cleanBatchSize, MAX_CLEAN_BATCH_SIZE, adjusted);
+            cleanBatchSize = adjusted;
+        }
+        TCCFenceHandler.cleanBatchSize = cleanBatchSize;
+    }
+
+    static int getCleanBatchSize() {
+        return cleanBatchSize;
+    }
+
     /**
      * tcc prepare method enhanced
      *
@@ -131,6 +155,18 @@ public class TCCFenceHandler {
      */
     public static boolean commitFence(Method commitMethod, Object targetTCCBean,
                                       String xid, Long branchId, Object[] args) {
+        return commitFence(xid, branchId, () -> commitMethod.invoke(targetTCCBean, args));
+    }
+
+    /**
+     * tcc commit method enhanced
+     *
+     * @param xid            the global transaction id
+     * @param branchId       the branch transaction id
+     * @param targetCallback the callback invoking the commit method
+     * @return the boolean
+     */
+    public static boolean commitFence(String xid, Long branchId, Callback<Object> targetCallback) {
         return transactionTemplate.execute(status -> {
             try {
                 Connection conn = DataSourceUtils.getConnection(dataSource);
@@ -149,7 +185,7 @@ public class TCCFenceHandler {
                     }
                     return false;
                 }
-                return updateStatusAndInvokeTargetMethod(conn, commitMethod, targetTCCBean, xid, branchId, TCCFenceConstant.STATUS_COMMITTED, status, args);
+                return updateStatusAndInvokeTargetMethod(conn, targetCallback, xid, branchId, TCCFenceConstant.STATUS_COMMITTED, status);
             } catch (Throwable t) {
                 status.setRollbackOnly();
                 throw new SkipCallbackWrapperException(t);
@@ -170,6 +206,19 @@ public class TCCFenceHandler {
      */
     public static boolean rollbackFence(Method rollbackMethod, Object targetTCCBean,
                                         String xid, Long branchId, Object[] args, String actionName) {
+        return rollbackFence(xid, branchId, actionName, () -> rollbackMethod.invoke(targetTCCBean, args));
+    }
+
+    /**
+     * tcc rollback method enhanced
+     *
+     * @param xid            the global transaction id
+     * @param branchId       the branch transaction id
+     * @param actionName     the action name
+     * @param targetCallback the callback invoking the rollback method
+     * @return the boolean
+     */
+    public static boolean rollbackFence(String xid, Long branchId, String actionName, Callback<Object> targetCallback) {
         return transactionTemplate.execute(status -> {
             try {
                 Connection conn = DataSourceUtils.getConnection(dataSource);
@@ -195,7 +244,7 @@ public class TCCFenceHandler {
                         return false;
                     }
                 }
-                return updateStatusAndInvokeTargetMethod(conn, rollbackMethod, targetTCCBean, xid, branchId, TCCFenceConstant.STATUS_ROLLBACKED, status, args);
+                return updateStatusAndInvokeTargetMethod(conn, targetCallback, xid, branchId, TCCFenceConstant.STATUS_ROLLBACKED, status);
             } catch (Throwable t) {
                 status.setRollbackOnly();
                 throw new SkipCallbackWrapperException(t);
@@ -224,21 +273,19 @@ public class TCCFenceHandler {
     /**
      * Update TCC Fence status and invoke target method
      *
-     * @param method                target method
-     * @param targetTCCBean         target bean
+     * @param targetCallback        the callback invoking the target method
      * @param xid                   the global transaction id
      * @param branchId              the branch transaction id
      * @param status                the tcc fence status
      * @return the boolean
      */
-    private static boolean updateStatusAndInvokeTargetMethod(Connection conn, Method method, Object targetTCCBean,
+    private static boolean updateStatusAndInvokeTargetMethod(Connection conn, Callback<Object> targetCallback,
                                                              String xid, Long branchId, int status,
-                                                             TransactionStatus transactionStatus,
-                                                             Object[] args) throws Exception {
+                                                             TransactionStatus transactionStatus) throws Throwable {
         boolean result = TCC_FENCE_DAO.updateTCCFenceDO(conn, xid, branchId, status, TCCFenceConstant.STATUS_TRIED);
         if (result) {
             // invoke two phase method
-            Object ret = method.invoke(targetTCCBean, args);
+            Object ret = targetCallback.execute();
             if (null != ret) {
                 if (ret instanceof TwoPhaseResult) {
                     result = ((TwoPhaseResult) ret).isSuccess();
@@ -276,23 +323,59 @@ public class TCCFenceHandler {
     }
 
     /**
-     * Delete TCC Fence By Datetime
+     * Delete TCC Fence in batch
      *
-     * @param datetime datetime
-     * @return the deleted row count
+     * @param tccFenceDOs the tcc fence dos to delete, matched by xid and branch id
+     * @return the deleted row count, -1 if failed
      */
-    public static int deleteFenceByDate(Date datetime) {
+    public static int deleteFence(List<TCCFenceDO> tccFenceDOs) {
         return transactionTemplate.execute(status -> {
+            int ret = -1;
             try {
                 Connection conn = DataSourceUtils.getConnection(dataSource);
-                return TCC_FENCE_DAO.deleteTCCFenceDOByDate(conn, datetime);
+                ret = TCC_FENCE_DAO.deleteTCCFenceDO(conn, tccFenceDOs);
             } catch (RuntimeException e) {
                 status.setRollbackOnly();
-                throw e;
+                LOGGER.error("batch delete fence log failed, size: {}", tccFenceDOs.size(), e);
             }
+            return ret;
         });
     }
 
+    /**
+     * Delete TCC Fence By Datetime.
+     * The finished fence logs are deleted chunk by chunk, one short transaction per chunk,
+     * so a large backlog never holds row locks or undo space for the whole purge.
+     *
+     * @param datetime datetime
+     * @return the deleted row count
+     */
+    public static int deleteFenceByDate(Date datetime) {
+        int batchSize = cleanBatchSize;
+        int total = 0;
+        while (true) {
+            int[] chunk = transactionTemplate.execute(status -> {
+                try {
+                    Connection conn = DataSourceUtils.getConnection(dataSource);
+                    List<TCCFenceDO> tccFenceDOs = TCC_FENCE_DAO.queryEndStatusTCCFenceDOByDate(conn, datetime, batchSize);
+                    if (tccFenceDOs.isEmpty()) {
+                        return new int[] {0, 0};
+                    }
+                    return new int[] {tccFenceDOs.size(), TCC_FENCE_DAO.deleteTCCFenceDO(conn, tccFenceDOs)};
+                } catch (RuntimeException e) {
+                    status.setRollbackOnly();
+                    throw e;
+                }
+            });
+            total += chunk[1];
+            // a short chunk means nothing is left before the datetime,
+            // a chunk deleted by nobody would be loaded again and again
+            if (chunk[0] < batchSize || chunk[1] == 0) {
+                return total;
+            }
+        }
+    }
+
     private static void initLogCleanExecutor() {
         logCleanExecutor = new ThreadPoolExecutor(MAX_THREAD_CLEAN, MAX_THREAD_CLEAN, Integer.MAX_VALUE,
                 TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
@@ -302,7 +385,7 @@ public class TCCFenceHandler {
         logCleanExecutor.submit(fenceLogCleanRunnable);
     }
 
-    private static void addToLogCleanQueue(final String xid, final long branchId) {
+    static void addToLogCleanQueue(final String xid, final long branchId) {
         FenceLogIdentity logIdentity = new FenceLogIdentity();
         logIdentity.setXid(xid);
         logIdentity.setBranchId(branchId);
@@ -324,10 +407,28 @@ public class TCCFenceHandler {
             while (true) {
 
                 try {
-                    FenceLogIdentity logIdentity = LOG_QUEUE.take();
-                    boolean ret = TCCFenceHandler.deleteFence(logIdentity.getXid(), logIdentity.getBranchId());
-                    if (!ret) {
-                        LOGGER.error("delete fence log failed, xid: {}, branchId: {}", logIdentity.getXid(), logIdentity.getBranchId());
+                    List<FenceLogIdentity> logIdentities = new ArrayList<>();
+                    logIdentities.add(LOG_QUEUE.take());
+                    // delete everything queued meanwhile in the same transaction
+                    LOG_QUEUE.drainTo(logIdentities, cleanBatchSize - 1);
+                    if (logIdentities.size() == 1) {
+                        FenceLogIdentity logIdentity = logIdentities.get(0);
+                        boolean ret = TCCFenceHandler.deleteFence(logIdentity.getXid(), logIdentity.getBranchId());
+                        if (!ret) {
+                            LOGGER.error("delete fence log failed, xid: {}, branchId: {}", logIdentity.getXid(), logIdentity.getBranchId());
+                        }
+                        continue;
+                    }
+                    List<TCCFenceDO> tccFenceDOs = new ArrayList<>(logIdentities.size());
+                    for (FenceLogIdentity logIdentity : logIdentities) {
+                        TCCFenceDO tccFenceDO = new TCCFenceDO();
+                        tccFenceDO.setXid(logIdentity.getXid());
+                        tccFenceDO.setBranchId(logIdentity.getBranchId());
+                        tccFenceDOs.add(tccFenceDO);
+                    }
+                    int ret = TCCFenceHandler.deleteFence(tccFenceDOs);
+                    if (ret < 0) {
+                        LOGGER.error("batch delete fence log failed, size: {}", logIdentities.size());
                     }
                 } catch (InterruptedException e) {
                     LOGGER.error("take fence log from queue for clean be interrupted", e);
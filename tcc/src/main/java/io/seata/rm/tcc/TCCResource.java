@@ -54,6 +54,10 @@ public class TCCResource implements Resource {
 
     private String[] phaseTwoRollbackKeys;
 
+    private TwoPhaseMethodInvoker commitInvoker;
+
+    private TwoPhaseMethodInvoker rollbackInvoker;
+
     @Override
     public String getResourceGroupId() {
         return resourceGroupId;
@@ -286,6 +290,30 @@ public class TCCResource implements Resource {
         this.phaseTwoRollbackKeys = phaseTwoRollbackKeys;
     }
 
+    /**
+     * get the commit method invoker, bound when the resource is registered
+     * @return the commit method invoker
+     */
+    public TwoPhaseMethodInvoker getCommitInvoker() {
+        return commitInvoker;
+    }
+
+    public void setCommitInvoker(TwoPhaseMethodInvoker commitInvoker) {
+        this.commitInvoker = commitInvoker;
+    }
+
+    /**
+     * get the rollback method invoker, bound when the resource is registered
+     * @return the rollback method invoker
+     */
+    public TwoPhaseMethodInvoker getRollbackInvoker() {
+        return rollbackInvoker;
+    }
+
+    public void setRollbackInvoker(TwoPhaseMethodInvoker rollbackInvoker) {
+        this.rollbackInvoker = rollbackInvoker;
+    }
+
     @Override
     public int hashCode() {
         return actionName.hashCode();
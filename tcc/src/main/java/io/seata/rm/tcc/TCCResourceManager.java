@@ -15,7 +15,6 @@
  */
 package io.seata.rm.tcc;
 
-import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.HashMap;
 import java.util.Map;
@@ -61,10 +60,31 @@ public class TCCResourceManager extends AbstractResourceManager {
     @Override
     public void registerResource(Resource resource) {
         TCCResource tccResource = (TCCResource)resource;
+        bindTwoPhaseInvokers(tccResource);
         tccResourceCache.put(tccResource.getResourceId(), tccResource);
         super.registerResource(tccResource);
     }
 
+    /**
+     * bind the phase two method invokers once, instead of resolving them on every branch commit/rollback
+     *
+     * @param tccResource the tcc resource
+     */
+    protected void bindTwoPhaseInvokers(TCCResource tccResource) {
+        Object targetTCCBean = tccResource.getTargetBean();
+        if (targetTCCBean == null) {
+            return;
+        }
+        if (tccResource.getCommitInvoker() == null && tccResource.getCommitMethod() != null) {
+            tccResource.setCommitInvoker(new TwoPhaseMethodInvoker(targetTCCBean, tccResource.getCommitMethod(),
+                tccResource.getPhaseTwoCommitKeys(), tccResource.getCommitArgsClasses()));
+        }
+        if (tccResource.getRollbackInvoker() == null && tccResource.getRollbackMethod() != null) {
+            tccResource.setRollbackInvoker(new TwoPhaseMethodInvoker(targetTCCBean, tccResource.getRollbackMethod(),
+                tccResource.getPhaseTwoRollbackKeys(), tccResource.getRollbackArgsClasses()));
+        }
+    }
+
     @Override
     public Map<String, Resource> getManagedResources() {
         return tccResourceCache;
@@ -88,36 +108,25 @@ public class TCCResourceManager extends AbstractResourceManager {
         if (tccResource == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not exist, resourceId: %s", resourceId));
         }
-        Object targetTCCBean = tccResource.getTargetBean();
-        Method commitMethod = tccResource.getCommitMethod();
-        if (targetTCCBean == null || commitMethod == null) {
+        TwoPhaseMethodInvoker commitInvoker = tccResource.getCommitInvoker();
+        if (commitInvoker == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not available, resourceId: %s", resourceId));
         }
         try {
             //BusinessActionContext
             BusinessActionContext businessActionContext = getBusinessActionContext(xid, branchId, resourceId,
                 applicationData);
-            Object[] args = this.getTwoPhaseCommitArgs(tccResource, businessActionContext);
-            Object ret;
+            Object[] args = commitInvoker.resolveArgs(businessActionContext);
             boolean result;
             // add idempotent and anti hanging
             if (Boolean.TRUE.equals(businessActionContext.getActionContext(Constants.USE_TCC_FENCE))) {
                 try {
-                    result = TCCFenceHandler.commitFence(commitMethod, targetTCCBean, xid, branchId, args);
+                    result = TCCFenceHandler.commitFence(xid, branchId, () -> commitInvoker.invoke(args));
                 } catch (SkipCallbackWrapperException | UndeclaredThrowableException e) {
                     throw e.getCause();
                 }
             } else {
-                ret = commitMethod.invoke(targetTCCBean, args);
-                if (ret != null) {
-                    if (ret instanceof TwoPhaseResult) {
-                        result = ((TwoPhaseResult)ret).isSuccess();
-                    } else {
-                        result = (boolean)ret;
-                    }
-                } else {
-                    result = true;
-                }
+                result = toResult(commitInvoker.invoke(args));
             }
             LOGGER.info("TCC resource commit result : {}, xid: {}, branchId: {}, resourceId: {}", result, xid, branchId, resourceId);
             return result ? BranchStatus.PhaseTwo_Committed : BranchStatus.PhaseTwo_CommitFailed_Retryable;
@@ -146,37 +155,26 @@ public class TCCResourceManager extends AbstractResourceManager {
         if (tccResource == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not exist, resourceId: %s", resourceId));
         }
-        Object targetTCCBean = tccResource.getTargetBean();
-        Method rollbackMethod = tccResource.getRollbackMethod();
-        if (targetTCCBean == null || rollbackMethod == null) {
+        TwoPhaseMethodInvoker rollbackInvoker = tccResource.getRollbackInvoker();
+        if (rollbackInvoker == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not available, resourceId: %s", resourceId));
         }
         try {
             //BusinessActionContext
             BusinessActionContext businessActionContext = getBusinessActionContext(xid, branchId, resourceId,
                 applicationData);
-            Object[] args = this.getTwoPhaseRollbackArgs(tccResource, businessActionContext);
-            Object ret;
+            Object[] args = rollbackInvoker.resolveArgs(businessActionContext);
             boolean result;
             // add idempotent and anti hanging
             if (Boolean.TRUE.equals(businessActionContext.getActionContext(Constants.USE_TCC_FENCE))) {
                 try {
-                    result = TCCFenceHandler.rollbackFence(rollbackMethod, targetTCCBean, xid, branchId,
-                            args, tccResource.getActionName());
+                    result = TCCFenceHandler.rollbackFence(xid, branchId, tccResource.getActionName(),
+                            () -> rollbackInvoker.invoke(args));
                 } catch (SkipCallbackWrapperException | UndeclaredThrowableException e) {
                     throw e.getCause();
                 }
             } else {
-                ret = rollbackMethod.invoke(targetTCCBean, args);
-                if (ret != null) {
-                    if (ret instanceof TwoPhaseResult) {
-                        result = ((TwoPhaseResult)ret).isSuccess();
-                    } else {
-                        result = (boolean)ret;
-                    }
-                } else {
-                    result = true;
-                }
+                result = toResult(rollbackInvoker.invoke(args));
             }
             LOGGER.info("TCC resource rollback result : {}, xid: {}, branchId: {}, resourceId: {}", result, xid, branchId, resourceId);
             return result ? BranchStatus.PhaseTwo_Rollbacked : BranchStatus.PhaseTwo_RollbackFailed_Retryable;
@@ -214,40 +212,14 @@ public class TCCResourceManager extends AbstractResourceManager {
         return businessActionContext;
     }
 
-    /**
-     * get phase two commit method's args
-     * @param tccResource tccResource
-     * @param businessActionContext businessActionContext
-     * @return args
-     */
-    private Object[] getTwoPhaseCommitArgs(TCCResource tccResource, BusinessActionContext businessActionContext) {
-        String[] keys = tccResource.getPhaseTwoCommitKeys();
-        Class<?>[] argsCommitClasses = tccResource.getCommitArgsClasses();
-        return this.getTwoPhaseMethodParams(keys, argsCommitClasses, businessActionContext);
-    }
-
-    /**
-     * get phase two rollback method's args
-     * @param tccResource tccResource
-     * @param businessActionContext businessActionContext
-     * @return args
-     */
-    private Object[] getTwoPhaseRollbackArgs(TCCResource tccResource, BusinessActionContext businessActionContext) {
-        String[] keys = tccResource.getPhaseTwoRollbackKeys();
-        Class<?>[] argsRollbackClasses = tccResource.getRollbackArgsClasses();
-        return this.getTwoPhaseMethodParams(keys, argsRollbackClasses, businessActionContext);
-    }
-
-    private Object[] getTwoPhaseMethodParams(String[] keys, Class<?>[] argsClasses, BusinessActionContext businessActionContext) {
-        Object[] args = new Object[argsClasses.length];
-        for (int i = 0; i < argsClasses.length; i++) {
-            if (argsClasses[i].equals(BusinessActionContext.class)) {
-                args[i] = businessActionContext;
-            } else {
-                args[i] = businessActionContext.getActionContext(keys[i], argsClasses[i]);
-            }
+    private boolean toResult(Object ret) {
+        if (ret == null) {
+            return true;
+        }
+        if (ret instanceof TwoPhaseResult) {
+            return ((TwoPhaseResult)ret).isSuccess();
         }
-        return args;
+        return (boolean)ret;
     }
 
     @Override
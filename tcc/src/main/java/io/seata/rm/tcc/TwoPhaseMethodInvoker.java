@@ -0,0 +1,136 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import io.seata.rm.tcc.api.BusinessActionContext;
+
+/**
+ * The phase two method invoker of a TCC resource.
+ * <p>
+ * It is bound once when the resource is registered: the target method is resolved to a {@link MethodHandle}
+ * bound to the target bean, and the argument binders of the {@code @BusinessActionContextParameter}s are computed
+ * in advance, so the commit/rollback of a branch only converts the keys the method reads and calls the handle.
+ *
+ * @see TCCResource
+ */
+public class TwoPhaseMethodInvoker {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Object targetBean;
+
+    private final Method method;
+
+    /**
+     * the method handle of type (Object[])Object, null if the method can not be unreflected
+     */
+    private final MethodHandle methodHandle;
+
+    private final String[] keys;
+
+    private final Class<?>[] argsClasses;
+
+    private final boolean[] contextArgs;
+
+    /**
+     * Instantiates a new Two phase method invoker.
+     *
+     * @param targetBean  the target bean
+     * @param method      the phase two method
+     * @param keys        the action context keys of the method parameters
+     * @param argsClasses the method parameter classes
+     */
+    public TwoPhaseMethodInvoker(Object targetBean, Method method, String[] keys, Class<?>[] argsClasses) {
+        this.targetBean = targetBean;
+        this.method = method;
+        this.keys = keys;
+        this.argsClasses = argsClasses;
+        this.contextArgs = new boolean[argsClasses.length];
+        for (int i = 0; i < argsClasses.length; i++) {
+            contextArgs[i] = BusinessActionContext.class.equals(argsClasses[i]);
+        }
+        this.methodHandle = toMethodHandle(targetBean, method);
+    }
+
+    private static MethodHandle toMethodHandle(Object targetBean, Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).bindTo(targetBean)
+                .asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // not accessible from here, fall back to reflection
+            return null;
+        }
+    }
+
+    /**
+     * Resolve the method arguments from the action context.
+     *
+     * @param businessActionContext the business action context
+     * @return the args
+     */
+    public Object[] resolveArgs(BusinessActionContext businessActionContext) {
+        Object[] args = new Object[argsClasses.length];
+        for (int i = 0; i < argsClasses.length; i++) {
+            if (contextArgs[i]) {
+                args[i] = businessActionContext;
+            } else {
+                args[i] = businessActionContext.getActionContext(keys[i], argsClasses[i]);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * Invoke the method on the target bean.
+     *
+     * @param args the args
+     * @return the method result
+     * @throws Throwable the exception thrown by the method
+     */
+    public Object invoke(Object[] args) throws Throwable {
+        if (methodHandle != null) {
+            return (Object)methodHandle.invokeExact(args);
+        }
+        try {
+            return method.invoke(targetBean, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Whether the method is called through a method handle.
+     *
+     * @return the boolean
+     */
+    public boolean isMethodHandleBound() {
+        return methodHandle != null;
+    }
+
+    public Object getTargetBean() {
+        return targetBean;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+}
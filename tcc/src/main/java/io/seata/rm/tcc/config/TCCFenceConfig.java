@@ -63,6 +63,11 @@ public class TCCFenceConfig implements InitializingBean, Disposable {
      */
     private String logTableName = DefaultValues.DEFAULT_TCC_FENCE_LOG_TABLE_NAME;
 
+    /**
+     * TCC fence clean batch size. max rows deleted in one transaction, at most 1000
+     */
+    private int cleanBatchSize = DefaultValues.DEFAULT_TCC_FENCE_CLEAN_BATCH_SIZE;
+
     /**
      * TCC fence datasource
      */
@@ -104,6 +109,10 @@ public class TCCFenceConfig implements InitializingBean, Disposable {
         this.logTableName = logTableName;
     }
 
+    public void setCleanBatchSize(int cleanBatchSize) {
+        this.cleanBatchSize = cleanBatchSize;
+    }
+
     /**
      * init tcc fence clean task
      */
@@ -143,6 +152,9 @@ public class TCCFenceConfig implements InitializingBean, Disposable {
         if (logTableName != null) {
             TCCFenceStoreDataBaseDAO.getInstance().setLogTableName(logTableName);
         }
+        if (cleanBatchSize > 0) {
+            TCCFenceHandler.setCleanBatchSize(cleanBatchSize);
+        }
         if (dataSource != null) {
             // set dataSource
             TCCFenceHandler.setDataSource(dataSource);
@@ -282,7 +282,10 @@ public final class ActionContextUtil {
 
         // JSON to Object
         try {
-            if (value instanceof CharSequence || value instanceof Character) {
+            if (value instanceof JSON) {
+                // already decoded from the application data, bind it without serializing it back to a string
+                return JSON.toJavaObject((JSON)value, targetClazz);
+            } else if (value instanceof CharSequence || value instanceof Character) {
                 return JSON.parseObject(value.toString(), targetClazz);
             } else {
                 return JSON.parseObject(JSON.toJSONString(value), targetClazz);
@@ -17,6 +17,7 @@ package io.seata.rm.tcc.store;
 
 import java.sql.Connection;
 import java.util.Date;
+import java.util.List;
 
 /**
  * The TCC Fence Store
@@ -57,6 +58,22 @@ public interface TCCFenceStore {
      */
     boolean deleteTCCFenceDO(Connection conn, String xid, Long branchId);
 
+    /**
+     * Delete tcc fence do in batch, each row is matched by its own xid and branch id.
+     * @param tccFenceDOs the tcc fence dos, only the xid and branch id are used
+     * @return the deleted row count
+     */
+    int deleteTCCFenceDO(Connection conn, List<TCCFenceDO> tccFenceDOs);
+
+    /**
+     * Query the tcc fence do which has the final status and was modified before the datetime.
+     * Only the xid and branch id of the tcc fence do are loaded.
+     * @param datetime datetime
+     * @param limit the max row count
+     * @return the tcc fence do list
+     */
+    List<TCCFenceDO> queryEndStatusTCCFenceDOByDate(Connection conn, Date datetime, int limit);
+
     /**
      * Delete tcc fence by datetime.
      * @param datetime datetime
@@ -19,6 +19,7 @@ import io.seata.common.DefaultValues;
 import io.seata.common.exception.DataAccessException;
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.StoreException;
+import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.IOUtil;
 import io.seata.rm.tcc.exception.TCCFenceException;
 import io.seata.rm.tcc.store.TCCFenceDO;
@@ -31,7 +32,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 /**
  * The type TCC Fence store data base dao
@@ -148,6 +152,53 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         }
     }
 
+    @Override
+    public int deleteTCCFenceDO(Connection conn, List<TCCFenceDO> tccFenceDOs) {
+        if (CollectionUtils.isEmpty(tccFenceDOs)) {
+            return 0;
+        }
+        PreparedStatement ps = null;
+        try {
+            String sql = TCCFenceStoreSqls.getDeleteSQLByBranchIdsAndXids(logTableName, tccFenceDOs.size());
+            ps = conn.prepareStatement(sql);
+            int paramsIndex = 1;
+            for (TCCFenceDO tccFenceDO : tccFenceDOs) {
+                ps.setString(paramsIndex++, tccFenceDO.getXid());
+                ps.setLong(paramsIndex++, tccFenceDO.getBranchId());
+            }
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new StoreException(e);
+        } finally {
+            IOUtil.close(ps);
+        }
+    }
+
+    @Override
+    public List<TCCFenceDO> queryEndStatusTCCFenceDOByDate(Connection conn, Date datetime, int limit) {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            String sql = TCCFenceStoreSqls.getQuerySQLByDateAndEndStatus(logTableName);
+            ps = conn.prepareStatement(sql);
+            ps.setMaxRows(limit);
+            ps.setTimestamp(1, new Timestamp(datetime.getTime()));
+            rs = ps.executeQuery();
+            List<TCCFenceDO> tccFenceDOs = new ArrayList<>();
+            while (rs.next()) {
+                TCCFenceDO tccFenceDO = new TCCFenceDO();
+                tccFenceDO.setXid(rs.getString("xid"));
+                tccFenceDO.setBranchId(rs.getLong("branch_id"));
+                tccFenceDOs.add(tccFenceDO);
+            }
+            return tccFenceDOs.isEmpty() ? Collections.emptyList() : tccFenceDOs;
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        } finally {
+            IOUtil.close(rs, ps);
+        }
+    }
+
     @Override
     public int deleteTCCFenceDOByDate(Connection conn, Date datetime) {
         PreparedStatement ps = null;
@@ -33,6 +33,12 @@ public class TCCFenceStoreSqls {
      */
     public static final String LOCAL_TCC_LOG_PLACEHOLD = " #local_tcc_log# ";
 
+    /**
+     * The constant PRAMETER_PLACEHOLD.
+     * format: ?, ?, ?
+     */
+    public static final String PRAMETER_PLACEHOLD = " #PRAMETER_PLACEHOLD# ";
+
     /**
      * The constant INSERT_LOCAL_TCC_LOG.
      */
@@ -65,6 +71,25 @@ public class TCCFenceStoreSqls {
             + " where gmt_modified < ? "
             + " and status in (" + TCCFenceConstant.STATUS_COMMITTED + " , " + TCCFenceConstant.STATUS_ROLLBACKED + " , " + TCCFenceConstant.STATUS_SUSPENDED + ")";
 
+    /**
+     * The constant DELETE_BY_BRANCH_IDS_AND_XIDS.
+     * format of the condition: (xid = ? and branch_id = ?) or (xid = ? and branch_id = ?)
+     */
+    protected static final String DELETE_BY_BRANCH_IDS_AND_XIDS = "delete from " + LOCAL_TCC_LOG_PLACEHOLD
+            + " where " + PRAMETER_PLACEHOLD;
+
+    /**
+     * The constant XID_AND_BRANCH_ID_CONDITION.
+     */
+    protected static final String XID_AND_BRANCH_ID_CONDITION = "(xid = ? and branch_id = ?)";
+
+    /**
+     * The constant QUERY_END_STATUS_BY_DATE.
+     */
+    protected static final String QUERY_END_STATUS_BY_DATE = "select xid, branch_id from " + LOCAL_TCC_LOG_PLACEHOLD
+            + " where gmt_modified < ? "
+            + " and status in (" + TCCFenceConstant.STATUS_COMMITTED + " , " + TCCFenceConstant.STATUS_ROLLBACKED + " , " + TCCFenceConstant.STATUS_SUSPENDED + ")";
+
     public static String getInsertLocalTCCLogSQL(String localTccTable) {
         return INSERT_LOCAL_TCC_LOG.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
     }
@@ -85,4 +110,20 @@ public class TCCFenceStoreSqls {
         return DELETE_BY_DATE_AND_STATUS.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
     }
 
+    public static String getDeleteSQLByBranchIdsAndXids(String localTccTable, int size) {
+        StringBuilder conditions = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                conditions.append(" or ");
+            }
+            conditions.append(XID_AND_BRANCH_ID_CONDITION);
+        }
+        return DELETE_BY_BRANCH_IDS_AND_XIDS.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable)
+                .replace(PRAMETER_PLACEHOLD, conditions.toString());
+    }
+
+    public static String getQuerySQLByDateAndEndStatus(String localTccTable) {
+        return QUERY_END_STATUS_BY_DATE.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
+    }
+
 }
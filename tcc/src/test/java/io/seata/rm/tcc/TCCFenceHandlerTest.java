@@ -0,0 +1,221 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.seata.common.DefaultValues;
+import io.seata.rm.tcc.constant.TCCFenceConstant;
+import io.seata.rm.tcc.store.TCCFenceDO;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The type TCC fence handler test.
+ */
+public class TCCFenceHandlerTest {
+
+    private static final String XID_PREFIX = "127.0.0.1:8091:";
+
+    private static JdbcDataSource dataSource;
+
+    @BeforeAll
+    public static void init() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:tcc_fence;DB_CLOSE_DELAY=-1");
+        try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+            statement.execute("create table if not exists tcc_fence_log (xid varchar(128) not null, "
+                + "branch_id bigint not null, action_name varchar(64) not null, status tinyint not null, "
+                + "gmt_create timestamp not null, gmt_modified timestamp not null, primary key (xid, branch_id))");
+        }
+        TCCFenceHandler.setDataSource(dataSource);
+        TCCFenceHandler.setTransactionTemplate(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    @AfterAll
+    public static void destroy() {
+        TCCFenceHandler.setCleanBatchSize(DefaultValues.DEFAULT_TCC_FENCE_CLEAN_BATCH_SIZE);
+        TCCFenceHandler.setTransactionTemplate(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    @BeforeEach
+    public void clean() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement()) {
+            statement.execute("delete from tcc_fence_log");
+        }
+    }
+
+    @Test
+    public void testDeleteFenceByDate() throws SQLException {
+        TCCFenceHandler.setCleanBatchSize(10);
+        Date old = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        Date recent = new Date();
+        long branchId = 0;
+        // 25 finished logs take three chunks, the last one short
+        for (int i = 0; i < 25; i++) {
+            insert(++branchId, i % 2 == 0 ? TCCFenceConstant.STATUS_COMMITTED : TCCFenceConstant.STATUS_ROLLBACKED, old);
+        }
+        // kept: not finished or not old enough
+        for (int i = 0; i < 3; i++) {
+            insert(++branchId, TCCFenceConstant.STATUS_TRIED, old);
+            insert(++branchId, TCCFenceConstant.STATUS_COMMITTED, recent);
+        }
+
+        Date datetime = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1));
+        Assertions.assertEquals(25, TCCFenceHandler.deleteFenceByDate(datetime));
+        Assertions.assertEquals(6, count());
+        Assertions.assertEquals(0, TCCFenceHandler.deleteFenceByDate(datetime));
+        Assertions.assertEquals(6, count());
+    }
+
+    @Test
+    public void testDeleteFenceByDateFullChunks() throws SQLException {
+        TCCFenceHandler.setCleanBatchSize(10);
+        Date old = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        // a multiple of the batch size ends with an empty chunk
+        for (long branchId = 1; branchId <= 20; branchId++) {
+            insert(branchId, TCCFenceConstant.STATUS_SUSPENDED, old);
+        }
+
+        Assertions.assertEquals(20, TCCFenceHandler.deleteFenceByDate(new Date()));
+        Assertions.assertEquals(0, count());
+    }
+
+    @Test
+    public void testDeleteFenceMatchesPairs() throws SQLException {
+        insert(XID_PREFIX + 1, 1, TCCFenceConstant.STATUS_COMMITTED, new Date());
+        insert(XID_PREFIX + 1, 2, TCCFenceConstant.STATUS_COMMITTED, new Date());
+        insert(XID_PREFIX + 2, 1, TCCFenceConstant.STATUS_COMMITTED, new Date());
+        insert(XID_PREFIX + 2, 2, TCCFenceConstant.STATUS_COMMITTED, new Date());
+
+        // the crossed pairs (xid 1, branch 2) and (xid 2, branch 1) must be kept
+        Assertions.assertEquals(2, TCCFenceHandler.deleteFence(Arrays.asList(
+            fence(XID_PREFIX + 1, 1), fence(XID_PREFIX + 2, 2))));
+        Assertions.assertEquals(2, count());
+        Assertions.assertEquals(0, TCCFenceHandler.deleteFence(Arrays.asList(
+            fence(XID_PREFIX + 1, 1), fence(XID_PREFIX + 2, 2))));
+        Assertions.assertEquals(2, count());
+    }
+
+    @Test
+    public void testSetCleanBatchSize() {
+        TCCFenceHandler.setCleanBatchSize(TCCFenceHandler.MAX_CLEAN_BATCH_SIZE + 1);
+        Assertions.assertEquals(TCCFenceHandler.MAX_CLEAN_BATCH_SIZE, TCCFenceHandler.getCleanBatchSize());
+        TCCFenceHandler.setCleanBatchSize(0);
+        Assertions.assertEquals(1, TCCFenceHandler.getCleanBatchSize());
+        TCCFenceHandler.setCleanBatchSize(100);
+        Assertions.assertEquals(100, TCCFenceHandler.getCleanBatchSize());
+    }
+
+    @Test
+    public void testCleanQueueDeletesInBatch() throws Exception {
+        TCCFenceHandler.setCleanBatchSize(8);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger transactions = new AtomicInteger();
+        // the first transaction of the cleaner blocks until the queue is filled
+        TCCFenceHandler.setTransactionTemplate(new TransactionTemplate(new DataSourceTransactionManager(dataSource)) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+                if (transactions.incrementAndGet() == 1) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.execute(action);
+            }
+        });
+        try {
+            for (long branchId = 1; branchId <= 21; branchId++) {
+                insert(branchId, TCCFenceConstant.STATUS_SUSPENDED, new Date());
+            }
+            // a row of the same xid but another branch is kept
+            insert(XID_PREFIX + 1, 100, TCCFenceConstant.STATUS_SUSPENDED, new Date());
+
+            TCCFenceHandler.addToLogCleanQueue(XID_PREFIX + 1, 1);
+            Assertions.assertTrue(entered.await(10, TimeUnit.SECONDS));
+            for (long branchId = 2; branchId <= 21; branchId++) {
+                TCCFenceHandler.addToLogCleanQueue(XID_PREFIX + branchId, branchId);
+            }
+            release.countDown();
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (count() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            Assertions.assertEquals(1, count());
+            // one single delete, then the 20 queued logs in batches of 8, 8 and 4
+            Assertions.assertEquals(4, transactions.get());
+        } finally {
+            release.countDown();
+            TCCFenceHandler.setTransactionTemplate(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+    }
+
+    private static TCCFenceDO fence(String xid, long branchId) {
+        TCCFenceDO tccFenceDO = new TCCFenceDO();
+        tccFenceDO.setXid(xid);
+        tccFenceDO.setBranchId(branchId);
+        return tccFenceDO;
+    }
+
+    private static void insert(long branchId, int status, Date modified) throws SQLException {
+        insert(XID_PREFIX + branchId, branchId, status, modified);
+    }
+
+    private static void insert(String xid, long branchId, int status, Date modified) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(
+            "insert into tcc_fence_log (xid, branch_id, action_name, status, gmt_create, gmt_modified) "
+                + "values (?, ?, ?, ?, ?, ?)")) {
+            ps.setString(1, xid);
+            ps.setLong(2, branchId);
+            ps.setString(3, "action");
+            ps.setInt(4, status);
+            ps.setTimestamp(5, new Timestamp(modified.getTime()));
+            ps.setTimestamp(6, new Timestamp(modified.getTime()));
+            ps.executeUpdate();
+        }
+    }
+
+    private static int count() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery("select count(1) from tcc_fence_log")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.seata.rm.tcc.api.BusinessActionContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Two phase method invoker test.
+ */
+public class TwoPhaseMethodInvokerTest {
+
+    @Test
+    public void testResolveArgsAndInvoke() throws Throwable {
+        Method rollbackMethod = TccAction.class.getMethod("rollback", BusinessActionContext.class, TccParam.class);
+        TwoPhaseMethodInvoker invoker = new TwoPhaseMethodInvoker(new TccActionImpl(), rollbackMethod,
+            new String[] {null, "tccParam"}, rollbackMethod.getParameterTypes());
+        Assertions.assertTrue(invoker.isMethodHandleBound());
+
+        TccParam tccParam = new TccParam(1, "abc@163.com");
+        Map<String, Object> actionContext = new HashMap<>();
+        actionContext.put("tccParam", tccParam);
+        BusinessActionContext businessActionContext = new BusinessActionContext("xid", "1", actionContext);
+
+        Object[] args = invoker.resolveArgs(businessActionContext);
+        Assertions.assertSame(businessActionContext, args[0]);
+        Assertions.assertSame(tccParam, args[1]);
+        Assertions.assertEquals(Boolean.TRUE, invoker.invoke(args));
+    }
+
+    @Test
+    public void testInvokeThrowsTargetException() throws Throwable {
+        Method method = Runnable.class.getMethod("run");
+        TwoPhaseMethodInvoker invoker = new TwoPhaseMethodInvoker((Runnable)() -> {
+            throw new IllegalStateException("rollback failed");
+        }, method, new String[0], new Class<?>[0]);
+        Assertions.assertThrows(IllegalStateException.class, () -> invoker.invoke(new Object[0]));
+        Assertions.assertNull(new TwoPhaseMethodInvoker((Runnable)() -> { }, method, new String[0], new Class<?>[0])
+            .invoke(new Object[0]));
+    }
+}
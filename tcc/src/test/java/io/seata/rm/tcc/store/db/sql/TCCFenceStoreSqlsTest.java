@@ -0,0 +1,43 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.store.db.sql;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type TCC fence store sqls test.
+ */
+public class TCCFenceStoreSqlsTest {
+
+    @Test
+    public void testGetDeleteSQLByBranchIdsAndXids() {
+        String sql = TCCFenceStoreSqls.getDeleteSQLByBranchIdsAndXids("tcc_fence_log", 1);
+        Assertions.assertEquals("delete from tcc_fence_log where (xid = ? and branch_id = ?)",
+                sql.replaceAll("\\s+", " ").trim());
+        sql = TCCFenceStoreSqls.getDeleteSQLByBranchIdsAndXids("tcc_fence_log", 3);
+        Assertions.assertEquals("delete from tcc_fence_log where (xid = ? and branch_id = ?)"
+                        + " or (xid = ? and branch_id = ?) or (xid = ? and branch_id = ?)",
+                sql.replaceAll("\\s+", " ").trim());
+    }
+
+    @Test
+    public void testGetQuerySQLByDateAndEndStatus() {
+        String sql = TCCFenceStoreSqls.getQuerySQLByDateAndEndStatus("tcc_fence_log");
+        Assertions.assertTrue(sql.startsWith("select xid, branch_id from tcc_fence_log"));
+        Assertions.assertFalse(sql.contains(TCCFenceStoreSqls.LOCAL_TCC_LOG_PLACEHOLD));
+    }
+}
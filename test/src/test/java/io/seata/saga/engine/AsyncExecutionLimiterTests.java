@@ -0,0 +1,87 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.exception.FrameworkErrorCode;
+import io.seata.saga.engine.exception.EngineExecutionException;
+import io.seata.saga.engine.impl.AsyncExecutionLimiter;
+import io.seata.saga.proctrl.ProcessContext;
+import io.seata.saga.proctrl.impl.ProcessContextImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Async execution limiter tests.
+ */
+public class AsyncExecutionLimiterTests {
+
+    @Test
+    public void testDisabled() {
+        AsyncExecutionLimiter limiter = new AsyncExecutionLimiter(0, 100);
+        Assertions.assertFalse(limiter.isEnabled());
+        Assertions.assertNull(limiter.acquire("tenant"));
+        Assertions.assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void testBoundedPerTenant() {
+        AsyncExecutionLimiter limiter = new AsyncExecutionLimiter(2, 50);
+        AsyncExecutionLimiter.Permit first = limiter.acquire("tenantA");
+        limiter.acquire("tenantA");
+        Assertions.assertEquals(2, limiter.getInFlight("tenantA"));
+
+        EngineExecutionException e = Assertions.assertThrows(EngineExecutionException.class,
+            () -> limiter.acquire("tenantA"));
+        Assertions.assertEquals(FrameworkErrorCode.AsynchronousExecutionRejected, e.getErrcode());
+        Assertions.assertEquals(1, limiter.getRejectedCount());
+
+        // the other tenants are not slowed down by a busy one
+        Assertions.assertNotNull(limiter.acquire("tenantB"));
+        Assertions.assertEquals(1, limiter.getInFlight("tenantB"));
+        Assertions.assertEquals(3, limiter.getInFlight());
+
+        first.release();
+        first.release();
+        Assertions.assertEquals(1, limiter.getInFlight("tenantA"));
+        Assertions.assertNotNull(limiter.acquire("tenantA"));
+        Assertions.assertEquals(2, limiter.getInFlight("tenantA"));
+    }
+
+    @Test
+    public void testWaitForPermit() throws Exception {
+        AsyncExecutionLimiter limiter = new AsyncExecutionLimiter(1, 10000);
+        ProcessContext context = new ProcessContextImpl();
+        AsyncExecutionLimiter.bind(context, limiter.acquire("tenant"));
+
+        CompletableFuture<AsyncExecutionLimiter.Permit> waiting = CompletableFuture.supplyAsync(
+            () -> limiter.acquire("tenant"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (limiter.getWaitingCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        Assertions.assertEquals(1, limiter.getWaitingCount());
+
+        // the permit bound to the context is given back when the state machine ends
+        AsyncExecutionLimiter.release(context);
+        Assertions.assertNotNull(waiting.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, limiter.getWaitingCount());
+        Assertions.assertEquals(1, limiter.getInFlight("tenant"));
+        Assertions.assertEquals(0, limiter.getRejectedCount());
+    }
+}
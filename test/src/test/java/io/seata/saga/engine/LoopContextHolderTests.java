@@ -0,0 +1,157 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Stack;
+
+import io.seata.saga.engine.pcext.utils.LoopContextHolder;
+import io.seata.saga.proctrl.impl.ProcessContextImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Loop context holder tests.
+ */
+public class LoopContextHolderTests {
+
+    @Test
+    public void testPollLoopCounter() {
+        LoopContextHolder holder = new LoopContextHolder();
+        holder.initLoopCounters(5);
+        holder.markExecuted(2);
+        holder.markExecuted(-1);
+
+        Assertions.assertEquals(Arrays.asList(0, 1, 3, 4), pollAll(holder));
+        Assertions.assertEquals(-1, holder.pollLoopCounter());
+        Assertions.assertFalse(holder.hasForwardCounter());
+    }
+
+    @Test
+    public void testForwardCounter() {
+        LoopContextHolder holder = new LoopContextHolder();
+        holder.initLoopCounters(6);
+        holder.markForward(4);
+        holder.markForward(1);
+        holder.markForward(-1);
+        holder.markExecuted(0);
+
+        Assertions.assertTrue(holder.hasForwardCounter());
+        Assertions.assertEquals(1, holder.pollForwardCounter());
+        Assertions.assertEquals(4, holder.pollForwardCounter());
+        Assertions.assertEquals(-1, holder.pollForwardCounter());
+        Assertions.assertFalse(holder.hasForwardCounter());
+        // the failed counters are not executed again as pending ones
+        Assertions.assertEquals(Arrays.asList(2, 3, 5), pollAll(holder));
+
+        // init starts over
+        holder.markForward(3);
+        holder.initLoopCounters(2);
+        Assertions.assertFalse(holder.hasForwardCounter());
+        Assertions.assertEquals(Arrays.asList(0, 1), pollAll(holder));
+    }
+
+    @Test
+    public void testLargeLoop() {
+        int nrOfInstances = 1 << 20;
+        LoopContextHolder holder = new LoopContextHolder();
+        holder.initLoopCounters(nrOfInstances);
+        for (int i = 0; i < nrOfInstances; i += 2) {
+            holder.markExecuted(i);
+        }
+        for (int i = 1; i < nrOfInstances; i += 2) {
+            Assertions.assertEquals(i, holder.pollLoopCounter());
+        }
+        Assertions.assertEquals(-1, holder.pollLoopCounter());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testCounterStack() {
+        LoopContextHolder holder = new LoopContextHolder();
+        Assertions.assertTrue(holder.getLoopCounterStack().isEmpty());
+
+        holder.initLoopCounters(4);
+        holder.markExecuted(1);
+        holder.markForward(2);
+
+        Stack<Integer> loopCounterStack = holder.getLoopCounterStack();
+        Assertions.assertEquals(0, (int)loopCounterStack.peek());
+        Assertions.assertEquals(Arrays.asList(3, 0), new ArrayList<>(loopCounterStack));
+        Stack<Integer> forwardCounterStack = holder.getForwardCounterStack();
+        Assertions.assertEquals(2, (int)forwardCounterStack.peek());
+        Assertions.assertEquals(1, forwardCounterStack.size());
+
+        // the stacks are read-only, a mutation can not silently miss the loop
+        Assertions.assertThrows(UnsupportedOperationException.class, loopCounterStack::pop);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> loopCounterStack.push(1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> forwardCounterStack.add(1));
+        Assertions.assertThrows(UnsupportedOperationException.class, forwardCounterStack::clear);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> {
+            Iterator<Integer> iterator = loopCounterStack.iterator();
+            iterator.next();
+            iterator.remove();
+        });
+        Assertions.assertEquals(Arrays.asList(0, 3), pollAll(holder));
+        Assertions.assertEquals(2, holder.pollForwardCounter());
+    }
+
+    @Test
+    public void testGetElement() {
+        List<String> values = Arrays.asList("a", "b", "c");
+        for (Collection<String> collection : Arrays.<Collection<String>>asList(new ArrayList<>(values),
+            new LinkedList<>(values), new LinkedHashSet<>(values))) {
+            LoopContextHolder holder = new LoopContextHolder();
+            holder.setCollection(collection);
+            for (int i = 0; i < values.size(); i++) {
+                Assertions.assertEquals(values.get(i), holder.getElement(i));
+            }
+        }
+
+        // a new collection is not served from the snapshot of the previous one
+        LoopContextHolder holder = new LoopContextHolder();
+        holder.setCollection(new LinkedList<>(values));
+        Assertions.assertEquals("a", holder.getElement(0));
+        holder.setCollection(new LinkedList<>(Arrays.asList("x", "y")));
+        Assertions.assertEquals("x", holder.getElement(0));
+        Assertions.assertEquals("y", holder.getElement(1));
+    }
+
+    @Test
+    public void testGetCurrent() {
+        ProcessContextImpl context = new ProcessContextImpl();
+        Assertions.assertNull(LoopContextHolder.getCurrent(context, false));
+        LoopContextHolder holder = LoopContextHolder.getCurrent(context, true);
+        Assertions.assertNotNull(holder);
+        Assertions.assertSame(holder, LoopContextHolder.getCurrent(context, true));
+        LoopContextHolder.clearCurrent(context);
+        Assertions.assertNull(LoopContextHolder.getCurrent(context, false));
+    }
+
+    private static List<Integer> pollAll(LoopContextHolder holder) {
+        List<Integer> loopCounters = new ArrayList<>();
+        for (int loopCounter = holder.pollLoopCounter(); loopCounter >= 0; loopCounter = holder.pollLoopCounter()) {
+            loopCounters.add(loopCounter);
+        }
+        return loopCounters;
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import io.seata.saga.engine.impl.DefaultStateMachineConfig;
+import io.seata.saga.engine.pcext.StateInstruction;
+import io.seata.saga.engine.pcext.handlers.ScriptTaskStateHandler;
+import io.seata.saga.proctrl.ProcessContext;
+import io.seata.saga.proctrl.impl.ProcessContextImpl;
+import io.seata.saga.statelang.domain.DomainConstants;
+import io.seata.saga.statelang.domain.impl.ScriptTaskStateImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Script task state handler tests.
+ */
+public class ScriptTaskStateHandlerTests {
+
+    private static final String SCRIPT_CONTENT = "return 'ok'";
+
+    private final TestScriptTaskStateHandler handler = new TestScriptTaskStateHandler();
+
+    @Test
+    public void testCompiledScriptCached() throws ScriptException {
+        ScriptTaskStateImpl state = newState();
+        CountingScriptEngine engine = new CountingScriptEngineFactory(true).getScriptEngine();
+
+        CompiledScript compiledScript = handler.getCompiledScript(state, engine);
+        Assertions.assertNotNull(compiledScript);
+        Assertions.assertSame(compiledScript, handler.getCompiledScript(state, engine));
+        Assertions.assertSame(compiledScript, state.getCompiledScript());
+        Assertions.assertEquals(1, engine.compileTimes.get());
+    }
+
+    @Test
+    public void testRecompileOnEngineChange() throws ScriptException {
+        ScriptTaskStateImpl state = newState();
+        CountingScriptEngineFactory factory = new CountingScriptEngineFactory(true);
+        CountingScriptEngine engine = factory.getScriptEngine();
+        CompiledScript compiledScript = handler.getCompiledScript(state, engine);
+
+        // e.g. the script engine manager of the config has been replaced
+        CountingScriptEngine newEngine = factory.getScriptEngine();
+        CompiledScript newCompiledScript = handler.getCompiledScript(state, newEngine);
+        Assertions.assertNotSame(compiledScript, newCompiledScript);
+        Assertions.assertSame(newEngine, newCompiledScript.getEngine());
+        Assertions.assertSame(newCompiledScript, state.getCompiledScript());
+        Assertions.assertEquals(1, newEngine.compileTimes.get());
+        Assertions.assertSame(newCompiledScript, handler.getCompiledScript(state, newEngine));
+        Assertions.assertEquals(1, newEngine.compileTimes.get());
+    }
+
+    @Test
+    public void testNotCompilableEngine() throws ScriptException {
+        ScriptTaskStateImpl state = newState();
+        ScriptEngine engine = new NotCompilableScriptEngine();
+        Assertions.assertNull(handler.getCompiledScript(state, engine));
+        Assertions.assertNull(state.getCompiledScript());
+    }
+
+    @Test
+    public void testNotThreadSafeEngine() throws Exception {
+        CountingScriptEngineFactory factory = new CountingScriptEngineFactory(false);
+        List<Object> results = executeConcurrently(factory);
+        Assertions.assertEquals(Collections.nCopies(results.size(), "ok"), results);
+        // each thread compiles its own script once and is the only one evaluating it
+        Assertions.assertEquals(factory.compiledScripts.size(), factory.engine.compileTimes.get());
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        for (CountingCompiledScript compiledScript : factory.compiledScripts) {
+            Assertions.assertEquals(1, compiledScript.evalThreads.size());
+            Assertions.assertEquals(1, compiledScript.maxConcurrentEvals.get());
+            Assertions.assertTrue(threads.addAll(compiledScript.evalThreads));
+        }
+        Assertions.assertTrue(factory.compiledScripts.size() > 1);
+    }
+
+    @Test
+    public void testThreadSafeEngine() throws Exception {
+        CountingScriptEngineFactory factory = new CountingScriptEngineFactory(true);
+        List<Object> results = executeConcurrently(factory);
+        Assertions.assertEquals(Collections.nCopies(results.size(), "ok"), results);
+        // one compiled script shared by all the threads
+        Assertions.assertEquals(1, factory.engine.compileTimes.get());
+        Assertions.assertEquals(1, factory.compiledScripts.size());
+        Assertions.assertTrue(factory.compiledScripts.get(0).evalThreads.size() > 1);
+    }
+
+    private List<Object> executeConcurrently(CountingScriptEngineFactory factory) throws Exception {
+        ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
+        scriptEngineManager.registerEngineName(factory.getNames().get(0), factory);
+        DefaultStateMachineConfig stateMachineConfig = new DefaultStateMachineConfig();
+        stateMachineConfig.setScriptEngineManager(scriptEngineManager);
+        ScriptTaskStateImpl state = newState();
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads * 4; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ProcessContext context = newContext(stateMachineConfig, state);
+                    handler.process(context);
+                    Assertions.assertNull(context.getVariable(DomainConstants.VAR_NAME_CURRENT_EXCEPTION));
+                    return context.getVariable(DomainConstants.VAR_NAME_OUTPUT_PARAMS);
+                }));
+            }
+            start.countDown();
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ProcessContext newContext(StateMachineConfig stateMachineConfig, ScriptTaskStateImpl state) {
+        ProcessContextImpl context = new ProcessContextImpl();
+        StateInstruction instruction = new StateInstruction();
+        instruction.setTemporaryState(state);
+        context.setInstruction(instruction);
+        context.setVariable(DomainConstants.VAR_NAME_STATEMACHINE_CONFIG, stateMachineConfig);
+        return context;
+    }
+
+    private static ScriptTaskStateImpl newState() {
+        ScriptTaskStateImpl state = new ScriptTaskStateImpl();
+        state.setName("ScriptTask");
+        state.setScriptType(CountingScriptEngineFactory.NAME);
+        state.setScriptContent(SCRIPT_CONTENT);
+        return state;
+    }
+
+    /**
+     * exposes the compiled script cache to the tests
+     */
+    private static class TestScriptTaskStateHandler extends ScriptTaskStateHandler {
+
+        @Override
+        protected CompiledScript getCompiledScript(ScriptTaskStateImpl state, ScriptEngine scriptEngine)
+            throws ScriptException {
+            return super.getCompiledScript(state, scriptEngine);
+        }
+    }
+
+    /**
+     * a script engine returning its script content, without quotes and "return "
+     */
+    private static class NotCompilableScriptEngine extends AbstractScriptEngine {
+
+        @Override
+        public Object eval(String script, ScriptContext context) {
+            return script.substring("return '".length(), script.length() - 1);
+        }
+
+        @Override
+        public Object eval(Reader reader, ScriptContext context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Bindings createBindings() {
+            return new SimpleBindings();
+        }
+
+        @Override
+        public ScriptEngineFactory getFactory() {
+            return null;
+        }
+    }
+
+    /**
+     * a compilable script engine counting the compilations
+     */
+    private static class CountingScriptEngine extends NotCompilableScriptEngine implements Compilable {
+
+        private final CountingScriptEngineFactory factory;
+
+        private final AtomicInteger compileTimes = new AtomicInteger();
+
+        CountingScriptEngine(CountingScriptEngineFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public CompiledScript compile(String script) {
+            compileTimes.incrementAndGet();
+            CountingCompiledScript compiledScript = new CountingCompiledScript(this, eval(script, getContext()));
+            factory.compiledScripts.add(compiledScript);
+            return compiledScript;
+        }
+
+        @Override
+        public CompiledScript compile(Reader script) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScriptEngineFactory getFactory() {
+            return factory;
+        }
+    }
+
+    /**
+     * a compiled script recording the threads evaluating it
+     */
+    private static class CountingCompiledScript extends CompiledScript {
+
+        private final ScriptEngine engine;
+
+        private final Object result;
+
+        private final Set<Thread> evalThreads = ConcurrentHashMap.newKeySet();
+
+        private final AtomicInteger concurrentEvals = new AtomicInteger();
+
+        private final AtomicInteger maxConcurrentEvals = new AtomicInteger();
+
+        CountingCompiledScript(ScriptEngine engine, Object result) {
+            this.engine = engine;
+            this.result = result;
+        }
+
+        @Override
+        public Object eval(ScriptContext context) throws ScriptException {
+            evalThreads.add(Thread.currentThread());
+            maxConcurrentEvals.accumulateAndGet(concurrentEvals.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new ScriptException(e);
+            } finally {
+                concurrentEvals.decrementAndGet();
+            }
+            return result;
+        }
+
+        @Override
+        public ScriptEngine getEngine() {
+            return engine;
+        }
+    }
+
+    /**
+     * the factory of the counting script engine, the THREADING parameter tells whether it is thread safe
+     */
+    private static class CountingScriptEngineFactory implements ScriptEngineFactory {
+
+        private static final String NAME = "counting";
+
+        private final boolean threadSafe;
+
+        private final List<CountingCompiledScript> compiledScripts = new CopyOnWriteArrayList<>();
+
+        private volatile CountingScriptEngine engine;
+
+        CountingScriptEngineFactory(boolean threadSafe) {
+            this.threadSafe = threadSafe;
+        }
+
+        @Override
+        public String getEngineName() {
+            return NAME;
+        }
+
+        @Override
+        public String getEngineVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public List<String> getExtensions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> getMimeTypes() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<String> getNames() {
+            return Collections.singletonList(NAME);
+        }
+
+        @Override
+        public String getLanguageName() {
+            return NAME;
+        }
+
+        @Override
+        public String getLanguageVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public Object getParameter(String key) {
+            if ("THREADING".equals(key)) {
+                return threadSafe ? "MULTITHREADED" : null;
+            }
+            return null;
+        }
+
+        @Override
+        public String getMethodCallSyntax(String obj, String m, String... args) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getOutputStatement(String toDisplay) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getProgram(String... statements) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CountingScriptEngine getScriptEngine() {
+            engine = new CountingScriptEngine(this);
+            return engine;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.seata.saga.engine.expression.Expression;
+import io.seata.saga.engine.expression.spel.SpringELExpressionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * The type Spring EL expression tests.
+ */
+public class SpringELExpressionTests {
+
+    /**
+     * more than the interpreted runs after which MIXED mode compiles an expression
+     */
+    private static final int WARM_UP_TIMES = 200;
+
+    private final SpringELExpressionFactory factory = new SpringELExpressionFactory();
+
+    @Test
+    public void testCompiledSameAsInterpreted() {
+        Map<String, Object> root = new HashMap<>();
+        root.put("a", 1);
+        root.put("b", "foo");
+        root.put("c", new Foo("bar"));
+        String[] expressionStrings = {"[a]", "[b]", "[c].name", "[a] + 1", "[a] > 0 ? [b] : [c].name", "[d]"};
+
+        SpelExpressionParser interpretedParser = new SpelExpressionParser();
+        for (String expressionString : expressionStrings) {
+            Expression expression = factory.createExpression(expressionString);
+            Object interpreted = interpretedParser.parseExpression(expressionString).getValue(root);
+            for (int i = 0; i < WARM_UP_TIMES; i++) {
+                Assertions.assertEquals(interpreted, expression.getValue(root), expressionString);
+            }
+        }
+    }
+
+    @Test
+    public void testCompiledFallbackOnTypeChange() {
+        Expression expression = factory.createExpression("name");
+        for (int i = 0; i < WARM_UP_TIMES; i++) {
+            Assertions.assertEquals("foo", expression.getValue(new Foo("foo")));
+        }
+        // the compiled expression expects a Foo, the interpreter takes over
+        Assertions.assertEquals("bar", expression.getValue(new Bar("bar")));
+        Assertions.assertEquals("foo", expression.getValue(new Foo("foo")));
+    }
+
+    @Test
+    public void testMethodInvokedOncePerEvaluation() {
+        Counter counter = new Counter();
+        Expression expression = factory.createExpression("next().length()");
+        for (int i = 0; i < WARM_UP_TIMES; i++) {
+            Assertions.assertEquals(1, expression.getValue(counter));
+        }
+        Assertions.assertEquals(WARM_UP_TIMES, counter.count);
+
+        // next() returns an Integer now, the failed evaluation must not invoke it again
+        counter.returnString = false;
+        Assertions.assertThrows(EvaluationException.class, () -> expression.getValue(counter));
+        Assertions.assertEquals(WARM_UP_TIMES + 1, counter.count);
+    }
+
+    public static class Foo {
+
+        private final String name;
+
+        public Foo(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class Bar {
+
+        private final String name;
+
+        public Bar(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class Counter {
+
+        private int count;
+
+        private boolean returnString = true;
+
+        public Object next() {
+            count++;
+            return returnString ? "1" : Integer.valueOf(1);
+        }
+    }
+}
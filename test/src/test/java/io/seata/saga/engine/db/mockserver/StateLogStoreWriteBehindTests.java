@@ -0,0 +1,345 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.db.mockserver;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import io.seata.common.exception.StoreException;
+import io.seata.core.exception.TransactionException;
+import io.seata.core.model.BranchStatus;
+import io.seata.saga.engine.config.DbStateMachineConfig;
+import io.seata.saga.engine.mock.MockSagaTransactionTemplate;
+import io.seata.saga.engine.pcext.StateInstruction;
+import io.seata.saga.engine.sequence.SpringJvmUUIDSeqGenerator;
+import io.seata.saga.engine.store.db.DbAndReportTcStateLogStore;
+import io.seata.saga.proctrl.ProcessContext;
+import io.seata.saga.proctrl.impl.ProcessContextImpl;
+import io.seata.saga.statelang.domain.DomainConstants;
+import io.seata.saga.statelang.domain.ExecutionStatus;
+import io.seata.saga.statelang.domain.StateInstance;
+import io.seata.saga.statelang.domain.StateMachineInstance;
+import io.seata.saga.statelang.domain.impl.ServiceTaskStateImpl;
+import io.seata.saga.statelang.domain.impl.StateInstanceImpl;
+import io.seata.saga.statelang.domain.impl.StateMachineImpl;
+import io.seata.saga.statelang.domain.impl.StateMachineInstanceImpl;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Write behind state log persistence tests of DbAndReportTcStateLogStore
+ */
+public class StateLogStoreWriteBehindTests {
+
+    private static final AtomicBoolean FAIL_BATCH = new AtomicBoolean();
+
+    private static DataSource dataSource;
+
+    private DbStateMachineConfig stateMachineConfig;
+
+    private RecordingSagaTransactionTemplate sagaTransactionalTemplate;
+
+    private DbAndReportTcStateLogStore stateLogStore;
+
+    @BeforeAll
+    public static void initDataSource() {
+        JdbcDataSource h2DataSource = new JdbcDataSource();
+        h2DataSource.setURL("jdbc:h2:mem:seata_saga_write_behind;DB_CLOSE_DELAY=-1");
+        h2DataSource.setUser("sa");
+        h2DataSource.setPassword("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("saga/sql/h2_init.sql")).execute(h2DataSource);
+        dataSource = failingBatchDataSource(h2DataSource);
+    }
+
+    @BeforeEach
+    public void init() {
+        FAIL_BATCH.set(false);
+        stateMachineConfig = new DbStateMachineConfig();
+        stateMachineConfig.setSagaWriteBehindEnable(true);
+        stateMachineConfig.setRmReportSuccessEnable(true);
+        stateMachineConfig.setSagaBranchRegisterEnable(true);
+        sagaTransactionalTemplate = new RecordingSagaTransactionTemplate();
+        stateLogStore = newStateLogStore();
+    }
+
+    @Test
+    public void testFlushFinishedStatesAtCheckpoints() {
+        ProcessContext context = newContext();
+        StateMachineInstanceImpl machineInstance = startStateMachine(context);
+
+        StateInstanceImpl first = startState(machineInstance, "FirstState", context);
+        finishState(first, context);
+        // buffered, not written yet
+        Assertions.assertEquals(ExecutionStatus.RU, loadStatus(first));
+
+        StateInstanceImpl second = startState(machineInstance, "SecondState", context);
+        // flushed with the insert of the next state
+        Assertions.assertEquals(ExecutionStatus.SU, loadStatus(first));
+        Assertions.assertEquals(ExecutionStatus.RU, loadStatus(second));
+
+        finishState(second, context);
+        Assertions.assertEquals(ExecutionStatus.RU, loadStatus(second));
+        // the success reports are deferred to the end of the state machine
+        Assertions.assertTrue(sagaTransactionalTemplate.getBranchReports().isEmpty());
+        Assertions.assertEquals(0, sagaTransactionalTemplate.getRpcCount());
+
+        finishStateMachine(machineInstance, context);
+        Assertions.assertEquals(ExecutionStatus.SU, loadStatus(second));
+        Assertions.assertEquals(2, sagaTransactionalTemplate.getBranchReports().size());
+        // sent as one merged request
+        Assertions.assertEquals(1, sagaTransactionalTemplate.getRpcCount());
+        for (BranchReport branchReport : sagaTransactionalTemplate.getBranchReports()) {
+            Assertions.assertEquals(BranchStatus.PhaseTwo_Committed, branchReport.branchStatus);
+            Assertions.assertSame(Thread.currentThread(), branchReport.thread);
+        }
+    }
+
+    @Test
+    public void testFlushFailureKeepsFinishedStatesForNextCheckpoint() {
+        ProcessContext context = newContext();
+        StateMachineInstanceImpl machineInstance = startStateMachine(context);
+        StateInstanceImpl first = startState(machineInstance, "FirstState", context);
+        finishState(first, context);
+
+        FAIL_BATCH.set(true);
+        Assertions.assertThrows(StoreException.class, () -> startState(machineInstance, "SecondState", context));
+        // the flush and the insert of the next state are rolled back together
+        Assertions.assertEquals(ExecutionStatus.RU, loadStatus(first));
+
+        FAIL_BATCH.set(false);
+        StateInstanceImpl second = startState(machineInstance, "SecondState", context);
+        Assertions.assertEquals(ExecutionStatus.SU, loadStatus(first));
+        Assertions.assertEquals(ExecutionStatus.RU, loadStatus(second));
+    }
+
+    @Test
+    public void testRecoverySeesUnflushedStatesRunning() {
+        ProcessContext context = newContext();
+        StateMachineInstanceImpl machineInstance = startStateMachine(context);
+        StateInstanceImpl first = startState(machineInstance, "FirstState", context);
+        finishState(first, context);
+
+        // the process crashes before the next checkpoint, a new store recovers the state machine instance
+        StateMachineInstance recovered = newStateLogStore().getStateMachineInstance(machineInstance.getId());
+        Assertions.assertTrue(recovered.isRunning());
+        Assertions.assertEquals(1, recovered.getStateList().size());
+        Assertions.assertEquals(ExecutionStatus.RU, recovered.getStateList().get(0).getStatus());
+
+        // a failed end loses the unflushed states too, they are left running for the recovery
+        FAIL_BATCH.set(true);
+        Assertions.assertThrows(StoreException.class, () -> finishStateMachine(machineInstance, context));
+        FAIL_BATCH.set(false);
+        Assertions.assertEquals(ExecutionStatus.RU, loadStatus(first));
+        Assertions.assertTrue(stateLogStore.getStateMachineInstance(machineInstance.getId()).isRunning());
+    }
+
+    @Test
+    public void testDeferredReportsOnSingleThreadSagaPool() throws Exception {
+        // the same shape as the default saga thread pool of the spring boot starter
+        ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>());
+        stateMachineConfig.setThreadPoolExecutor((ThreadPoolExecutor)executor);
+        try {
+            Future<Thread> future = executor.submit(() -> {
+                ProcessContext context = newContext();
+                context.setVariable(DomainConstants.VAR_NAME_IS_ASYNC_EXECUTION, true);
+                StateMachineInstanceImpl machineInstance = startStateMachine(context);
+                finishState(startState(machineInstance, "FirstState", context), context);
+                finishState(startState(machineInstance, "SecondState", context), context);
+                finishStateMachine(machineInstance, context);
+                return Thread.currentThread();
+            });
+            Thread poolThread = future.get(10, TimeUnit.SECONDS);
+            Assertions.assertEquals(2, sagaTransactionalTemplate.getBranchReports().size());
+            Assertions.assertEquals(1, sagaTransactionalTemplate.getRpcCount());
+            for (BranchReport branchReport : sagaTransactionalTemplate.getBranchReports()) {
+                Assertions.assertSame(poolThread, branchReport.thread);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DbAndReportTcStateLogStore newStateLogStore() {
+        DbAndReportTcStateLogStore store = new DbAndReportTcStateLogStore();
+        store.setDataSource(dataSource);
+        store.setTablePrefix("seata_");
+        store.setDbType("H2");
+        store.setSeqGenerator(new SpringJvmUUIDSeqGenerator());
+        store.setSagaTransactionalTemplate(sagaTransactionalTemplate);
+        return store;
+    }
+
+    private ProcessContext newContext() {
+        ProcessContextImpl context = new ProcessContextImpl();
+        context.setVariable(DomainConstants.VAR_NAME_STATEMACHINE_CONFIG, stateMachineConfig);
+        StateInstruction instruction = new StateInstruction("writeBehindTestStateMachine", "000001");
+        instruction.setTemporaryState(new ServiceTaskStateImpl());
+        context.setInstruction(instruction);
+        return context;
+    }
+
+    private StateMachineInstanceImpl startStateMachine(ProcessContext context) {
+        StateMachineImpl stateMachine = new StateMachineImpl();
+        stateMachine.setName("writeBehindTestStateMachine");
+        StateMachineInstanceImpl machineInstance = new StateMachineInstanceImpl();
+        machineInstance.setStateMachine(stateMachine);
+        machineInstance.setMachineId("writeBehindTest");
+        machineInstance.setTenantId("000001");
+        machineInstance.setStatus(ExecutionStatus.RU);
+        machineInstance.setRunning(true);
+        Date now = new Date();
+        machineInstance.setGmtStarted(now);
+        machineInstance.setGmtUpdated(now);
+        stateLogStore.recordStateMachineStarted(machineInstance, context);
+        return machineInstance;
+    }
+
+    private StateInstanceImpl startState(StateMachineInstanceImpl machineInstance, String name,
+                                         ProcessContext context) {
+        StateInstanceImpl stateInstance = new StateInstanceImpl();
+        stateInstance.setStateMachineInstance(machineInstance);
+        stateInstance.setMachineInstanceId(machineInstance.getId());
+        stateInstance.setName(name);
+        stateInstance.setType(DomainConstants.STATE_TYPE_SERVICE_TASK);
+        stateInstance.setServiceName("demoService");
+        stateInstance.setServiceMethod("foo");
+        stateInstance.setStatus(ExecutionStatus.RU);
+        Date now = new Date();
+        stateInstance.setGmtStarted(now);
+        stateInstance.setGmtUpdated(now);
+        stateLogStore.recordStateStarted(stateInstance, context);
+        machineInstance.putStateInstance(stateInstance.getId(), stateInstance);
+        return stateInstance;
+    }
+
+    private void finishState(StateInstanceImpl stateInstance, ProcessContext context) {
+        stateInstance.setStatus(ExecutionStatus.SU);
+        stateInstance.setGmtEnd(new Date());
+        stateLogStore.recordStateFinished(stateInstance, context);
+    }
+
+    private void finishStateMachine(StateMachineInstanceImpl machineInstance, ProcessContext context) {
+        machineInstance.setStatus(ExecutionStatus.SU);
+        machineInstance.setRunning(false);
+        machineInstance.setGmtEnd(new Date());
+        stateLogStore.recordStateMachineFinished(machineInstance, context);
+    }
+
+    private ExecutionStatus loadStatus(StateInstance stateInstance) {
+        return stateLogStore.getStateInstance(stateInstance.getId(), stateInstance.getMachineInstanceId()).getStatus();
+    }
+
+    private static DataSource failingBatchDataSource(DataSource target) {
+        return (DataSource)Proxy.newProxyInstance(StateLogStoreWriteBehindTests.class.getClassLoader(),
+            new Class[] {DataSource.class}, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof Connection) {
+                    return failingBatchConnection((Connection)result);
+                }
+                return result;
+            });
+    }
+
+    private static Connection failingBatchConnection(Connection target) {
+        return (Connection)Proxy.newProxyInstance(StateLogStoreWriteBehindTests.class.getClassLoader(),
+            new Class[] {Connection.class}, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof PreparedStatement) {
+                    PreparedStatement statement = (PreparedStatement)result;
+                    return Proxy.newProxyInstance(StateLogStoreWriteBehindTests.class.getClassLoader(),
+                        new Class[] {PreparedStatement.class}, (stmtProxy, stmtMethod, stmtArgs) -> {
+                            if ("executeBatch".equals(stmtMethod.getName()) && FAIL_BATCH.get()) {
+                                throw new SQLException("mock batch failure");
+                            }
+                            return invoke(statement, stmtMethod, stmtArgs);
+                        });
+                }
+                return result;
+            });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static class BranchReport {
+
+        private final BranchStatus branchStatus;
+
+        private final Thread thread;
+
+        BranchReport(BranchStatus branchStatus, Thread thread) {
+            this.branchStatus = branchStatus;
+            this.thread = thread;
+        }
+    }
+
+    private static class RecordingSagaTransactionTemplate extends MockSagaTransactionTemplate {
+
+        private final List<BranchReport> branchReports = Collections.synchronizedList(new ArrayList<>());
+
+        private final AtomicInteger rpcCount = new AtomicInteger();
+
+        @Override
+        public void branchReport(String xid, long branchId, BranchStatus status, String applicationData)
+            throws TransactionException {
+            rpcCount.incrementAndGet();
+            branchReports.add(new BranchReport(status, Thread.currentThread()));
+        }
+
+        @Override
+        public void branchReport(String xid, Map<Long, BranchStatus> branchStatuses) throws TransactionException {
+            rpcCount.incrementAndGet();
+            for (BranchStatus status : branchStatuses.values()) {
+                branchReports.add(new BranchReport(status, Thread.currentThread()));
+            }
+        }
+
+        List<BranchReport> getBranchReports() {
+            return branchReports;
+        }
+
+        int getRpcCount() {
+            return rpcCount.get();
+        }
+    }
+}